@@ -1,51 +0,0 @@
-package com.ateebnoone.gesturesmartv2;
-
-import android.accessibilityservice.AccessibilityService;
-import android.accessibilityservice.AccessibilityServiceInfo;
-import android.view.accessibility.AccessibilityEvent;
-
-public class GestureAccessibilityService extends AccessibilityService {
-    private static GestureAccessibilityService instance;
-
-    @Override
-    public void onAccessibilityEvent(AccessibilityEvent event) {
-        // Handle accessibility events if needed
-    }
-
-    @Override
-    public void onInterrupt() {
-        // Handle interruptions
-    }
-
-    @Override
-    protected void onServiceConnected() {
-        super.onServiceConnected();
-        instance = this;
-
-        // Configure the service
-        AccessibilityServiceInfo info = getServiceInfo();
-        if (info == null) {
-            info = new AccessibilityServiceInfo();
-        }
-
-        info.eventTypes = AccessibilityEvent.TYPES_ALL_MASK;
-        info.feedbackType = AccessibilityServiceInfo.FEEDBACK_GENERIC;
-        info.flags = AccessibilityServiceInfo.FLAG_INCLUDE_NOT_IMPORTANT_VIEWS;
-
-        setServiceInfo(info);
-
-        // Notify GestureActions that the service is available
-        GestureActions.setAccessibilityServiceInstance(this);
-    }
-
-    @Override
-    public void onDestroy() {
-        super.onDestroy();
-        instance = null;
-        GestureActions.setAccessibilityServiceInstance(null);
-    }
-
-    public static GestureAccessibilityService getInstance() {
-        return instance;
-    }
-}
\ No newline at end of file
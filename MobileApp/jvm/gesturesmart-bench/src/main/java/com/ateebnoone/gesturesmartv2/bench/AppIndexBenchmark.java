@@ -0,0 +1,90 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.AppIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * openApp name resolution against 500 installed apps, one benchmark per
+ * resolution stage, plus building the index from scratch.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AppIndexBenchmark {
+
+    private static final int APP_COUNT = 500;
+
+    private final AppIndex index = new AppIndex();
+    private String[] labels;
+
+    @Setup
+    public void setup() {
+        labels = SyntheticData.appLabels(APP_COUNT);
+        fill(index);
+        index.put("com.google.android.youtube", "YouTube");
+    }
+
+    @Benchmark
+    public AppIndex.Match resolveAlias() {
+        return index.resolve("yt");
+    }
+
+    @Benchmark
+    public AppIndex.Match resolveExact() {
+        return index.resolve(labels[APP_COUNT / 2]);
+    }
+
+    @Benchmark
+    public AppIndex.Match resolvePrefix() {
+        return index.resolve("weather ca");
+    }
+
+    @Benchmark
+    public AppIndex.Match resolveContained() {
+        return index.resolve("please open youtube for me");
+    }
+
+    @Benchmark
+    public AppIndex.Match resolveFuzzy() {
+        return index.resolve("wether calender");
+    }
+
+    @Benchmark
+    public AppIndex.Match resolveMiss() {
+        return index.resolve("xylophone");
+    }
+
+    @Benchmark
+    public List<AppIndex.Match> search() {
+        return index.search("ph", 20);
+    }
+
+    @Benchmark
+    public AppIndex build() {
+        AppIndex fresh = new AppIndex();
+        fill(fresh);
+        return fresh;
+    }
+
+    private void fill(AppIndex target) {
+        for (int i = 0; i < labels.length; i++) {
+            target.put("com.example.app" + i, labels[i]);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.EventQueue;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pending-event queue the services fill while React is unavailable and
+ * flush in batches of 10 once it is back.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventQueueBenchmark {
+
+    private static final int FLUSH_BATCH_SIZE = 10;
+    private static final String[] EVENTS = { "blink", "look_left", "Thumb_Up", "Open_Palm" };
+
+    private final EventQueue<String> queue = new EventQueue<>();
+    private int next;
+
+    /** One backlog: queue a batch of events, then flush it. */
+    @Benchmark
+    @Group("backlog")
+    @GroupThreads(1)
+    public int enqueueFlush(Blackhole blackhole) {
+        for (int i = 0; i < FLUSH_BATCH_SIZE; i++) {
+            queue.offer(EVENTS[i & 3]);
+        }
+        return queue.drain(blackhole::consume, FLUSH_BATCH_SIZE);
+    }
+
+    /** A detection thread enqueueing while the main thread flushes. */
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public void producer() {
+        queue.offer(EVENTS[next++ & 3]);
+    }
+
+    @Benchmark
+    @Group("concurrent")
+    @GroupThreads(1)
+    public int flusher(Blackhole blackhole) {
+        return queue.drain(blackhole::consume, FLUSH_BATCH_SIZE);
+    }
+}
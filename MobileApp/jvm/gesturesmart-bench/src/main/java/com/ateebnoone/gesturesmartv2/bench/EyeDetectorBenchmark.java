@@ -0,0 +1,77 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.EyeGestureDetector;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The eye service's per-frame classification: blink/wink detection from
+ * blendshape scores, then gaze direction from the iris landmarks. The
+ * synthetic stream fires events regularly, so counter resets are included.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EyeDetectorBenchmark {
+
+    private static final int FRAMES = 256;
+
+    // HIGH tier consecutive frame count
+    private final EyeGestureDetector detector = new EyeGestureDetector(3);
+    private float[][] frames;
+    private float[][] blinkScores;
+    private int next;
+
+    @Setup
+    public void setup() {
+        frames = SyntheticData.eyeFrames(FRAMES);
+        blinkScores = SyntheticData.eyeBlinkScores(FRAMES);
+    }
+
+    /** Both detectors on one frame, as the service runs them. */
+    @Benchmark
+    public void frame(Blackhole blackhole) {
+        int i = advance();
+        float[] scores = blinkScores[i];
+        blackhole.consume(detector.detectBlinksAndWinks(scores[0], scores[1]));
+        blackhole.consume(detector.detectGazeDirection(frames[i], EyeGestureDetector.LANDMARK_COUNT));
+    }
+
+    @Benchmark
+    public String blinksAndWinks() {
+        float[] scores = blinkScores[advance()];
+        return detector.detectBlinksAndWinks(scores[0], scores[1]);
+    }
+
+    @Benchmark
+    public String gazeDirection() {
+        return detector.detectGazeDirection(frames[advance()], EyeGestureDetector.LANDMARK_COUNT);
+    }
+
+    @Benchmark
+    public float eyeRatio() {
+        return EyeGestureDetector.calculateEyeRatio(frames[advance()], EyeGestureDetector.LEFT_EYE_IRIS_CENTER,
+                EyeGestureDetector.LEFT_EYE_LEFT_CORNER, EyeGestureDetector.LEFT_EYE_RIGHT_CORNER, true);
+    }
+
+    private int advance() {
+        int i = next;
+        next = (next + 1) & (FRAMES - 1);
+        return i;
+    }
+}
@@ -0,0 +1,62 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.HandGestureClassifier;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The custom gesture rules the gesture service runs on every hand landmark
+ * result. Cycles through all 32 finger combinations so no single branch is
+ * favoured by the predictor.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HandClassifierBenchmark {
+
+    private final HandGestureClassifier classifier = new HandGestureClassifier();
+    private float[][] poses;
+    private int next;
+
+    @Setup
+    public void setup() {
+        poses = SyntheticData.handPoses();
+    }
+
+    /** Equivalent of the service's detectCustomGesture. */
+    @Benchmark
+    public String classify() {
+        return classifier.classify(nextPose(), HandGestureClassifier.LANDMARK_COUNT);
+    }
+
+    @Benchmark
+    public int fingerMask() {
+        return classifier.fingerMask(nextPose());
+    }
+
+    /** The allocating boolean[] form, kept for comparison with fingerMask. */
+    @Benchmark
+    public boolean[] fingerStates() {
+        return classifier.getFingerStates(nextPose());
+    }
+
+    private float[] nextPose() {
+        float[] pose = poses[next];
+        next = (next + 1) & (poses.length - 1);
+        return pose;
+    }
+}
@@ -0,0 +1,53 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.MotionGate;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The motion check the gesture service's idle tier runs on each frame it
+ * looks at, before deciding whether to run a hand model.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MotionGateBenchmark {
+
+    private static final int WIDTH = 320;
+    private static final int HEIGHT = 240;
+
+    private final MotionGate gate = new MotionGate();
+    private ByteBuffer[] frames;
+    private int next;
+
+    @Setup
+    public void setup() {
+        frames = new ByteBuffer[2];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = ByteBuffer.allocateDirect(WIDTH * HEIGHT).put(SyntheticData.yuvPlane(WIDTH * HEIGHT, i));
+            frames[i].rewind();
+        }
+    }
+
+    @Benchmark
+    public boolean update() {
+        ByteBuffer frame = frames[next];
+        next ^= 1;
+        return gate.update(frame, WIDTH, HEIGHT, WIDTH);
+    }
+}
@@ -0,0 +1,173 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.EyeGestureDetector;
+import com.ateebnoone.gesturesmartv2.core.HandGestureClassifier;
+
+import java.util.Random;
+
+/**
+ * Deterministic inputs shaped like what MediaPipe and the camera deliver.
+ * A fixed seed keeps runs comparable across machines and commits.
+ */
+final class SyntheticData {
+
+    private static final long SEED = 0x4753L;
+
+    private SyntheticData() {
+    }
+
+    /**
+     * One hand per combination of extended fingers (thumb..pinky as bits
+     * 0..4), so every classifier rule is exercised.
+     */
+    static float[][] handPoses() {
+        Random random = new Random(SEED);
+        float[][] poses = new float[32][];
+        for (int mask = 0; mask < 32; mask++) {
+            poses[mask] = hand(mask, random);
+        }
+        return poses;
+    }
+
+    private static float[] hand(int extendedMask, Random random) {
+        float[] lm = new float[HandGestureClassifier.LANDMARK_COUNT * HandGestureClassifier.STRIDE];
+        set(lm, HandGestureClassifier.WRIST, 0.50f, 0.90f, random);
+
+        // Thumb: CMC, MCP, IP, TIP. Extended means the tip is right of the IP joint.
+        boolean thumb = (extendedMask & 1) != 0;
+        set(lm, 1, 0.42f, 0.84f, random);
+        set(lm, 2, 0.38f, 0.77f, random);
+        set(lm, 3, 0.35f, 0.71f, random);
+        set(lm, 4, thumb ? 0.40f : 0.31f, thumb ? 0.60f : 0.73f, random);
+
+        // Fingers: MCP, PIP, DIP, TIP. Extended means the tip is above the PIP joint.
+        for (int finger = 1; finger <= 4; finger++) {
+            boolean up = (extendedMask & (1 << finger)) != 0;
+            int base = 1 + finger * 4;
+            float x = 0.40f + 0.06f * (finger - 1);
+            set(lm, base, x, 0.70f, random);
+            set(lm, base + 1, x, 0.60f, random);
+            set(lm, base + 2, x, up ? 0.50f : 0.65f, random);
+            set(lm, base + 3, x, up ? 0.42f : 0.69f, random);
+        }
+        return lm;
+    }
+
+    /**
+     * A face-landmark stream that holds each gaze direction long enough to
+     * fire, with blink and wink runs mixed in. Each frame is 478 landmarks;
+     * the matching blendshape scores are in {@link #eyeBlinkScores}.
+     */
+    static float[][] eyeFrames(int count) {
+        Random random = new Random(SEED);
+        // Horizontal and vertical iris ratios for centre, left, right, up, down
+        float[][] gazes = { { 0.5f, 0.5f }, { 0.2f, 0.5f }, { 0.8f, 0.5f }, { 0.5f, 0.2f }, { 0.5f, 0.8f } };
+        float[][] frames = new float[count][];
+        for (int i = 0; i < count; i++) {
+            float[] gaze = gazes[(i / 8) % gazes.length];
+            frames[i] = face(gaze[0], gaze[1], random);
+        }
+        return frames;
+    }
+
+    /** Left/right eyeBlink scores per frame, for {@link #eyeFrames}. */
+    static float[][] eyeBlinkScores(int count) {
+        // Open, both closed, left closed, right closed
+        float[][] states = { { 0.05f, 0.05f }, { 0.9f, 0.9f }, { 0.9f, 0.1f }, { 0.1f, 0.9f } };
+        float[][] scores = new float[count][];
+        for (int i = 0; i < count; i++) {
+            int run = (i / 6) % 8;
+            scores[i] = run < states.length ? states[run] : states[0];
+        }
+        return scores;
+    }
+
+    private static float[] face(float horizontal, float vertical, Random random) {
+        float[] lm = new float[EyeGestureDetector.LANDMARK_COUNT * EyeGestureDetector.STRIDE];
+        for (int i = 0; i < EyeGestureDetector.LANDMARK_COUNT; i++) {
+            set(lm, i, 0.3f + 0.4f * random.nextFloat(), 0.3f + 0.5f * random.nextFloat(), random);
+        }
+        eye(lm, EyeGestureDetector.LEFT_EYE_IRIS_CENTER, EyeGestureDetector.LEFT_EYE_LEFT_CORNER,
+                EyeGestureDetector.LEFT_EYE_RIGHT_CORNER, EyeGestureDetector.LEFT_EYE_TOP,
+                EyeGestureDetector.LEFT_EYE_BOTTOM, 0.35f, horizontal, vertical);
+        eye(lm, EyeGestureDetector.RIGHT_EYE_IRIS_CENTER, EyeGestureDetector.RIGHT_EYE_LEFT_CORNER,
+                EyeGestureDetector.RIGHT_EYE_RIGHT_CORNER, EyeGestureDetector.RIGHT_EYE_TOP,
+                EyeGestureDetector.RIGHT_EYE_BOTTOM, 0.55f, horizontal, vertical);
+        return lm;
+    }
+
+    private static void eye(float[] lm, int iris, int leftCorner, int rightCorner, int top, int bottom,
+            float left, float horizontal, float vertical) {
+        float width = 0.10f;
+        float topY = 0.40f;
+        float height = 0.04f;
+        set(lm, leftCorner, left, topY + height / 2);
+        set(lm, rightCorner, left + width, topY + height / 2);
+        set(lm, top, left + width / 2, topY);
+        set(lm, bottom, left + width / 2, topY + height);
+        set(lm, iris, left + width * horizontal, topY + height * vertical);
+    }
+
+    /** Random bytes for one plane of a synthetic camera frame. */
+    static byte[] yuvPlane(int size, long salt) {
+        byte[] plane = new byte[size];
+        new Random(SEED ^ salt).nextBytes(plane);
+        return plane;
+    }
+
+    /**
+     * Tap targets shaped like a list screen: full-width rows of 10% of them,
+     * the rest buttons and icons of 100-300 px, as left, top, right, bottom.
+     */
+    static int[][] tapTargets(int count, int width, int height) {
+        Random random = new Random(SEED);
+        int[][] targets = new int[count][];
+        for (int i = 0; i < count; i++) {
+            int w = i % 10 == 0 ? width : 100 + random.nextInt(200);
+            int h = 100 + random.nextInt(200);
+            int left = random.nextInt(Math.max(1, width - w + 1));
+            int top = random.nextInt(height - h);
+            targets[i] = new int[] { left, top, left + w, top + h };
+        }
+        return targets;
+    }
+
+    private static final String[] WORDS = {
+            "photo", "music", "video", "chat", "mail", "maps", "notes", "news", "shop", "bank",
+            "fit", "games", "weather", "clock", "camera", "scanner", "radio", "books", "ride", "food",
+            "travel", "wallet", "calendar", "drive", "translate", "files", "health", "sports", "learn", "tv"
+    };
+
+    private static final String[] SUFFIXES = { "", " pro", " lite", " plus", " hub", " go", " studio", " app" };
+
+    /**
+     * Distinct labels such as "Photo Music Lite" (up to 900). Every first
+     * word is shared by many apps, so prefix lookups have candidates to rank.
+     */
+    static String[] appLabels(int count) {
+        Random random = new Random(SEED);
+        String[] labels = new String[count];
+        for (int i = 0; i < count; i++) {
+            String first = WORDS[i % WORDS.length];
+            String second = WORDS[(i / WORDS.length) % WORDS.length];
+            String suffix = SUFFIXES[random.nextInt(SUFFIXES.length)];
+            labels[i] = capitalize(first) + " " + capitalize(second) + suffix;
+        }
+        return labels;
+    }
+
+    private static String capitalize(String word) {
+        return Character.toUpperCase(word.charAt(0)) + word.substring(1);
+    }
+
+    private static void set(float[] lm, int index, float x, float y, Random random) {
+        // Small jitter, as landmarks never sit exactly still between frames
+        set(lm, index, x + (random.nextFloat() - 0.5f) * 0.004f, y + (random.nextFloat() - 0.5f) * 0.004f);
+    }
+
+    private static void set(float[] lm, int index, float x, float y) {
+        lm[index * 3] = x;
+        lm[index * 3 + 1] = y;
+        lm[index * 3 + 2] = 0f;
+    }
+}
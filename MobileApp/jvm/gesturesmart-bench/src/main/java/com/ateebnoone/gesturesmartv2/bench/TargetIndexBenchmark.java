@@ -0,0 +1,80 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.TargetIndex;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cursor target snapping on a 1080x2340 screen with 300 tap targets: the
+ * per-frame nearest query, and the region refresh after a content change.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetIndexBenchmark {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 2340;
+    private static final int TARGET_COUNT = 300;
+    private static final int POINTS = 256;
+
+    private final TargetIndex index = new TargetIndex();
+    private final int[] out = new int[4];
+    private int[][] targets;
+    private float[] pointsX;
+    private float[] pointsY;
+    private int next;
+
+    @Setup
+    public void setup() {
+        targets = SyntheticData.tapTargets(TARGET_COUNT, WIDTH, HEIGHT);
+        index.setBounds(WIDTH, HEIGHT);
+        for (int[] target : targets) {
+            index.add(target[0], target[1], target[2], target[3]);
+        }
+
+        Random random = new Random(1);
+        pointsX = new float[POINTS];
+        pointsY = new float[POINTS];
+        for (int i = 0; i < POINTS; i++) {
+            pointsX[i] = random.nextFloat() * WIDTH;
+            pointsY[i] = random.nextFloat() * HEIGHT;
+        }
+    }
+
+    @Benchmark
+    public float nearest() {
+        int i = next;
+        next = (next + 1) % POINTS;
+        return index.nearest(pointsX[i], pointsY[i], 150f, out);
+    }
+
+    // A content change in a quarter-screen region, then the first query rebuilding the grid
+    @Benchmark
+    public float refreshRegion() {
+        int top = HEIGHT / 4;
+        int bottom = top + HEIGHT / 4;
+        index.removeWithin(0, top, WIDTH, bottom);
+        for (int[] target : targets) {
+            if (target[1] >= top && target[3] <= bottom) {
+                index.add(target[0], target[1], target[2], target[3]);
+            }
+        }
+        return index.nearest(WIDTH / 2f, HEIGHT / 2f, 150f, out);
+    }
+}
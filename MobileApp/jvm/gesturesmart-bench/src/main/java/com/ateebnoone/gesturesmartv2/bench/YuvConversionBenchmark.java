@@ -0,0 +1,135 @@
+package com.ateebnoone.gesturesmartv2.bench;
+
+import com.ateebnoone.gesturesmartv2.core.YuvConverter;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Camera frame conversion, at the gesture service's resolution and the eye
+ * service's HIGH tier resolution.
+ *
+ * {@code jpegRoundTrip} stands in for the services' current
+ * YuvImage.compressToJpeg + BitmapFactory.decodeByteArray path; the
+ * other benchmarks measure the direct conversion steps.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class YuvConversionBenchmark {
+
+    @Param({ "320x240", "640x480" })
+    public String resolution;
+
+    private int width;
+    private int height;
+    private ByteBuffer yPlane;
+    private ByteBuffer uPlane;
+    private ByteBuffer vPlane;
+    private byte[] nv21;
+    private int[] argb;
+    private int[] rotated;
+    private BufferedImage image;
+    private ImageWriter jpegWriter;
+    private ImageWriteParam jpegParam;
+    private ByteArrayOutputStream jpegBytes;
+
+    @Setup
+    public void setup() {
+        String[] size = resolution.split("x");
+        width = Integer.parseInt(size[0]);
+        height = Integer.parseInt(size[1]);
+
+        // Semi-planar chroma as most camera HALs deliver it: U and V views one byte apart
+        int ySize = width * height;
+        int chromaSize = ySize / 2 - 1;
+        yPlane = ByteBuffer.allocateDirect(ySize).put(SyntheticData.yuvPlane(ySize, 1));
+        uPlane = ByteBuffer.allocateDirect(chromaSize).put(SyntheticData.yuvPlane(chromaSize, 2));
+        vPlane = ByteBuffer.allocateDirect(chromaSize).put(SyntheticData.yuvPlane(chromaSize, 3));
+        rewindPlanes();
+
+        nv21 = new byte[YuvConverter.nv21Size(yPlane, uPlane, vPlane)];
+        YuvConverter.toNv21(yPlane, uPlane, vPlane, nv21);
+        argb = new int[width * height];
+        rotated = new int[width * height];
+        YuvConverter.nv21ToArgb(nv21, width, height, argb);
+
+        image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+        jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+        jpegParam = jpegWriter.getDefaultWriteParam();
+        jpegParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        jpegParam.setCompressionQuality(0.8f);
+        jpegBytes = new ByteArrayOutputStream(width * height);
+    }
+
+    @Benchmark
+    public byte[] packNv21() {
+        rewindPlanes();
+        YuvConverter.toNv21(yPlane, uPlane, vPlane, nv21);
+        return nv21;
+    }
+
+    @Benchmark
+    public int[] nv21ToArgb() {
+        YuvConverter.nv21ToArgb(nv21, width, height, argb);
+        return argb;
+    }
+
+    @Benchmark
+    public int[] rotate270Mirrored() {
+        YuvConverter.rotate270Mirrored(argb, width, height, rotated);
+        return rotated;
+    }
+
+    /** Everything a frame goes through before MediaPipe, without JPEG. */
+    @Benchmark
+    public int[] directFrame() {
+        rewindPlanes();
+        YuvConverter.toNv21(yPlane, uPlane, vPlane, nv21);
+        YuvConverter.nv21ToArgb(nv21, width, height, argb);
+        YuvConverter.rotate270Mirrored(argb, width, height, rotated);
+        return rotated;
+    }
+
+    @Benchmark
+    public BufferedImage jpegRoundTrip() throws IOException {
+        jpegBytes.reset();
+        try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(jpegBytes)) {
+            jpegWriter.setOutput(out);
+            jpegWriter.write(null, new IIOImage(image, null, null), jpegParam);
+        }
+        return ImageIO.read(new ByteArrayInputStream(jpegBytes.toByteArray()));
+    }
+
+    private void rewindPlanes() {
+        yPlane.rewind();
+        uPlane.rewind();
+        vPlane.rewind();
+    }
+}
@@ -0,0 +1,482 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory index of launchable apps used to resolve spoken app names.
+ *
+ * Lookups go through, in order: the alias table, an exact label match, a
+ * prefix trie over labels and label words, labels contained in the query,
+ * and finally trigram (Dice coefficient) fuzzy matching. Every stage ranks its
+ * candidates with the same total order, so the same query over the same set
+ * of apps always resolves to the same package.
+ *
+ * The index is updated one package at a time ({@link #put}, {@link #remove}),
+ * so package install/uninstall broadcasts never require a full rebuild.
+ */
+public class AppIndex {
+
+    /** Minimum Dice similarity for a fuzzy match to be accepted. */
+    private static final float FUZZY_THRESHOLD = 0.45f;
+
+    // Score bands; higher is better. Fuzzy matches score below 1.0.
+    private static final float SCORE_ALIAS = 5f;
+    private static final float SCORE_EXACT = 4f;
+    private static final float SCORE_LABEL_PREFIX = 3f;
+    private static final float SCORE_WORD_PREFIX = 2.5f;
+    private static final float SCORE_CONTAINED = 2f;
+
+    // Popular apps with their exact package names, plus short spoken aliases
+    private static final Map<String, String> ALIASES = buildAliases();
+
+    public static final class Match {
+        public final String packageName;
+        public final String label;
+        public final float score;
+
+        Match(String packageName, String label, float score) {
+            this.packageName = packageName;
+            this.label = label;
+            this.score = score;
+        }
+    }
+
+    private static final class Entry {
+        final String packageName;
+        final String label; // original label, for display
+        final String key; // normalized label
+        final String[] trigrams;
+
+        Entry(String packageName, String label, String key) {
+            this.packageName = packageName;
+            this.label = label;
+            this.key = key;
+            this.trigrams = trigrams(key);
+        }
+    }
+
+    private static final class TrieNode {
+        final Map<Character, TrieNode> children = new HashMap<>();
+        // Entries whose whole label starts with the path to this node
+        final Set<Entry> labelPrefix = new HashSet<>();
+        // Entries with a later word (or package segment) starting with the path
+        final Set<Entry> wordPrefix = new HashSet<>();
+    }
+
+    // Total order used to rank candidates inside a score band
+    private static final Comparator<Entry> RANKING = (a, b) -> {
+        int byLength = Integer.compare(a.key.length(), b.key.length());
+        if (byLength != 0)
+            return byLength;
+        int byKey = a.key.compareTo(b.key);
+        if (byKey != 0)
+            return byKey;
+        return a.packageName.compareTo(b.packageName);
+    };
+
+    private final Map<String, Entry> byPackage = new HashMap<>();
+    private final Map<String, List<Entry>> byKey = new HashMap<>();
+    private final Map<String, List<Entry>> byTrigram = new HashMap<>();
+    private final TrieNode root = new TrieNode();
+
+    /** Adds or replaces the entry for a package. */
+    public synchronized void put(String packageName, String label) {
+        if (packageName == null || label == null)
+            return;
+
+        String key = normalize(label);
+        if (key.isEmpty())
+            return;
+
+        Entry existing = byPackage.get(packageName);
+        if (existing != null) {
+            if (existing.key.equals(key) && existing.label.equals(label))
+                return;
+            removeEntry(existing);
+        }
+
+        Entry entry = new Entry(packageName, label, key);
+        byPackage.put(packageName, entry);
+        byKey.computeIfAbsent(key, k -> new ArrayList<>(1)).add(entry);
+        for (String trigram : entry.trigrams) {
+            byTrigram.computeIfAbsent(trigram, k -> new ArrayList<>()).add(entry);
+        }
+
+        insertPrefixes(key, entry, true);
+        for (String word : secondaryWords(entry)) {
+            insertPrefixes(word, entry, false);
+        }
+    }
+
+    /** Removes a package from the index. Returns true if it was present. */
+    public synchronized boolean remove(String packageName) {
+        Entry entry = byPackage.get(packageName);
+        if (entry == null)
+            return false;
+        removeEntry(entry);
+        return true;
+    }
+
+    public synchronized void clear() {
+        byPackage.clear();
+        byKey.clear();
+        byTrigram.clear();
+        root.children.clear();
+        root.labelPrefix.clear();
+        root.wordPrefix.clear();
+    }
+
+    public synchronized int size() {
+        return byPackage.size();
+    }
+
+    public synchronized boolean containsPackage(String packageName) {
+        return byPackage.containsKey(packageName);
+    }
+
+    /** Returns normalized label to package name for every indexed app. */
+    public synchronized Map<String, String> snapshot() {
+        Map<String, String> result = new LinkedHashMap<>();
+        List<Entry> entries = new ArrayList<>(byPackage.values());
+        Collections.sort(entries, RANKING);
+        for (Entry entry : entries) {
+            result.put(entry.key, entry.packageName);
+        }
+        return result;
+    }
+
+    /**
+     * Resolves a spoken or typed app name to the single best match, or null
+     * if nothing is close enough.
+     */
+    public synchronized Match resolve(String query) {
+        String q = normalize(query);
+        if (q.isEmpty())
+            return null;
+
+        // 1. Alias table (only if the aliased app is installed, or nothing is indexed yet)
+        String aliased = ALIASES.get(q);
+        if (aliased != null) {
+            Entry entry = byPackage.get(aliased);
+            if (entry != null) {
+                return new Match(entry.packageName, entry.label, SCORE_ALIAS);
+            }
+            if (byPackage.isEmpty()) {
+                return new Match(aliased, query, SCORE_ALIAS);
+            }
+        }
+
+        // 2. Exact label
+        Entry best = best(byKey.get(q));
+        if (best != null)
+            return new Match(best.packageName, best.label, SCORE_EXACT);
+
+        // 3. Prefix of the whole label, then of any label word
+        TrieNode node = find(q);
+        if (node != null) {
+            best = best(node.labelPrefix);
+            if (best != null)
+                return new Match(best.packageName, best.label, SCORE_LABEL_PREFIX);
+            best = best(node.wordPrefix);
+            if (best != null)
+                return new Match(best.packageName, best.label, SCORE_WORD_PREFIX);
+        }
+
+        // 4. A label spoken inside a longer phrase ("open the youtube app")
+        best = containedLabel(q);
+        if (best != null)
+            return new Match(best.packageName, best.label, SCORE_CONTAINED);
+
+        // 5. Fuzzy trigram match
+        List<Match> fuzzy = fuzzy(q, 1);
+        return fuzzy.isEmpty() ? null : fuzzy.get(0);
+    }
+
+    /** Returns up to {@code limit} matches for a partial name, best first. */
+    public synchronized List<Match> search(String query, int limit) {
+        String q = normalize(query);
+        List<Match> results = new ArrayList<>();
+        if (q.isEmpty() || limit <= 0)
+            return results;
+
+        Set<String> seen = new HashSet<>();
+        TrieNode node = find(q);
+        if (node != null) {
+            addRanked(node.labelPrefix, SCORE_LABEL_PREFIX, results, seen, limit);
+            addRanked(node.wordPrefix, SCORE_WORD_PREFIX, results, seen, limit);
+        }
+        if (results.size() < limit) {
+            for (Match match : fuzzy(q, limit)) {
+                if (results.size() >= limit)
+                    break;
+                if (seen.add(match.packageName))
+                    results.add(match);
+            }
+        }
+        return results;
+    }
+
+    public static String normalize(String text) {
+        if (text == null)
+            return "";
+        String lower = text.toLowerCase(Locale.ENGLISH);
+        StringBuilder sb = new StringBuilder(lower.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && sb.length() > 0)
+                    sb.append(' ');
+                sb.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return sb.toString();
+    }
+
+    private void removeEntry(Entry entry) {
+        byPackage.remove(entry.packageName);
+
+        List<Entry> sameKey = byKey.get(entry.key);
+        if (sameKey != null) {
+            sameKey.remove(entry);
+            if (sameKey.isEmpty())
+                byKey.remove(entry.key);
+        }
+
+        for (String trigram : entry.trigrams) {
+            List<Entry> postings = byTrigram.get(trigram);
+            if (postings != null) {
+                postings.remove(entry);
+                if (postings.isEmpty())
+                    byTrigram.remove(trigram);
+            }
+        }
+
+        removePrefixes(entry.key, entry);
+        for (String word : secondaryWords(entry)) {
+            removePrefixes(word, entry);
+        }
+    }
+
+    private void insertPrefixes(String word, Entry entry, boolean wholeLabel) {
+        TrieNode node = root;
+        for (int i = 0; i < word.length(); i++) {
+            node = node.children.computeIfAbsent(word.charAt(i), c -> new TrieNode());
+            if (wholeLabel) {
+                node.labelPrefix.add(entry);
+            } else {
+                node.wordPrefix.add(entry);
+            }
+        }
+    }
+
+    private void removePrefixes(String word, Entry entry) {
+        removePrefixes(root, word, 0, entry);
+    }
+
+    // Returns true if the child at this depth became empty and can be pruned
+    private boolean removePrefixes(TrieNode node, String word, int depth, Entry entry) {
+        if (depth == word.length())
+            return false;
+
+        char c = word.charAt(depth);
+        TrieNode child = node.children.get(c);
+        if (child == null)
+            return false;
+
+        child.labelPrefix.remove(entry);
+        child.wordPrefix.remove(entry);
+        removePrefixes(child, word, depth + 1, entry);
+
+        if (child.children.isEmpty() && child.labelPrefix.isEmpty() && child.wordPrefix.isEmpty()) {
+            node.children.remove(c);
+            return true;
+        }
+        return false;
+    }
+
+    /** Nodes in the prefix trie, root excluded; for tests of pruning. */
+    synchronized int trieNodeCount() {
+        return countNodes(root) - 1;
+    }
+
+    private static int countNodes(TrieNode node) {
+        int count = 1;
+        for (TrieNode child : node.children.values()) {
+            count += countNodes(child);
+        }
+        return count;
+    }
+
+    private TrieNode find(String prefix) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.children.get(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    private Entry containedLabel(String q) {
+        // Try every word-aligned substring, longest first
+        List<Integer> starts = new ArrayList<>();
+        List<Integer> ends = new ArrayList<>();
+        starts.add(0);
+        for (int i = 0; i < q.length(); i++) {
+            if (q.charAt(i) == ' ') {
+                ends.add(i);
+                starts.add(i + 1);
+            }
+        }
+        ends.add(q.length());
+
+        Entry best = null;
+        int bestLength = 0;
+        for (int start : starts) {
+            for (int end : ends) {
+                int length = end - start;
+                if (length <= bestLength)
+                    continue;
+                Entry candidate = best(byKey.get(q.substring(start, end)));
+                if (candidate != null) {
+                    best = candidate;
+                    bestLength = length;
+                }
+            }
+        }
+        return best;
+    }
+
+    private List<Match> fuzzy(String q, int limit) {
+        String[] queryTrigrams = trigrams(q);
+        Map<Entry, Integer> shared = new HashMap<>();
+        for (String trigram : queryTrigrams) {
+            List<Entry> postings = byTrigram.get(trigram);
+            if (postings == null)
+                continue;
+            for (Entry entry : postings) {
+                shared.merge(entry, 1, Integer::sum);
+            }
+        }
+
+        List<Entry> candidates = new ArrayList<>();
+        Map<Entry, Float> scores = new HashMap<>();
+        for (Map.Entry<Entry, Integer> hit : shared.entrySet()) {
+            Entry entry = hit.getKey();
+            float dice = 2f * hit.getValue() / (queryTrigrams.length + entry.trigrams.length);
+            if (dice >= FUZZY_THRESHOLD) {
+                candidates.add(entry);
+                scores.put(entry, dice);
+            }
+        }
+
+        Collections.sort(candidates, (a, b) -> {
+            int byScore = Float.compare(scores.get(b), scores.get(a));
+            return byScore != 0 ? byScore : RANKING.compare(a, b);
+        });
+
+        List<Match> results = new ArrayList<>();
+        for (int i = 0; i < candidates.size() && i < limit; i++) {
+            Entry entry = candidates.get(i);
+            results.add(new Match(entry.packageName, entry.label, scores.get(entry)));
+        }
+        return results;
+    }
+
+    private static void addRanked(Set<Entry> entries, float score, List<Match> results,
+            Set<String> seen, int limit) {
+        List<Entry> sorted = new ArrayList<>(entries);
+        Collections.sort(sorted, RANKING);
+        for (Entry entry : sorted) {
+            if (results.size() >= limit)
+                return;
+            if (seen.add(entry.packageName))
+                results.add(new Match(entry.packageName, entry.label, score));
+        }
+    }
+
+    private static Entry best(Iterable<Entry> entries) {
+        if (entries == null)
+            return null;
+        Entry best = null;
+        for (Entry entry : entries) {
+            if (best == null || RANKING.compare(entry, best) < 0)
+                best = entry;
+        }
+        return best;
+    }
+
+    // Label words after the first, plus the last package segment ("com.whatsapp" -> "whatsapp")
+    private static List<String> secondaryWords(Entry entry) {
+        List<String> words = new ArrayList<>();
+        String[] parts = entry.key.split(" ");
+        for (int i = 1; i < parts.length; i++) {
+            words.add(parts[i]);
+        }
+        String pkg = entry.packageName.toLowerCase(Locale.ENGLISH);
+        String segment = pkg.substring(pkg.lastIndexOf('.') + 1);
+        if (!segment.isEmpty() && !entry.key.startsWith(segment) && !words.contains(segment)) {
+            words.add(segment);
+        }
+        return words;
+    }
+
+    private static String[] trigrams(String key) {
+        String padded = "  " + key + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams.toArray(new String[0]);
+    }
+
+    private static Map<String, String> buildAliases() {
+        Map<String, String> aliases = new HashMap<>();
+        aliases.put("youtube", "com.google.android.youtube");
+        aliases.put("yt", "com.google.android.youtube");
+        aliases.put("gmail", "com.google.android.gm");
+        aliases.put("chrome", "com.android.chrome");
+        aliases.put("maps", "com.google.android.apps.maps");
+        aliases.put("google maps", "com.google.android.apps.maps");
+        aliases.put("whatsapp", "com.whatsapp");
+        aliases.put("facebook", "com.facebook.katana");
+        aliases.put("fb", "com.facebook.katana");
+        aliases.put("instagram", "com.instagram.android");
+        aliases.put("twitter", "com.twitter.android");
+        aliases.put("x", "com.twitter.android");
+        aliases.put("spotify", "com.spotify.music");
+        aliases.put("netflix", "com.netflix.mediaclient");
+        aliases.put("amazon", "com.amazon.mShop.android.shopping");
+        aliases.put("uber", "com.ubercab");
+        aliases.put("tiktok", "com.zhiliaoapp.musically");
+        aliases.put("telegram", "org.telegram.messenger");
+        aliases.put("snapchat", "com.snapchat.android");
+        aliases.put("discord", "com.discord");
+        aliases.put("zoom", "us.zoom.videomeetings");
+        aliases.put("microsoft teams", "com.microsoft.teams");
+        aliases.put("teams", "com.microsoft.teams");
+        aliases.put("skype", "com.skype.raider");
+        aliases.put("pinterest", "com.pinterest");
+        aliases.put("linkedin", "com.linkedin.android");
+        aliases.put("reddit", "com.reddit.frontpage");
+        aliases.put("calculator", "com.google.android.calculator");
+        aliases.put("calendar", "com.google.android.calendar");
+        aliases.put("camera", "com.google.android.GoogleCamera");
+        aliases.put("photos", "com.google.android.apps.photos");
+        aliases.put("play store", "com.android.vending");
+        aliases.put("playstore", "com.android.vending");
+        aliases.put("settings", "com.android.settings");
+        return Collections.unmodifiableMap(aliases);
+    }
+}
@@ -0,0 +1,96 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * On-disk snapshot of the app index (".bin" file, "GSAI"), so the index can
+ * be loaded without asking PackageManager for every label. All values are
+ * big endian, as written by {@link DataOutputStream}.
+ *
+ * <pre>
+ *   int    MAGIC ("GSAI")
+ *   int    FORMAT_VERSION
+ *   UTF    localeTag       locale the labels were loaded under
+ *   int    count
+ *   count * (UTF packageName, UTF label, long lastUpdateTime, long versionCode)
+ * </pre>
+ *
+ * lastUpdateTime and versionCode tell which packages changed since the
+ * snapshot was written, so only their labels need reloading.
+ */
+public final class AppIndexSnapshot {
+
+    public static final int MAGIC = 0x47534149; // "GSAI"
+    public static final int FORMAT_VERSION = 1;
+
+    public static final class Record {
+        public final String label;
+        public final long lastUpdateTime;
+        public final long versionCode;
+
+        public Record(String label, long lastUpdateTime, long versionCode) {
+            this.label = label;
+            this.lastUpdateTime = lastUpdateTime;
+            this.versionCode = versionCode;
+        }
+    }
+
+    public final String localeTag;
+    /** Package name to record. */
+    public final Map<String, Record> records;
+
+    public AppIndexSnapshot(String localeTag, Map<String, Record> records) {
+        this.localeTag = localeTag;
+        this.records = Collections.unmodifiableMap(new HashMap<>(records));
+    }
+
+    /** Writes the snapshot; the caller closes the stream. */
+    public void write(OutputStream stream) throws IOException {
+        DataOutputStream out = new DataOutputStream(stream);
+        out.writeInt(MAGIC);
+        out.writeInt(FORMAT_VERSION);
+        out.writeUTF(localeTag);
+        out.writeInt(records.size());
+        for (Map.Entry<String, Record> entry : records.entrySet()) {
+            Record record = entry.getValue();
+            out.writeUTF(entry.getKey());
+            out.writeUTF(record.label);
+            out.writeLong(record.lastUpdateTime);
+            out.writeLong(record.versionCode);
+        }
+        out.flush();
+    }
+
+    /**
+     * Reads a whole snapshot; the caller closes the stream.
+     *
+     * @throws IOException if the stream is not a snapshot of this format or
+     *                     ends early
+     */
+    public static AppIndexSnapshot read(InputStream stream) throws IOException {
+        DataInputStream in = new DataInputStream(stream);
+        if (in.readInt() != MAGIC || in.readInt() != FORMAT_VERSION)
+            throw new IOException("Unknown app index snapshot format");
+        String localeTag = in.readUTF();
+
+        int count = in.readInt();
+        if (count < 0)
+            throw new IOException("Invalid app count " + count);
+        Map<String, Record> records = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            String packageName = in.readUTF();
+            String label = in.readUTF();
+            long lastUpdateTime = in.readLong();
+            long versionCode = in.readLong();
+            records.put(packageName, new Record(label, lastUpdateTime, versionCode));
+        }
+        return new AppIndexSnapshot(localeTag, records);
+    }
+}
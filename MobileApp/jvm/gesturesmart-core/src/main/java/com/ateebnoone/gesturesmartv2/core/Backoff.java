@@ -0,0 +1,55 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.Random;
+
+/**
+ * Exponential backoff with jitter between attempts to recover something,
+ * such as reopening the camera after an error.
+ *
+ * Each {@link #next} doubles the ceiling, from {@link #BASE_MS} up to
+ * {@link #MAX_MS}, and returns a delay between half the ceiling and the
+ * ceiling: never so short that a persistent fault becomes a busy loop, and
+ * spread out so retries after a shared fault do not line up. {@link #reset}
+ * once an attempt has succeeded.
+ *
+ * Not thread-safe; owned by the thread that schedules the attempts.
+ */
+public class Backoff {
+    public static final long BASE_MS = 500;
+    public static final long MAX_MS = 30000;
+
+    private final long baseMs;
+    private final long maxMs;
+    private final Random random;
+    private int attempts = 0;
+
+    public Backoff() {
+        this(BASE_MS, MAX_MS, new Random());
+    }
+
+    public Backoff(long baseMs, long maxMs, Random random) {
+        if (baseMs <= 0 || maxMs < baseMs)
+            throw new IllegalArgumentException("Invalid backoff: " + baseMs + "-" + maxMs + " ms");
+        this.baseMs = baseMs;
+        this.maxMs = maxMs;
+        this.random = random;
+    }
+
+    /** Delay before the next attempt, counting it. */
+    public long next() {
+        // Capped shift: the ceiling stops growing long before the shift could overflow
+        long ceiling = Math.min(maxMs, baseMs << Math.min(attempts, 20));
+        attempts++;
+        long half = ceiling / 2;
+        return half + (long) (random.nextDouble() * (ceiling - half));
+    }
+
+    /** Attempts since the last reset. */
+    public int attempts() {
+        return attempts;
+    }
+
+    public void reset() {
+        attempts = 0;
+    }
+}
@@ -0,0 +1,117 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Dwell-to-click: fires when the cursor stays within a radius for a time.
+ *
+ * Fed once per cursor update. The cursor is compared against the centroid
+ * of the recent samples of the current dwell, kept in a fixed-size ring with
+ * running sums, so slow drift inside the radius does not restart the timer
+ * and no memory is allocated per update. Leaving the radius restarts the
+ * dwell at the new position. After firing, the cursor has to leave the
+ * radius before it can fire again.
+ *
+ * Positions are normalized screen coordinates; the radius is a fraction of
+ * the screen's shorter side, corrected by {@link #setAspect}.
+ */
+public class DwellDetector {
+
+    public static final float DEFAULT_RADIUS = 0.04f;
+    public static final long DEFAULT_DWELL_MS = 1200;
+    // Progress is only reported after this long, so passing over a target shows nothing
+    public static final long DEFAULT_GRACE_MS = 200;
+
+    private static final int HISTORY = 32;
+
+    private final float[] historyX = new float[HISTORY];
+    private final float[] historyY = new float[HISTORY];
+    private int head = 0;
+    private int size = 0;
+    private float sumX;
+    private float sumY;
+
+    private float radius = DEFAULT_RADIUS;
+    private long dwellMs = DEFAULT_DWELL_MS;
+    // Screen height / width, to measure the radius in the same units on both axes
+    private float aspect = 1f;
+
+    private long dwellStart = -1;
+    private boolean fired = false;
+    private float progress = 0f;
+
+    public synchronized void configure(float radius, long dwellMs) {
+        this.radius = Math.max(0.005f, radius);
+        this.dwellMs = Math.max(DEFAULT_GRACE_MS + 1, dwellMs);
+        reset();
+    }
+
+    /** Screen height over width; positions are normalized on each axis separately. */
+    public synchronized void setAspect(float aspect) {
+        this.aspect = aspect > 0 ? aspect : 1f;
+    }
+
+    /**
+     * Adds a cursor position. Returns true exactly once per dwell, when the
+     * cursor has stayed inside the radius for the dwell time.
+     */
+    public synchronized boolean update(float x, float y, long now) {
+        if (size > 0) {
+            float dx = (x - sumX / size) * Math.max(1f, 1f / aspect);
+            float dy = (y - sumY / size) * Math.max(1f, aspect);
+            if (dx * dx + dy * dy > radius * radius) {
+                restart(now);
+            }
+        } else {
+            dwellStart = now;
+        }
+        push(x, y);
+
+        long held = now - dwellStart;
+        progress = fired || held < DEFAULT_GRACE_MS ? 0f
+                : Math.min(1f, (held - DEFAULT_GRACE_MS) / (float) (dwellMs - DEFAULT_GRACE_MS));
+        if (!fired && held >= dwellMs) {
+            fired = true;
+            progress = 0f;
+            return true;
+        }
+        return false;
+    }
+
+    /** Progress of the current dwell, 0 to 1, for drawing. */
+    public synchronized float progress() {
+        return progress;
+    }
+
+    /** Forgets the history; the next update starts a new dwell. */
+    public synchronized void reset() {
+        size = 0;
+        head = 0;
+        sumX = 0f;
+        sumY = 0f;
+        dwellStart = -1;
+        fired = false;
+        progress = 0f;
+    }
+
+    private void restart(long now) {
+        size = 0;
+        head = 0;
+        sumX = 0f;
+        sumY = 0f;
+        dwellStart = now;
+        fired = false;
+    }
+
+    private void push(float x, float y) {
+        if (size == HISTORY) {
+            sumX -= historyX[head];
+            sumY -= historyY[head];
+        } else {
+            size++;
+        }
+        historyX[head] = x;
+        historyY[head] = y;
+        sumX += x;
+        sumY += y;
+        head = (head + 1) % HISTORY;
+    }
+}
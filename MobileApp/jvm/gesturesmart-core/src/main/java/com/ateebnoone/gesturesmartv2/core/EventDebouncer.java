@@ -0,0 +1,56 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Rate limit applied to detected events before they are sent to React.
+ *
+ * An event is accepted when the cooldown since the last accepted event has
+ * passed, and it is not a repeat of that event within the repeat window.
+ */
+public class EventDebouncer {
+
+    private volatile long cooldownMs;
+    private final long repeatWindowMs;
+
+    private long lastEventTime = 0;
+    private String lastEvent = "";
+
+    /**
+     * @param cooldownMs     minimum time between any two events
+     * @param repeatWindowMs the same event is suppressed for this long after
+     *                       it was last accepted (0 to allow repeats as soon
+     *                       as the cooldown passes)
+     */
+    public EventDebouncer(long cooldownMs, long repeatWindowMs) {
+        this.cooldownMs = cooldownMs;
+        this.repeatWindowMs = repeatWindowMs;
+    }
+
+    public void setCooldown(long cooldownMs) {
+        this.cooldownMs = cooldownMs;
+    }
+
+    public long getCooldown() {
+        return cooldownMs;
+    }
+
+    public boolean isCoolingDown(long now) {
+        return now - lastEventTime < cooldownMs;
+    }
+
+    /** Returns true if the event should be sent, and records it as the last event. */
+    public boolean accept(String event, long now) {
+        if (isCoolingDown(now))
+            return false;
+        if (event.equals(lastEvent) && now - lastEventTime <= repeatWindowMs)
+            return false;
+
+        lastEvent = event;
+        lastEventTime = now;
+        return true;
+    }
+
+    public void reset() {
+        lastEventTime = 0;
+        lastEvent = "";
+    }
+}
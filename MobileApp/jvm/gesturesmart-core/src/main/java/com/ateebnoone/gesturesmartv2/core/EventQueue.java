@@ -0,0 +1,43 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Consumer;
+
+/**
+ * Events waiting for a listener that can take them, e.g. until the React
+ * context is available. Detection threads enqueue; the flush drains in
+ * batches so a backlog never blocks the camera thread for long.
+ */
+public class EventQueue<E> {
+
+    private final ConcurrentLinkedQueue<E> queue = new ConcurrentLinkedQueue<>();
+
+    public void offer(E event) {
+        queue.offer(event);
+    }
+
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    public void clear() {
+        queue.clear();
+    }
+
+    /**
+     * Hands up to {@code max} queued events to the consumer, oldest first.
+     *
+     * @return the number of events drained
+     */
+    public int drain(Consumer<? super E> consumer, int max) {
+        int drained = 0;
+        while (drained < max) {
+            E event = queue.poll();
+            if (event == null)
+                break;
+            consumer.accept(event);
+            drained++;
+        }
+        return drained;
+    }
+}
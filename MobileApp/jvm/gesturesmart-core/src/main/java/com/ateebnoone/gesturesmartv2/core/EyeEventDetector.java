@@ -0,0 +1,38 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Turns a stream of face results into eye events (blinks, winks and gaze
+ * directions).
+ *
+ * Detectors are stateful and fed one frame at a time, in order, from a single
+ * thread. Face landmarks use the flat x/y/z layout of
+ * {@link HandPoseClassifier}. Implementations must not allocate per frame.
+ */
+public interface EyeEventDetector {
+
+    /**
+     * Feeds the eyeBlinkLeft/eyeBlinkRight blendshape scores of one frame.
+     *
+     * @return an event name, or null
+     */
+    String detectBlinksAndWinks(float leftEyeScore, float rightEyeScore);
+
+    /**
+     * Feeds the face landmarks of one frame.
+     *
+     * @return an event name, or null
+     */
+    String detectGazeDirection(float[] landmarks, int count);
+
+    /** Call when a frame has no face, so partial detections do not carry over. */
+    void resetFrameCounters();
+
+    /** Number of consecutive frames an event must be seen for before it is reported. */
+    void setConsecutiveFrames(int consecutiveFrames);
+
+    /** Horizontal iris position from the last frame, 0.0 (left) - 1.0 (right) within the eye. */
+    float getGazeHorizontal();
+
+    /** Vertical iris position from the last frame, 0.0 (top) - 1.0 (bottom) within the eye. */
+    float getGazeVertical();
+}
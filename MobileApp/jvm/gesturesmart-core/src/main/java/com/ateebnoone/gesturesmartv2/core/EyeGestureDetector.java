@@ -0,0 +1,267 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Blink, wink and gaze detection used by EyeEngine.
+ *
+ * The detector is stateful: an event is reported only after it has been seen
+ * for a number of consecutive frames. Feed it one frame at a time, in order,
+ * from a single thread. Face landmarks use the same flat x/y/z layout as
+ * {@link HandGestureClassifier}.
+ */
+public class EyeGestureDetector implements EyeEventDetector {
+
+    public static final String BLINK = "blink";
+    public static final String WINK_LEFT = "wink_left";
+    public static final String WINK_RIGHT = "wink_right";
+    public static final String LOOK_LEFT = "look_left";
+    public static final String LOOK_RIGHT = "look_right";
+    public static final String LOOK_UP = "look_up";
+    public static final String LOOK_DOWN = "look_down";
+    public static final String LOOK_NONE = "none";
+
+    public static final int STRIDE = 3;
+    // MediaPipe 478-point face model (with irises)
+    public static final int LANDMARK_COUNT = 478;
+
+    // Eye detection thresholds
+    public static final float EYE_CLOSED_THRESHOLD = 0.8f;
+    public static final float EYE_OPEN_THRESHOLD = 0.2f;
+    public static final float GAZE_HORIZONTAL_THRESHOLD = 0.35f;
+    public static final float GAZE_VERTICAL_THRESHOLD = 0.35f;
+
+    // Eye landmark indices (MediaPipe 478-point model)
+    public static final int LEFT_EYE_IRIS_CENTER = 468;
+    public static final int RIGHT_EYE_IRIS_CENTER = 473;
+    public static final int LEFT_EYE_LEFT_CORNER = 33;
+    public static final int LEFT_EYE_RIGHT_CORNER = 133;
+    public static final int LEFT_EYE_TOP = 159;
+    public static final int LEFT_EYE_BOTTOM = 145;
+    public static final int RIGHT_EYE_LEFT_CORNER = 362;
+    public static final int RIGHT_EYE_RIGHT_CORNER = 263;
+    public static final int RIGHT_EYE_TOP = 386;
+    public static final int RIGHT_EYE_BOTTOM = 374;
+
+    private int consecutiveFrames;
+
+    // Frame tracking
+    private int blinkFrameCount = 0;
+    private int leftWinkFrameCount = 0;
+    private int rightWinkFrameCount = 0;
+    private int lookLeftFrameCount = 0;
+    private int lookRightFrameCount = 0;
+    private int lookUpFrameCount = 0;
+    private int lookDownFrameCount = 0;
+    private int noneFrameCount = 0;
+    private String lastGazeDirection = "";
+
+    // Averaged iris position from the last frame, 0.0 - 1.0 within the eye
+    private float gazeHorizontal = 0.5f;
+    private float gazeVertical = 0.5f;
+
+    public EyeGestureDetector(int consecutiveFrames) {
+        this.consecutiveFrames = consecutiveFrames;
+    }
+
+    @Override
+    public void setConsecutiveFrames(int consecutiveFrames) {
+        this.consecutiveFrames = consecutiveFrames;
+    }
+
+    public int getConsecutiveFrames() {
+        return consecutiveFrames;
+    }
+
+    @Override
+    public float getGazeHorizontal() {
+        return gazeHorizontal;
+    }
+
+    @Override
+    public float getGazeVertical() {
+        return gazeVertical;
+    }
+
+    /**
+     * Feeds the eyeBlinkLeft/eyeBlinkRight blendshape scores of one frame.
+     *
+     * @return "blink", "wink_left", "wink_right" or null
+     */
+    @Override
+    public String detectBlinksAndWinks(float leftEyeScore, float rightEyeScore) {
+        // Both eyes closed = blink
+        if (leftEyeScore > EYE_CLOSED_THRESHOLD && rightEyeScore > EYE_CLOSED_THRESHOLD) {
+            blinkFrameCount++;
+            leftWinkFrameCount = 0;
+            rightWinkFrameCount = 0;
+
+            if (blinkFrameCount >= consecutiveFrames) {
+                resetFrameCounters();
+                return BLINK;
+            }
+        }
+        // Left wink: Left eye closed, right eye open
+        else if (leftEyeScore > EYE_CLOSED_THRESHOLD && rightEyeScore < EYE_OPEN_THRESHOLD) {
+            leftWinkFrameCount++;
+            blinkFrameCount = 0;
+            rightWinkFrameCount = 0;
+
+            if (leftWinkFrameCount >= consecutiveFrames) {
+                resetFrameCounters();
+                return WINK_LEFT;
+            }
+        }
+        // Right wink: Right eye closed, left eye open
+        else if (rightEyeScore > EYE_CLOSED_THRESHOLD && leftEyeScore < EYE_OPEN_THRESHOLD) {
+            rightWinkFrameCount++;
+            blinkFrameCount = 0;
+            leftWinkFrameCount = 0;
+
+            if (rightWinkFrameCount >= consecutiveFrames) {
+                resetFrameCounters();
+                return WINK_RIGHT;
+            }
+        }
+        // Reset counters if no eye event detected
+        else {
+            if (blinkFrameCount > 0) blinkFrameCount--;
+            if (leftWinkFrameCount > 0) leftWinkFrameCount--;
+            if (rightWinkFrameCount > 0) rightWinkFrameCount--;
+        }
+        return null;
+    }
+
+    /**
+     * Feeds the face landmarks of one frame.
+     *
+     * @return a look_* event, "none" after a sustained straight gaze, or null
+     */
+    @Override
+    public String detectGazeDirection(float[] landmarks, int count) {
+        if (count < LANDMARK_COUNT) {
+            resetGazeFrameCounters();
+            return null;
+        }
+
+        // Calculate gaze direction based on iris position relative to eye boundaries
+        float leftHorizRatio = calculateEyeRatio(landmarks,
+                LEFT_EYE_IRIS_CENTER, LEFT_EYE_LEFT_CORNER, LEFT_EYE_RIGHT_CORNER, true);
+        float rightHorizRatio = calculateEyeRatio(landmarks,
+                RIGHT_EYE_IRIS_CENTER, RIGHT_EYE_LEFT_CORNER, RIGHT_EYE_RIGHT_CORNER, true);
+        float leftVertRatio = calculateEyeRatio(landmarks,
+                LEFT_EYE_IRIS_CENTER, LEFT_EYE_TOP, LEFT_EYE_BOTTOM, false);
+        float rightVertRatio = calculateEyeRatio(landmarks,
+                RIGHT_EYE_IRIS_CENTER, RIGHT_EYE_TOP, RIGHT_EYE_BOTTOM, false);
+
+        // Average both eyes
+        float avgHoriz = (leftHorizRatio + rightHorizRatio) / 2;
+        float avgVert = (leftVertRatio + rightVertRatio) / 2;
+        gazeHorizontal = avgHoriz;
+        gazeVertical = avgVert;
+
+        String currentGazeDirection;
+
+        // Horizontal gaze detection
+        if (avgHoriz < GAZE_HORIZONTAL_THRESHOLD) {
+            currentGazeDirection = LOOK_LEFT;
+        } else if (avgHoriz > (1 - GAZE_HORIZONTAL_THRESHOLD)) {
+            currentGazeDirection = LOOK_RIGHT;
+        }
+        // Vertical gaze detection
+        else if (avgVert < GAZE_VERTICAL_THRESHOLD) {
+            currentGazeDirection = LOOK_UP;
+        } else if (avgVert > (1 - GAZE_VERTICAL_THRESHOLD)) {
+            currentGazeDirection = LOOK_DOWN;
+        }
+        // Looking straight
+        else {
+            currentGazeDirection = LOOK_NONE;
+        }
+
+        // Process gaze direction with frame counting
+        if (currentGazeDirection.equals(lastGazeDirection)) {
+            incrementGazeFrameCount(currentGazeDirection);
+
+            if (getGazeFrameCount(currentGazeDirection) >= getRequiredFramesForGaze(currentGazeDirection)) {
+                resetGazeFrameCounters();
+                return currentGazeDirection;
+            }
+        } else {
+            lastGazeDirection = currentGazeDirection;
+            resetGazeFrameCounters();
+        }
+        return null;
+    }
+
+    @Override
+    public void resetFrameCounters() {
+        blinkFrameCount = 0;
+        leftWinkFrameCount = 0;
+        rightWinkFrameCount = 0;
+        resetGazeFrameCounters();
+    }
+
+    public static float calculateEyeRatio(float[] landmarks, int center, int bound1, int bound2,
+            boolean isHorizontal) {
+        int axis = isHorizontal ? 0 : 1;
+        float centerVal = landmarks[center * STRIDE + axis];
+        float bound1Val = landmarks[bound1 * STRIDE + axis];
+        float bound2Val = landmarks[bound2 * STRIDE + axis];
+
+        float minBound = Math.min(bound1Val, bound2Val);
+        float maxBound = Math.max(bound1Val, bound2Val);
+        float range = maxBound - minBound;
+
+        if (range == 0) return 0.5f; // Prevent division by zero
+
+        return (centerVal - minBound) / range;
+    }
+
+    private void resetGazeFrameCounters() {
+        lookLeftFrameCount = 0;
+        lookRightFrameCount = 0;
+        lookUpFrameCount = 0;
+        lookDownFrameCount = 0;
+        noneFrameCount = 0;
+    }
+
+    private void incrementGazeFrameCount(String direction) {
+        switch (direction) {
+            case LOOK_LEFT:
+                lookLeftFrameCount++;
+                break;
+            case LOOK_RIGHT:
+                lookRightFrameCount++;
+                break;
+            case LOOK_UP:
+                lookUpFrameCount++;
+                break;
+            case LOOK_DOWN:
+                lookDownFrameCount++;
+                break;
+            case LOOK_NONE:
+                noneFrameCount++;
+                break;
+        }
+    }
+
+    private int getGazeFrameCount(String direction) {
+        switch (direction) {
+            case LOOK_LEFT:
+                return lookLeftFrameCount;
+            case LOOK_RIGHT:
+                return lookRightFrameCount;
+            case LOOK_UP:
+                return lookUpFrameCount;
+            case LOOK_DOWN:
+                return lookDownFrameCount;
+            case LOOK_NONE:
+                return noneFrameCount;
+            default:
+                return 0;
+        }
+    }
+
+    private int getRequiredFramesForGaze(String direction) {
+        return direction.equals(LOOK_NONE) ? consecutiveFrames + 2 : consecutiveFrames;
+    }
+}
@@ -0,0 +1,196 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Landmark-based hand gesture rules used by HandEngine.
+ *
+ * Landmarks are passed as a flat array of MediaPipe normalized coordinates,
+ * {@code x0, y0, z0, x1, y1, z1, ...}, so the same code runs on device and
+ * in the JVM replay and benchmark tools.
+ */
+public class HandGestureClassifier implements HandPoseClassifier {
+
+    public static final int STRIDE = 3;
+    public static final int LANDMARK_COUNT = 21;
+
+    // Hand landmark indices (MediaPipe hand landmarks)
+    public static final int WRIST = 0;
+    public static final int THUMB_MCP = 2;
+    public static final int THUMB_IP = 3;
+    public static final int THUMB_TIP = 4;
+    public static final int INDEX_MCP = 5;
+    public static final int INDEX_PIP = 6;
+    public static final int INDEX_TIP = 8;
+    public static final int MIDDLE_MCP = 9;
+    public static final int MIDDLE_PIP = 10;
+    public static final int MIDDLE_TIP = 12;
+    public static final int RING_MCP = 13;
+    public static final int RING_PIP = 14;
+    public static final int RING_TIP = 16;
+    public static final int PINKY_MCP = 17;
+    public static final int PINKY_PIP = 18;
+    public static final int PINKY_TIP = 20;
+
+    // Finger bits returned by fingerMask
+    public static final int THUMB = 1;
+    public static final int INDEX = 1 << 1;
+    public static final int MIDDLE = 1 << 2;
+    public static final int RING = 1 << 3;
+    public static final int PINKY = 1 << 4;
+
+    // Gesture tracking thresholds
+    public static final float GESTURE_CONFIDENCE_THRESHOLD = 0.7f;
+    public static final long EVENT_COOLDOWN_MS = 400;
+    // The same gesture is not repeated within this window
+    public static final long REPEAT_WINDOW_MS = EVENT_COOLDOWN_MS * 2;
+    // Confidence reported for landmark-based gestures
+    public static final float CUSTOM_GESTURE_CONFIDENCE = 0.85f;
+
+    // MediaPipe predefined gestures we forward
+    public static final String[] MEDIAPIPE_GESTURES = {
+            "Open_Palm", "Closed_Fist", "Thumb_Up", "Thumb_Down", "Pointing_Up",
+            "Victory", "ILoveYou", "Call_Me", "Rock", "OK"
+    };
+
+    // Custom gestures we detect from landmarks
+    public static final String[] CUSTOM_GESTURES = {
+            "One_Finger", "Two_Fingers", "Three_Fingers", "Four_Fingers",
+            "Pinky_Up", "Index_Pinky", "Middle_Finger", "Index_Middle",
+            "Gun_Gesture", "Shaka", "Finger_Heart", "L_Shape"
+    };
+
+    /**
+     * Returns the custom gesture name for one hand, or null if the pose does
+     * not match any rule.
+     *
+     * @param landmarks flat x/y/z array
+     * @param count     number of landmarks in the array
+     */
+    @Override
+    public String classify(float[] landmarks, int count) {
+        if (count < LANDMARK_COUNT)
+            return null;
+
+        // Get finger states (extended or bent)
+        int fingers = fingerMask(landmarks);
+
+        // Detect specific patterns. Each rule names every finger, so it
+        // matches one exact combination of extended fingers.
+        // Counting gestures (1-4 fingers)
+        if (fingers == INDEX) {
+            return "One_Finger"; // Index only
+        }
+        if (fingers == (INDEX | MIDDLE)) {
+            return "Two_Fingers"; // Index + Middle
+        }
+        if (fingers == (INDEX | MIDDLE | RING)) {
+            return "Three_Fingers"; // Index + Middle + Ring
+        }
+        if (fingers == (INDEX | MIDDLE | RING | PINKY)) {
+            return "Four_Fingers"; // All except thumb
+        }
+
+        // Special gestures
+        if (fingers == PINKY) {
+            return "Pinky_Up"; // Only pinky
+        }
+        if (fingers == (INDEX | PINKY)) {
+            return "Index_Pinky"; // Index + Pinky (rock gesture variation)
+        }
+        if (fingers == MIDDLE) {
+            return "Middle_Finger"; // Only middle finger
+        }
+        // "Index_Middle" (peace sign variation) shares its combination with
+        // Two_Fingers, which always matches first
+
+        // Gun gesture (thumb up, index extended, others bent)
+        if (fingers == (THUMB | INDEX)) {
+            // L_Shape (thumb + index at 90 degrees) has the same combination,
+            // so Gun_Gesture always wins
+            return "Gun_Gesture";
+        }
+
+        // Shaka (thumb + pinky)
+        if (fingers == (THUMB | PINKY)) {
+            return "Shaka";
+        }
+
+        // Finger heart (thumb + index tips touching)
+        if ((fingers & (THUMB | INDEX)) == (THUMB | INDEX) && isFingerHeart(landmarks)) {
+            return "Finger_Heart";
+        }
+
+        return null; // No custom gesture detected
+    }
+
+    /** Returns true if a GestureRecognizer category should be forwarded as an event. */
+    public static boolean acceptsModelGesture(String name, float score) {
+        if (score < GESTURE_CONFIDENCE_THRESHOLD)
+            return false;
+        for (String gesture : MEDIAPIPE_GESTURES) {
+            if (gesture.equals(name))
+                return true;
+        }
+        return false;
+    }
+
+    /** Extended fingers as {@link #THUMB} .. {@link #PINKY} bits. */
+    public int fingerMask(float[] landmarks) {
+        int fingers = 0;
+
+        // Thumb (different logic due to orientation)
+        if (x(landmarks, THUMB_TIP) > x(landmarks, THUMB_IP))
+            fingers |= THUMB;
+
+        // Other fingers (tip above PIP joint)
+        if (y(landmarks, INDEX_TIP) < y(landmarks, INDEX_PIP))
+            fingers |= INDEX;
+        if (y(landmarks, MIDDLE_TIP) < y(landmarks, MIDDLE_PIP))
+            fingers |= MIDDLE;
+        if (y(landmarks, RING_TIP) < y(landmarks, RING_PIP))
+            fingers |= RING;
+        if (y(landmarks, PINKY_TIP) < y(landmarks, PINKY_PIP))
+            fingers |= PINKY;
+
+        return fingers;
+    }
+
+    /** Extended state per finger, thumb first. Allocates; {@link #fingerMask} does not. */
+    public boolean[] getFingerStates(float[] landmarks) {
+        int fingers = fingerMask(landmarks);
+        boolean[] fingersUp = new boolean[5];
+        for (int i = 0; i < fingersUp.length; i++) {
+            fingersUp[i] = (fingers & (1 << i)) != 0;
+        }
+        return fingersUp;
+    }
+
+    public boolean isLShapeGesture(float[] landmarks) {
+        // Check if thumb and index form roughly 90-degree angle
+        float wristX = x(landmarks, WRIST);
+        float wristY = y(landmarks, WRIST);
+
+        // Simple angle approximation
+        double thumbAngle = Math.atan2(y(landmarks, THUMB_TIP) - wristY, x(landmarks, THUMB_TIP) - wristX);
+        double indexAngle = Math.atan2(y(landmarks, INDEX_TIP) - wristY, x(landmarks, INDEX_TIP) - wristX);
+        double angleDiff = Math.abs(thumbAngle - indexAngle);
+
+        return angleDiff > Math.PI / 3 && angleDiff < 2 * Math.PI / 3; // Roughly 60-120 degrees
+    }
+
+    public boolean isFingerHeart(float[] landmarks) {
+        // Check if thumb and index tips are close together
+        double dx = x(landmarks, THUMB_TIP) - x(landmarks, INDEX_TIP);
+        double dy = y(landmarks, THUMB_TIP) - y(landmarks, INDEX_TIP);
+        double distance = Math.sqrt(dx * dx + dy * dy);
+
+        return distance < 0.05; // Tips are close together
+    }
+
+    public static float x(float[] landmarks, int index) {
+        return landmarks[index * STRIDE];
+    }
+
+    public static float y(float[] landmarks, int index) {
+        return landmarks[index * STRIDE + 1];
+    }
+}
@@ -0,0 +1,18 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Classifies a single hand pose from its landmarks.
+ *
+ * Landmarks are MediaPipe normalized coordinates in a flat array,
+ * {@code x0, y0, z0, x1, y1, z1, ...}. Implementations must not allocate
+ * per call: they run on every hand landmark result.
+ */
+public interface HandPoseClassifier {
+
+    /**
+     * @param landmarks flat x/y/z array
+     * @param count     number of landmarks in the array
+     * @return the gesture name, or null if the pose matches no gesture
+     */
+    String classify(float[] landmarks, int count);
+}
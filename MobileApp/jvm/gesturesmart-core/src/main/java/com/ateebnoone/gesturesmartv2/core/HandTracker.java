@@ -0,0 +1,199 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Stable per-hand identities across frames.
+ *
+ * Hands from each landmark result are matched to the previous frame's
+ * tracks by nearest wrist position, so a hand keeps its id (and its own
+ * smoothed landmarks and finger state) regardless of the order the model
+ * reports hands in. A track that goes unmatched for {@link #MAX_MISSING_MS}
+ * is dropped; a hand that matches no track starts a new one.
+ */
+public class HandTracker {
+
+    public static final int MAX_HANDS = 2;
+    // Furthest a wrist may move between frames and keep its id (normalized units)
+    public static final float MAX_MATCH_DISTANCE = 0.25f;
+    public static final long MAX_MISSING_MS = 300;
+    // Weight of the newest frame in each hand's smoothed landmarks
+    public static final float SMOOTHING = 0.6f;
+
+    private static final int SIZE = HandGestureClassifier.LANDMARK_COUNT * HandGestureClassifier.STRIDE;
+
+    /** One tracked hand. Landmarks are smoothed, in the same flat x/y/z layout. */
+    public static class Track {
+        private int id = -1;
+        private final float[] landmarks = new float[SIZE];
+        private int count;
+        private int fingerMask;
+        private long lastSeen;
+        private boolean matched;
+
+        public int id() {
+            return id;
+        }
+
+        public float[] landmarks() {
+            return landmarks;
+        }
+
+        public int count() {
+            return count;
+        }
+
+        /** Extended fingers of the smoothed hand, see {@link HandGestureClassifier#fingerMask}. */
+        public int fingerMask() {
+            return fingerMask;
+        }
+
+        public float wristX() {
+            return HandGestureClassifier.x(landmarks, HandGestureClassifier.WRIST);
+        }
+
+        public float wristY() {
+            return HandGestureClassifier.y(landmarks, HandGestureClassifier.WRIST);
+        }
+    }
+
+    private final HandGestureClassifier classifier = new HandGestureClassifier();
+    private final Track[] tracks = new Track[MAX_HANDS];
+    private final Track[] active = new Track[MAX_HANDS];
+    private int activeCount = 0;
+    private int nextId = 0;
+
+    public HandTracker() {
+        for (int i = 0; i < MAX_HANDS; i++) {
+            tracks[i] = new Track();
+        }
+    }
+
+    /**
+     * Matches this frame's hands to the existing tracks.
+     *
+     * @param hands  flat landmark arrays, one per detected hand
+     * @param counts landmark count of each hand
+     * @param n      number of hands detected this frame
+     * @return the number of tracked hands, see {@link #track}
+     */
+    public int update(float[][] hands, int[] counts, int n, long now) {
+        n = Math.min(n, MAX_HANDS);
+        for (Track track : tracks) {
+            track.matched = false;
+            if (track.id >= 0 && now - track.lastSeen > MAX_MISSING_MS) {
+                track.id = -1;
+            }
+        }
+
+        // With at most two hands, trying both assignments is exact and cheap
+        int[] assignment = new int[] { -1, -1 };
+        if (n == 1) {
+            assignment[0] = nearest(hands[0]);
+        } else if (n == 2) {
+            float straight = cost(hands[0], tracks[0]) + cost(hands[1], tracks[1]);
+            float crossed = cost(hands[0], tracks[1]) + cost(hands[1], tracks[0]);
+            if (straight <= crossed) {
+                assignment[0] = matchable(hands[0], tracks[0]) ? 0 : -1;
+                assignment[1] = matchable(hands[1], tracks[1]) ? 1 : -1;
+            } else {
+                assignment[0] = matchable(hands[0], tracks[1]) ? 1 : -1;
+                assignment[1] = matchable(hands[1], tracks[0]) ? 0 : -1;
+            }
+        }
+
+        for (int i = 0; i < n; i++) {
+            if (counts[i] < HandGestureClassifier.LANDMARK_COUNT)
+                continue;
+
+            Track track = assignment[i] >= 0 ? tracks[assignment[i]] : freeTrack();
+            if (track == null)
+                continue;
+
+            if (track.id < 0) {
+                // New hand: start from the raw landmarks
+                track.id = nextId++;
+                System.arraycopy(hands[i], 0, track.landmarks, 0, SIZE);
+            } else {
+                for (int k = 0; k < SIZE; k++) {
+                    track.landmarks[k] += SMOOTHING * (hands[i][k] - track.landmarks[k]);
+                }
+            }
+            track.count = counts[i];
+            track.fingerMask = classifier.fingerMask(track.landmarks);
+            track.lastSeen = now;
+            track.matched = true;
+        }
+
+        activeCount = 0;
+        for (Track track : tracks) {
+            if (track.matched) {
+                active[activeCount++] = track;
+            }
+        }
+        // Report hands in id order so the oldest hand comes first
+        if (activeCount == 2 && active[0].id > active[1].id) {
+            Track first = active[1];
+            active[1] = active[0];
+            active[0] = first;
+        }
+        return activeCount;
+    }
+
+    /** Tracked hand {@code i} of the last update, oldest first. */
+    public Track track(int i) {
+        return active[i];
+    }
+
+    public int size() {
+        return activeCount;
+    }
+
+    public void reset() {
+        for (Track track : tracks) {
+            track.id = -1;
+        }
+        activeCount = 0;
+    }
+
+    private int nearest(float[] hand) {
+        int best = -1;
+        float bestCost = Float.MAX_VALUE;
+        for (int t = 0; t < MAX_HANDS; t++) {
+            if (!matchable(hand, tracks[t]))
+                continue;
+            float c = cost(hand, tracks[t]);
+            if (c < bestCost) {
+                best = t;
+                bestCost = c;
+            }
+        }
+        return best;
+    }
+
+    private Track freeTrack() {
+        for (Track track : tracks) {
+            if (track.id < 0)
+                return track;
+        }
+        // Both slots hold hands; reuse one that was not seen this frame
+        for (Track track : tracks) {
+            if (!track.matched) {
+                track.id = -1;
+                return track;
+            }
+        }
+        return null;
+    }
+
+    private static boolean matchable(float[] hand, Track track) {
+        return track.id >= 0 && cost(hand, track) <= MAX_MATCH_DISTANCE * MAX_MATCH_DISTANCE;
+    }
+
+    // Squared wrist distance; unused tracks cost the most
+    private static float cost(float[] hand, Track track) {
+        if (track.id < 0)
+            return 2f;
+        float dx = HandGestureClassifier.x(hand, HandGestureClassifier.WRIST) - track.wristX();
+        float dy = HandGestureClassifier.y(hand, HandGestureClassifier.WRIST) - track.wristY();
+        return dx * dx + dy * dy;
+    }
+}
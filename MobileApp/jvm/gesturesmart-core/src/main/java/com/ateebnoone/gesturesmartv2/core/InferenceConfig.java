@@ -0,0 +1,138 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.Locale;
+
+/**
+ * Inference runtime settings for the vision engines, chosen per device tier
+ * and tunable with the replay tool's --sweep mode.
+ *
+ * MediaPipe Tasks does not expose XNNPACK's thread count or core affinity,
+ * so the settings are the ones the app controls around the models: the
+ * delegate each task runs on, the width frames are scaled to before they
+ * reach a model, how many threads prepare frames for the engines in
+ * parallel, and which cores those threads should favour. Android has no
+ * public affinity API; BIG raises the threads' priority, which the
+ * scheduler uses to place them on the fast cores, and LITTLE lowers it.
+ *
+ * The text form, used for overrides and sweep results, is
+ * {@code delegate=cpu,threads=2,cores=big,inputWidth=320}; keys may be
+ * omitted and keep the base config's value.
+ */
+public final class InferenceConfig {
+
+    public enum Delegate { CPU, GPU }
+
+    public enum Cores { ANY, BIG, LITTLE }
+
+    public static final int MAX_THREADS = 4;
+    public static final int MIN_INPUT_WIDTH = 96;
+
+    public final Delegate delegate;
+    public final int threads;
+    public final Cores cores;
+    public final int inputWidth;
+
+    public InferenceConfig(Delegate delegate, int threads, Cores cores, int inputWidth) {
+        this.delegate = delegate;
+        this.threads = Math.max(1, Math.min(MAX_THREADS, threads));
+        this.cores = cores;
+        this.inputWidth = Math.max(MIN_INPUT_WIDTH, inputWidth);
+    }
+
+    /**
+     * Defaults per device tier (LOW, MEDIUM, HIGH, FLAGSHIP). The CPU
+     * delegate everywhere: the GPU delegate is faster on some devices and
+     * fails to initialize on others, so it is only used as an override.
+     */
+    public static InferenceConfig forTier(String tier) {
+        switch (tier == null ? "" : tier) {
+            case "LOW":
+                return new InferenceConfig(Delegate.CPU, 1, Cores.ANY, 240);
+            case "HIGH":
+            case "FLAGSHIP":
+                return new InferenceConfig(Delegate.CPU, 2, Cores.BIG, 320);
+            case "MEDIUM":
+            default:
+                return new InferenceConfig(Delegate.CPU, 1, Cores.BIG, 320);
+        }
+    }
+
+    /**
+     * Parses the text form over a base config.
+     *
+     * @throws IllegalArgumentException for an unknown key or value
+     */
+    public static InferenceConfig parse(String text, InferenceConfig base) {
+        Delegate delegate = base.delegate;
+        int threads = base.threads;
+        Cores cores = base.cores;
+        int inputWidth = base.inputWidth;
+
+        for (String part : text.split(",")) {
+            String entry = part.trim();
+            if (entry.isEmpty())
+                continue;
+            int equals = entry.indexOf('=');
+            if (equals < 0)
+                throw new IllegalArgumentException("Expected key=value: " + entry);
+            String key = entry.substring(0, equals).trim();
+            String value = entry.substring(equals + 1).trim();
+            switch (key) {
+                case "delegate":
+                    delegate = Delegate.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "threads":
+                    threads = Integer.parseInt(value);
+                    break;
+                case "cores":
+                    cores = Cores.valueOf(value.toUpperCase(Locale.ROOT));
+                    break;
+                case "inputWidth":
+                    inputWidth = Integer.parseInt(value);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown key: " + key);
+            }
+        }
+        return new InferenceConfig(delegate, threads, cores, inputWidth);
+    }
+
+    public InferenceConfig withThreads(int threads) {
+        return new InferenceConfig(delegate, threads, cores, inputWidth);
+    }
+
+    public InferenceConfig withInputWidth(int inputWidth) {
+        return new InferenceConfig(delegate, threads, cores, inputWidth);
+    }
+
+    public InferenceConfig withCores(Cores cores) {
+        return new InferenceConfig(delegate, threads, cores, inputWidth);
+    }
+
+    /** Decoder sample size that brings a frame of the given width down to about {@link #inputWidth}. */
+    public int sampleSize(int frameWidth) {
+        return Math.max(1, frameWidth / inputWidth);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (!(other instanceof InferenceConfig))
+            return false;
+        InferenceConfig config = (InferenceConfig) other;
+        return delegate == config.delegate && threads == config.threads && cores == config.cores
+                && inputWidth == config.inputWidth;
+    }
+
+    @Override
+    public int hashCode() {
+        return ((delegate.hashCode() * 31 + threads) * 31 + cores.hashCode()) * 31 + inputWidth;
+    }
+
+    @Override
+    public String toString() {
+        return "delegate=" + delegate.name().toLowerCase(Locale.ROOT)
+                + ",threads=" + threads
+                + ",cores=" + cores.name().toLowerCase(Locale.ROOT)
+                + ",inputWidth=" + inputWidth;
+    }
+}
@@ -0,0 +1,81 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Cheap frame-difference check on the camera's luma plane.
+ *
+ * Samples a coarse grid of pixels and compares it with the previous frame,
+ * so the gesture service's idle tier can skip the hand models entirely while
+ * nothing in view is moving. Reads the plane with absolute gets and does not
+ * allocate.
+ */
+public class MotionGate {
+
+    public static final int GRID_COLUMNS = 16;
+    public static final int GRID_ROWS = 12;
+
+    // Luma change that counts a sample as moved; above sensor noise and small AE steps
+    public static final int DEFAULT_PIXEL_THRESHOLD = 24;
+    // Fraction of samples that must move; a hand entering the frame covers far more
+    public static final float DEFAULT_CHANGED_FRACTION = 0.03f;
+
+    private final int pixelThreshold;
+    private final int minChangedSamples;
+    private final int[] previous = new int[GRID_COLUMNS * GRID_ROWS];
+    private boolean hasPrevious = false;
+
+    public MotionGate() {
+        this(DEFAULT_PIXEL_THRESHOLD, DEFAULT_CHANGED_FRACTION);
+    }
+
+    /**
+     * @param pixelThreshold  luma difference (0-255) for a sample to count as changed
+     * @param changedFraction fraction of samples that must change to report motion
+     */
+    public MotionGate(int pixelThreshold, float changedFraction) {
+        this.pixelThreshold = pixelThreshold;
+        this.minChangedSamples = Math.max(1, Math.round(changedFraction * previous.length));
+    }
+
+    /**
+     * Compares this frame with the previous one and remembers it.
+     *
+     * @param yPlane    luma plane; its position and limit are not changed
+     * @param rowStride bytes between the starts of two rows
+     * @return true if enough of the frame changed. The first frame after
+     *         construction or {@link #reset} always counts as motion.
+     */
+    public boolean update(ByteBuffer yPlane, int width, int height, int rowStride) {
+        int base = yPlane.position();
+        int changed = 0;
+        int sample = 0;
+
+        for (int row = 0; row < GRID_ROWS; row++) {
+            int rowStart = base + ((2 * row + 1) * height / (2 * GRID_ROWS)) * rowStride;
+            for (int col = 0; col < GRID_COLUMNS; col++) {
+                int luma = yPlane.get(rowStart + (2 * col + 1) * width / (2 * GRID_COLUMNS)) & 0xff;
+                if (Math.abs(luma - previous[sample]) > pixelThreshold) {
+                    changed++;
+                }
+                previous[sample++] = luma;
+            }
+        }
+
+        if (!hasPrevious) {
+            hasPrevious = true;
+            return true;
+        }
+        return changed >= minChangedSamples;
+    }
+
+    /** Same as {@link #update(ByteBuffer, int, int, int)} for an NV21 or luma array. */
+    public boolean update(byte[] luma, int width, int height, int rowStride) {
+        return update(ByteBuffer.wrap(luma), width, height, rowStride);
+    }
+
+    /** Forgets the previous frame, e.g. after the camera restarts. */
+    public void reset() {
+        hasPrevious = false;
+    }
+}
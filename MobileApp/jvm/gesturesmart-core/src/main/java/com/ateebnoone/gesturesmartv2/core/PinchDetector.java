@@ -0,0 +1,123 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Thumb-index pinch as a pointer: press, move and release.
+ *
+ * The tip distance is divided by the hand's size (wrist to middle finger
+ * knuckle), so the thresholds hold at any distance from the camera. Pressing
+ * needs the tips closer than {@link #PRESS_RATIO}, releasing needs them
+ * apart by more than {@link #RELEASE_RATIO}; the gap between the two keeps a
+ * held pinch from flickering.
+ *
+ * The pointer is the smoothed midpoint of the two tips, which stays put while
+ * the fingers close, unlike the index tip. While pressed, MOVE is only reported
+ * once the pointer leaves {@link #MOVE_SLOP} of the last reported position,
+ * so a steady hold reaches the system's long-press timeout.
+ */
+public class PinchDetector {
+
+    public enum Event { NONE, PRESS, MOVE, RELEASE }
+
+    // Tip distance relative to hand size
+    public static final float PRESS_RATIO = 0.25f;
+    public static final float RELEASE_RATIO = 0.4f;
+    // Normalized pointer movement below which a held pinch is not moved
+    public static final float MOVE_SLOP = 0.01f;
+    // Weight of the newest frame in the pointer position
+    public static final float SMOOTHING = 0.5f;
+
+    private boolean pressed = false;
+    private boolean hasPointer = false;
+    private float pointerX;
+    private float pointerY;
+    private float lastMoveX;
+    private float lastMoveY;
+    private float ratio;
+
+    /** Updates with one hand's landmarks, as laid out by {@link HandGestureClassifier}. */
+    public Event update(float[] landmarks, int count) {
+        if (count < HandGestureClassifier.LANDMARK_COUNT)
+            return lost();
+
+        float thumbX = HandGestureClassifier.x(landmarks, HandGestureClassifier.THUMB_TIP);
+        float thumbY = HandGestureClassifier.y(landmarks, HandGestureClassifier.THUMB_TIP);
+        float indexX = HandGestureClassifier.x(landmarks, HandGestureClassifier.INDEX_TIP);
+        float indexY = HandGestureClassifier.y(landmarks, HandGestureClassifier.INDEX_TIP);
+
+        float scale = distance(
+                HandGestureClassifier.x(landmarks, HandGestureClassifier.WRIST),
+                HandGestureClassifier.y(landmarks, HandGestureClassifier.WRIST),
+                HandGestureClassifier.x(landmarks, HandGestureClassifier.MIDDLE_MCP),
+                HandGestureClassifier.y(landmarks, HandGestureClassifier.MIDDLE_MCP));
+        if (scale <= 0f)
+            return lost();
+        ratio = distance(thumbX, thumbY, indexX, indexY) / scale;
+
+        float x = (thumbX + indexX) / 2f;
+        float y = (thumbY + indexY) / 2f;
+        if (!hasPointer) {
+            pointerX = x;
+            pointerY = y;
+            hasPointer = true;
+        } else if (!pressed || ratio <= RELEASE_RATIO) {
+            // The fingers opening would drag the midpoint; keep the point of release
+            pointerX += SMOOTHING * (x - pointerX);
+            pointerY += SMOOTHING * (y - pointerY);
+        }
+
+        if (!pressed) {
+            if (ratio < PRESS_RATIO) {
+                pressed = true;
+                lastMoveX = pointerX;
+                lastMoveY = pointerY;
+                return Event.PRESS;
+            }
+            return Event.NONE;
+        }
+
+        if (ratio > RELEASE_RATIO) {
+            pressed = false;
+            return Event.RELEASE;
+        }
+        if (distance(pointerX, pointerY, lastMoveX, lastMoveY) >= MOVE_SLOP) {
+            lastMoveX = pointerX;
+            lastMoveY = pointerY;
+            return Event.MOVE;
+        }
+        return Event.NONE;
+    }
+
+    /** The hand is gone. Returns RELEASE if a pinch was held. */
+    public Event lost() {
+        hasPointer = false;
+        if (pressed) {
+            pressed = false;
+            return Event.RELEASE;
+        }
+        return Event.NONE;
+    }
+
+    public boolean isPressed() {
+        return pressed;
+    }
+
+    /** Pointer position in normalized frame coordinates. */
+    public float x() {
+        return pointerX;
+    }
+
+    public float y() {
+        return pointerY;
+    }
+
+    /** Tip distance over hand size from the last update. */
+    public float ratio() {
+        return ratio;
+    }
+
+    private static float distance(float x0, float y0, float x1, float y1) {
+        float dx = x1 - x0;
+        float dy = y1 - y0;
+        return (float) Math.sqrt(dx * dx + dy * dy);
+    }
+}
@@ -0,0 +1,78 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Battery-aware operating profiles for the vision engines.
+ *
+ * A profile scales how often engines process frames and the stream they
+ * ask for (its {@link WorkloadScale}), and bounds the hand engine's low-power settings: with motion
+ * gating the idle tier (see {@link WakeController}) is always available, and
+ * the idle timeout is at most the profile's. Profiles only make the user's
+ * power options more frugal, never less. They stack with the thermal
+ * governor's step.
+ *
+ * {@link #select} picks one from the battery state; the state machine takes
+ * the current profile so levels near a threshold do not flip back and forth.
+ */
+public enum PowerProfile {
+    PERFORMANCE(1f, 1f, false, Long.MAX_VALUE),
+    BALANCED(1.5f, 1f, true, 15000),
+    SAVER(2.5f, 0.75f, true, 5000);
+
+    // Battery levels, in percent, at or below which SAVER starts and at or above which PERFORMANCE starts
+    public static final int SAVER_LEVEL = 20;
+    public static final int PERFORMANCE_LEVEL = 80;
+    // Leaving a profile takes this many points past its threshold
+    public static final int LEVEL_HYSTERESIS = 5;
+
+    // Rough draw of a mid-range phone at full rate and resolution, for comparing
+    // profiles rather than measuring: the camera stream, and one engine's models
+    static final int CAMERA_MW = 200;
+    static final int ENGINE_MW = 350;
+
+    public final WorkloadScale scale;
+    /** Whether the hand engine's motion-gated idle tier is forced on. */
+    public final boolean motionGating;
+    /** Upper bound on the hand engine's idle timeout. */
+    public final long idleTimeoutMs;
+
+    PowerProfile(float intervalScale, float resolutionScale, boolean motionGating, long idleTimeoutMs) {
+        this.scale = new WorkloadScale(intervalScale, resolutionScale);
+        this.motionGating = motionGating;
+        this.idleTimeoutMs = idleTimeoutMs;
+    }
+
+    /**
+     * @param levelPercent battery charge, 0-100
+     * @param current      the profile in effect, or null on the first selection
+     */
+    public static PowerProfile select(int levelPercent, boolean charging, boolean powerSave, PowerProfile current) {
+        if (charging)
+            return PERFORMANCE;
+        if (powerSave)
+            return SAVER;
+
+        int saverLevel = current == SAVER ? SAVER_LEVEL + LEVEL_HYSTERESIS : SAVER_LEVEL;
+        int performanceLevel = current == PERFORMANCE ? PERFORMANCE_LEVEL - LEVEL_HYSTERESIS : PERFORMANCE_LEVEL;
+        if (levelPercent <= saverLevel)
+            return SAVER;
+        if (levelPercent >= performanceLevel)
+            return PERFORMANCE;
+        return BALANCED;
+    }
+
+    public boolean lowPower(boolean requested) {
+        return requested || motionGating;
+    }
+
+    public long idleTimeout(long requestedMs) {
+        return Math.min(requestedMs, idleTimeoutMs);
+    }
+
+    /** Estimated average draw, in mW, of the camera and the given number of running engines. */
+    public int estimatedMw(int engines) {
+        if (engines <= 0)
+            return 0;
+        float pixels = scale.resolution * scale.resolution;
+        return Math.round(CAMERA_MW * pixels + engines * ENGINE_MW * pixels / scale.interval);
+    }
+}
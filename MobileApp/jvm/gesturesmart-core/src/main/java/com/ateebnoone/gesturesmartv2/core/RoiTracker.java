@@ -0,0 +1,231 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.Arrays;
+
+/**
+ * Region of interest for the landmark models, tracked from the previous
+ * frame's landmarks.
+ *
+ * The services rotate camera frames by 270 degrees and mirror them (see
+ * {@link YuvConverter#rotate270Mirrored}), so the models see an upright image
+ * while the crop has to be cut from the sensor-oriented YUV frame.
+ * {@link #nextCrop} returns the sensor rectangle to encode;
+ * {@link #toFrame} maps landmarks detected in that crop back to normalized
+ * coordinates of the full upright frame, so everything downstream is
+ * unaware of the crop.
+ *
+ * The ROI is the landmarks' bounding box, padded, made square in pixels,
+ * never smaller than {@link #DEFAULT_MIN_FRACTION} of the frame and smoothed
+ * over frames. After {@link #lost} the next frame is processed uncropped.
+ */
+public class RoiTracker {
+
+    // Bounding box grows by this fraction of its size, split across both sides
+    public static final float DEFAULT_PADDING = 0.8f;
+    // Weight of the new box in the smoothed ROI
+    public static final float DEFAULT_SMOOTHING = 0.5f;
+    // Smallest ROI side, as a fraction of the frame's shorter side
+    public static final float DEFAULT_MIN_FRACTION = 0.4f;
+
+    // Results arrive asynchronously; remember the crop of the last few frames
+    private static final int PENDING = 8;
+
+    private final float padding;
+    private final float smoothing;
+    private final float minFraction;
+
+    private boolean tracking = false;
+    // Smoothed ROI in upright pixels
+    private float centerX;
+    private float centerY;
+    private float side;
+    private int uprightWidth;
+    private int uprightHeight;
+
+    private final long[] pendingTimes = new long[PENDING];
+    private final float[][] pendingRects = new float[PENDING][4];
+    private int pendingNext = 0;
+
+    public RoiTracker() {
+        this(DEFAULT_PADDING, DEFAULT_SMOOTHING, DEFAULT_MIN_FRACTION);
+    }
+
+    public RoiTracker(float padding, float smoothing, float minFraction) {
+        this.padding = padding;
+        this.smoothing = smoothing;
+        this.minFraction = minFraction;
+        Arrays.fill(pendingTimes, Long.MIN_VALUE);
+    }
+
+    /**
+     * Picks the crop for a frame and remembers it under the frame's timestamp.
+     *
+     * @param timestamp    timestamp the frame is passed to the model with
+     * @param sensorWidth  width of the YUV frame as delivered by the camera
+     * @param sensorHeight height of the YUV frame as delivered by the camera
+     * @param sensorRect   receives left, top, right, bottom in sensor pixels,
+     *                     even-aligned so it can be used directly as an NV21 crop
+     * @return true if the frame is cropped, false for the full frame
+     */
+    public synchronized boolean nextCrop(long timestamp, int sensorWidth, int sensorHeight, int[] sensorRect) {
+        // The upright image is the sensor image turned on its side
+        uprightWidth = sensorHeight;
+        uprightHeight = sensorWidth;
+
+        int slot = pendingNext;
+        pendingNext = (pendingNext + 1) % PENDING;
+        pendingTimes[slot] = timestamp;
+        float[] rect = pendingRects[slot];
+
+        if (!tracking) {
+            return fullFrame(sensorWidth, sensorHeight, sensorRect, rect);
+        }
+
+        float half = side / 2f;
+        float u0 = centerX - half;
+        float u1 = centerX + half;
+        float v0 = centerY - half;
+        float v1 = centerY + half;
+
+        // Upright (u, v) comes from sensor (w - v, h - u); align outwards to even pixels
+        int x0 = clampEven(floorEven(sensorWidth - v1), sensorWidth);
+        int x1 = clampEven(ceilEven(sensorWidth - v0), sensorWidth);
+        int y0 = clampEven(floorEven(sensorHeight - u1), sensorHeight);
+        int y1 = clampEven(ceilEven(sensorHeight - u0), sensorHeight);
+        if (x1 - x0 < 2 || y1 - y0 < 2) {
+            tracking = false;
+            return fullFrame(sensorWidth, sensorHeight, sensorRect, rect);
+        }
+
+        sensorRect[0] = x0;
+        sensorRect[1] = y0;
+        sensorRect[2] = x1;
+        sensorRect[3] = y1;
+
+        // The crop actually used, back in normalized upright coordinates
+        rect[0] = (sensorHeight - y1) / (float) sensorHeight;
+        rect[1] = (sensorWidth - x1) / (float) sensorWidth;
+        rect[2] = (sensorHeight - y0) / (float) sensorHeight;
+        rect[3] = (sensorWidth - x0) / (float) sensorWidth;
+        return true;
+    }
+
+    /**
+     * Maps landmarks detected in the crop of the frame with this timestamp to
+     * normalized coordinates of the full upright frame, in place. Landmarks of
+     * an uncropped or unknown frame are left as they are.
+     */
+    public synchronized void toFrame(long timestamp, float[] landmarks, int count) {
+        float[] rect = null;
+        for (int i = 0; i < PENDING; i++) {
+            if (pendingTimes[i] == timestamp) {
+                rect = pendingRects[i];
+                break;
+            }
+        }
+        if (rect == null)
+            return;
+
+        float scaleX = rect[2] - rect[0];
+        float scaleY = rect[3] - rect[1];
+        if (scaleX == 1f && scaleY == 1f)
+            return;
+
+        for (int i = 0; i < count; i++) {
+            int base = i * 3;
+            landmarks[base] = rect[0] + landmarks[base] * scaleX;
+            landmarks[base + 1] = rect[1] + landmarks[base + 1] * scaleY;
+            // z uses the same scale as x
+            landmarks[base + 2] = landmarks[base + 2] * scaleX;
+        }
+    }
+
+    /** Moves the ROI to these landmarks, in normalized full-frame coordinates. */
+    public synchronized void update(float[] landmarks, int count) {
+        if (count == 0 || uprightWidth == 0) {
+            lost();
+            return;
+        }
+
+        float minX = Float.MAX_VALUE;
+        float minY = Float.MAX_VALUE;
+        float maxX = -Float.MAX_VALUE;
+        float maxY = -Float.MAX_VALUE;
+        for (int i = 0; i < count; i++) {
+            float x = clamp01(landmarks[i * 3]);
+            float y = clamp01(landmarks[i * 3 + 1]);
+            minX = Math.min(minX, x);
+            maxX = Math.max(maxX, x);
+            minY = Math.min(minY, y);
+            maxY = Math.max(maxY, y);
+        }
+
+        float boxWidth = (maxX - minX) * uprightWidth;
+        float boxHeight = (maxY - minY) * uprightHeight;
+        float shorter = Math.min(uprightWidth, uprightHeight);
+        float newSide = Math.max(Math.max(boxWidth, boxHeight) * (1f + padding), shorter * minFraction);
+        newSide = Math.min(newSide, Math.max(uprightWidth, uprightHeight));
+        float newCenterX = (minX + maxX) / 2f * uprightWidth;
+        float newCenterY = (minY + maxY) / 2f * uprightHeight;
+
+        if (!tracking) {
+            centerX = newCenterX;
+            centerY = newCenterY;
+            side = newSide;
+            tracking = true;
+        } else {
+            centerX += smoothing * (newCenterX - centerX);
+            centerY += smoothing * (newCenterY - centerY);
+            side += smoothing * (newSide - side);
+        }
+
+        // Keep the square inside the frame where it fits
+        float half = side / 2f;
+        centerX = clampCenter(centerX, half, uprightWidth);
+        centerY = clampCenter(centerY, half, uprightHeight);
+    }
+
+    /** Track lost: process the next frame uncropped. */
+    public synchronized void lost() {
+        tracking = false;
+    }
+
+    public synchronized boolean isTracking() {
+        return tracking;
+    }
+
+    private static boolean fullFrame(int sensorWidth, int sensorHeight, int[] sensorRect, float[] rect) {
+        sensorRect[0] = 0;
+        sensorRect[1] = 0;
+        sensorRect[2] = sensorWidth;
+        sensorRect[3] = sensorHeight;
+        rect[0] = 0f;
+        rect[1] = 0f;
+        rect[2] = 1f;
+        rect[3] = 1f;
+        return false;
+    }
+
+    private static float clampCenter(float center, float half, int size) {
+        if (2 * half >= size)
+            return size / 2f;
+        return Math.max(half, Math.min(size - half, center));
+    }
+
+    private static float clamp01(float value) {
+        return Math.max(0f, Math.min(1f, value));
+    }
+
+    private static int floorEven(float value) {
+        return ((int) Math.floor(value)) & ~1;
+    }
+
+    private static int ceilEven(float value) {
+        int ceil = (int) Math.ceil(value);
+        return (ceil + 1) & ~1;
+    }
+
+    private static int clampEven(int value, int size) {
+        return Math.max(0, Math.min(size & ~1, value));
+    }
+}
@@ -0,0 +1,222 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.util.Arrays;
+
+/**
+ * Spatial index of tap targets (screen rectangles) for cursor snapping.
+ *
+ * Targets live in flat arrays and are bucketed into a uniform grid of
+ * {@link #CELL_SIZE} pixel cells. The grid is rebuilt lazily with a
+ * counting sort on the first query after a change, which for the few
+ * hundred targets on a screen costs microseconds; queries only look at the
+ * rings of cells around the point until no closer target can exist.
+ *
+ * Incremental refresh works by region: {@link #removeWithin} drops the
+ * targets inside a changed subtree's bounds before its targets are added
+ * again. Queries allocate nothing. Safe to call from any thread.
+ */
+public class TargetIndex {
+
+    public static final int DEFAULT_CAPACITY = 1024;
+    public static final int CELL_SIZE = 96;
+
+    private final int capacity;
+    private final int[] lefts;
+    private final int[] tops;
+    private final int[] rights;
+    private final int[] bottoms;
+    private int count = 0;
+
+    private int width = 1;
+    private int height = 1;
+    private int cellsX = 1;
+    private int cellsY = 1;
+    private int[] cellStart = new int[2];
+    private int[] cellItems = new int[0];
+    private int[] cellFill = new int[1];
+    private boolean dirty = true;
+
+    public TargetIndex() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public TargetIndex(int capacity) {
+        this.capacity = capacity;
+        lefts = new int[capacity];
+        tops = new int[capacity];
+        rights = new int[capacity];
+        bottoms = new int[capacity];
+    }
+
+    /** Screen size in pixels; targets are clipped to it. Clears the index if it changed. */
+    public synchronized void setBounds(int width, int height) {
+        if (width == this.width && height == this.height)
+            return;
+        this.width = Math.max(1, width);
+        this.height = Math.max(1, height);
+        cellsX = (this.width + CELL_SIZE - 1) / CELL_SIZE;
+        cellsY = (this.height + CELL_SIZE - 1) / CELL_SIZE;
+        cellStart = new int[cellsX * cellsY + 1];
+        cellFill = new int[cellsX * cellsY];
+        clear();
+    }
+
+    public synchronized void clear() {
+        count = 0;
+        dirty = true;
+    }
+
+    /** Adds a target. Returns false if it is empty, off screen or the index is full. */
+    public synchronized boolean add(int left, int top, int right, int bottom) {
+        left = Math.max(0, left);
+        top = Math.max(0, top);
+        right = Math.min(width, right);
+        bottom = Math.min(height, bottom);
+        if (right <= left || bottom <= top || count == capacity)
+            return false;
+
+        lefts[count] = left;
+        tops[count] = top;
+        rights[count] = right;
+        bottoms[count] = bottom;
+        count++;
+        dirty = true;
+        return true;
+    }
+
+    /** Removes every target lying entirely inside the region. Returns how many. */
+    public synchronized int removeWithin(int left, int top, int right, int bottom) {
+        int kept = 0;
+        for (int i = 0; i < count; i++) {
+            boolean inside = lefts[i] >= left && tops[i] >= top && rights[i] <= right && bottoms[i] <= bottom;
+            if (inside)
+                continue;
+            lefts[kept] = lefts[i];
+            tops[kept] = tops[i];
+            rights[kept] = rights[i];
+            bottoms[kept] = bottoms[i];
+            kept++;
+        }
+        int removed = count - kept;
+        if (removed > 0) {
+            count = kept;
+            dirty = true;
+        }
+        return removed;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    /**
+     * Finds the target closest to a point, measured to its edge (0 inside).
+     *
+     * @param out receives left, top, right, bottom of the target
+     * @return the distance in pixels, or -1 if no target is within maxDistance
+     */
+    public synchronized float nearest(float x, float y, float maxDistance, int[] out) {
+        if (count == 0)
+            return -1f;
+        if (dirty) {
+            rebuild();
+        }
+
+        int cx = clamp((int) (x / CELL_SIZE), cellsX);
+        int cy = clamp((int) (y / CELL_SIZE), cellsY);
+        int maxRing = (int) Math.ceil(maxDistance / CELL_SIZE) + 1;
+        int best = -1;
+        float bestDistSq = maxDistance * maxDistance;
+
+        for (int ring = 0; ring <= maxRing; ring++) {
+            // Every cell in this ring is at least (ring - 1) cells from the point
+            float ringDist = (ring - 1) * (float) CELL_SIZE;
+            if (ring > 1 && ringDist * ringDist > bestDistSq)
+                break;
+
+            int x0 = cx - ring;
+            int x1 = cx + ring;
+            int y0 = cy - ring;
+            int y1 = cy + ring;
+            for (int gy = Math.max(0, y0); gy <= Math.min(cellsY - 1, y1); gy++) {
+                boolean edgeRow = gy == y0 || gy == y1;
+                // Inner rows of the ring only have their two edge cells
+                int step = edgeRow ? 1 : Math.max(1, x1 - x0);
+                for (int gx = x0; gx <= x1; gx += step) {
+                    if (gx < 0 || gx >= cellsX)
+                        continue;
+                    int cell = gy * cellsX + gx;
+                    for (int k = cellStart[cell]; k < cellStart[cell + 1]; k++) {
+                        int i = cellItems[k];
+                        float d = distanceSq(i, x, y);
+                        if (d <= bestDistSq && (best < 0 || d < bestDistSq || area(i) < area(best))) {
+                            best = i;
+                            bestDistSq = d;
+                        }
+                    }
+                }
+            }
+        }
+
+        if (best < 0)
+            return -1f;
+        out[0] = lefts[best];
+        out[1] = tops[best];
+        out[2] = rights[best];
+        out[3] = bottoms[best];
+        return (float) Math.sqrt(bestDistSq);
+    }
+
+    // Buckets targets by cell: count per cell, prefix sums, then fill
+    private void rebuild() {
+        int cells = cellsX * cellsY;
+        Arrays.fill(cellStart, 0);
+        int refs = 0;
+        for (int i = 0; i < count; i++) {
+            int gx0 = clamp(lefts[i] / CELL_SIZE, cellsX);
+            int gx1 = clamp((rights[i] - 1) / CELL_SIZE, cellsX);
+            int gy0 = clamp(tops[i] / CELL_SIZE, cellsY);
+            int gy1 = clamp((bottoms[i] - 1) / CELL_SIZE, cellsY);
+            for (int gy = gy0; gy <= gy1; gy++) {
+                for (int gx = gx0; gx <= gx1; gx++) {
+                    cellStart[gy * cellsX + gx + 1]++;
+                    refs++;
+                }
+            }
+        }
+        for (int c = 0; c < cells; c++) {
+            cellStart[c + 1] += cellStart[c];
+        }
+        if (cellItems.length < refs) {
+            cellItems = new int[Math.max(refs, cellItems.length * 2)];
+        }
+        System.arraycopy(cellStart, 0, cellFill, 0, cells);
+        for (int i = 0; i < count; i++) {
+            int gx0 = clamp(lefts[i] / CELL_SIZE, cellsX);
+            int gx1 = clamp((rights[i] - 1) / CELL_SIZE, cellsX);
+            int gy0 = clamp(tops[i] / CELL_SIZE, cellsY);
+            int gy1 = clamp((bottoms[i] - 1) / CELL_SIZE, cellsY);
+            for (int gy = gy0; gy <= gy1; gy++) {
+                for (int gx = gx0; gx <= gx1; gx++) {
+                    cellItems[cellFill[gy * cellsX + gx]++] = i;
+                }
+            }
+        }
+        dirty = false;
+    }
+
+    private float distanceSq(int i, float x, float y) {
+        float dx = x < lefts[i] ? lefts[i] - x : x > rights[i] ? x - rights[i] : 0f;
+        float dy = y < tops[i] ? tops[i] - y : y > bottoms[i] ? y - bottoms[i] : 0f;
+        return dx * dx + dy * dy;
+    }
+
+    // Among equally close targets (e.g. nested ones the point is inside) prefer the smallest
+    private long area(int i) {
+        return (long) (rights[i] - lefts[i]) * (bottoms[i] - tops[i]);
+    }
+
+    private static int clamp(int cell, int cells) {
+        return Math.max(0, Math.min(cells - 1, cell));
+    }
+}
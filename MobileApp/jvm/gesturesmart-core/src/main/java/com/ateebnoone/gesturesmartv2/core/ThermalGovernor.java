@@ -0,0 +1,127 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Steps the vision engines' workload down ahead of thermal throttling and
+ * back up once the device has cooled.
+ *
+ * The governor reads a {@link ThermalSource}: on device the platform's
+ * thermal status and headroom forecast, in replay or tests any fake. Each
+ * {@link #poll} picks the step the readings call for. A hotter step applies
+ * at once, since the point is to shed work before the platform throttles;
+ * a cooler one only after the readings have stayed below its threshold, less
+ * {@link #HYSTERESIS}, for {@link #RECOVERY_MS}, one step at a time, so the
+ * rate does not oscillate around a threshold.
+ *
+ * All methods take the current time. Safe to call from any thread.
+ */
+public class ThermalGovernor {
+
+    /** What the engines shed at each step. */
+    public enum Step {
+        NOMINAL(1f, 1f, false),
+        REDUCED(1.5f, 1f, false),
+        LOW(2f, 0.75f, true),
+        MINIMAL(3f, 0.5f, true);
+
+        public final WorkloadScale scale;
+        /** Whether engines switch to their cheaper model configuration. */
+        public final boolean reducedModels;
+
+        Step(float intervalScale, float resolutionScale, boolean reducedModels) {
+            this.scale = new WorkloadScale(intervalScale, resolutionScale);
+            this.reducedModels = reducedModels;
+        }
+    }
+
+    /** Thermal readings, in the platform's terms. */
+    public interface ThermalSource {
+        /** THERMAL_STATUS_* value: 0 none, 1 light, 2 moderate, 3 severe and up. */
+        int thermalStatus();
+
+        /**
+         * Forecast headroom: 1.0 is where severe throttling starts. NaN when
+         * the platform cannot tell.
+         */
+        float thermalHeadroom(int forecastSeconds);
+    }
+
+    public static final int STATUS_LIGHT = 1;
+    public static final int STATUS_MODERATE = 2;
+    public static final int STATUS_SEVERE = 3;
+
+    // How far ahead the headroom is forecast; throttling starts well within it
+    public static final int FORECAST_SECONDS = 10;
+    // One forecast window: each reading sees throttling coming before the next
+    // one is due, and a status change polls at once. Each read is a call into
+    // the thermal service, and headroom read more than once a second is NaN
+    public static final long POLL_INTERVAL_MS = 10000;
+    // Headroom at which REDUCED, LOW and MINIMAL start
+    static final float[] HEADROOM_THRESHOLDS = { 0.70f, 0.80f, 0.90f };
+    public static final float HYSTERESIS = 0.05f;
+    public static final long RECOVERY_MS = 30000;
+
+    private final ThermalSource source;
+    private Step step = Step.NOMINAL;
+    // When the readings first called for a cooler step; -1 while they do not
+    private long coolSince = -1;
+
+    public ThermalGovernor(ThermalSource source) {
+        this.source = source;
+    }
+
+    public synchronized Step step() {
+        return step;
+    }
+
+    /** Reads the source and returns the step to run at. */
+    public synchronized Step poll(long now) {
+        Step target = target(source.thermalStatus(), source.thermalHeadroom(FORECAST_SECONDS));
+        if (target.ordinal() > step.ordinal()) {
+            step = target;
+            coolSince = -1;
+        } else if (target.ordinal() < step.ordinal()) {
+            if (coolSince < 0) {
+                coolSince = now;
+            } else if (now - coolSince >= RECOVERY_MS) {
+                step = Step.values()[step.ordinal() - 1];
+                // The next step up waits for another full recovery period
+                coolSince = now;
+            }
+        } else {
+            coolSince = -1;
+        }
+        return step;
+    }
+
+    /** Back to NOMINAL, e.g. when no engine is running. */
+    public synchronized void reset() {
+        step = Step.NOMINAL;
+        coolSince = -1;
+    }
+
+    // The hotter of what the status and the headroom call for
+    private Step target(int status, float headroom) {
+        int fromStatus;
+        if (status >= STATUS_SEVERE) {
+            fromStatus = Step.MINIMAL.ordinal();
+        } else if (status >= STATUS_MODERATE) {
+            fromStatus = Step.LOW.ordinal();
+        } else if (status >= STATUS_LIGHT) {
+            fromStatus = Step.REDUCED.ordinal();
+        } else {
+            fromStatus = Step.NOMINAL.ordinal();
+        }
+
+        int fromHeadroom = Step.NOMINAL.ordinal();
+        if (!Float.isNaN(headroom)) {
+            for (int i = 0; i < HEADROOM_THRESHOLDS.length; i++) {
+                // Staying at or above a step already taken needs less headroom than entering it
+                float threshold = HEADROOM_THRESHOLDS[i] - (i < step.ordinal() ? HYSTERESIS : 0f);
+                if (headroom >= threshold) {
+                    fromHeadroom = i + 1;
+                }
+            }
+        }
+        return Step.values()[Math.max(fromStatus, fromHeadroom)];
+    }
+}
@@ -0,0 +1,137 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Gestures made with two hands, from the tracks of a {@link HandTracker}.
+ *
+ * Spreading or closing the hands emits "Zoom_In" / "Zoom_Out", turning the
+ * line between them emits "Rotate_Clockwise" / "Rotate_Counterclockwise",
+ * and holding both palms open and still emits "Both_Palms" once. Movement is
+ * measured from a baseline taken when the second hand appears and re-taken
+ * after each zoom or rotate event, so a long motion repeats the event.
+ *
+ * Coordinates are normalized, so distances are corrected by the frame's
+ * aspect ratio before comparing horizontal and vertical movement.
+ */
+public class TwoHandGestureDetector {
+
+    public static final String ZOOM_IN = "Zoom_In";
+    public static final String ZOOM_OUT = "Zoom_Out";
+    public static final String ROTATE_CLOCKWISE = "Rotate_Clockwise";
+    public static final String ROTATE_COUNTERCLOCKWISE = "Rotate_Counterclockwise";
+    public static final String BOTH_PALMS = "Both_Palms";
+
+    public static final String[] GESTURES = {
+            ZOOM_IN, ZOOM_OUT, ROTATE_CLOCKWISE, ROTATE_COUNTERCLOCKWISE, BOTH_PALMS
+    };
+
+    // Hand span relative to the baseline that counts as a zoom
+    public static final float ZOOM_IN_RATIO = 1.25f;
+    public static final float ZOOM_OUT_RATIO = 0.8f;
+    public static final double ROTATE_THRESHOLD_RAD = Math.toRadians(25);
+    public static final long BOTH_PALMS_HOLD_MS = 300;
+    // Span change still treated as holding still
+    private static final float STILL_RATIO = 0.1f;
+    // Below this span the hands overlap and the angle is meaningless
+    private static final float MIN_SPAN = 0.05f;
+
+    // Palm open regardless of handedness; the thumb test depends on which hand it is
+    private static final int OPEN_PALM = HandGestureClassifier.INDEX | HandGestureClassifier.MIDDLE
+            | HandGestureClassifier.RING | HandGestureClassifier.PINKY;
+
+    // Width / height of the frame the landmarks are normalized to
+    private final float aspect;
+
+    private boolean hasBaseline = false;
+    private float baseSpan;
+    private double baseAngle;
+    private long palmsSince = -1;
+    private boolean palmsReported = false;
+
+    /** For the services' upright 240x320 frames. */
+    public TwoHandGestureDetector() {
+        this(0.75f);
+    }
+
+    public TwoHandGestureDetector(float aspect) {
+        this.aspect = aspect;
+    }
+
+    /**
+     * Updates with both tracked hands, in a stable order (see
+     * {@link HandTracker#track}). Returns a gesture name or null.
+     */
+    public String update(HandTracker.Track first, HandTracker.Track second, long now) {
+        float[] a = first.landmarks();
+        float[] b = second.landmarks();
+        float dx = (HandGestureClassifier.x(b, HandGestureClassifier.MIDDLE_MCP)
+                - HandGestureClassifier.x(a, HandGestureClassifier.MIDDLE_MCP)) * aspect;
+        float dy = HandGestureClassifier.y(b, HandGestureClassifier.MIDDLE_MCP)
+                - HandGestureClassifier.y(a, HandGestureClassifier.MIDDLE_MCP);
+        float span = (float) Math.sqrt(dx * dx + dy * dy);
+        if (span < MIN_SPAN) {
+            hasBaseline = false;
+            return null;
+        }
+        double angle = Math.atan2(dy, dx);
+
+        if (!hasBaseline) {
+            setBaseline(span, angle);
+            return null;
+        }
+
+        float ratio = span / baseSpan;
+        if (ratio >= ZOOM_IN_RATIO) {
+            setBaseline(span, angle);
+            return ZOOM_IN;
+        }
+        if (ratio <= ZOOM_OUT_RATIO) {
+            setBaseline(span, angle);
+            return ZOOM_OUT;
+        }
+
+        double turn = angle - baseAngle;
+        if (turn > Math.PI)
+            turn -= 2 * Math.PI;
+        else if (turn < -Math.PI)
+            turn += 2 * Math.PI;
+        // y grows downwards, so a growing angle turns clockwise on screen
+        if (turn >= ROTATE_THRESHOLD_RAD) {
+            setBaseline(span, angle);
+            return ROTATE_CLOCKWISE;
+        }
+        if (turn <= -ROTATE_THRESHOLD_RAD) {
+            setBaseline(span, angle);
+            return ROTATE_COUNTERCLOCKWISE;
+        }
+
+        boolean palms = (first.fingerMask() & OPEN_PALM) == OPEN_PALM
+                && (second.fingerMask() & OPEN_PALM) == OPEN_PALM
+                && Math.abs(ratio - 1f) < STILL_RATIO;
+        if (!palms) {
+            palmsSince = -1;
+            palmsReported = false;
+            return null;
+        }
+        if (palmsSince < 0) {
+            palmsSince = now;
+        }
+        if (!palmsReported && now - palmsSince >= BOTH_PALMS_HOLD_MS) {
+            palmsReported = true;
+            return BOTH_PALMS;
+        }
+        return null;
+    }
+
+    /** One of the hands is gone; the next two-hand frame starts a new baseline. */
+    public void reset() {
+        hasBaseline = false;
+        palmsSince = -1;
+        palmsReported = false;
+    }
+
+    private void setBaseline(float span, double angle) {
+        baseSpan = span;
+        baseAngle = angle;
+        hasBaseline = true;
+    }
+}
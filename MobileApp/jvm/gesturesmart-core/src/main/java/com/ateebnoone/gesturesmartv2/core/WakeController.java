@@ -0,0 +1,136 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * Detection tiers for the always-on gesture service.
+ *
+ * In the ACTIVE tier both hand models run at full rate. After no hand has
+ * been seen for the idle timeout the service drops to the IDLE tier, where it
+ * looks at a few low resolution frames per second, and only when the
+ * {@link MotionGate} reports movement. It wakes when a hand appears or, if a
+ * wake gesture is set, when that gesture is held for {@link #WAKE_HOLD_MS}.
+ *
+ * All methods take the current time so sessions can be replayed through the
+ * same state machine. Safe to call from the camera and model result threads.
+ */
+public class WakeController {
+
+    public enum Tier { IDLE, ACTIVE }
+
+    public static final long ACTIVE_FRAME_INTERVAL_MS = 120;
+    // 2.5 fps while idle
+    public static final long IDLE_FRAME_INTERVAL_MS = 400;
+    public static final long DEFAULT_IDLE_TIMEOUT_MS = 15000;
+    // How long the wake gesture must be held to leave the idle tier
+    public static final long WAKE_HOLD_MS = 500;
+    // Keep probing this long after motion stops, so a hand held still is still seen
+    public static final long PROBE_WINDOW_MS = 2000;
+    public static final String DEFAULT_WAKE_GESTURE = "Open_Palm";
+
+    private boolean lowPowerEnabled = true;
+    private long idleTimeoutMs = DEFAULT_IDLE_TIMEOUT_MS;
+    // null: any detected hand wakes the service
+    private String wakeGesture = null;
+
+    private Tier tier = Tier.ACTIVE;
+    private long lastHandTime;
+    private long lastMotionTime = Long.MIN_VALUE / 2;
+    private long wakeHoldStart = -1;
+
+    /** Starts in the ACTIVE tier; the idle timeout counts from {@code now}. */
+    public synchronized void start(long now) {
+        tier = Tier.ACTIVE;
+        lastHandTime = now;
+        wakeHoldStart = -1;
+    }
+
+    /**
+     * @param enabled     false keeps the service in the ACTIVE tier
+     * @param timeoutMs   time without a hand before dropping to IDLE
+     * @param wakeGesture gesture that must be held to wake, or null to wake on any hand
+     */
+    public synchronized void configure(boolean enabled, long timeoutMs, String wakeGesture, long now) {
+        this.lowPowerEnabled = enabled;
+        this.idleTimeoutMs = Math.max(ACTIVE_FRAME_INTERVAL_MS, timeoutMs);
+        this.wakeGesture = wakeGesture == null || wakeGesture.isEmpty() ? null : wakeGesture;
+        if (!enabled) {
+            wake(now);
+        }
+    }
+
+    public synchronized Tier tier() {
+        return tier;
+    }
+
+    public synchronized boolean isActive() {
+        return tier == Tier.ACTIVE;
+    }
+
+    public synchronized String getWakeGesture() {
+        return wakeGesture;
+    }
+
+    /** Minimum time between processed camera frames in the current tier. */
+    public synchronized long frameInterval() {
+        return tier == Tier.ACTIVE ? ACTIVE_FRAME_INTERVAL_MS : IDLE_FRAME_INTERVAL_MS;
+    }
+
+    /**
+     * Called for each idle frame with the motion gate's result. Returns true
+     * if the frame should be run through the presence model.
+     */
+    public synchronized boolean shouldProbe(boolean motion, long now) {
+        if (motion) {
+            lastMotionTime = now;
+        }
+        return now - lastMotionTime < PROBE_WINDOW_MS;
+    }
+
+    /** Hand presence from the landmark model. Returns the tier after the update. */
+    public synchronized Tier onHand(boolean present, long now) {
+        if (present) {
+            lastHandTime = now;
+            if (tier == Tier.IDLE && wakeGesture == null) {
+                wake(now);
+            }
+        }
+        return tick(now);
+    }
+
+    /**
+     * Top gesture from the recognizer, or null when it saw none. Returns the
+     * tier after the update.
+     */
+    public synchronized Tier onGesture(String gesture, long now) {
+        if (gesture != null) {
+            lastHandTime = now;
+        }
+
+        if (wakeGesture != null && wakeGesture.equals(gesture)) {
+            if (wakeHoldStart < 0) {
+                wakeHoldStart = now;
+            }
+            if (tier == Tier.IDLE && now - wakeHoldStart >= WAKE_HOLD_MS) {
+                wake(now);
+            }
+        } else {
+            wakeHoldStart = -1;
+        }
+        return tick(now);
+    }
+
+    /** Applies the idle timeout. Returns the tier after the update. */
+    public synchronized Tier tick(long now) {
+        if (lowPowerEnabled && tier == Tier.ACTIVE && now - lastHandTime >= idleTimeoutMs) {
+            tier = Tier.IDLE;
+            wakeHoldStart = -1;
+            lastMotionTime = Long.MIN_VALUE / 2;
+        }
+        return tier;
+    }
+
+    private void wake(long now) {
+        tier = Tier.ACTIVE;
+        lastHandTime = now;
+        wakeHoldStart = -1;
+    }
+}
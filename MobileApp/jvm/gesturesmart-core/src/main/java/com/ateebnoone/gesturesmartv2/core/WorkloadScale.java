@@ -0,0 +1,32 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+/**
+ * How much a vision engine's workload is scaled down: the time between
+ * processed frames is multiplied by {@link #interval} and the sides of the
+ * requested camera stream by {@link #resolution}.
+ *
+ * Power profiles and thermal steps each carry one; an engine runs at their
+ * {@link #times product}, so the two stack.
+ */
+public final class WorkloadScale {
+    public final float interval;
+    public final float resolution;
+
+    public WorkloadScale(float interval, float resolution) {
+        this.interval = interval;
+        this.resolution = resolution;
+    }
+
+    public WorkloadScale times(WorkloadScale other) {
+        return new WorkloadScale(interval * other.interval, resolution * other.resolution);
+    }
+
+    public long scaleInterval(long intervalMs) {
+        return (long) (intervalMs * interval);
+    }
+
+    /** Scaled side, kept even for the YUV planes. */
+    public int scaleSide(int pixels) {
+        return Math.max(2, (int) (pixels * resolution) & ~1);
+    }
+}
@@ -0,0 +1,87 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Camera frame conversion used by the vision services.
+ *
+ * {@link #toNv21} is the plane packing step of the services'
+ * convertYuvToBitmap. {@link #nv21ToArgb} and {@link #rotate270Mirrored}
+ * produce the same upright, mirrored front-camera image the services get
+ * from the JPEG round trip and Matrix transform, without going through JPEG.
+ */
+public final class YuvConverter {
+
+    private YuvConverter() {
+    }
+
+    /** Size of the NV21 buffer {@link #toNv21} needs for these planes. */
+    public static int nv21Size(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane) {
+        return yPlane.remaining() + uPlane.remaining() + vPlane.remaining();
+    }
+
+    /**
+     * Packs YUV_420_888 planes into NV21 (Y, then interleaved VU). Like the
+     * services, this relies on the camera delivering semi-planar chroma
+     * (pixel stride 2), where the V plane already holds interleaved VU.
+     *
+     * @return the number of bytes written
+     */
+    public static int toNv21(ByteBuffer yPlane, ByteBuffer uPlane, ByteBuffer vPlane, byte[] nv21) {
+        int ySize = yPlane.remaining();
+        int uSize = uPlane.remaining();
+        int vSize = vPlane.remaining();
+
+        yPlane.get(nv21, 0, ySize);
+        vPlane.get(nv21, ySize, vSize);
+        uPlane.get(nv21, ySize + vSize, uSize);
+        return ySize + uSize + vSize;
+    }
+
+    /**
+     * Converts NV21 to ARGB_8888 pixels using full-range BT.601 integer math,
+     * the same matrix the JPEG encoder applies.
+     */
+    public static void nv21ToArgb(byte[] nv21, int width, int height, int[] argb) {
+        int frameSize = width * height;
+
+        for (int row = 0; row < height; row++) {
+            int yIndex = row * width;
+            int uvIndex = frameSize + (row >> 1) * width;
+
+            for (int col = 0; col < width; col++) {
+                int y = nv21[yIndex + col] & 0xff;
+                int uv = uvIndex + (col & ~1);
+                int v = (nv21[uv] & 0xff) - 128;
+                int u = (nv21[uv + 1] & 0xff) - 128;
+
+                // 16.16 fixed point: 1.402, 0.344, 0.714, 1.772
+                int y16 = y << 16;
+                int r = (y16 + 91881 * v) >> 16;
+                int g = (y16 - 22554 * u - 46802 * v) >> 16;
+                int b = (y16 + 116130 * u) >> 16;
+
+                r = r < 0 ? 0 : (r > 255 ? 255 : r);
+                g = g < 0 ? 0 : (g > 255 ? 255 : g);
+                b = b < 0 ? 0 : (b > 255 ? 255 : b);
+
+                argb[yIndex + col] = 0xff000000 | (r << 16) | (g << 8) | b;
+            }
+        }
+    }
+
+    /**
+     * Applies the services' front-camera transform (rotate 270, then mirror
+     * horizontally). The output is height x width.
+     */
+    public static void rotate270Mirrored(int[] src, int width, int height, int[] dst) {
+        // Rotating by 270 maps (x, y) to (y, w-1-x); mirroring then maps that to (h-1-y, w-1-x)
+        for (int y = 0; y < height; y++) {
+            int srcRow = y * width;
+            int dstCol = height - 1 - y;
+            for (int x = 0; x < width; x++) {
+                dst[(width - 1 - x) * height + dstCol] = src[srcRow + x];
+            }
+        }
+    }
+}
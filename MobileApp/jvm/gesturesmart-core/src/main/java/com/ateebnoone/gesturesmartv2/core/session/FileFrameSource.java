@@ -0,0 +1,146 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Reads a session written by {@link SessionWriter}. The trailer is not
+ * returned as a frame; its counts are available once it has been read.
+ */
+public class FileFrameSource implements FrameSource {
+
+    private final DataInputStream in;
+    private final byte kind;
+    private final byte encoding;
+    private final long startedAtMs;
+    private final String description;
+    private int recordedFrames = -1;
+    private int droppedFrames = -1;
+
+    public FileFrameSource(File file) throws IOException {
+        this(new FileInputStream(file));
+    }
+
+    public FileFrameSource(InputStream stream) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(stream, 64 * 1024));
+        try {
+            if (in.readInt() != SessionFormat.MAGIC) {
+                throw new IOException("Not a session file");
+            }
+            short version = in.readShort();
+            if (version < SessionFormat.MIN_VERSION || version > SessionFormat.VERSION) {
+                throw new IOException("Unsupported session version " + version);
+            }
+            kind = in.readByte();
+            encoding = in.readByte();
+            startedAtMs = in.readLong();
+            description = in.readUTF();
+        } catch (IOException e) {
+            in.close();
+            throw e;
+        }
+    }
+
+    public byte getKind() {
+        return kind;
+    }
+
+    public long getStartedAtMs() {
+        return startedAtMs;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    /** Frames the recorder wrote, or -1 before the trailer is read or if there is none. */
+    public int getRecordedFrames() {
+        return recordedFrames;
+    }
+
+    /** Frames the recorder dropped, or -1 before the trailer is read or if there is none. */
+    public int getDroppedFrames() {
+        return droppedFrames;
+    }
+
+    @Override
+    public boolean next(Frame frame) throws IOException {
+        int type = in.read();
+        if (type < 0) {
+            return false;
+        }
+
+        try {
+            frame.type = (byte) type;
+            frame.timestampMs = startedAtMs + (in.readInt() & 0xFFFFFFFFL);
+
+            switch (frame.type) {
+                case SessionFormat.TYPE_HAND:
+                    readLandmarks(frame);
+                    break;
+                case SessionFormat.TYPE_FACE:
+                    readLandmarks(frame);
+                    frame.eyeBlinkLeft = in.readFloat();
+                    frame.eyeBlinkRight = in.readFloat();
+                    break;
+                case SessionFormat.TYPE_CATEGORY:
+                    frame.name = in.readUTF();
+                    frame.score = in.readFloat();
+                    break;
+                case SessionFormat.TYPE_YUV:
+                    frame.width = in.readUnsignedShort();
+                    frame.height = in.readUnsignedShort();
+                    frame.yuvLength = in.readInt();
+                    frame.ensureYuvCapacity(frame.yuvLength);
+                    in.readFully(frame.yuv, 0, frame.yuvLength);
+                    break;
+                case SessionFormat.TYPE_LABEL:
+                case SessionFormat.TYPE_EVENT:
+                    frame.name = in.readUTF();
+                    break;
+                case SessionFormat.TYPE_CONFIG:
+                    frame.name = in.readUTF();
+                    frame.value = in.readInt();
+                    break;
+                case SessionFormat.TYPE_TRAILER:
+                    recordedFrames = in.readInt();
+                    droppedFrames = in.readInt();
+                    return next(frame);
+                default:
+                    throw new IOException("Unknown record type " + type);
+            }
+        } catch (EOFException e) {
+            // The recorder was killed mid-record; treat the partial record as the end
+            return false;
+        }
+        return true;
+    }
+
+    private void readLandmarks(Frame frame) throws IOException {
+        int count = in.readUnsignedShort();
+        frame.ensureLandmarkCapacity(count);
+        frame.landmarkCount = count;
+
+        float[] landmarks = frame.landmarks;
+        int values = count * 3;
+        if (encoding == SessionFormat.ENCODING_FIXED16) {
+            for (int i = 0; i < values; i++) {
+                landmarks[i] = SessionFormat.fromFixed16(in.readShort());
+            }
+        } else {
+            for (int i = 0; i < values; i++) {
+                landmarks[i] = in.readFloat();
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
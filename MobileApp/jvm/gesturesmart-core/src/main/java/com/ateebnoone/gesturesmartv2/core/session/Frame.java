@@ -0,0 +1,43 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+/**
+ * One record read from a {@link FrameSource}. Instances are reused between
+ * reads, so copy anything that must outlive the next call.
+ */
+public class Frame {
+
+    /** One of the {@link SessionFormat} TYPE_* constants. */
+    public byte type;
+    /** Wall clock time in ms, as seen by the service when it handled the frame. */
+    public long timestampMs;
+
+    // HAND / FACE
+    public float[] landmarks = new float[0];
+    public int landmarkCount;
+    public float eyeBlinkLeft;
+    public float eyeBlinkRight;
+
+    // YUV (NV21)
+    public int width;
+    public int height;
+    public byte[] yuv = new byte[0];
+    public int yuvLength;
+
+    // CATEGORY / LABEL / EVENT / CONFIG
+    public String name;
+    public float score;
+    public int value;
+
+    void ensureLandmarkCapacity(int count) {
+        int needed = count * 3;
+        if (landmarks.length < needed) {
+            landmarks = new float[needed];
+        }
+    }
+
+    void ensureYuvCapacity(int length) {
+        if (yuv.length < length) {
+            yuv = new byte[length];
+        }
+    }
+}
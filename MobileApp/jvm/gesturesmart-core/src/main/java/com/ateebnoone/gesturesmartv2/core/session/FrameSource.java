@@ -0,0 +1,17 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * A stream of camera frames or detector results, either live or recorded.
+ */
+public interface FrameSource extends Closeable {
+
+    /**
+     * Reads the next record into {@code frame}.
+     *
+     * @return false once the source is exhausted
+     */
+    boolean next(Frame frame) throws IOException;
+}
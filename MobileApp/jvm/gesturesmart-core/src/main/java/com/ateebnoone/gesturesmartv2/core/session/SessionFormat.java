@@ -0,0 +1,87 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+/**
+ * Binary layout of a recorded session (".gsrs" file). All values are big
+ * endian, as written by {@link java.io.DataOutputStream}.
+ *
+ * <pre>
+ * header:
+ *   int    MAGIC ("GSRS")
+ *   short  VERSION
+ *   byte   kind            KIND_HAND or KIND_EYE
+ *   byte   encoding        ENCODING_FLOAT32 or ENCODING_FIXED16
+ *   long   startedAtMs     wall clock time the recording started; record
+ *                          timestamps count from here
+ *   UTF    description     free text (device, build, notes)
+ *
+ * records, until end of file:
+ *   byte   type
+ *   int    timestamp       ms since startedAtMs
+ *   ...    payload, by type:
+ *     HAND      short count, count * 3 coordinates
+ *     FACE      short count, count * 3 coordinates, float eyeBlinkLeft, float eyeBlinkRight
+ *     CATEGORY  UTF name, float score      (model-classified gesture)
+ *     YUV       short width, short height, int length, length bytes of NV21
+ *     LABEL     UTF name                   (ground truth marked while recording)
+ *     EVENT     UTF name                   (event the device actually emitted)
+ *     CONFIG    UTF key, int value         (detector setting in effect from here on)
+ *     TRAILER   int recordedFrames, int droppedFrames
+ * </pre>
+ *
+ * TRAILER is the last record, written when the recorder stops. droppedFrames
+ * counts HAND, FACE and YUV frames the recorder skipped because the disk fell
+ * behind. A session without one was cut short, or is a version 1 file.
+ *
+ * Coordinates are 32-bit floats, or with ENCODING_FIXED16 signed 16-bit
+ * fixed point with {@link #FIXED16_SCALE} steps per unit (range +/-4), which
+ * halves the size of face sessions.
+ */
+public final class SessionFormat {
+
+    public static final int MAGIC = 0x47535253; // "GSRS"
+    public static final short VERSION = 2;
+    /** Oldest version readers still accept; version 1 has no TRAILER. */
+    public static final short MIN_VERSION = 1;
+
+    public static final byte KIND_HAND = 1;
+    public static final byte KIND_EYE = 2;
+
+    public static final byte ENCODING_FLOAT32 = 0;
+    public static final byte ENCODING_FIXED16 = 1;
+    public static final float FIXED16_SCALE = 8192f;
+
+    public static final byte TYPE_HAND = 1;
+    public static final byte TYPE_FACE = 2;
+    public static final byte TYPE_CATEGORY = 3;
+    public static final byte TYPE_YUV = 4;
+    public static final byte TYPE_LABEL = 5;
+    public static final byte TYPE_EVENT = 6;
+    public static final byte TYPE_CONFIG = 7;
+    public static final byte TYPE_TRAILER = 8;
+
+    // CONFIG keys
+    public static final String CONFIG_CONSECUTIVE_FRAMES = "consecutiveFrames";
+    public static final String CONFIG_EVENT_COOLDOWN_MS = "eventCooldownMs";
+
+    public static final String FILE_EXTENSION = ".gsrs";
+
+    private SessionFormat() {
+    }
+
+    public static String kindName(byte kind) {
+        return kind == KIND_HAND ? "hand" : kind == KIND_EYE ? "eye" : "unknown";
+    }
+
+    static short toFixed16(float value) {
+        float scaled = value * FIXED16_SCALE;
+        if (scaled > Short.MAX_VALUE)
+            return Short.MAX_VALUE;
+        if (scaled < Short.MIN_VALUE)
+            return Short.MIN_VALUE;
+        return (short) Math.round(scaled);
+    }
+
+    static float fromFixed16(short value) {
+        return value / FIXED16_SCALE;
+    }
+}
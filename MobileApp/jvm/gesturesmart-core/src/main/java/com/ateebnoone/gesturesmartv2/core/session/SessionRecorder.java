@@ -0,0 +1,172 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Records a session from the camera/detector threads without blocking them.
+ *
+ * Each call copies its arrays and hands the write to a dedicated thread. If
+ * the disk falls behind, frames are dropped rather than queued without
+ * bound; labels and events are never dropped. The counts go into the
+ * session's trailer, so replay can tell a lossy recording from a clean one.
+ */
+public class SessionRecorder {
+
+    private static final int MAX_PENDING_FRAMES = 64;
+    private static final long STOP_TIMEOUT_MS = 5000;
+
+    private final File file;
+    private final SessionWriter writer;
+    private final ThreadPoolExecutor executor;
+    private final AtomicInteger droppedFrames = new AtomicInteger();
+    private final AtomicInteger recordedFrames = new AtomicInteger();
+    private volatile boolean stopped = false;
+    private volatile IOException failure;
+
+    public SessionRecorder(File file, byte kind, byte encoding, String description) throws IOException {
+        this.file = file;
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        this.writer = new SessionWriter(new FileOutputStream(file), kind, encoding,
+                System.currentTimeMillis(), description);
+        this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "SessionRecorder");
+                    thread.setPriority(Thread.MIN_PRIORITY);
+                    return thread;
+                });
+    }
+
+    public File getFile() {
+        return file;
+    }
+
+    public int getRecordedFrames() {
+        return recordedFrames.get();
+    }
+
+    public int getDroppedFrames() {
+        return droppedFrames.get();
+    }
+
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    public void recordHand(long timestampMs, float[] landmarks, int count) {
+        if (!acceptFrame())
+            return;
+        float[] copy = Arrays.copyOf(landmarks, count * 3);
+        submit(() -> writer.writeHand(timestampMs, copy, count));
+    }
+
+    public void recordFace(long timestampMs, float[] landmarks, int count, float eyeBlinkLeft, float eyeBlinkRight) {
+        if (!acceptFrame())
+            return;
+        float[] copy = Arrays.copyOf(landmarks, count * 3);
+        submit(() -> writer.writeFace(timestampMs, copy, count, eyeBlinkLeft, eyeBlinkRight));
+    }
+
+    public void recordYuv(long timestampMs, int width, int height, byte[] nv21, int length) {
+        if (!acceptFrame())
+            return;
+        byte[] copy = Arrays.copyOf(nv21, length);
+        submit(() -> writer.writeYuv(timestampMs, width, height, copy, length));
+    }
+
+    public void recordCategory(long timestampMs, String name, float score) {
+        if (!stopped)
+            submit(() -> writer.writeCategory(timestampMs, name, score));
+    }
+
+    public void recordLabel(long timestampMs, String name) {
+        if (!stopped)
+            submit(() -> writer.writeLabel(timestampMs, name));
+    }
+
+    public void recordEvent(long timestampMs, String name) {
+        if (!stopped)
+            submit(() -> writer.writeEvent(timestampMs, name));
+    }
+
+    public void recordConfig(long timestampMs, String key, int value) {
+        if (!stopped)
+            submit(() -> writer.writeConfig(timestampMs, key, value));
+    }
+
+    /**
+     * Writes everything still queued, then the trailer, and closes the file.
+     *
+     * @throws IOException if any write failed while recording
+     */
+    public synchronized File stop() throws IOException {
+        if (stopped)
+            return file;
+        stopped = true;
+
+        executor.execute(() -> {
+            try {
+                if (failure == null) {
+                    writer.writeTrailer(System.currentTimeMillis(), recordedFrames.get(), droppedFrames.get());
+                }
+                writer.close();
+            } catch (IOException e) {
+                failure = e;
+            }
+        });
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(STOP_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                throw new IOException("Timed out writing " + file);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while writing " + file);
+        }
+
+        if (failure != null)
+            throw failure;
+        return file;
+    }
+
+    private boolean acceptFrame() {
+        if (stopped)
+            return false;
+        if (executor.getQueue().size() >= MAX_PENDING_FRAMES) {
+            droppedFrames.incrementAndGet();
+            return false;
+        }
+        recordedFrames.incrementAndGet();
+        return true;
+    }
+
+    private interface Write {
+        void run() throws IOException;
+    }
+
+    private void submit(Write write) {
+        try {
+            executor.execute(() -> {
+                if (failure != null)
+                    return;
+                try {
+                    write.run();
+                } catch (IOException e) {
+                    failure = e;
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Raced with stop(); the session is already closed
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a session in the {@link SessionFormat} layout. Not thread safe;
+ * see {@link SessionRecorder} for recording from camera threads.
+ */
+public class SessionWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private final byte encoding;
+    private final long startedAtMs;
+
+    public SessionWriter(OutputStream stream, byte kind, byte encoding, long startedAtMs, String description)
+            throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(stream, 64 * 1024));
+        this.encoding = encoding;
+        this.startedAtMs = startedAtMs;
+
+        out.writeInt(SessionFormat.MAGIC);
+        out.writeShort(SessionFormat.VERSION);
+        out.writeByte(kind);
+        out.writeByte(encoding);
+        out.writeLong(startedAtMs);
+        out.writeUTF(description != null ? description : "");
+    }
+
+    public void writeHand(long timestampMs, float[] landmarks, int count) throws IOException {
+        writeHeader(SessionFormat.TYPE_HAND, timestampMs);
+        writeLandmarks(landmarks, count);
+    }
+
+    public void writeFace(long timestampMs, float[] landmarks, int count, float eyeBlinkLeft, float eyeBlinkRight)
+            throws IOException {
+        writeHeader(SessionFormat.TYPE_FACE, timestampMs);
+        writeLandmarks(landmarks, count);
+        out.writeFloat(eyeBlinkLeft);
+        out.writeFloat(eyeBlinkRight);
+    }
+
+    public void writeCategory(long timestampMs, String name, float score) throws IOException {
+        writeHeader(SessionFormat.TYPE_CATEGORY, timestampMs);
+        out.writeUTF(name);
+        out.writeFloat(score);
+    }
+
+    public void writeYuv(long timestampMs, int width, int height, byte[] nv21, int length) throws IOException {
+        writeHeader(SessionFormat.TYPE_YUV, timestampMs);
+        out.writeShort(width);
+        out.writeShort(height);
+        out.writeInt(length);
+        out.write(nv21, 0, length);
+    }
+
+    public void writeLabel(long timestampMs, String name) throws IOException {
+        writeHeader(SessionFormat.TYPE_LABEL, timestampMs);
+        out.writeUTF(name);
+    }
+
+    public void writeEvent(long timestampMs, String name) throws IOException {
+        writeHeader(SessionFormat.TYPE_EVENT, timestampMs);
+        out.writeUTF(name);
+    }
+
+    public void writeConfig(long timestampMs, String key, int value) throws IOException {
+        writeHeader(SessionFormat.TYPE_CONFIG, timestampMs);
+        out.writeUTF(key);
+        out.writeInt(value);
+    }
+
+    /** The last record of a session; see {@link SessionFormat#TYPE_TRAILER}. */
+    public void writeTrailer(long timestampMs, int recordedFrames, int droppedFrames) throws IOException {
+        writeHeader(SessionFormat.TYPE_TRAILER, timestampMs);
+        out.writeInt(recordedFrames);
+        out.writeInt(droppedFrames);
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+
+    private void writeHeader(byte type, long timestampMs) throws IOException {
+        out.writeByte(type);
+        out.writeInt((int) Math.max(0, timestampMs - startedAtMs));
+    }
+
+    private void writeLandmarks(float[] landmarks, int count) throws IOException {
+        out.writeShort(count);
+        int values = count * 3;
+        if (encoding == SessionFormat.ENCODING_FIXED16) {
+            for (int i = 0; i < values; i++) {
+                out.writeShort(SessionFormat.toFixed16(landmarks[i]));
+            }
+        } else {
+            for (int i = 0; i < values; i++) {
+                out.writeFloat(landmarks[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+public class AppIndexSnapshotTest {
+
+    private static byte[] write(AppIndexSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.write(bytes);
+        return bytes.toByteArray();
+    }
+
+    private static AppIndexSnapshot sample() {
+        Map<String, AppIndexSnapshot.Record> records = new HashMap<>();
+        records.put("com.whatsapp", new AppIndexSnapshot.Record("WhatsApp", 1700000000000L, 231L));
+        records.put("jp.example.camera", new AppIndexSnapshot.Record("カメラ", 0L, Long.MAX_VALUE));
+        records.put("com.example.empty", new AppIndexSnapshot.Record("", -1L, 0L));
+        return new AppIndexSnapshot("ja-JP", records);
+    }
+
+    @Test
+    public void roundTripsEveryRecord() throws IOException {
+        AppIndexSnapshot written = sample();
+        AppIndexSnapshot read = AppIndexSnapshot.read(new ByteArrayInputStream(write(written)));
+
+        assertEquals("ja-JP", read.localeTag);
+        assertEquals(written.records.keySet(), read.records.keySet());
+        for (Map.Entry<String, AppIndexSnapshot.Record> entry : written.records.entrySet()) {
+            AppIndexSnapshot.Record expected = entry.getValue();
+            AppIndexSnapshot.Record actual = read.records.get(entry.getKey());
+            assertEquals(expected.label, actual.label);
+            assertEquals(expected.lastUpdateTime, actual.lastUpdateTime);
+            assertEquals(expected.versionCode, actual.versionCode);
+        }
+    }
+
+    @Test
+    public void roundTripsAnEmptySnapshot() throws IOException {
+        AppIndexSnapshot empty = new AppIndexSnapshot("en-US", new HashMap<>());
+        AppIndexSnapshot read = AppIndexSnapshot.read(new ByteArrayInputStream(write(empty)));
+        assertEquals("en-US", read.localeTag);
+        assertEquals(0, read.records.size());
+    }
+
+    @Test
+    public void startsWithMagicAndVersion() throws IOException {
+        byte[] bytes = write(sample());
+        assertEquals('G', bytes[0]);
+        assertEquals('S', bytes[1]);
+        assertEquals('A', bytes[2]);
+        assertEquals('I', bytes[3]);
+        assertEquals(AppIndexSnapshot.FORMAT_VERSION, bytes[7]);
+    }
+
+    @Test
+    public void rejectsOtherFormats() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(AppIndexSnapshot.MAGIC);
+        out.writeInt(AppIndexSnapshot.FORMAT_VERSION + 1);
+        out.writeUTF("en-US");
+        out.writeInt(0);
+        assertUnreadable(bytes.toByteArray());
+
+        assertUnreadable("not a snapshot".getBytes("UTF-8"));
+    }
+
+    @Test
+    public void rejectsTruncatedSnapshots() throws IOException {
+        byte[] bytes = write(sample());
+        for (int length = 0; length < bytes.length; length++) {
+            assertUnreadable(Arrays.copyOf(bytes, length));
+        }
+    }
+
+    private static void assertUnreadable(byte[] bytes) {
+        try {
+            AppIndexSnapshot.read(new ByteArrayInputStream(bytes));
+            fail("Read " + bytes.length + " bytes as a snapshot");
+        } catch (IOException expected) {
+        }
+    }
+}
@@ -0,0 +1,167 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class AppIndexTest {
+
+    private AppIndex index;
+
+    @Before
+    public void setUp() {
+        index = new AppIndex();
+    }
+
+    private static List<String> packages(List<AppIndex.Match> matches) {
+        List<String> names = new ArrayList<>();
+        for (AppIndex.Match match : matches) {
+            names.add(match.packageName);
+        }
+        return names;
+    }
+
+    @Test
+    public void equalLabelsResolveToTheFirstPackageName() {
+        index.put("com.b.notes", "Notes");
+        index.put("com.a.notes", "Notes");
+
+        AppIndex.Match match = index.resolve("notes");
+        assertEquals("com.a.notes", match.packageName);
+        assertEquals(4f, match.score, 0f);
+    }
+
+    @Test
+    public void prefixTiesRankShorterLabelsThenLabelOrder() {
+        index.put("p.carts", "Carts");
+        index.put("p.cardboard", "Cardboard");
+        index.put("p.cards", "Cards");
+
+        assertEquals("p.cards", index.resolve("car").packageName);
+        assertEquals(Arrays.asList("p.cards", "p.carts", "p.cardboard"), packages(index.search("car", 10)));
+    }
+
+    @Test
+    public void rankingDoesNotDependOnInsertionOrder() {
+        String[][] apps = { { "p.one", "Mail" }, { "p.two", "Maps" }, { "p.three", "Mail" }, { "p.four", "Map" } };
+        AppIndex reversed = new AppIndex();
+        for (int i = 0; i < apps.length; i++) {
+            index.put(apps[i][0], apps[i][1]);
+            reversed.put(apps[apps.length - 1 - i][0], apps[apps.length - 1 - i][1]);
+        }
+
+        assertEquals(packages(index.search("ma", 10)), packages(reversed.search("ma", 10)));
+        assertEquals(index.snapshot(), reversed.snapshot());
+        assertEquals("p.four", index.resolve("ma").packageName);
+    }
+
+    @Test
+    public void labelPrefixBeatsWordPrefix() {
+        index.put("p.bank", "Bank Mobile");
+        index.put("p.mobile", "Mobile Data");
+
+        AppIndex.Match match = index.resolve("mob");
+        assertEquals("p.mobile", match.packageName);
+        assertEquals(3f, match.score, 0f);
+
+        index.remove("p.mobile");
+        match = index.resolve("mob");
+        assertEquals("p.bank", match.packageName);
+        assertEquals(2.5f, match.score, 0f);
+    }
+
+    @Test
+    public void removePrunesEmptyTrieNodes() {
+        index.put("p.alpha", "Alpha");
+        int alphaOnly = index.trieNodeCount();
+
+        index.put("p.alpine", "Alpine");
+        assertEquals(alphaOnly + 3, index.trieNodeCount());
+
+        // The shared "alp" path stays; only the branch below it goes
+        index.remove("p.alpine");
+        assertEquals(alphaOnly, index.trieNodeCount());
+        assertEquals("p.alpha", index.resolve("alph").packageName);
+
+        index.remove("p.alpha");
+        assertEquals(0, index.trieNodeCount());
+    }
+
+    @Test
+    public void relabelPrunesTheOldLabel() {
+        AppIndex fresh = new AppIndex();
+        fresh.put("p.app", "Beta Tools");
+
+        index.put("p.app", "Alpha Tools");
+        index.put("p.app", "Beta Tools");
+        assertEquals(fresh.trieNodeCount(), index.trieNodeCount());
+        assertNull(index.resolve("alpha"));
+    }
+
+    @Test
+    public void containedLabelPrefersTheLongestWordAlignedLabel() {
+        index.put("p.signal", "Signal");
+        index.put("p.backup", "Signal Backup");
+
+        AppIndex.Match match = index.resolve("please open signal now");
+        assertEquals("p.signal", match.packageName);
+        assertEquals(2f, match.score, 0f);
+
+        assertEquals("p.backup", index.resolve("open signal backup please").packageName);
+
+        // Not word aligned: "signals" does not contain the label "signal"
+        index.remove("p.backup");
+        AppIndex.Match partial = index.resolve("open my signals");
+        assertTrue(partial == null || partial.score < 1f);
+    }
+
+    @Test
+    public void fuzzyMatchAcceptsTheThresholdItself() {
+        // A key of n distinct characters has n + 1 trigrams. The first 9
+        // are shared, of 20 + 20: Dice 18/40 = 0.45
+        index.put("p.fuzzy", "abcdefghituvwxyz012");
+        AppIndex.Match match = index.resolve("abcdefghijklmnopqrs");
+        assertNotNull(match);
+        assertEquals("p.fuzzy", match.packageName);
+        assertEquals(0.45f, match.score, 0f);
+    }
+
+    @Test
+    public void fuzzyMatchRejectsBelowTheThreshold() {
+        // 9 shared of 20 + 21: Dice 18/41 < 0.45
+        index.put("p.fuzzy", "abcdefghituvwxyz0123");
+        assertNull(index.resolve("abcdefghijklmnopqrs"));
+    }
+
+    @Test
+    public void aliasResolvesToTheInstalledPackage() {
+        index.put("com.google.android.youtube", "YouTube");
+        index.put("p.yt", "YT Studio");
+
+        AppIndex.Match match = index.resolve("YT");
+        assertEquals("com.google.android.youtube", match.packageName);
+        assertEquals("YouTube", match.label);
+        assertEquals(5f, match.score, 0f);
+    }
+
+    @Test
+    public void aliasIsSkippedWhenItsPackageIsNotInstalled() {
+        index.put("p.yt", "YT Studio");
+        assertEquals("p.yt", index.resolve("yt").packageName);
+    }
+
+    @Test
+    public void aliasIsTrustedWhileTheIndexIsEmpty() {
+        AppIndex.Match match = index.resolve("Gmail");
+        assertEquals("com.google.android.gm", match.packageName);
+        assertEquals(5f, match.score, 0f);
+    }
+}
@@ -0,0 +1,97 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class BackoffTest {
+
+    private FixedRandom random;
+    private Backoff backoff;
+
+    @Before
+    public void setUp() {
+        random = new FixedRandom();
+        backoff = new Backoff(Backoff.BASE_MS, Backoff.MAX_MS, random);
+    }
+
+    @Test
+    public void delaysSpanHalfTheCeilingToTheCeiling() {
+        random.value = 0;
+        assertEquals(250, backoff.next());
+        assertEquals(500, backoff.next());
+
+        backoff.reset();
+        random.value = Math.nextDown(1.0);
+        assertEquals(499, backoff.next());
+        assertEquals(999, backoff.next());
+    }
+
+    @Test
+    public void ceilingDoublesUpToTheCap() {
+        random.value = 0;
+        long[] expected = { 250, 500, 1000, 2000, 4000, 8000, 15000, 15000 };
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals("attempt " + i, expected[i], backoff.next());
+        }
+    }
+
+    @Test
+    public void ceilingStaysCappedAfterManyAttempts() {
+        random.value = Math.nextDown(1.0);
+        for (int i = 0; i < 100; i++) {
+            backoff.next();
+        }
+        assertEquals(100, backoff.attempts());
+        long delay = backoff.next();
+        assertTrue(delay >= Backoff.MAX_MS / 2 && delay <= Backoff.MAX_MS);
+    }
+
+    @Test
+    public void jitteredDelaysStayWithinBounds() {
+        Backoff seeded = new Backoff(Backoff.BASE_MS, Backoff.MAX_MS, new Random(7));
+        for (int i = 0; i < 10_000; i++) {
+            long ceiling = Math.min(Backoff.MAX_MS, Backoff.BASE_MS << Math.min(seeded.attempts(), 20));
+            long delay = seeded.next();
+            assertTrue("attempt " + i + ": " + delay, delay >= ceiling / 2 && delay <= ceiling);
+            if (i % 12 == 11) {
+                seeded.reset();
+            }
+        }
+    }
+
+    @Test
+    public void resetStartsOverFromTheBase() {
+        random.value = 0;
+        for (int i = 0; i < 5; i++) {
+            backoff.next();
+        }
+        backoff.reset();
+        assertEquals(0, backoff.attempts());
+        assertEquals(250, backoff.next());
+        assertEquals(1, backoff.attempts());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsANonPositiveBase() {
+        new Backoff(0, 1000, random);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsACapBelowTheBase() {
+        new Backoff(1000, 999, random);
+    }
+
+    private static class FixedRandom extends Random {
+        double value;
+
+        @Override
+        public double nextDouble() {
+            return value;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class DwellDetectorTest {
+
+    private static final long FRAME_MS = 50;
+
+    private DwellDetector dwell;
+
+    @Before
+    public void setUp() {
+        dwell = new DwellDetector();
+    }
+
+    // Holds the cursor at one point from start until end; returns how often it fired
+    private int hold(float x, float y, long start, long end) {
+        int fired = 0;
+        for (long now = start; now <= end; now += FRAME_MS) {
+            if (dwell.update(x, y, now))
+                fired++;
+        }
+        return fired;
+    }
+
+    @Test
+    public void firesOnceWhenTheDwellTimeIsReached() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        assertEquals(0, hold(0.5f, 0.5f, 0, dwellMs - FRAME_MS));
+        assertTrue(dwell.update(0.5f, 0.5f, dwellMs));
+
+        // Staying put does not fire again
+        assertEquals(0, hold(0.5f, 0.5f, dwellMs + FRAME_MS, 5 * dwellMs));
+    }
+
+    @Test
+    public void leavingTheRadiusRestartsTheDwell() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        hold(0.5f, 0.5f, 0, dwellMs - FRAME_MS);
+
+        float away = 0.5f + 2 * DwellDetector.DEFAULT_RADIUS;
+        long moved = dwellMs;
+        assertEquals(0, hold(away, 0.5f, moved, moved + dwellMs - FRAME_MS));
+        assertTrue(dwell.update(away, 0.5f, moved + dwellMs));
+    }
+
+    @Test
+    public void firesAgainOnlyAfterLeavingTheRadius() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        assertEquals(1, hold(0.5f, 0.5f, 0, dwellMs));
+        assertEquals(0, hold(0.5f, 0.5f, dwellMs + FRAME_MS, 3 * dwellMs));
+
+        long moved = 4 * dwellMs;
+        assertEquals(1, hold(0.2f, 0.2f, moved, moved + dwellMs));
+    }
+
+    @Test
+    public void slowDriftInsideTheRadiusKeepsTheDwell() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        // Drifts further than the radius in total, but never that far from
+        // the centroid of the recent samples
+        float step = 0.002f;
+        int fired = 0;
+        float x = 0.5f;
+        for (long now = 0; now <= dwellMs; now += FRAME_MS) {
+            if (dwell.update(x, 0.5f, now))
+                fired++;
+            x += step;
+        }
+        assertTrue(x - 0.5f > DwellDetector.DEFAULT_RADIUS);
+        assertEquals(1, fired);
+    }
+
+    @Test
+    public void progressStaysZeroDuringGraceThenRisesAndResetsOnFire() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        long grace = DwellDetector.DEFAULT_GRACE_MS;
+
+        dwell.update(0.5f, 0.5f, 0);
+        dwell.update(0.5f, 0.5f, grace - 1);
+        assertEquals(0f, dwell.progress(), 0f);
+
+        dwell.update(0.5f, 0.5f, grace + (dwellMs - grace) / 2);
+        assertEquals(0.5f, dwell.progress(), 0.01f);
+
+        assertTrue(dwell.update(0.5f, 0.5f, dwellMs));
+        assertEquals(0f, dwell.progress(), 0f);
+        dwell.update(0.5f, 0.5f, 2 * dwellMs);
+        assertEquals(0f, dwell.progress(), 0f);
+    }
+
+    @Test
+    public void portraitAspectMeasuresVerticalMovesAgainstTheWidth() {
+        // On a 1080x2160 screen a vertical move of 0.03 is 0.06 of the width
+        dwell.setAspect(2f);
+        dwell.update(0.5f, 0.5f, 0);
+        dwell.update(0.5f, 0.53f, FRAME_MS);
+        assertFalse(dwell.update(0.5f, 0.53f, DwellDetector.DEFAULT_DWELL_MS));
+
+        dwell.reset();
+        dwell.update(0.5f, 0.5f, 0);
+        dwell.update(0.53f, 0.5f, FRAME_MS);
+        assertTrue(dwell.update(0.53f, 0.5f, DwellDetector.DEFAULT_DWELL_MS));
+    }
+
+    @Test
+    public void landscapeAspectMeasuresHorizontalMovesAgainstTheHeight() {
+        dwell.setAspect(0.5f);
+        dwell.update(0.5f, 0.5f, 0);
+        dwell.update(0.53f, 0.5f, FRAME_MS);
+        assertFalse(dwell.update(0.53f, 0.5f, DwellDetector.DEFAULT_DWELL_MS));
+
+        dwell.reset();
+        dwell.update(0.5f, 0.5f, 0);
+        dwell.update(0.5f, 0.53f, FRAME_MS);
+        assertTrue(dwell.update(0.5f, 0.53f, DwellDetector.DEFAULT_DWELL_MS));
+    }
+
+    @Test
+    public void configureAppliesRadiusAndTime() {
+        dwell.configure(0.1f, 500);
+        dwell.update(0.5f, 0.5f, 0);
+        // 0.08 is inside the wider radius
+        dwell.update(0.58f, 0.5f, FRAME_MS);
+        assertTrue(dwell.update(0.58f, 0.5f, 500));
+    }
+
+    @Test
+    public void configureKeepsTheDwellLongerThanTheGrace() {
+        dwell.configure(DwellDetector.DEFAULT_RADIUS, 0);
+        assertFalse(dwell.update(0.5f, 0.5f, 0));
+        assertFalse(dwell.update(0.5f, 0.5f, DwellDetector.DEFAULT_GRACE_MS));
+        assertTrue(dwell.update(0.5f, 0.5f, DwellDetector.DEFAULT_GRACE_MS + 1));
+    }
+
+    @Test
+    public void resetStartsANewDwell() {
+        long dwellMs = DwellDetector.DEFAULT_DWELL_MS;
+        hold(0.5f, 0.5f, 0, dwellMs - FRAME_MS);
+        dwell.reset();
+        assertFalse(dwell.update(0.5f, 0.5f, dwellMs));
+        assertTrue(dwell.update(0.5f, 0.5f, 2 * dwellMs));
+    }
+}
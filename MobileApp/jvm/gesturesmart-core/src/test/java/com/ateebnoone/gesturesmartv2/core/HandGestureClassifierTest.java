@@ -0,0 +1,160 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static com.ateebnoone.gesturesmartv2.core.HandGestureClassifier.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Test;
+
+public class HandGestureClassifierTest {
+
+    private final HandGestureClassifier classifier = new HandGestureClassifier();
+
+    // The rule table of the original detectCustomGesture, kept verbatim so
+    // classify() can be checked against it
+    private String baseline(float[] landmarks) {
+        boolean[] fingersUp = classifier.getFingerStates(landmarks);
+
+        if (fingersUp[1] && !fingersUp[0] && !fingersUp[2] && !fingersUp[3] && !fingersUp[4]) {
+            return "One_Finger";
+        }
+        if (fingersUp[1] && fingersUp[2] && !fingersUp[0] && !fingersUp[3] && !fingersUp[4]) {
+            return "Two_Fingers";
+        }
+        if (fingersUp[1] && fingersUp[2] && fingersUp[3] && !fingersUp[0] && !fingersUp[4]) {
+            return "Three_Fingers";
+        }
+        if (fingersUp[1] && fingersUp[2] && fingersUp[3] && fingersUp[4] && !fingersUp[0]) {
+            return "Four_Fingers";
+        }
+        if (fingersUp[4] && !fingersUp[0] && !fingersUp[1] && !fingersUp[2] && !fingersUp[3]) {
+            return "Pinky_Up";
+        }
+        if (fingersUp[1] && fingersUp[4] && !fingersUp[0] && !fingersUp[2] && !fingersUp[3]) {
+            return "Index_Pinky";
+        }
+        if (!fingersUp[0] && !fingersUp[1] && fingersUp[2] && !fingersUp[3] && !fingersUp[4]) {
+            return "Middle_Finger";
+        }
+        if (fingersUp[1] && fingersUp[2] && !fingersUp[0] && !fingersUp[3] && !fingersUp[4]) {
+            return "Index_Middle";
+        }
+        if (fingersUp[0] && fingersUp[1] && !fingersUp[2] && !fingersUp[3] && !fingersUp[4]) {
+            return "Gun_Gesture";
+        }
+        if (fingersUp[0] && fingersUp[4] && !fingersUp[1] && !fingersUp[2] && !fingersUp[3]) {
+            return "Shaka";
+        }
+        if (fingersUp[0] && fingersUp[1] && !fingersUp[2] && !fingersUp[3] && !fingersUp[4]) {
+            if (classifier.isLShapeGesture(landmarks)) {
+                return "L_Shape";
+            }
+        }
+        if (fingersUp[0] && fingersUp[1] && classifier.isFingerHeart(landmarks)) {
+            return "Finger_Heart";
+        }
+        return null;
+    }
+
+    // A hand with exactly the fingers in mask extended; the thumb and index
+    // tips touch if tipsTouching
+    private static float[] hand(int mask, boolean tipsTouching) {
+        float[] landmarks = new float[LANDMARK_COUNT * STRIDE];
+        Arrays.fill(landmarks, 0.5f);
+        set(landmarks, WRIST, 0.5f, 0.9f);
+
+        set(landmarks, THUMB_IP, 0.5f, 0.5f);
+        set(landmarks, THUMB_TIP, (mask & THUMB) != 0 ? 0.6f : 0.4f, 0.5f);
+        finger(landmarks, INDEX_PIP, INDEX_TIP, (mask & INDEX) != 0);
+        finger(landmarks, MIDDLE_PIP, MIDDLE_TIP, (mask & MIDDLE) != 0);
+        finger(landmarks, RING_PIP, RING_TIP, (mask & RING) != 0);
+        finger(landmarks, PINKY_PIP, PINKY_TIP, (mask & PINKY) != 0);
+
+        // Index tip out of the thumb's reach unless the tips should touch
+        if (tipsTouching) {
+            set(landmarks, INDEX_TIP, x(landmarks, THUMB_TIP), y(landmarks, INDEX_TIP));
+            set(landmarks, THUMB_TIP, x(landmarks, THUMB_TIP), y(landmarks, INDEX_TIP) + 0.01f);
+        } else {
+            set(landmarks, INDEX_TIP, 0.1f, y(landmarks, INDEX_TIP));
+        }
+        return landmarks;
+    }
+
+    private static void finger(float[] landmarks, int pip, int tip, boolean extended) {
+        set(landmarks, pip, 0.5f, 0.5f);
+        set(landmarks, tip, 0.5f, extended ? 0.3f : 0.7f);
+    }
+
+    private static void set(float[] landmarks, int index, float x, float y) {
+        landmarks[index * STRIDE] = x;
+        landmarks[index * STRIDE + 1] = y;
+    }
+
+    @Test
+    public void matchesBaselineOnRandomHands() {
+        Random random = new Random(42);
+        float[] landmarks = new float[LANDMARK_COUNT * STRIDE];
+        for (int i = 0; i < 200_000; i++) {
+            for (int j = 0; j < landmarks.length; j++) {
+                landmarks[j] = random.nextFloat();
+            }
+            // Bring the thumb tip next to the index tip often enough to reach Finger_Heart
+            if (random.nextInt(4) == 0) {
+                set(landmarks, THUMB_TIP,
+                        x(landmarks, INDEX_TIP) + (random.nextFloat() - 0.5f) * 0.06f,
+                        y(landmarks, INDEX_TIP) + (random.nextFloat() - 0.5f) * 0.06f);
+            }
+            assertEquals("hand " + i, baseline(landmarks), classifier.classify(landmarks, LANDMARK_COUNT));
+        }
+    }
+
+    @Test
+    public void matchesBaselineForEveryFingerCombination() {
+        for (int mask = 0; mask < 32; mask++) {
+            for (boolean touching : new boolean[] { false, true }) {
+                float[] landmarks = hand(mask, touching);
+                assertEquals(mask, classifier.fingerMask(landmarks));
+                assertEquals("mask " + mask + (touching ? " touching" : ""),
+                        baseline(landmarks), classifier.classify(landmarks, LANDMARK_COUNT));
+            }
+        }
+    }
+
+    @Test
+    public void fingerHeartNeedsTouchingTipsAndAnotherFinger() {
+        assertEquals("Finger_Heart", classifier.classify(hand(THUMB | INDEX | MIDDLE, true), LANDMARK_COUNT));
+        assertEquals("Finger_Heart",
+                classifier.classify(hand(THUMB | INDEX | MIDDLE | RING | PINKY, true), LANDMARK_COUNT));
+        assertNull(classifier.classify(hand(THUMB | INDEX | MIDDLE, false), LANDMARK_COUNT));
+
+        // Thumb and index alone are always Gun_Gesture, tips touching or not
+        assertEquals("Gun_Gesture", classifier.classify(hand(THUMB | INDEX, true), LANDMARK_COUNT));
+    }
+
+    @Test
+    public void twoFingersShadowsIndexMiddle() {
+        assertEquals("Two_Fingers", classifier.classify(hand(INDEX | MIDDLE, false), LANDMARK_COUNT));
+    }
+
+    @Test
+    public void gunGestureShadowsLShape() {
+        float[] landmarks = hand(THUMB | INDEX, false);
+        // Thumb out to the side and index straight up: 90 degrees at the wrist
+        set(landmarks, THUMB_IP, 0.7f, 0.9f);
+        set(landmarks, THUMB_TIP, 0.8f, 0.9f);
+        set(landmarks, INDEX_TIP, 0.5f, 0.3f);
+        assertEquals(THUMB | INDEX, classifier.fingerMask(landmarks));
+        assertTrue(classifier.isLShapeGesture(landmarks));
+
+        assertEquals("Gun_Gesture", classifier.classify(landmarks, LANDMARK_COUNT));
+    }
+
+    @Test
+    public void tooFewLandmarksClassifiesNothing() {
+        assertNull(classifier.classify(hand(INDEX, false), LANDMARK_COUNT - 1));
+    }
+}
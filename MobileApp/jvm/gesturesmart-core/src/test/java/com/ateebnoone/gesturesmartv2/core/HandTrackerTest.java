@@ -0,0 +1,129 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class HandTrackerTest {
+
+    private static final int SIZE = HandGestureClassifier.LANDMARK_COUNT * HandGestureClassifier.STRIDE;
+    private static final int[] FULL = { HandGestureClassifier.LANDMARK_COUNT, HandGestureClassifier.LANDMARK_COUNT };
+
+    private HandTracker tracker;
+
+    @Before
+    public void setUp() {
+        tracker = new HandTracker();
+    }
+
+    // Every landmark at the wrist position
+    private static float[] hand(float x, float y) {
+        float[] landmarks = new float[SIZE];
+        for (int i = 0; i < HandGestureClassifier.LANDMARK_COUNT; i++) {
+            landmarks[i * HandGestureClassifier.STRIDE] = x;
+            landmarks[i * HandGestureClassifier.STRIDE + 1] = y;
+        }
+        return landmarks;
+    }
+
+    private int update(long now, float[]... hands) {
+        return tracker.update(hands, FULL, hands.length, now);
+    }
+
+    @Test
+    public void handsKeepTheirIdsWhenTheModelSwapsTheirOrder() {
+        assertEquals(2, update(0, hand(0.2f, 0.5f), hand(0.8f, 0.5f)));
+        int left = tracker.track(0).id();
+        int right = tracker.track(1).id();
+        assertNotEquals(left, right);
+
+        assertEquals(2, update(33, hand(0.82f, 0.5f), hand(0.22f, 0.5f)));
+        assertEquals(left, tracker.track(0).id());
+        assertEquals(0.2f + HandTracker.SMOOTHING * 0.02f, tracker.track(0).wristX(), 1e-6f);
+        assertEquals(right, tracker.track(1).id());
+        assertEquals(0.8f + HandTracker.SMOOTHING * 0.02f, tracker.track(1).wristX(), 1e-6f);
+    }
+
+    @Test
+    public void oldestHandIsReportedFirst() {
+        update(0, hand(0.8f, 0.5f));
+        int first = tracker.track(0).id();
+
+        // The newer hand is listed first by the model, and is left of the older one
+        update(33, hand(0.2f, 0.5f), hand(0.8f, 0.5f));
+        assertEquals(first, tracker.track(0).id());
+        assertEquals(0.8f, tracker.track(0).wristX(), 1e-6f);
+        assertEquals(0.2f, tracker.track(1).wristX(), 1e-6f);
+    }
+
+    @Test
+    public void aHandKeepsItsIdThroughShortGaps() {
+        update(0, hand(0.5f, 0.5f));
+        int id = tracker.track(0).id();
+
+        assertEquals(0, update(100));
+        assertEquals(1, update(HandTracker.MAX_MISSING_MS, hand(0.5f, 0.5f)));
+        assertEquals(id, tracker.track(0).id());
+    }
+
+    @Test
+    public void aHandMissingTooLongComesBackWithANewId() {
+        update(0, hand(0.5f, 0.5f));
+        int id = tracker.track(0).id();
+
+        update(HandTracker.MAX_MISSING_MS + 1, hand(0.5f, 0.5f));
+        assertNotEquals(id, tracker.track(0).id());
+        // A new track starts from the raw landmarks, not smoothed towards the old ones
+        assertEquals(0.5f, tracker.track(0).wristX(), 0f);
+    }
+
+    @Test
+    public void aJumpBeyondTheMatchDistanceStartsANewTrack() {
+        update(0, hand(0.2f, 0.5f));
+        int id = tracker.track(0).id();
+
+        update(33, hand(0.2f + HandTracker.MAX_MATCH_DISTANCE + 0.01f, 0.5f));
+        assertNotEquals(id, tracker.track(0).id());
+
+        update(66, hand(0.2f + HandTracker.MAX_MATCH_DISTANCE + 0.01f + HandTracker.MAX_MATCH_DISTANCE - 0.01f,
+                0.5f));
+        assertEquals(1, tracker.size());
+    }
+
+    @Test
+    public void incompleteHandsAreIgnored() {
+        float[][] hands = { hand(0.5f, 0.5f) };
+        assertEquals(0, tracker.update(hands, new int[] { HandGestureClassifier.LANDMARK_COUNT - 1 }, 1, 0));
+    }
+
+    @Test
+    public void fingerMaskFollowsTheSmoothedHand() {
+        float[] open = hand(0.5f, 0.5f);
+        // Index tip above its PIP joint
+        open[HandGestureClassifier.INDEX_TIP * HandGestureClassifier.STRIDE + 1] = 0.3f;
+        update(0, open);
+        assertEquals(HandGestureClassifier.INDEX, tracker.track(0).fingerMask());
+
+        // One frame with the tip just below the joint is not enough to flip the smoothed state
+        float[] bent = hand(0.5f, 0.5f);
+        bent[HandGestureClassifier.INDEX_TIP * HandGestureClassifier.STRIDE + 1] = 0.52f;
+        update(33, bent);
+        assertEquals(HandGestureClassifier.INDEX, tracker.track(0).fingerMask());
+        update(66, bent);
+        update(99, bent);
+        assertEquals(0, tracker.track(0).fingerMask());
+    }
+
+    @Test
+    public void resetForgetsEveryHand() {
+        update(0, hand(0.5f, 0.5f));
+        int id = tracker.track(0).id();
+        tracker.reset();
+        assertEquals(0, tracker.size());
+
+        update(33, hand(0.5f, 0.5f));
+        assertNotEquals(id, tracker.track(0).id());
+    }
+}
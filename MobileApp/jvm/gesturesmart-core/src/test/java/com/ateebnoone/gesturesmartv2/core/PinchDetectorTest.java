@@ -0,0 +1,135 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.ateebnoone.gesturesmartv2.core.PinchDetector.Event;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class PinchDetectorTest {
+
+    private static final int COUNT = HandGestureClassifier.LANDMARK_COUNT;
+
+    private PinchDetector pinch;
+
+    @Before
+    public void setUp() {
+        pinch = new PinchDetector();
+    }
+
+    // A hand of the given size (wrist to middle knuckle) with the thumb and
+    // index tips ratio * size apart, either side of (x, y)
+    private static float[] hand(float x, float y, float size, float ratio) {
+        float[] landmarks = new float[COUNT * HandGestureClassifier.STRIDE];
+        set(landmarks, HandGestureClassifier.WRIST, x, y + size);
+        set(landmarks, HandGestureClassifier.MIDDLE_MCP, x, y);
+        float gap = ratio * size;
+        set(landmarks, HandGestureClassifier.THUMB_TIP, x - gap / 2, y);
+        set(landmarks, HandGestureClassifier.INDEX_TIP, x + gap / 2, y);
+        return landmarks;
+    }
+
+    private static void set(float[] landmarks, int index, float x, float y) {
+        landmarks[index * HandGestureClassifier.STRIDE] = x;
+        landmarks[index * HandGestureClassifier.STRIDE + 1] = y;
+    }
+
+    private Event update(float ratio) {
+        return pinch.update(hand(0.5f, 0.5f, 0.2f, ratio), COUNT);
+    }
+
+    @Test
+    public void pressesOnlyBelowThePressRatio() {
+        assertEquals(Event.NONE, update(1f));
+        assertEquals(Event.NONE, update(PinchDetector.PRESS_RATIO + 0.01f));
+        assertEquals(Event.PRESS, update(PinchDetector.PRESS_RATIO - 0.01f));
+        assertTrue(pinch.isPressed());
+    }
+
+    @Test
+    public void holdsBetweenThePressAndReleaseRatios() {
+        update(0.1f);
+        assertEquals(Event.NONE, update(0.3f));
+        assertEquals(Event.NONE, update(PinchDetector.RELEASE_RATIO - 0.01f));
+        assertTrue(pinch.isPressed());
+
+        assertEquals(Event.RELEASE, update(PinchDetector.RELEASE_RATIO + 0.01f));
+        assertFalse(pinch.isPressed());
+
+        // Not pressed again until the tips close past the press ratio
+        assertEquals(Event.NONE, update(0.3f));
+        assertEquals(Event.PRESS, update(0.2f));
+    }
+
+    @Test
+    public void thresholdsDoNotDependOnHandSize() {
+        for (float size : new float[] { 0.05f, 0.2f, 0.5f }) {
+            PinchDetector detector = new PinchDetector();
+            assertEquals(Event.NONE, detector.update(hand(0.5f, 0.5f, size, 0.3f), COUNT));
+            assertEquals(Event.PRESS, detector.update(hand(0.5f, 0.5f, size, 0.2f), COUNT));
+            assertEquals(0.2f, detector.ratio(), 1e-4f);
+            assertEquals(Event.NONE, detector.update(hand(0.5f, 0.5f, size, 0.35f), COUNT));
+            assertEquals(Event.RELEASE, detector.update(hand(0.5f, 0.5f, size, 0.45f), COUNT));
+        }
+    }
+
+    @Test
+    public void steadyHoldReportsNoMoves() {
+        update(0.1f);
+        for (int i = 0; i < 100; i++) {
+            // Jitter well inside the slop
+            float jitter = (i % 2 == 0 ? 1 : -1) * PinchDetector.MOVE_SLOP / 4;
+            assertEquals(Event.NONE, pinch.update(hand(0.5f + jitter, 0.5f, 0.2f, 0.1f), COUNT));
+        }
+    }
+
+    @Test
+    public void movesOnceThePointerLeavesTheSlop() {
+        update(0.1f);
+        // Smoothing moves the pointer half way each frame
+        assertEquals(Event.NONE, pinch.update(hand(0.51f, 0.5f, 0.2f, 0.1f), COUNT));
+        assertEquals(0.505f, pinch.x(), 1e-5f);
+        assertEquals(Event.NONE, pinch.update(hand(0.51f, 0.5f, 0.2f, 0.1f), COUNT));
+        assertEquals(Event.MOVE, pinch.update(hand(0.54f, 0.5f, 0.2f, 0.1f), COUNT));
+        assertEquals(0.52375f, pinch.x(), 1e-5f);
+
+        // The slop is measured from the last reported move
+        assertEquals(Event.NONE, pinch.update(hand(0.53f, 0.5f, 0.2f, 0.1f), COUNT));
+        assertEquals(Event.MOVE, pinch.update(hand(0.6f, 0.5f, 0.2f, 0.1f), COUNT));
+    }
+
+    @Test
+    public void pointerStaysPutWhileTheFingersOpen() {
+        update(0.1f);
+        float x = pinch.x();
+        // The midpoint shifts as the fingers open past the release ratio
+        assertEquals(Event.RELEASE, pinch.update(hand(0.6f, 0.5f, 0.2f, 0.6f), COUNT));
+        assertEquals(x, pinch.x(), 0f);
+    }
+
+    @Test
+    public void losingTheHandReleasesAHeldPinch() {
+        update(0.1f);
+        assertEquals(Event.RELEASE, pinch.lost());
+        assertEquals(Event.NONE, pinch.lost());
+
+        update(0.1f);
+        assertEquals(Event.RELEASE, pinch.update(hand(0.5f, 0.5f, 0.2f, 0.1f), COUNT - 1));
+
+        update(0.1f);
+        // A degenerate hand of size 0 counts as lost
+        assertEquals(Event.RELEASE, pinch.update(hand(0.5f, 0.5f, 0f, 0.1f), COUNT));
+    }
+
+    @Test
+    public void aReturningHandStartsThePointerAtItsPosition() {
+        update(1f);
+        pinch.lost();
+        pinch.update(hand(0.2f, 0.7f, 0.2f, 1f), COUNT);
+        assertEquals(0.2f, pinch.x(), 1e-6f);
+        assertEquals(0.7f, pinch.y(), 1e-6f);
+    }
+}
@@ -0,0 +1,70 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static com.ateebnoone.gesturesmartv2.core.PowerProfile.*;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class PowerProfileTest {
+
+    private static PowerProfile select(int level, PowerProfile current) {
+        return PowerProfile.select(level, false, false, current);
+    }
+
+    @Test
+    public void firstSelectionUsesTheThresholds() {
+        assertEquals(SAVER, select(SAVER_LEVEL, null));
+        assertEquals(BALANCED, select(SAVER_LEVEL + 1, null));
+        assertEquals(BALANCED, select(PERFORMANCE_LEVEL - 1, null));
+        assertEquals(PERFORMANCE, select(PERFORMANCE_LEVEL, null));
+    }
+
+    @Test
+    public void saverHoldsUntilFivePointsAboveItsThreshold() {
+        assertEquals(SAVER, select(SAVER_LEVEL + LEVEL_HYSTERESIS, SAVER));
+        assertEquals(BALANCED, select(SAVER_LEVEL + LEVEL_HYSTERESIS + 1, SAVER));
+
+        // From balanced the plain threshold applies
+        assertEquals(BALANCED, select(SAVER_LEVEL + 1, BALANCED));
+        assertEquals(SAVER, select(SAVER_LEVEL, BALANCED));
+    }
+
+    @Test
+    public void performanceHoldsUntilFivePointsBelowItsThreshold() {
+        assertEquals(PERFORMANCE, select(PERFORMANCE_LEVEL - LEVEL_HYSTERESIS, PERFORMANCE));
+        assertEquals(BALANCED, select(PERFORMANCE_LEVEL - LEVEL_HYSTERESIS - 1, PERFORMANCE));
+
+        assertEquals(BALANCED, select(PERFORMANCE_LEVEL - 1, BALANCED));
+        assertEquals(PERFORMANCE, select(PERFORMANCE_LEVEL, BALANCED));
+    }
+
+    @Test
+    public void levelWobbleAtAThresholdDoesNotFlip() {
+        PowerProfile current = select(SAVER_LEVEL, null);
+        for (int level : new int[] { 21, 20, 22, 19, 25, 21 }) {
+            current = select(level, current);
+            assertEquals("level " + level, SAVER, current);
+        }
+
+        current = select(PERFORMANCE_LEVEL, BALANCED);
+        for (int level : new int[] { 79, 80, 78, 81, 75, 79 }) {
+            current = select(level, current);
+            assertEquals("level " + level, PERFORMANCE, current);
+        }
+    }
+
+    @Test
+    public void chargingAndPowerSaveOverrideTheLevel() {
+        assertEquals(PERFORMANCE, PowerProfile.select(5, true, true, SAVER));
+        assertEquals(SAVER, PowerProfile.select(100, false, true, PERFORMANCE));
+    }
+
+    @Test
+    public void estimatedDrawFallsWithEachProfile() {
+        assertEquals(0, BALANCED.estimatedMw(0));
+        assertEquals(CAMERA_MW + ENGINE_MW, PERFORMANCE.estimatedMw(1));
+        assertTrue(BALANCED.estimatedMw(2) < PERFORMANCE.estimatedMw(2));
+        assertTrue(SAVER.estimatedMw(2) < BALANCED.estimatedMw(2));
+    }
+}
@@ -0,0 +1,156 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TargetIndexTest {
+
+    private static final int WIDTH = 1080;
+    private static final int HEIGHT = 2400;
+
+    private TargetIndex index;
+    private final int[] out = new int[4];
+
+    @Before
+    public void setUp() {
+        index = new TargetIndex();
+        index.setBounds(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void emptyIndexFindsNothing() {
+        assertEquals(-1f, index.nearest(100, 100, 1000, out), 0f);
+    }
+
+    @Test
+    public void pointInsideTargetIsAtDistanceZero() {
+        index.add(100, 100, 200, 200);
+        assertEquals(0f, index.nearest(150, 150, 10, out), 0f);
+        assertArrayEquals(new int[] { 100, 100, 200, 200 }, out);
+    }
+
+    @Test
+    public void radiusIsInclusive() {
+        index.add(300, 100, 400, 200);
+        assertEquals(50f, index.nearest(250, 150, 50, out), 0f);
+        assertEquals(-1f, index.nearest(249, 150, 50, out), 0f);
+    }
+
+    @Test
+    public void findsTargetsSeveralCellsAway() {
+        // Five cells to the right of the point, within a large radius
+        index.add(600, 100, 700, 200);
+        assertEquals(550f, index.nearest(50, 150, 600, out), 0f);
+        assertEquals(-1f, index.nearest(50, 150, 549, out), 0f);
+    }
+
+    @Test
+    public void keepsSearchingPastARingThatAlreadyHasAHit() {
+        // The point sits at the right edge of cell (0, 0). The first ring
+        // finds a target in cell (1, 1) about 102 px away, but one in cell
+        // (2, 0) of the next ring is 100 px away
+        index.add(100, 150, 110, 160);
+        index.add(195, 40, 205, 56);
+
+        assertEquals(100f, index.nearest(95, 48, 500, out), 1e-3f);
+        assertArrayEquals(new int[] { 195, 40, 205, 56 }, out);
+    }
+
+    @Test
+    public void equallyCloseTargetsPreferTheSmallest() {
+        index.add(0, 0, 500, 500);
+        index.add(100, 100, 300, 300);
+        index.add(150, 150, 200, 200);
+        index.add(120, 120, 250, 250);
+
+        assertEquals(0f, index.nearest(175, 175, 10, out), 0f);
+        assertArrayEquals(new int[] { 150, 150, 200, 200 }, out);
+
+        // Insertion order does not matter
+        TargetIndex reversed = new TargetIndex();
+        reversed.setBounds(WIDTH, HEIGHT);
+        reversed.add(120, 120, 250, 250);
+        reversed.add(150, 150, 200, 200);
+        reversed.add(100, 100, 300, 300);
+        reversed.add(0, 0, 500, 500);
+        reversed.nearest(175, 175, 10, out);
+        assertArrayEquals(new int[] { 150, 150, 200, 200 }, out);
+    }
+
+    @Test
+    public void removeWithinDropsOnlyTargetsFullyInside() {
+        index.add(10, 10, 50, 50);
+        index.add(40, 40, 120, 120);
+        index.add(200, 200, 260, 260);
+
+        assertEquals(1, index.removeWithin(0, 0, 100, 100));
+        assertEquals(2, index.size());
+        assertEquals(0f, index.nearest(100, 100, 10, out), 0f);
+        assertArrayEquals(new int[] { 40, 40, 120, 120 }, out);
+    }
+
+    @Test
+    public void targetsAreClippedToTheScreen() {
+        index.add(-50, -50, 20, 20);
+        index.nearest(5, 5, 10, out);
+        assertArrayEquals(new int[] { 0, 0, 20, 20 }, out);
+
+        assertTrue(!index.add(WIDTH, 0, WIDTH + 100, 100));
+    }
+
+    @Test
+    public void matchesBruteForceOnRandomLayouts() {
+        Random random = new Random(7);
+        int[][] rects = new int[200][];
+        for (int layout = 0; layout < 50; layout++) {
+            index.clear();
+            for (int i = 0; i < rects.length; i++) {
+                int left = random.nextInt(WIDTH);
+                int top = random.nextInt(HEIGHT);
+                rects[i] = new int[] { left, top,
+                        Math.min(WIDTH, left + 1 + random.nextInt(200)),
+                        Math.min(HEIGHT, top + 1 + random.nextInt(200)) };
+                index.add(rects[i][0], rects[i][1], rects[i][2], rects[i][3]);
+            }
+            for (int query = 0; query < 200; query++) {
+                float x = random.nextFloat() * WIDTH;
+                float y = random.nextFloat() * HEIGHT;
+                float radius = random.nextFloat() * 400;
+
+                float expected = -1f;
+                long expectedArea = Long.MAX_VALUE;
+                for (int[] r : rects) {
+                    float d = (float) Math.sqrt(distanceSq(r, x, y));
+                    if (d > radius)
+                        continue;
+                    if (expected < 0f || d < expected || (d == expected && area(r) < expectedArea)) {
+                        expected = d;
+                        expectedArea = area(r);
+                    }
+                }
+
+                float actual = index.nearest(x, y, radius, out);
+                assertEquals(expected, actual, 1e-3f);
+                if (expected >= 0f) {
+                    assertEquals(expectedArea, area(out));
+                }
+            }
+        }
+    }
+
+    private static float distanceSq(int[] r, float x, float y) {
+        float dx = x < r[0] ? r[0] - x : x > r[2] ? x - r[2] : 0f;
+        float dy = y < r[1] ? r[1] - y : y > r[3] ? y - r[3] : 0f;
+        return dx * dx + dy * dy;
+    }
+
+    private static long area(int[] r) {
+        return (long) (r[2] - r[0]) * (r[3] - r[1]);
+    }
+}
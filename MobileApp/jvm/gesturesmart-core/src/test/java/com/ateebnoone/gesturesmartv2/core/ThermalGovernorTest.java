@@ -0,0 +1,146 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor.Step;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ThermalGovernorTest {
+
+    // Readings set by each test before polling
+    private static final class FakeThermalSource implements ThermalGovernor.ThermalSource {
+        int status = 0;
+        float headroom = Float.NaN;
+
+        @Override
+        public int thermalStatus() {
+            return status;
+        }
+
+        @Override
+        public float thermalHeadroom(int forecastSeconds) {
+            return headroom;
+        }
+    }
+
+    private FakeThermalSource source;
+    private ThermalGovernor governor;
+
+    @Before
+    public void setUp() {
+        source = new FakeThermalSource();
+        governor = new ThermalGovernor(source);
+    }
+
+    @Test
+    public void stepsUpAtOnceOnStatus() {
+        assertEquals(Step.NOMINAL, governor.poll(0));
+
+        source.status = ThermalGovernor.STATUS_MODERATE;
+        assertEquals(Step.LOW, governor.poll(1));
+
+        source.status = ThermalGovernor.STATUS_SEVERE;
+        assertEquals(Step.MINIMAL, governor.poll(2));
+    }
+
+    @Test
+    public void stepsUpAtOnceOnHeadroom() {
+        source.headroom = 0.5f;
+        assertEquals(Step.NOMINAL, governor.poll(0));
+
+        source.headroom = 0.85f;
+        assertEquals(Step.LOW, governor.poll(1));
+
+        source.headroom = 0.95f;
+        assertEquals(Step.MINIMAL, governor.poll(2));
+    }
+
+    @Test
+    public void recoversOneStepPerRecoveryPeriod() {
+        source.status = ThermalGovernor.STATUS_SEVERE;
+        assertEquals(Step.MINIMAL, governor.poll(0));
+
+        source.status = 0;
+        long cool = 1000;
+        assertEquals(Step.MINIMAL, governor.poll(cool));
+        assertEquals(Step.MINIMAL, governor.poll(cool + ThermalGovernor.RECOVERY_MS - 1));
+        assertEquals(Step.LOW, governor.poll(cool + ThermalGovernor.RECOVERY_MS));
+
+        // Each further step waits a full period from the previous one
+        assertEquals(Step.LOW, governor.poll(cool + 2 * ThermalGovernor.RECOVERY_MS - 1));
+        assertEquals(Step.REDUCED, governor.poll(cool + 2 * ThermalGovernor.RECOVERY_MS));
+        assertEquals(Step.NOMINAL, governor.poll(cool + 3 * ThermalGovernor.RECOVERY_MS));
+    }
+
+    @Test
+    public void recoveryRestartsWhenReadingsHeatUpAgain() {
+        source.status = ThermalGovernor.STATUS_MODERATE;
+        assertEquals(Step.LOW, governor.poll(0));
+
+        source.status = 0;
+        governor.poll(1000);
+        source.status = ThermalGovernor.STATUS_MODERATE;
+        assertEquals(Step.LOW, governor.poll(1000 + ThermalGovernor.RECOVERY_MS / 2));
+
+        source.status = 0;
+        long cool = 2000 + ThermalGovernor.RECOVERY_MS;
+        governor.poll(cool);
+        assertEquals(Step.LOW, governor.poll(cool + ThermalGovernor.RECOVERY_MS - 1));
+        assertEquals(Step.REDUCED, governor.poll(cool + ThermalGovernor.RECOVERY_MS));
+    }
+
+    @Test
+    public void hysteresisHoldsStepJustBelowThreshold() {
+        source.headroom = 0.81f;
+        assertEquals(Step.LOW, governor.poll(0));
+
+        // Below LOW's 0.80 but within the hysteresis band
+        source.headroom = 0.80f - ThermalGovernor.HYSTERESIS / 2;
+        for (long now = 1000; now <= 4 * ThermalGovernor.RECOVERY_MS; now += 1000) {
+            assertEquals(Step.LOW, governor.poll(now));
+        }
+
+        // Out of the band: recovers after the period
+        source.headroom = 0.80f - 2 * ThermalGovernor.HYSTERESIS;
+        long cool = 5 * ThermalGovernor.RECOVERY_MS;
+        assertEquals(Step.LOW, governor.poll(cool));
+        assertEquals(Step.REDUCED, governor.poll(cool + ThermalGovernor.RECOVERY_MS));
+    }
+
+    @Test
+    public void hysteresisDoesNotApplyWhenEntering() {
+        source.headroom = 0.80f - ThermalGovernor.HYSTERESIS / 2;
+        assertEquals(Step.REDUCED, governor.poll(0));
+    }
+
+    @Test
+    public void unknownHeadroomFallsBackToStatus() {
+        source.headroom = Float.NaN;
+        assertEquals(Step.NOMINAL, governor.poll(0));
+
+        source.status = ThermalGovernor.STATUS_LIGHT;
+        assertEquals(Step.REDUCED, governor.poll(1));
+
+        source.status = 0;
+        governor.poll(2);
+        assertEquals(Step.NOMINAL, governor.poll(2 + ThermalGovernor.RECOVERY_MS));
+    }
+
+    @Test
+    public void hotterOfStatusAndHeadroomWins() {
+        source.status = ThermalGovernor.STATUS_LIGHT;
+        source.headroom = 0.92f;
+        assertEquals(Step.MINIMAL, governor.poll(0));
+    }
+
+    @Test
+    public void resetReturnsToNominal() {
+        source.status = ThermalGovernor.STATUS_SEVERE;
+        governor.poll(0);
+
+        governor.reset();
+        assertEquals(Step.NOMINAL, governor.step());
+    }
+}
@@ -0,0 +1,154 @@
+package com.ateebnoone.gesturesmartv2.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class TwoHandGestureDetectorTest {
+
+    private static final int SIZE = HandGestureClassifier.LANDMARK_COUNT * HandGestureClassifier.STRIDE;
+    private static final int[] FULL = { HandGestureClassifier.LANDMARK_COUNT, HandGestureClassifier.LANDMARK_COUNT };
+    private static final float ASPECT = 0.75f;
+
+    private TwoHandGestureDetector detector;
+
+    @Before
+    public void setUp() {
+        detector = new TwoHandGestureDetector(ASPECT);
+    }
+
+    // A hand centred on its middle finger MCP, fingers open or curled
+    private static float[] hand(float x, float y, boolean open) {
+        float[] landmarks = new float[SIZE];
+        for (int i = 0; i < HandGestureClassifier.LANDMARK_COUNT; i++) {
+            landmarks[i * HandGestureClassifier.STRIDE] = x;
+            landmarks[i * HandGestureClassifier.STRIDE + 1] = y;
+        }
+        int[] tips = { HandGestureClassifier.INDEX_TIP, HandGestureClassifier.MIDDLE_TIP,
+                HandGestureClassifier.RING_TIP, HandGestureClassifier.PINKY_TIP };
+        for (int tip : tips) {
+            landmarks[tip * HandGestureClassifier.STRIDE + 1] = y + (open ? -0.05f : 0.05f);
+        }
+        return landmarks;
+    }
+
+    // Both hands as fresh tracks, so their landmarks are exactly the ones given
+    private String update(float[] first, float[] second, long now) {
+        HandTracker tracker = new HandTracker();
+        tracker.update(new float[][] { first, second }, FULL, 2, now);
+        return detector.update(tracker.track(0), tracker.track(1), now);
+    }
+
+    // Hands either side of (0.5, 0.5): span (in aspect-corrected units) and angle from the first to the second
+    private String pose(float span, double angleDeg, boolean open, long now) {
+        double angle = Math.toRadians(angleDeg);
+        float dx = (float) (span * Math.cos(angle)) / ASPECT;
+        float dy = (float) (span * Math.sin(angle));
+        return update(hand(0.5f - dx / 2, 0.5f - dy / 2, open), hand(0.5f + dx / 2, 0.5f + dy / 2, open), now);
+    }
+
+    @Test
+    public void firstTwoHandFrameOnlySetsTheBaseline() {
+        assertNull(pose(0.3f, 0, false, 0));
+        assertNull(pose(0.3f, 0, false, 33));
+    }
+
+    @Test
+    public void spreadingZoomsInAndRepeatsFromTheNewBaseline() {
+        pose(0.2f, 0, false, 0);
+        assertNull(pose(0.24f, 0, false, 33));
+        assertEquals(TwoHandGestureDetector.ZOOM_IN, pose(0.25f, 0, false, 66));
+        assertNull(pose(0.3f, 0, false, 99));
+        assertEquals(TwoHandGestureDetector.ZOOM_IN, pose(0.32f, 0, false, 132));
+    }
+
+    @Test
+    public void closingZoomsOut() {
+        pose(0.4f, 0, false, 0);
+        assertNull(pose(0.33f, 0, false, 33));
+        assertEquals(TwoHandGestureDetector.ZOOM_OUT, pose(0.32f, 0, false, 66));
+    }
+
+    @Test
+    public void turningRotatesByScreenDirection() {
+        pose(0.3f, 0, false, 0);
+        assertNull(pose(0.3f, 20, false, 33));
+        // y grows downwards, so a growing angle is clockwise on screen
+        assertEquals(TwoHandGestureDetector.ROTATE_CLOCKWISE, pose(0.3f, 26, false, 66));
+        assertEquals(TwoHandGestureDetector.ROTATE_COUNTERCLOCKWISE, pose(0.3f, 0, false, 99));
+    }
+
+    @Test
+    public void rotationWrapsAroundPi() {
+        pose(0.3f, 170, false, 0);
+        assertEquals(TwoHandGestureDetector.ROTATE_CLOCKWISE, pose(0.3f, -160, false, 33));
+    }
+
+    @Test
+    public void aspectCorrectionKeepsAQuarterTurnFromLookingLikeAZoom() {
+        // 0.4 of the frame width apart, then the same distance stacked vertically
+        float dx = 0.4f;
+        update(hand(0.3f, 0.5f, false), hand(0.3f + dx, 0.5f, false), 0);
+        String gesture = update(hand(0.5f, 0.3f, false), hand(0.5f, 0.3f + dx * ASPECT, false), 33);
+        assertEquals(TwoHandGestureDetector.ROTATE_CLOCKWISE, gesture);
+    }
+
+    @Test
+    public void overlappingHandsDropTheBaseline() {
+        pose(0.3f, 0, false, 0);
+        assertNull(pose(0.01f, 0, false, 33));
+        // Re-baselined here, so spreading from 0.3 is not compared with the overlap
+        assertNull(pose(0.3f, 0, false, 66));
+        assertNull(pose(0.33f, 0, false, 99));
+    }
+
+    @Test
+    public void bothPalmsFiresOnceAfterTheHold() {
+        pose(0.3f, 0, true, 0);
+        long start = 33;
+        assertNull(pose(0.3f, 0, true, start));
+        assertNull(pose(0.3f, 0, true, start + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS - 1));
+        assertEquals(TwoHandGestureDetector.BOTH_PALMS,
+                pose(0.3f, 0, true, start + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS));
+
+        // Latched while the palms stay up
+        for (long now = start + 400; now < start + 3000; now += 100) {
+            assertNull(pose(0.3f, 0, true, now));
+        }
+    }
+
+    @Test
+    public void bothPalmsReArmsAfterTheHandsClose() {
+        pose(0.3f, 0, true, 0);
+        pose(0.3f, 0, true, 10);
+        assertEquals(TwoHandGestureDetector.BOTH_PALMS, pose(0.3f, 0, true, 10 + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS));
+
+        assertNull(pose(0.3f, 0, false, 500));
+        assertNull(pose(0.3f, 0, true, 600));
+        assertEquals(TwoHandGestureDetector.BOTH_PALMS, pose(0.3f, 0, true, 600 + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS));
+    }
+
+    @Test
+    public void movingHandsRestartTheHold() {
+        pose(0.3f, 0, true, 0);
+        pose(0.3f, 0, true, 10);
+        // Span changes by more than the stillness band, but less than a zoom
+        assertNull(pose(0.34f, 0, true, 200));
+        assertNull(pose(0.3f, 0, true, 250));
+        assertNull(pose(0.3f, 0, true, 250 + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS - 1));
+        assertEquals(TwoHandGestureDetector.BOTH_PALMS, pose(0.3f, 0, true, 250 + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS));
+    }
+
+    @Test
+    public void resetStartsANewBaselineAndHold() {
+        pose(0.2f, 0, true, 0);
+        pose(0.2f, 0, true, 10);
+        detector.reset();
+        // Would be a zoom against the old baseline
+        assertNull(pose(0.3f, 0, true, 20));
+        assertNull(pose(0.3f, 0, true, 30));
+        assertEquals(TwoHandGestureDetector.BOTH_PALMS, pose(0.3f, 0, true, 30 + TwoHandGestureDetector.BOTH_PALMS_HOLD_MS));
+    }
+}
@@ -0,0 +1,204 @@
+package com.ateebnoone.gesturesmartv2.core.session;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class SessionRoundTripTest {
+
+    private static final long STARTED_AT = 1700000000000L;
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static FileFrameSource read(ByteArrayOutputStream bytes) throws IOException {
+        return new FileFrameSource(new ByteArrayInputStream(bytes.toByteArray()));
+    }
+
+    private static float[] landmarks(float... values) {
+        return values;
+    }
+
+    @Test
+    public void everyRecordTypeRoundTrips() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        float[] hand = landmarks(0.1f, 0.2f, -0.3f, 0.4f, 0.5f, 0.6f);
+        byte[] nv21 = { 1, 2, 3, 4, 5, 6 };
+        try (SessionWriter writer = new SessionWriter(bytes, SessionFormat.KIND_EYE,
+                SessionFormat.ENCODING_FLOAT32, STARTED_AT, "pixel 8")) {
+            writer.writeHand(STARTED_AT + 10, hand, 2);
+            writer.writeFace(STARTED_AT + 20, hand, 2, 0.25f, 0.75f);
+            writer.writeCategory(STARTED_AT + 30, "Open_Palm", 0.9f);
+            writer.writeYuv(STARTED_AT + 40, 3, 2, nv21, nv21.length);
+            writer.writeLabel(STARTED_AT + 50, "blink");
+            writer.writeEvent(STARTED_AT + 60, "wink_left");
+            writer.writeConfig(STARTED_AT + 70, SessionFormat.CONFIG_CONSECUTIVE_FRAMES, 3);
+        }
+
+        Frame frame = new Frame();
+        try (FileFrameSource source = read(bytes)) {
+            assertEquals(SessionFormat.KIND_EYE, source.getKind());
+            assertEquals(STARTED_AT, source.getStartedAtMs());
+            assertEquals("pixel 8", source.getDescription());
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_HAND, frame.type);
+            assertEquals(STARTED_AT + 10, frame.timestampMs);
+            assertEquals(2, frame.landmarkCount);
+            assertArrayEquals(hand, Arrays.copyOf(frame.landmarks, 6), 0f);
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_FACE, frame.type);
+            assertArrayEquals(hand, Arrays.copyOf(frame.landmarks, 6), 0f);
+            assertEquals(0.25f, frame.eyeBlinkLeft, 0f);
+            assertEquals(0.75f, frame.eyeBlinkRight, 0f);
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_CATEGORY, frame.type);
+            assertEquals("Open_Palm", frame.name);
+            assertEquals(0.9f, frame.score, 0f);
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_YUV, frame.type);
+            assertEquals(3, frame.width);
+            assertEquals(2, frame.height);
+            assertArrayEquals(nv21, Arrays.copyOf(frame.yuv, frame.yuvLength));
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_LABEL, frame.type);
+            assertEquals("blink", frame.name);
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_EVENT, frame.type);
+            assertEquals("wink_left", frame.name);
+
+            assertTrue(source.next(frame));
+            assertEquals(SessionFormat.TYPE_CONFIG, frame.type);
+            assertEquals(SessionFormat.CONFIG_CONSECUTIVE_FRAMES, frame.name);
+            assertEquals(3, frame.value);
+            assertEquals(STARTED_AT + 70, frame.timestampMs);
+
+            assertFalse(source.next(frame));
+            assertEquals(-1, source.getDroppedFrames());
+        }
+    }
+
+    @Test
+    public void fixed16KeepsResolutionAndClampsOutOfRange() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        float[] values = landmarks(0.123456f, -0.5f, 3.9f, 5f, -5f, 1e9f);
+        try (SessionWriter writer = new SessionWriter(bytes, SessionFormat.KIND_HAND,
+                SessionFormat.ENCODING_FIXED16, STARTED_AT, "")) {
+            writer.writeHand(STARTED_AT, values, 2);
+        }
+
+        Frame frame = new Frame();
+        try (FileFrameSource source = read(bytes)) {
+            assertTrue(source.next(frame));
+            float step = 1f / SessionFormat.FIXED16_SCALE;
+            assertEquals(0.123456f, frame.landmarks[0], step / 2);
+            assertEquals(-0.5f, frame.landmarks[1], 0f);
+            assertEquals(3.9f, frame.landmarks[2], step / 2);
+            // Out of range values stick to the ends of the +/-4 range
+            assertEquals(Short.MAX_VALUE * step, frame.landmarks[3], 0f);
+            assertEquals(-4f, frame.landmarks[4], 0f);
+            assertEquals(Short.MAX_VALUE * step, frame.landmarks[5], 0f);
+        }
+    }
+
+    @Test
+    public void timestampsBeforeTheStartClampToIt() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SessionWriter writer = new SessionWriter(bytes, SessionFormat.KIND_HAND,
+                SessionFormat.ENCODING_FLOAT32, STARTED_AT, "")) {
+            writer.writeLabel(STARTED_AT - 500, "early");
+        }
+
+        Frame frame = new Frame();
+        try (FileFrameSource source = read(bytes)) {
+            assertTrue(source.next(frame));
+            assertEquals(STARTED_AT, frame.timestampMs);
+        }
+    }
+
+    @Test
+    public void trailerCountsAreReadButNotReturnedAsAFrame() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SessionWriter writer = new SessionWriter(bytes, SessionFormat.KIND_HAND,
+                SessionFormat.ENCODING_FLOAT32, STARTED_AT, "")) {
+            writer.writeLabel(STARTED_AT + 5, "start");
+            writer.writeTrailer(STARTED_AT + 9000, 120, 7);
+        }
+
+        Frame frame = new Frame();
+        try (FileFrameSource source = read(bytes)) {
+            assertTrue(source.next(frame));
+            assertEquals("start", frame.name);
+            assertFalse(source.next(frame));
+            assertEquals(120, source.getRecordedFrames());
+            assertEquals(7, source.getDroppedFrames());
+        }
+    }
+
+    @Test
+    public void readsVersion1SessionsWithoutATrailer() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(SessionFormat.MAGIC);
+        out.writeShort(1);
+        out.writeByte(SessionFormat.KIND_HAND);
+        out.writeByte(SessionFormat.ENCODING_FLOAT32);
+        out.writeLong(STARTED_AT);
+        out.writeUTF("old");
+        out.writeByte(SessionFormat.TYPE_LABEL);
+        out.writeInt(42);
+        out.writeUTF("swipe");
+
+        Frame frame = new Frame();
+        try (FileFrameSource source = read(bytes)) {
+            assertTrue(source.next(frame));
+            assertEquals(STARTED_AT + 42, frame.timestampMs);
+            assertFalse(source.next(frame));
+            assertEquals(-1, source.getDroppedFrames());
+        }
+    }
+
+    @Test
+    public void recorderWritesItsCountsIntoTheTrailer() throws IOException {
+        File file = new File(folder.getRoot(), "session" + SessionFormat.FILE_EXTENSION);
+        SessionRecorder recorder = new SessionRecorder(file, SessionFormat.KIND_HAND,
+                SessionFormat.ENCODING_FIXED16, "test");
+        float[] hand = new float[21 * 3];
+        long now = System.currentTimeMillis();
+        for (int i = 0; i < 500; i++) {
+            recorder.recordHand(now + i, hand, 21);
+        }
+        recorder.recordLabel(now + 500, "done");
+        recorder.stop();
+
+        Frame frame = new Frame();
+        int hands = 0;
+        try (FileFrameSource source = new FileFrameSource(file)) {
+            while (source.next(frame)) {
+                if (frame.type == SessionFormat.TYPE_HAND)
+                    hands++;
+            }
+            assertEquals(recorder.getRecordedFrames(), source.getRecordedFrames());
+            assertEquals(recorder.getDroppedFrames(), source.getDroppedFrames());
+        }
+        assertEquals(recorder.getRecordedFrames(), hands);
+        assertEquals(500, hands + recorder.getDroppedFrames());
+    }
+}
@@ -0,0 +1,85 @@
+package com.ateebnoone.gesturesmartv2.replay;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Matches emitted events against reference events (labels, or the events
+ * the device emitted live) and scores them per event name.
+ */
+final class EventMatcher {
+
+    static final class TimedEvent {
+        final long timestampMs;
+        final String name;
+
+        TimedEvent(long timestampMs, String name) {
+            this.timestampMs = timestampMs;
+            this.name = name;
+        }
+    }
+
+    static final class Score {
+        int truePositives;
+        int falsePositives;
+        int falseNegatives;
+
+        double precision() {
+            int predicted = truePositives + falsePositives;
+            return predicted == 0 ? 1.0 : truePositives / (double) predicted;
+        }
+
+        double recall() {
+            int expected = truePositives + falseNegatives;
+            return expected == 0 ? 1.0 : truePositives / (double) expected;
+        }
+    }
+
+    private EventMatcher() {
+    }
+
+    /**
+     * Greedily pairs each reference event with the earliest unmatched emitted
+     * event of the same name within {@code toleranceMs}. Both lists must be
+     * in time order. The key "*" holds the totals.
+     */
+    static Map<String, Score> match(List<TimedEvent> reference, List<TimedEvent> emitted, long toleranceMs) {
+        Map<String, Score> scores = new TreeMap<>();
+        Score total = new Score();
+        scores.put("*", total);
+
+        boolean[] used = new boolean[emitted.size()];
+
+        for (TimedEvent expected : reference) {
+            Score score = scores.computeIfAbsent(expected.name, k -> new Score());
+            int found = -1;
+            for (int i = 0; i < emitted.size(); i++) {
+                TimedEvent candidate = emitted.get(i);
+                if (candidate.timestampMs > expected.timestampMs + toleranceMs)
+                    break;
+                if (!used[i] && candidate.name.equals(expected.name)
+                        && Math.abs(candidate.timestampMs - expected.timestampMs) <= toleranceMs) {
+                    found = i;
+                    break;
+                }
+            }
+            if (found >= 0) {
+                used[found] = true;
+                score.truePositives++;
+                total.truePositives++;
+            } else {
+                score.falseNegatives++;
+                total.falseNegatives++;
+            }
+        }
+
+        for (int i = 0; i < emitted.size(); i++) {
+            if (!used[i]) {
+                scores.computeIfAbsent(emitted.get(i).name, k -> new Score()).falsePositives++;
+                total.falsePositives++;
+            }
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,269 @@
+package com.ateebnoone.gesturesmartv2.replay;
+
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.ateebnoone.gesturesmartv2.core.YuvConverter;
+import com.ateebnoone.gesturesmartv2.core.session.FileFrameSource;
+import com.ateebnoone.gesturesmartv2.core.session.Frame;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
+
+/**
+ * Sweeps {@link InferenceConfig} thread counts and input widths over the raw
+ * YUV frames of recorded sessions and picks the point with the lowest
+ * energy-delay product (p95 frame latency x CPU time per frame).
+ *
+ * Each frame goes through the work VisionService does around the models
+ * for two running engines: NV21 to RGB, a JPEG encode and a decode
+ * subsampled to the input width, the first engine on the calling thread and
+ * the other on the frame workers. The models themselves do not run on the
+ * JVM, so the sweep ranks settings by the cost they control. Process CPU
+ * time stands in for energy.
+ *
+ * The JVM cannot pin threads to a core cluster; to compare clusters, run
+ * the sweep under {@code taskset -c <cpus>} on a device-class board and pass
+ * the matching {@code --cores} label, which is copied to the result.
+ */
+class InferenceSweep {
+
+    // Frames are held in memory; enough for stable percentiles
+    static final int MAX_FRAMES = 300;
+    static final int[] INPUT_WIDTHS = { 160, 240, 320 };
+    // VisionService only fans out across running engines, so more threads than this have no effect
+    static final int ENGINES = 2;
+    private static final int WARMUP_FRAMES = 30;
+
+    private static final class RawFrame {
+        final byte[] nv21;
+        final int width;
+        final int height;
+
+        RawFrame(byte[] nv21, int width, int height) {
+            this.nv21 = nv21;
+            this.width = width;
+            this.height = height;
+        }
+    }
+
+    /** One swept setting and what it cost. */
+    static final class Point {
+        final InferenceConfig config;
+        final double p50Ms;
+        final double p95Ms;
+        final double cpuMsPerFrame;
+
+        Point(InferenceConfig config, double p50Ms, double p95Ms, double cpuMsPerFrame) {
+            this.config = config;
+            this.p50Ms = p50Ms;
+            this.p95Ms = p95Ms;
+            this.cpuMsPerFrame = cpuMsPerFrame;
+        }
+
+        double energyDelay() {
+            return p95Ms * cpuMsPerFrame;
+        }
+    }
+
+    private final List<RawFrame> frames = new ArrayList<>();
+
+    /** Reads raw frames from the sessions, up to {@link #MAX_FRAMES}. */
+    InferenceSweep(List<File> sessions) throws IOException {
+        Frame frame = new Frame();
+        for (File session : sessions) {
+            try (FileFrameSource source = new FileFrameSource(session)) {
+                while (frames.size() < MAX_FRAMES && source.next(frame)) {
+                    if (frame.type == SessionFormat.TYPE_YUV) {
+                        frames.add(new RawFrame(Arrays.copyOf(frame.yuv, frame.yuvLength), frame.width,
+                                frame.height));
+                    }
+                }
+            }
+        }
+    }
+
+    int frameCount() {
+        return frames.size();
+    }
+
+    /** Runs every thread count and input width, labelled with the given core cluster. */
+    List<Point> run(InferenceConfig.Cores cores) throws IOException {
+        int maxThreads = Math.min(ENGINES,
+                Math.min(InferenceConfig.MAX_THREADS, Runtime.getRuntime().availableProcessors()));
+        List<Point> points = new ArrayList<>();
+        for (int threads = 1; threads <= maxThreads; threads++) {
+            for (int inputWidth : INPUT_WIDTHS) {
+                points.add(measure(new InferenceConfig(InferenceConfig.Delegate.CPU, threads, cores, inputWidth)));
+            }
+        }
+        return points;
+    }
+
+    static Point best(List<Point> points) {
+        Point best = null;
+        for (Point point : points) {
+            if (best == null || point.energyDelay() < best.energyDelay()) {
+                best = point;
+            }
+        }
+        return best;
+    }
+
+    /** The CPUs this process may run on, e.g. as restricted by taskset; null off Linux. */
+    static String allowedCpus() {
+        try {
+            for (String line : Files.readAllLines(Paths.get("/proc/self/status"), StandardCharsets.US_ASCII)) {
+                if (line.startsWith("Cpus_allowed_list:")) {
+                    return line.substring(line.indexOf(':') + 1).trim();
+                }
+            }
+        } catch (IOException e) {
+            // Not Linux
+        }
+        return null;
+    }
+
+    private Point measure(InferenceConfig config) throws IOException {
+        ExecutorService workers = config.threads > 1 ? Executors.newFixedThreadPool(config.threads - 1) : null;
+        Worker[] engines = new Worker[ENGINES];
+        for (int i = 0; i < ENGINES; i++) {
+            engines[i] = new Worker(config);
+        }
+
+        try {
+            for (int i = 0; i < Math.min(WARMUP_FRAMES, frames.size()); i++) {
+                process(frames.get(i), engines, workers);
+            }
+
+            StageTimer latency = new StageTimer(config.toString());
+            long cpuStart = processCpuNanos();
+            for (RawFrame frame : frames) {
+                latency.start();
+                process(frame, engines, workers);
+                latency.stop();
+            }
+            long cpuNanos = processCpuNanos() - cpuStart;
+
+            return new Point(config, latency.percentileMicros(50) / 1000.0, latency.percentileMicros(95) / 1000.0,
+                    cpuNanos / 1e6 / frames.size());
+        } finally {
+            if (workers != null) {
+                workers.shutdown();
+            }
+        }
+    }
+
+    // Same split as VisionService.dispatchInParallel
+    private static void process(RawFrame frame, Worker[] engines, ExecutorService workers) throws IOException {
+        if (workers == null) {
+            for (Worker engine : engines) {
+                engine.prepare(frame);
+            }
+            return;
+        }
+
+        List<Future<?>> pending = new ArrayList<>(engines.length - 1);
+        for (int i = 1; i < engines.length; i++) {
+            Worker engine = engines[i];
+            pending.add(workers.submit(() -> {
+                engine.prepare(frame);
+                return null;
+            }));
+        }
+        engines[0].prepare(frame);
+
+        for (Future<?> future : pending) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                throw new IOException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+        }
+    }
+
+    private static long processCpuNanos() {
+        java.lang.management.OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+        if (os instanceof com.sun.management.OperatingSystemMXBean) {
+            return ((com.sun.management.OperatingSystemMXBean) os).getProcessCpuTime();
+        }
+        // Without process CPU time, fall back to the calling thread's
+        return ManagementFactory.getThreadMXBean().getCurrentThreadCpuTime();
+    }
+
+    /** One engine's frame preparation, with its own buffers like each engine on device. */
+    private static final class Worker {
+        private final InferenceConfig config;
+        private final ImageWriter jpegWriter;
+        private final ImageWriteParam jpegParam;
+        private final ByteArrayOutputStream jpegBytes = new ByteArrayOutputStream();
+        private int[] argb = new int[0];
+        private BufferedImage image;
+
+        Worker(InferenceConfig config) {
+            this.config = config;
+            jpegWriter = ImageIO.getImageWritersByFormatName("jpeg").next();
+            jpegParam = jpegWriter.getDefaultWriteParam();
+            // The services compress at quality 90
+            jpegParam.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            jpegParam.setCompressionQuality(0.9f);
+        }
+
+        void prepare(RawFrame frame) throws IOException {
+            int pixels = frame.width * frame.height;
+            if (argb.length < pixels) {
+                argb = new int[pixels];
+            }
+            if (image == null || image.getWidth() != frame.width || image.getHeight() != frame.height) {
+                image = new BufferedImage(frame.width, frame.height, BufferedImage.TYPE_INT_RGB);
+            }
+            YuvConverter.nv21ToArgb(frame.nv21, frame.width, frame.height, argb);
+            image.setRGB(0, 0, frame.width, frame.height, argb, 0, frame.width);
+
+            jpegBytes.reset();
+            try (MemoryCacheImageOutputStream out = new MemoryCacheImageOutputStream(jpegBytes)) {
+                jpegWriter.setOutput(out);
+                jpegWriter.write(null, new IIOImage(image, null, null), jpegParam);
+            }
+
+            // Source subsampling is ImageIO's counterpart of BitmapFactory's inSampleSize
+            int sampleSize = config.sampleSize(frame.width);
+            try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(jpegBytes.toByteArray()))) {
+                ImageReader reader = ImageIO.getImageReaders(in).next();
+                try {
+                    reader.setInput(in);
+                    ImageReadParam param = reader.getDefaultReadParam();
+                    param.setSourceSubsampling(sampleSize, sampleSize, 0, 0);
+                    reader.read(0, param);
+                } finally {
+                    reader.dispose();
+                }
+            }
+        }
+    }
+}
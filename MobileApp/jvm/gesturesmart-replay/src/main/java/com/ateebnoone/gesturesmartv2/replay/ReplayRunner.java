@@ -0,0 +1,255 @@
+package com.ateebnoone.gesturesmartv2.replay;
+
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Replays recorded sessions through the core detectors and reports accuracy
+ * and per-stage timing.
+ *
+ * <pre>
+ * gradle :gesturesmart-replay:run --args="[--tolerance-ms 1000] [--json report.json] session.gsrs|dir ..."
+ * gradle :gesturesmart-replay:run --args="--sweep [--cores big|little|any] session.gsrs|dir ..."
+ * </pre>
+ *
+ * Accuracy is reported against the labels marked while recording, and
+ * agreement against the events the device emitted live. A replay that
+ * disagrees with live output means the detectors changed behaviour since the
+ * session was recorded.
+ *
+ * {@code --sweep} instead runs {@link InferenceSweep} on the sessions' raw
+ * frames (recorded with rawFrames) and prints the recommended inference
+ * config, for GestureService.setInferenceConfig.
+ */
+public class ReplayRunner {
+
+    private static final long DEFAULT_TOLERANCE_MS = 1000;
+
+    public static void main(String[] args) {
+        long toleranceMs = DEFAULT_TOLERANCE_MS;
+        File jsonOut = null;
+        boolean sweep = false;
+        InferenceConfig.Cores cores = InferenceConfig.Cores.ANY;
+        List<File> sessions = new ArrayList<>();
+
+        for (int i = 0; i < args.length; i++) {
+            switch (args[i]) {
+                case "--tolerance-ms":
+                    toleranceMs = Long.parseLong(args[++i]);
+                    break;
+                case "--json":
+                    jsonOut = new File(args[++i]);
+                    break;
+                case "--sweep":
+                    sweep = true;
+                    break;
+                case "--cores":
+                    cores = InferenceConfig.Cores.valueOf(args[++i].toUpperCase(Locale.ROOT));
+                    break;
+                default:
+                    collectSessions(new File(args[i]), sessions);
+            }
+        }
+
+        if (sessions.isEmpty()) {
+            System.err.println("Usage: ReplayRunner [--tolerance-ms N] [--json out.json] <session.gsrs|dir>...");
+            System.err.println("       ReplayRunner --sweep [--cores big|little|any] <session.gsrs|dir>...");
+            System.exit(2);
+        }
+
+        if (sweep) {
+            System.exit(runSweep(sessions, cores));
+        }
+
+        List<SessionReplay> results = new ArrayList<>();
+        boolean failed = false;
+        for (File session : sessions) {
+            try {
+                SessionReplay replay = new SessionReplay(session).run();
+                results.add(replay);
+                printReport(System.out, replay, toleranceMs);
+            } catch (IOException e) {
+                System.err.println(session + ": " + e.getMessage());
+                failed = true;
+            }
+        }
+
+        if (jsonOut != null) {
+            try (Writer writer = Files.newBufferedWriter(jsonOut.toPath(), StandardCharsets.UTF_8)) {
+                writer.write(toJson(results, toleranceMs));
+            } catch (IOException e) {
+                System.err.println("Failed to write " + jsonOut + ": " + e.getMessage());
+                failed = true;
+            }
+        }
+
+        System.exit(failed ? 1 : 0);
+    }
+
+    private static int runSweep(List<File> sessions, InferenceConfig.Cores cores) {
+        try {
+            InferenceSweep inferenceSweep = new InferenceSweep(sessions);
+            if (inferenceSweep.frameCount() == 0) {
+                System.err.println("No raw frames in the sessions; record them with rawFrames enabled");
+                return 1;
+            }
+
+            String cpus = InferenceSweep.allowedCpus();
+            System.out.printf(Locale.ROOT, "Sweeping %d frames on %d CPU(s)%s%n", inferenceSweep.frameCount(),
+                    Runtime.getRuntime().availableProcessors(), cpus != null ? " [" + cpus + "]" : "");
+            List<InferenceSweep.Point> points = inferenceSweep.run(cores);
+
+            System.out.printf(Locale.ROOT, "  %-50s %8s  %8s  %12s%n", "config", "p50 ms", "p95 ms", "cpu ms/frame");
+            for (InferenceSweep.Point point : points) {
+                System.out.printf(Locale.ROOT, "    %-48s %8.2f  %8.2f  %12.2f%n", point.config,
+                        point.p50Ms, point.p95Ms, point.cpuMsPerFrame);
+            }
+            InferenceSweep.Point best = InferenceSweep.best(points);
+            System.out.println("Recommended: " + best.config);
+            return 0;
+        } catch (IOException e) {
+            System.err.println("Sweep failed: " + e.getMessage());
+            return 1;
+        }
+    }
+
+    private static void collectSessions(File path, List<File> sessions) {
+        if (path.isDirectory()) {
+            File[] files = path.listFiles((dir, name) -> name.endsWith(SessionFormat.FILE_EXTENSION));
+            if (files != null) {
+                Arrays.sort(files);
+                sessions.addAll(Arrays.asList(files));
+            }
+        } else {
+            sessions.add(path);
+        }
+    }
+
+    private static void printReport(PrintStream out, SessionReplay replay, long toleranceMs) {
+        out.printf(Locale.ROOT, "%s (%s, %.1fs)%n", replay.file.getName(), replay.kind, replay.durationMs / 1000.0);
+        if (!replay.description.isEmpty())
+            out.println("  " + replay.description);
+        out.printf(Locale.ROOT, "  frames: %d with landmarks, %d empty, %d raw YUV (not classified on the JVM)%n",
+                replay.landmarkFrames, replay.emptyFrames, replay.yuvFrames);
+        if (replay.droppedFrames < 0) {
+            out.println("  dropped while recording: unknown (no trailer; recording cut short or an old file)");
+        } else if (replay.droppedFrames > 0) {
+            out.printf(Locale.ROOT, "  dropped while recording: %d frames; results may be skewed%n",
+                    replay.droppedFrames);
+        }
+        out.printf(Locale.ROOT, "  events: %d replayed, %d live, %d labels%n",
+                replay.emitted.size(), replay.liveEvents.size(), replay.labels.size());
+
+        if (!replay.labels.isEmpty()) {
+            out.println("  accuracy vs labels:");
+            printScores(out, EventMatcher.match(replay.labels, replay.emitted, toleranceMs));
+        }
+        if (!replay.liveEvents.isEmpty()) {
+            out.println("  agreement vs live events:");
+            printScores(out, EventMatcher.match(replay.liveEvents, replay.emitted, toleranceMs));
+        }
+
+        out.println("  timing (us):        count      mean       p50       p95       max");
+        for (StageTimer stage : replay.stages.values()) {
+            out.printf(Locale.ROOT, "    %-20s %6d %9.2f %9.2f %9.2f %9.2f%n", stage.name, stage.count(),
+                    stage.meanMicros(), stage.percentileMicros(50), stage.percentileMicros(95), stage.maxMicros());
+        }
+        out.println();
+    }
+
+    private static void printScores(PrintStream out, Map<String, EventMatcher.Score> scores) {
+        for (Map.Entry<String, EventMatcher.Score> entry : scores.entrySet()) {
+            EventMatcher.Score score = entry.getValue();
+            out.printf(Locale.ROOT, "    %-20s tp=%-4d fp=%-4d fn=%-4d precision=%.3f recall=%.3f%n",
+                    entry.getKey().equals("*") ? "(all)" : entry.getKey(), score.truePositives,
+                    score.falsePositives, score.falseNegatives, score.precision(), score.recall());
+        }
+    }
+
+    private static String toJson(List<SessionReplay> results, long toleranceMs) {
+        StringBuilder json = new StringBuilder();
+        json.append("{\"toleranceMs\":").append(toleranceMs).append(",\"sessions\":[");
+        for (int i = 0; i < results.size(); i++) {
+            SessionReplay replay = results.get(i);
+            if (i > 0)
+                json.append(',');
+            json.append("{\"file\":").append(quote(replay.file.getName()))
+                    .append(",\"kind\":").append(quote(replay.kind))
+                    .append(",\"durationMs\":").append(replay.durationMs)
+                    .append(",\"landmarkFrames\":").append(replay.landmarkFrames)
+                    .append(",\"emptyFrames\":").append(replay.emptyFrames)
+                    .append(",\"yuvFrames\":").append(replay.yuvFrames)
+                    .append(",\"droppedFrames\":").append(replay.droppedFrames < 0 ? "null"
+                            : String.valueOf(replay.droppedFrames))
+                    .append(",\"replayedEvents\":").append(replay.emitted.size())
+                    .append(",\"liveEvents\":").append(replay.liveEvents.size())
+                    .append(",\"labels\":").append(replay.labels.size());
+            if (!replay.labels.isEmpty()) {
+                json.append(",\"accuracy\":");
+                appendScores(json, EventMatcher.match(replay.labels, replay.emitted, toleranceMs));
+            }
+            if (!replay.liveEvents.isEmpty()) {
+                json.append(",\"liveAgreement\":");
+                appendScores(json, EventMatcher.match(replay.liveEvents, replay.emitted, toleranceMs));
+            }
+            json.append(",\"stages\":{");
+            boolean first = true;
+            for (StageTimer stage : replay.stages.values()) {
+                if (!first)
+                    json.append(',');
+                first = false;
+                json.append(quote(stage.name)).append(":{\"count\":").append(stage.count())
+                        .append(String.format(Locale.ROOT,
+                                ",\"meanUs\":%.3f,\"p50Us\":%.3f,\"p95Us\":%.3f,\"maxUs\":%.3f}",
+                                stage.meanMicros(), stage.percentileMicros(50), stage.percentileMicros(95),
+                                stage.maxMicros()));
+            }
+            json.append("}}");
+        }
+        json.append("]}\n");
+        return json.toString();
+    }
+
+    private static void appendScores(StringBuilder json, Map<String, EventMatcher.Score> scores) {
+        json.append('{');
+        boolean first = true;
+        for (Map.Entry<String, EventMatcher.Score> entry : scores.entrySet()) {
+            EventMatcher.Score score = entry.getValue();
+            if (!first)
+                json.append(',');
+            first = false;
+            json.append(quote(entry.getKey())).append(String.format(Locale.ROOT,
+                    ":{\"tp\":%d,\"fp\":%d,\"fn\":%d,\"precision\":%.4f,\"recall\":%.4f}",
+                    score.truePositives, score.falsePositives, score.falseNegatives,
+                    score.precision(), score.recall()));
+        }
+        json.append('}');
+    }
+
+    private static String quote(String value) {
+        StringBuilder quoted = new StringBuilder("\"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                quoted.append('\\').append(c);
+            } else if (c < 0x20) {
+                quoted.append(String.format(Locale.ROOT, "\\u%04x", (int) c));
+            } else {
+                quoted.append(c);
+            }
+        }
+        return quoted.append('"').toString();
+    }
+}
@@ -0,0 +1,191 @@
+package com.ateebnoone.gesturesmartv2.replay;
+
+import com.ateebnoone.gesturesmartv2.core.EventDebouncer;
+import com.ateebnoone.gesturesmartv2.core.EyeEventDetector;
+import com.ateebnoone.gesturesmartv2.core.EyeGestureDetector;
+import com.ateebnoone.gesturesmartv2.core.HandGestureClassifier;
+import com.ateebnoone.gesturesmartv2.core.HandPoseClassifier;
+import com.ateebnoone.gesturesmartv2.core.session.FileFrameSource;
+import com.ateebnoone.gesturesmartv2.core.session.Frame;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Drives the core detectors over one recorded session, exactly as the
+ * services do on device, and collects the emitted events and stage timings.
+ */
+class SessionReplay {
+
+    // Defaults used when a session carries no CONFIG records
+    static final int DEFAULT_EYE_CONSECUTIVE_FRAMES = 3;
+    static final long DEFAULT_EYE_COOLDOWN_MS = 800;
+
+    private static final Comparator<EventMatcher.TimedEvent> BY_TIME =
+            Comparator.comparingLong(event -> event.timestampMs);
+
+    final File file;
+    String kind = "unknown";
+    String description = "";
+    long durationMs;
+
+    int landmarkFrames;
+    int emptyFrames;
+    int yuvFrames;
+    // From the session trailer; -1 if the session has none
+    int droppedFrames = -1;
+
+    final List<EventMatcher.TimedEvent> emitted = new ArrayList<>();
+    final List<EventMatcher.TimedEvent> labels = new ArrayList<>();
+    final List<EventMatcher.TimedEvent> liveEvents = new ArrayList<>();
+    final Map<String, StageTimer> stages = new LinkedHashMap<>();
+
+    private final HandPoseClassifier handClassifier = new HandGestureClassifier();
+    private final EventDebouncer handDebouncer = new EventDebouncer(
+            HandGestureClassifier.EVENT_COOLDOWN_MS, HandGestureClassifier.REPEAT_WINDOW_MS);
+    private final EyeEventDetector eyeDetector = new EyeGestureDetector(DEFAULT_EYE_CONSECUTIVE_FRAMES);
+    private final EventDebouncer eyeDebouncer = new EventDebouncer(DEFAULT_EYE_COOLDOWN_MS, 0);
+
+    SessionReplay(File file) {
+        this.file = file;
+    }
+
+    SessionReplay run() throws IOException {
+        StageTimer read = stage("read");
+        Frame frame = new Frame();
+
+        try (FileFrameSource source = new FileFrameSource(file)) {
+            kind = SessionFormat.kindName(source.getKind());
+            description = source.getDescription();
+            boolean hand = source.getKind() == SessionFormat.KIND_HAND;
+
+            long first = -1;
+            long last = 0;
+            while (true) {
+                read.start();
+                boolean more = source.next(frame);
+                read.stop();
+                if (!more)
+                    break;
+
+                if (first < 0)
+                    first = frame.timestampMs;
+                last = frame.timestampMs;
+
+                if (hand) {
+                    replayHandFrame(frame);
+                } else {
+                    replayEyeFrame(frame);
+                }
+            }
+            durationMs = first < 0 ? 0 : last - first;
+            droppedFrames = source.getDroppedFrames();
+        }
+
+        // Labels can be marked slightly out of order with frames; matching expects time order
+        labels.sort(BY_TIME);
+        liveEvents.sort(BY_TIME);
+        return this;
+    }
+
+    private void replayHandFrame(Frame frame) {
+        switch (frame.type) {
+            case SessionFormat.TYPE_CATEGORY: {
+                StageTimer debounce = stage("debounce");
+                debounce.start();
+                boolean accepted = HandGestureClassifier.acceptsModelGesture(frame.name, frame.score)
+                        && handDebouncer.accept(frame.name, frame.timestampMs);
+                debounce.stop();
+                if (accepted)
+                    emitted.add(new EventMatcher.TimedEvent(frame.timestampMs, frame.name));
+                break;
+            }
+            case SessionFormat.TYPE_HAND: {
+                if (frame.landmarkCount == 0) {
+                    emptyFrames++;
+                    break;
+                }
+                landmarkFrames++;
+                // The service skips classification entirely while cooling down
+                if (handDebouncer.isCoolingDown(frame.timestampMs))
+                    break;
+
+                StageTimer classify = stage("classifyHand");
+                classify.start();
+                String gesture = handClassifier.classify(frame.landmarks, frame.landmarkCount);
+                classify.stop();
+
+                if (gesture != null && handDebouncer.accept(gesture, frame.timestampMs))
+                    emitted.add(new EventMatcher.TimedEvent(frame.timestampMs, gesture));
+                break;
+            }
+            default:
+                replayCommon(frame);
+        }
+    }
+
+    private void replayEyeFrame(Frame frame) {
+        if (frame.type != SessionFormat.TYPE_FACE) {
+            replayCommon(frame);
+            return;
+        }
+
+        if (frame.landmarkCount == 0) {
+            emptyFrames++;
+            eyeDetector.resetFrameCounters();
+            return;
+        }
+        landmarkFrames++;
+
+        StageTimer blink = stage("detectBlinksAndWinks");
+        blink.start();
+        String blinkEvent = eyeDetector.detectBlinksAndWinks(frame.eyeBlinkLeft, frame.eyeBlinkRight);
+        blink.stop();
+        emitEye(blinkEvent, frame.timestampMs);
+
+        StageTimer gaze = stage("detectGazeDirection");
+        gaze.start();
+        String gazeEvent = eyeDetector.detectGazeDirection(frame.landmarks, frame.landmarkCount);
+        gaze.stop();
+        emitEye(gazeEvent, frame.timestampMs);
+    }
+
+    private void emitEye(String event, long timestampMs) {
+        if (event != null && eyeDebouncer.accept(event, timestampMs))
+            emitted.add(new EventMatcher.TimedEvent(timestampMs, event));
+    }
+
+    private void replayCommon(Frame frame) {
+        switch (frame.type) {
+            case SessionFormat.TYPE_YUV:
+                // Raw frames need the MediaPipe models, which do not run on the JVM
+                yuvFrames++;
+                break;
+            case SessionFormat.TYPE_LABEL:
+                labels.add(new EventMatcher.TimedEvent(frame.timestampMs, frame.name));
+                break;
+            case SessionFormat.TYPE_EVENT:
+                liveEvents.add(new EventMatcher.TimedEvent(frame.timestampMs, frame.name));
+                break;
+            case SessionFormat.TYPE_CONFIG:
+                if (SessionFormat.CONFIG_CONSECUTIVE_FRAMES.equals(frame.name)) {
+                    eyeDetector.setConsecutiveFrames(frame.value);
+                } else if (SessionFormat.CONFIG_EVENT_COOLDOWN_MS.equals(frame.name)) {
+                    eyeDebouncer.setCooldown(frame.value);
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private StageTimer stage(String name) {
+        return stages.computeIfAbsent(name, StageTimer::new);
+    }
+}
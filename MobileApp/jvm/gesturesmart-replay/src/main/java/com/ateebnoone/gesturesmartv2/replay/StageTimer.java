@@ -0,0 +1,60 @@
+package com.ateebnoone.gesturesmartv2.replay;
+
+import java.util.Arrays;
+
+/**
+ * Collects per-call durations for one pipeline stage.
+ */
+class StageTimer {
+
+    final String name;
+    private long[] samples = new long[1024];
+    private int count = 0;
+    private long start;
+
+    StageTimer(String name) {
+        this.name = name;
+    }
+
+    void start() {
+        start = System.nanoTime();
+    }
+
+    void stop() {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = System.nanoTime() - start;
+    }
+
+    int count() {
+        return count;
+    }
+
+    double meanMicros() {
+        if (count == 0)
+            return 0;
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            total += samples[i];
+        }
+        return total / (double) count / 1000.0;
+    }
+
+    double percentileMicros(double percentile) {
+        if (count == 0)
+            return 0;
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, index))] / 1000.0;
+    }
+
+    double maxMicros() {
+        long max = 0;
+        for (int i = 0; i < count; i++) {
+            max = Math.max(max, samples[i]);
+        }
+        return max / 1000.0;
+    }
+}
@@ -0,0 +1,249 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.content.Intent;
+import android.content.pm.PackageInfo;
+import android.content.pm.PackageManager;
+import android.content.pm.ResolveInfo;
+import android.os.Build;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.AppIndex;
+import com.ateebnoone.gesturesmartv2.core.AppIndexSnapshot;
+import com.ateebnoone.gesturesmartv2.core.AppIndexSnapshot.Record;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Loads AppIndex from an on-disk snapshot, then reloads labels only for
+// packages added or updated since. All work runs on one background thread
+public class AppIndexStore {
+    private static final String TAG = "AppIndexStore";
+
+    // Layout in AppIndexSnapshot
+    private static final String FILE_NAME = "app_index.bin";
+
+    private final Context context;
+    private final AppIndex index;
+    private final File file;
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "AppIndexStore");
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    // Only touched on the executor thread
+    private final Map<String, Record> records = new HashMap<>();
+
+    // Completed on the executor thread, even if loading fails
+    private final CompletableFuture<Void> snapshotLoaded = new CompletableFuture<>();
+    private final CompletableFuture<Void> synced = new CompletableFuture<>();
+
+    public AppIndexStore(Context context, AppIndex index) {
+        this.context = context.getApplicationContext();
+        this.index = index;
+        this.file = new File(this.context.getFilesDir(), FILE_NAME);
+    }
+
+    public void loadAsync() {
+        executor.execute(() -> {
+            long start = System.currentTimeMillis();
+            try {
+                boolean fresh = readSnapshot();
+                snapshotLoaded.complete(null);
+                Log.i(TAG, "Snapshot loaded with " + records.size() + " apps in "
+                        + (System.currentTimeMillis() - start) + "ms" + (fresh ? "" : " (stale locale)"));
+
+                int changed = diffWithPackageManager(fresh);
+                if (changed > 0) {
+                    writeSnapshot();
+                }
+                Log.i(TAG, "App index synced: " + changed + " changes, " + index.size() + " apps, "
+                        + (System.currentTimeMillis() - start) + "ms");
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to load app index: " + e.getMessage(), e);
+            } finally {
+                snapshotLoaded.complete(null);
+                synced.complete(null);
+            }
+        });
+    }
+
+    public void refreshPackage(String packageName) {
+        executor.execute(() -> {
+            try {
+                PackageManager pm = context.getPackageManager();
+                ResolveInfo launcher = findLauncher(pm, packageName);
+                if (launcher == null) {
+                    if (records.remove(packageName) != null) {
+                        index.remove(packageName);
+                        writeSnapshot();
+                    }
+                    return;
+                }
+
+                PackageInfo info = pm.getPackageInfo(packageName, 0);
+                String label = launcher.loadLabel(pm).toString();
+                records.put(packageName, new Record(label, info.lastUpdateTime, versionCodeOf(info)));
+                index.put(packageName, label);
+                writeSnapshot();
+                Log.i(TAG, "Indexed " + packageName);
+            } catch (Exception e) {
+                Log.w(TAG, "Failed to index " + packageName + ": " + e.getMessage());
+            }
+        });
+    }
+
+    public void removePackage(String packageName) {
+        executor.execute(() -> {
+            if (records.remove(packageName) != null) {
+                index.remove(packageName);
+                writeSnapshot();
+                Log.i(TAG, "Removed " + packageName + " from app index");
+            }
+        });
+    }
+
+    // Runs action once the snapshot is in the index, on the store's thread, or
+    // right away if it already is. The snapshot may be stale
+    public void whenSnapshotLoaded(Runnable action) {
+        snapshotLoaded.thenRun(action);
+    }
+
+    // As whenSnapshotLoaded, once the index also matches the PackageManager
+    public void whenSynced(Runnable action) {
+        synced.thenRun(action);
+    }
+
+    public boolean isSynced() {
+        return synced.isDone();
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    // Returns false if the snapshot was written under a different locale, so
+    // every label must be reloaded even when the package did not change
+    private boolean readSnapshot() {
+        if (!file.exists()) {
+            return false;
+        }
+
+        try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+            AppIndexSnapshot snapshot = AppIndexSnapshot.read(in);
+            for (Map.Entry<String, Record> entry : snapshot.records.entrySet()) {
+                records.put(entry.getKey(), entry.getValue());
+                index.put(entry.getKey(), entry.getValue().label);
+            }
+            return currentLocaleTag().equals(snapshot.localeTag);
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding unreadable snapshot: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void writeSnapshot() {
+        File tmp = new File(file.getPath() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream(tmp))) {
+            new AppIndexSnapshot(currentLocaleTag(), records).write(out);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to write snapshot: " + e.getMessage());
+            tmp.delete();
+            return;
+        }
+
+        if (!tmp.renameTo(file)) {
+            Log.e(TAG, "Failed to replace snapshot");
+            tmp.delete();
+        }
+    }
+
+    private int diffWithPackageManager(boolean labelsFresh) {
+        PackageManager pm = context.getPackageManager();
+
+        Intent intent = new Intent(Intent.ACTION_MAIN);
+        intent.addCategory(Intent.CATEGORY_LAUNCHER);
+        List<ResolveInfo> launchers = pm.queryIntentActivities(intent, 0);
+
+        // One batched call for every package's version instead of one per app
+        Map<String, PackageInfo> packages = new HashMap<>();
+        for (PackageInfo info : pm.getInstalledPackages(0)) {
+            packages.put(info.packageName, info);
+        }
+
+        int changed = 0;
+        Set<String> launchable = new HashSet<>();
+        for (ResolveInfo launcher : launchers) {
+            String packageName = launcher.activityInfo.packageName;
+            if (!launchable.add(packageName)) {
+                continue;
+            }
+
+            PackageInfo info = packages.get(packageName);
+            long lastUpdateTime = info != null ? info.lastUpdateTime : 0L;
+            long versionCode = info != null ? versionCodeOf(info) : 0L;
+
+            Record record = records.get(packageName);
+            if (labelsFresh && record != null
+                    && record.lastUpdateTime == lastUpdateTime && record.versionCode == versionCode) {
+                continue;
+            }
+
+            try {
+                String label = launcher.loadLabel(pm).toString();
+                records.put(packageName, new Record(label, lastUpdateTime, versionCode));
+                index.put(packageName, label);
+                changed++;
+            } catch (Exception e) {
+                Log.w(TAG, "Error processing app: " + e.getMessage());
+            }
+        }
+
+        // Packages uninstalled while we were not running
+        for (String packageName : new HashSet<>(records.keySet())) {
+            if (!launchable.contains(packageName)) {
+                records.remove(packageName);
+                index.remove(packageName);
+                changed++;
+            }
+        }
+        return changed;
+    }
+
+    private static ResolveInfo findLauncher(PackageManager pm, String packageName) {
+        Intent intent = new Intent(Intent.ACTION_MAIN);
+        intent.addCategory(Intent.CATEGORY_LAUNCHER);
+        intent.setPackage(packageName);
+        List<ResolveInfo> resolveInfos = pm.queryIntentActivities(intent, 0);
+        return resolveInfos.isEmpty() ? null : resolveInfos.get(0);
+    }
+
+    @SuppressWarnings("deprecation")
+    private static long versionCodeOf(PackageInfo info) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.P) {
+            return info.getLongVersionCode();
+        }
+        return info.versionCode;
+    }
+
+    private String currentLocaleTag() {
+        Locale locale = context.getResources().getConfiguration().getLocales().get(0);
+        return locale.toLanguageTag();
+    }
+}
@@ -0,0 +1,277 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.accessibilityservice.AccessibilityService;
+import android.accessibilityservice.GestureDescription;
+import android.graphics.Path;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.DisplayMetrics;
+import android.util.Log;
+
+// Keeps one finger down and extends the stroke in short continued segments,
+// easing its velocity towards the requested speed. At the end of the track the
+// finger is lifted, letting the app fling, and re-gripped at the start
+public class ContinuousScroller {
+    private static final String TAG = "ContinuousScroller";
+
+    public static final String UP = "up";
+    public static final String DOWN = "down";
+    public static final String LEFT = "left";
+    public static final String RIGHT = "right";
+
+    // What drives the speed of a running scroll besides explicit setSpeed calls
+    public static final String SOURCE_NONE = "none";
+    public static final String SOURCE_HAND = "hand";
+    public static final String SOURCE_GAZE = "gaze";
+
+    // Duration of one continued stroke segment (about two display frames)
+    private static final long SEGMENT_MS = 32;
+    // Pause between lifting the finger and re-gripping at the start of the track
+    private static final long REGRIP_DELAY_MS = 16;
+    // Delay before retrying after the system cancelled our stroke
+    private static final long CANCEL_RETRY_MS = 150;
+    // Fraction of the screen a single stroke may travel before re-gripping
+    private static final float TRACK_FRACTION = 0.6f;
+    // Finger speed in screens per second at speed 0 and speed 1
+    private static final float MIN_SCREENS_PER_SECOND = 0.3f;
+    private static final float MAX_SCREENS_PER_SECOND = 3.5f;
+    // Fraction of the velocity error corrected each segment (lower = more inertia)
+    private static final float INERTIA_GAIN = 0.25f;
+    private static final float MIN_SEGMENT_PX = 1f;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private AccessibilityService service;
+    private String direction = "";
+    private volatile String speedSource = SOURCE_NONE;
+    private volatile boolean active = false;
+    private int generation = 0;
+
+    private volatile float targetSpeed = 0f; // 0.0 - 1.0
+    private float velocity = 0f; // px per second
+    private float screenExtent;
+    private float trackLength;
+    private float originX, originY;
+    private float dirX, dirY;
+    private float pointerX, pointerY;
+    private float travelled;
+    private GestureDescription.StrokeDescription currentStroke;
+
+    public static boolean isValidDirection(String direction) {
+        return UP.equals(direction) || DOWN.equals(direction)
+                || LEFT.equals(direction) || RIGHT.equals(direction);
+    }
+
+    public static boolean isValidSource(String source) {
+        return SOURCE_NONE.equals(source) || SOURCE_HAND.equals(source) || SOURCE_GAZE.equals(source);
+    }
+
+    // Main thread; replaces any scroll in progress
+    public void start(AccessibilityService service, String direction, float speed, String speedSource,
+            DisplayMetrics metrics) {
+        stop();
+
+        this.service = service;
+        this.direction = direction;
+        this.targetSpeed = clamp(speed);
+        this.speedSource = speedSource;
+        this.active = true;
+        this.generation++;
+
+        float width = metrics.widthPixels;
+        float height = metrics.heightPixels;
+        boolean vertical = UP.equals(direction) || DOWN.equals(direction);
+
+        screenExtent = vertical ? height : width;
+        trackLength = screenExtent * TRACK_FRACTION;
+        dirX = LEFT.equals(direction) ? -1f : RIGHT.equals(direction) ? 1f : 0f;
+        dirY = UP.equals(direction) ? -1f : DOWN.equals(direction) ? 1f : 0f;
+
+        // The track is centred on the screen; the finger starts at its trailing end
+        originX = width / 2f - dirX * trackLength / 2f;
+        originY = height / 2f - dirY * trackLength / 2f;
+
+        // Start from rest and let inertia bring the finger up to speed
+        velocity = minVelocity();
+        beginTrack();
+
+        final int runGeneration = generation;
+        handler.post(() -> step(runGeneration));
+        Log.i(TAG, "Continuous scroll " + direction + " started at speed " + targetSpeed + " (source: "
+                + speedSource + ")");
+    }
+
+    // 0.0 - 1.0, any thread
+    public void setSpeed(float speed) {
+        targetSpeed = clamp(speed);
+    }
+
+    // Updates the speed only if the given input drives the running scroll
+    public void setSpeedFrom(String source, float speed) {
+        if (active && !SOURCE_NONE.equals(source) && source.equals(speedSource)) {
+            targetSpeed = clamp(speed);
+        }
+    }
+
+    // Lifts the finger rather than cancelling the gesture. True if a scroll was in progress
+    public boolean stop() {
+        if (!active) {
+            return false;
+        }
+
+        active = false;
+        direction = "";
+        speedSource = SOURCE_NONE;
+        handler.removeCallbacksAndMessages(null);
+
+        if (currentStroke != null) {
+            // Lift the finger where it currently is, carrying the current momentum
+            dispatchSegment(generation, true);
+        }
+        currentStroke = null;
+        service = null;
+        Log.i(TAG, "Continuous scroll stopped");
+        return true;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public String getDirection() {
+        return direction;
+    }
+
+    public float getSpeed() {
+        return targetSpeed;
+    }
+
+    public String getSpeedSource() {
+        return speedSource;
+    }
+
+    private void beginTrack() {
+        pointerX = originX;
+        pointerY = originY;
+        travelled = 0f;
+        currentStroke = null;
+    }
+
+    private void step(int runGeneration) {
+        if (!active || runGeneration != generation || service == null) {
+            return;
+        }
+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            dispatchFlick(runGeneration);
+            return;
+        }
+
+        float targetVelocity = minVelocity()
+                + (maxVelocity() - minVelocity()) * targetSpeed;
+        velocity += (targetVelocity - velocity) * INERTIA_GAIN;
+
+        dispatchSegment(runGeneration, false);
+    }
+
+    private void dispatchSegment(int runGeneration, boolean lift) {
+        float distance = Math.max(MIN_SEGMENT_PX, velocity * SEGMENT_MS / 1000f);
+        float remaining = trackLength - travelled;
+        final boolean endOfTrack = distance >= remaining;
+        if (endOfTrack) {
+            distance = Math.max(MIN_SEGMENT_PX, remaining);
+        }
+        final boolean willContinue = !lift && !endOfTrack;
+
+        float nextX = pointerX + dirX * distance;
+        float nextY = pointerY + dirY * distance;
+
+        Path path = new Path();
+        path.moveTo(pointerX, pointerY);
+        path.lineTo(nextX, nextY);
+
+        try {
+            GestureDescription.StrokeDescription stroke = currentStroke == null
+                    ? new GestureDescription.StrokeDescription(path, 0, SEGMENT_MS, willContinue)
+                    : currentStroke.continueStroke(path, 0, SEGMENT_MS, willContinue);
+
+            pointerX = nextX;
+            pointerY = nextY;
+            travelled += distance;
+            currentStroke = willContinue ? stroke : null;
+
+            GestureDescription gesture = new GestureDescription.Builder().addStroke(stroke).build();
+            AccessibilityService target = service;
+            if (target == null) {
+                return;
+            }
+
+            target.dispatchGesture(gesture, new AccessibilityService.GestureResultCallback() {
+                @Override
+                public void onCompleted(GestureDescription gestureDescription) {
+                    if (!active || runGeneration != generation) {
+                        return;
+                    }
+                    if (endOfTrack) {
+                        beginTrack();
+                        handler.postDelayed(() -> step(runGeneration), REGRIP_DELAY_MS);
+                    } else {
+                        step(runGeneration);
+                    }
+                }
+
+                @Override
+                public void onCancelled(GestureDescription gestureDescription) {
+                    if (!active || runGeneration != generation) {
+                        return;
+                    }
+                    Log.w(TAG, "Scroll stroke cancelled, re-gripping");
+                    beginTrack();
+                    handler.postDelayed(() -> step(runGeneration), CANCEL_RETRY_MS);
+                }
+            }, handler);
+        } catch (Exception e) {
+            Log.e(TAG, "Error dispatching scroll segment: " + e.getMessage());
+            active = false;
+            currentStroke = null;
+        }
+    }
+
+    // Pre-Oreo devices cannot continue strokes, so fall back to speed-scaled flicks
+    private void dispatchFlick(int runGeneration) {
+        long duration = (long) (trackLength / (minVelocity()
+                + (maxVelocity() - minVelocity()) * targetSpeed) * 1000f);
+        duration = Math.max(100, duration);
+
+        Path path = new Path();
+        path.moveTo(originX, originY);
+        path.lineTo(originX + dirX * trackLength, originY + dirY * trackLength);
+
+        try {
+            GestureDescription gesture = new GestureDescription.Builder()
+                    .addStroke(new GestureDescription.StrokeDescription(path, 0, duration))
+                    .build();
+            service.dispatchGesture(gesture, null, null);
+            handler.postDelayed(() -> step(runGeneration), duration + REGRIP_DELAY_MS);
+        } catch (Exception e) {
+            Log.e(TAG, "Error dispatching scroll flick: " + e.getMessage());
+            active = false;
+        }
+    }
+
+    private float minVelocity() {
+        return screenExtent * MIN_SCREENS_PER_SECOND;
+    }
+
+    private float maxVelocity() {
+        return screenExtent * MAX_SCREENS_PER_SECOND;
+    }
+
+    private static float clamp(float speed) {
+        if (Float.isNaN(speed)) {
+            return 0f;
+        }
+        return Math.max(0f, Math.min(1f, speed));
+    }
+}
@@ -2,62 +2,164 @@ package com.ateebnoone.gesturesmartv2;
 
 import android.accessibilityservice.AccessibilityService;
 import android.accessibilityservice.GestureDescription;
+import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
+import android.content.IntentFilter;
+import android.content.SharedPreferences;
 import android.graphics.Path;
 import android.os.Build;
+import android.os.SystemClock;
 import android.provider.Settings;
 import android.util.DisplayMetrics;
-import android.util.Log;
 import android.view.WindowManager;
 
-import android.content.pm.ApplicationInfo;
 import android.content.pm.PackageManager;
-import android.content.pm.ResolveInfo;
 import android.os.Handler;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
-import java.util.HashMap;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.bridge.Arguments;
+import com.ateebnoone.gesturesmartv2.core.AppIndex;
+import com.ateebnoone.gesturesmartv2.core.DwellDetector;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
 
+
+import android.graphics.PixelFormat;
+import android.hardware.display.DisplayManager;
+import android.hardware.display.VirtualDisplay;
+import android.media.Image;
+import android.media.ImageReader;
+import android.media.projection.MediaProjection;
+import android.media.projection.MediaProjectionManager;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import androidx.annotation.RequiresApi;
+import java.nio.ByteBuffer;
+
+// ADD these class variables with your other instance variables:
+
+
+
 public class GestureActions extends ReactContextBaseJavaModule {
     private static final String TAG = "GestureActions";
     private final ReactApplicationContext reactContext;
     private static AccessibilityService staticAccessibilityService;
     private CursorOverlay cursorOverlay;
     private boolean isCursorActive = false;
-    private Map<String, String> appCache; // Cache for app names → package names
+    private final AppIndex appIndex = new AppIndex();
+    private final AppIndexStore appIndexStore;
+    private static final int MAX_SEARCH_RESULTS = 20;
+    private ScreenshotEncoder screenshotEncoder;
+    private final ContinuousScroller scroller = new ContinuousScroller();
+    // Finger held down by a pinch while the cursor is active
+    private final PointerStroke pointerStroke = new PointerStroke();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private static final float DEFAULT_SCROLL_SPEED = 0.3f;
+    // Two-finger gestures (pinch zoom, rotate)
+    private static final long TWO_FINGER_DURATION_MS = 400;
+    private static final int ROTATE_SEGMENTS = 8;
+    // Dwell-click: tap when the cursor rests in place. Cursor settings are kept per user.
+    private static final String CURSOR_PREFS = "CursorSettings";
+    private final DwellDetector dwellDetector = new DwellDetector();
+    private volatile boolean dwellEnabled = false;
+    // Snaps the cursor and its taps to nearby tap targets while the cursor is open
+    private final TargetAssist targetAssist = new TargetAssist();
+    private volatile boolean targetAssistEnabled = true;
+    private volatile DisplayMetrics cursorMetrics;
+    // Scrolls and swipes ask the view under the screen centre first
+    private final NodeActions nodeActions = new NodeActions();
+    // Hands this module to VisionService so either engine can drive the cursor,
+    // pointer and continuous scroll, whichever React module is created first
+    private final VisionConnection vision;
+    
+    private MediaProjectionManager mediaProjectionManager;
+private MediaProjection mediaProjection;
+private ImageReader imageReader;
+private VirtualDisplay virtualDisplay;
+private int screenWidth, screenHeight, screenDensity;
 
     public GestureActions(ReactApplicationContext context) {
         super(context);
         this.reactContext = context;
         this.cursorOverlay = new CursorOverlay(context);
-        this.appCache = new HashMap<>();
-        initializeAppCache();
-        GestureModule.GestureActionsHolder.setInstance(this);
+        // Index loads from its snapshot in the background; the bridge is ready immediately
+        this.appIndexStore = new AppIndexStore(context, appIndex);
+        appIndexStore.loadAsync();
+        registerPackageReceiver();
+        initializeScreenshot();
+        loadCursorSettings();
+        this.vision = new VisionConnection(context, "actions", null);
     }
 
-    private void initializeAppCache() {
-        PackageManager pm = reactContext.getPackageManager();
-        List<ApplicationInfo> apps = pm.getInstalledApplications(0);
+    @Override
+    public void initialize() {
+        super.initialize();
+        vision.bind();
+        vision.call(binder -> binder.setGestureActions(this));
+    }
 
-        for (ApplicationInfo appInfo : apps) {
-            String label = pm.getApplicationLabel(appInfo).toString();
-            String normalizedLabel = label.toLowerCase(Locale.ENGLISH).trim();
-            appCache.put(normalizedLabel, appInfo.packageName);
+    // Keeps the index in sync one package at a time instead of rebuilding it
+    private void registerPackageReceiver() {
+        IntentFilter filter = new IntentFilter();
+        filter.addAction(Intent.ACTION_PACKAGE_ADDED);
+        filter.addAction(Intent.ACTION_PACKAGE_REMOVED);
+        filter.addAction(Intent.ACTION_PACKAGE_REPLACED);
+        filter.addAction(Intent.ACTION_PACKAGE_CHANGED);
+        filter.addDataScheme("package");
 
-            // Add common aliases
-            if (normalizedLabel.contains("youtube")) {
-                appCache.put("yt", appInfo.packageName);
+        try {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.TIRAMISU) {
+                reactContext.registerReceiver(packageReceiver, filter, Context.RECEIVER_NOT_EXPORTED);
+            } else {
+                reactContext.registerReceiver(packageReceiver, filter);
             }
-            if (normalizedLabel.contains("facebook")) {
-                appCache.put("fb", appInfo.packageName);
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to register package receiver: " + e.getMessage());
+        }
+    }
+
+    private final BroadcastReceiver packageReceiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            if (intent.getData() == null) {
+                return;
             }
+            String packageName = intent.getData().getSchemeSpecificPart();
+            String action = intent.getAction();
+
+            if (Intent.ACTION_PACKAGE_REMOVED.equals(action)) {
+                // An update sends REMOVED then ADDED; keep the entry until the ADDED arrives
+                if (!intent.getBooleanExtra(Intent.EXTRA_REPLACING, false)) {
+                    appIndexStore.removePackage(packageName);
+                }
+                return;
+            }
+
+            appIndexStore.refreshPackage(packageName);
+        }
+    };
+
+    @Override
+    public void invalidate() {
+        try {
+            reactContext.unregisterReceiver(packageReceiver);
+        } catch (Exception e) {
+            Log.w(TAG, "Package receiver was not registered");
         }
+        appIndexStore.shutdown();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.R && screenshotEncoder != null) {
+            screenshotEncoder.shutdown();
+        }
+        vision.call(binder -> binder.clearGestureActions(this));
+        vision.unbind();
+        super.invalidate();
     }
 
     @Override
@@ -92,6 +194,10 @@ public class GestureActions extends ReactContextBaseJavaModule {
                     boolean success = cursorOverlay.show();
                     if (success) {
                         isCursorActive = true;
+                        cursorMetrics = getDisplayMetrics();
+                        if (targetAssistEnabled) {
+                            mainHandler.post(() -> targetAssist.start(cursorMetrics));
+                        }
                         // Initialize at center
                         cursorOverlay.updatePosition(0.5f, 0.5f);
 
@@ -110,6 +216,9 @@ public class GestureActions extends ReactContextBaseJavaModule {
                 }
             } else {
                 // Close cursor
+                pointerStroke.cancel();
+                dwellDetector.reset();
+                mainHandler.post(targetAssist::stop);
                 if (cursorOverlay != null) {
                     cursorOverlay.hide();
                 }
@@ -138,7 +247,7 @@ public class GestureActions extends ReactContextBaseJavaModule {
         }
     }
 
-    // Update cursor position from GestureService
+    // Update cursor position from HandEngine
     public void updateCursorPosition(float normalizedX, float normalizedY) {
         try {
             Log.d(TAG, String.format("updateCursorPosition called with: (%.3f, %.3f), isCursorActive: %b",
@@ -153,6 +262,9 @@ public class GestureActions extends ReactContextBaseJavaModule {
                 // Special case: negative coordinates mean hide the cursor
                 Log.d(TAG, "Negative coordinates received, hiding cursor");
                 if (isCursorActive) {
+                    pointerStroke.cancel();
+                    dwellDetector.reset();
+                    mainHandler.post(targetAssist::stop);
                     cursorOverlay.hide();
                     isCursorActive = false;
                 }
@@ -175,11 +287,22 @@ public class GestureActions extends ReactContextBaseJavaModule {
                 Log.d(TAG, "Show cursor result: " + showResult);
             }
 
+            // Pull the cursor towards a nearby tap target
+            DisplayMetrics metrics = cursorMetrics;
+            if (isCursorActive && metrics != null && targetAssist.isRunning()) {
+                float[] point = { normalizedX * metrics.widthPixels, normalizedY * metrics.heightPixels };
+                if (targetAssist.assist(point)) {
+                    normalizedX = point[0] / metrics.widthPixels;
+                    normalizedY = point[1] / metrics.heightPixels;
+                }
+            }
+
             // Update cursor overlay position
             if (isCursorActive) {
                 Log.v(TAG, String.format("Updating cursor position to normalized: (%.3f, %.3f)",
                         normalizedX, normalizedY));
                 cursorOverlay.updatePosition(normalizedX, normalizedY);
+                updateDwell(normalizedX, normalizedY);
             } else {
                 Log.d(TAG, "Cursor not active, skipping position update");
             }
@@ -236,8 +359,9 @@ public class GestureActions extends ReactContextBaseJavaModule {
         }
 
         try {
-            // Get cursor position
+            // Get cursor position, on the nearest tap target if there is one in reach
             float[] position = cursorOverlay.getCurrentPosition();
+            targetAssist.snapTap(position);
 
             Path path = new Path();
             path.moveTo(position[0], position[1]);
@@ -273,8 +397,9 @@ public class GestureActions extends ReactContextBaseJavaModule {
         }
 
         try {
-            // Get cursor position
+            // Get cursor position, on the nearest tap target if there is one in reach
             float[] position = cursorOverlay.getCurrentPosition();
+            targetAssist.snapTap(position);
 
             Path path = new Path();
             path.moveTo(position[0], position[1]);
@@ -289,6 +414,107 @@ public class GestureActions extends ReactContextBaseJavaModule {
         }
     }
 
+    // Dwell-click settings: radius as a fraction of the screen's shorter side, time in ms
+    @ReactMethod
+    public void setDwellOptions(ReadableMap options, Promise promise) {
+        try {
+            SharedPreferences prefs = reactContext.getSharedPreferences(CURSOR_PREFS, Context.MODE_PRIVATE);
+            SharedPreferences.Editor editor = prefs.edit();
+            if (options.hasKey("enabled")) {
+                editor.putBoolean("dwellEnabled", options.getBoolean("enabled"));
+            }
+            if (options.hasKey("radius")) {
+                editor.putFloat("dwellRadius", (float) options.getDouble("radius"));
+            }
+            if (options.hasKey("dwellMs")) {
+                editor.putLong("dwellMs", (long) options.getDouble("dwellMs"));
+            }
+            editor.apply();
+
+            loadCursorSettings();
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("ERROR", "Failed to set dwell options: " + e.getMessage());
+        }
+    }
+
+    private void loadCursorSettings() {
+        SharedPreferences prefs = reactContext.getSharedPreferences(CURSOR_PREFS, Context.MODE_PRIVATE);
+        dwellDetector.configure(prefs.getFloat("dwellRadius", DwellDetector.DEFAULT_RADIUS),
+                prefs.getLong("dwellMs", DwellDetector.DEFAULT_DWELL_MS));
+        DisplayMetrics metrics = getDisplayMetrics();
+        dwellDetector.setAspect(metrics.heightPixels / (float) Math.max(1, metrics.widthPixels));
+        dwellEnabled = prefs.getBoolean("dwellEnabled", false);
+        targetAssistEnabled = prefs.getBoolean("targetAssist", true);
+        cursorOverlay.setDwellProgress(0f);
+    }
+
+    @ReactMethod
+    public void setTargetAssist(boolean enabled, Promise promise) {
+        try {
+            reactContext.getSharedPreferences(CURSOR_PREFS, Context.MODE_PRIVATE)
+                    .edit().putBoolean("targetAssist", enabled).apply();
+            targetAssistEnabled = enabled;
+            mainHandler.post(() -> {
+                if (enabled && isCursorActive) {
+                    targetAssist.start(getDisplayMetrics());
+                } else if (!enabled) {
+                    targetAssist.stop();
+                }
+            });
+            promise.resolve(true);
+        } catch (Exception e) {
+            promise.reject("ERROR", "Failed to set target assist: " + e.getMessage());
+        }
+    }
+
+    // Runs once per cursor update, from whichever service drives the cursor
+    private void updateDwell(float normalizedX, float normalizedY) {
+        if (!dwellEnabled)
+            return;
+        // A held pinch is already touching the screen
+        if (pointerStroke.isDown()) {
+            dwellDetector.reset();
+            cursorOverlay.setDwellProgress(0f);
+            return;
+        }
+
+        boolean click = dwellDetector.update(normalizedX, normalizedY, SystemClock.uptimeMillis());
+        cursorOverlay.setDwellProgress(dwellDetector.progress());
+        if (click) {
+            // The overlay moves on the main thread; tap after this position has been applied
+            mainHandler.post(this::performTapAtCursor);
+        }
+    }
+
+    // Pinch pointer from HandEngine: press, move and release a finger at
+    // normalized screen coordinates, as one continued stroke
+    public void pointerPress(float normalizedX, float normalizedY, long frameTimeMs, long frameIntervalMs) {
+        if (!isCursorActive || !checkAccessibilityPermission()) {
+            return;
+        }
+
+        AccessibilityService service = getAccessibilityService();
+        if (service == null) {
+            Log.e(TAG, "Cannot press - accessibility service not available");
+            return;
+        }
+
+        DisplayMetrics metrics = getDisplayMetrics();
+        float[] point = { normalizedX * metrics.widthPixels, normalizedY * metrics.heightPixels };
+        targetAssist.snapTap(point);
+        pointerStroke.press(service, point[0], point[1], frameTimeMs, frameIntervalMs);
+    }
+
+    public void pointerMove(float normalizedX, float normalizedY) {
+        DisplayMetrics metrics = getDisplayMetrics();
+        pointerStroke.move(normalizedX * metrics.widthPixels, normalizedY * metrics.heightPixels);
+    }
+
+    public void pointerRelease() {
+        pointerStroke.release();
+    }
+
     @ReactMethod
     public void swipeLeft(Promise promise) {
         if (isCursorActive) {
@@ -312,6 +538,12 @@ public class GestureActions extends ReactContextBaseJavaModule {
             float screenWidth = metrics.widthPixels;
             float screenHeight = metrics.heightPixels;
 
+            // Ask the view to scroll itself; the stroke is the fallback
+            if (nodeActions.scroll(service, false, true, screenWidth / 2f, screenHeight / 2f)) {
+                promise.resolve(true);
+                return;
+            }
+
             Path path = new Path();
             path.moveTo(screenWidth * 0.8f, screenHeight * 0.5f);
             path.lineTo(screenWidth * 0.2f, screenHeight * 0.5f);
@@ -349,6 +581,12 @@ public class GestureActions extends ReactContextBaseJavaModule {
             float screenWidth = metrics.widthPixels;
             float screenHeight = metrics.heightPixels;
 
+            // Ask the view to scroll itself; the stroke is the fallback
+            if (nodeActions.scroll(service, false, false, screenWidth / 2f, screenHeight / 2f)) {
+                promise.resolve(true);
+                return;
+            }
+
             Path path = new Path();
             path.moveTo(screenWidth * 0.2f, screenHeight * 0.5f);
             path.lineTo(screenWidth * 0.8f, screenHeight * 0.5f);
@@ -422,6 +660,12 @@ public class GestureActions extends ReactContextBaseJavaModule {
             float centerX = screenWidth / 2f;
             float centerY = screenHeight / 2f;
 
+            // Ask the view to scroll itself; the stroke is the fallback
+            if (nodeActions.scroll(service, true, true, centerX, centerY)) {
+                promise.resolve(true);
+                return;
+            }
+
             // Start from center-bottom and move to center-top
             Path path = new Path();
             path.moveTo(centerX, centerY + (screenHeight * 0.2f)); // Start below center
@@ -464,6 +708,12 @@ public class GestureActions extends ReactContextBaseJavaModule {
             float centerX = screenWidth / 2f;
             float centerY = screenHeight / 2f;
 
+            // Ask the view to scroll itself; the stroke is the fallback
+            if (nodeActions.scroll(service, true, false, centerX, centerY)) {
+                promise.resolve(true);
+                return;
+            }
+
             // Start from center-top and move to center-bottom
             Path path = new Path();
             path.moveTo(centerX, centerY - (screenHeight * 0.2f)); // Start above center
@@ -560,95 +810,112 @@ public class GestureActions extends ReactContextBaseJavaModule {
         }
     }
 
-    // Add these variables to your class (at the top with other instance variables)
-    private Handler scrollHandler;
-    private Runnable scrollRunnable;
-    private boolean isContinuousScrolling = false;
-    private String currentScrollDirection = ""; // "up" or "down"
-
-    // Continuous scroll up method
+    // Two-finger pinch at the screen centre. scale > 1 spreads the fingers (zoom in),
+    // scale < 1 closes them (zoom out).
     @ReactMethod
-    public void continuousScrollUp(Promise promise) {
-        if (isCursorActive) {
-            promise.reject("ERROR", "Cannot perform scroll while cursor is active");
+    public void pinchZoom(double scale, Promise promise) {
+        if (scale <= 0) {
+            promise.reject("ERROR", "Scale must be positive");
             return;
         }
 
-        if (!checkAccessibilityPermission()) {
-            promise.reject("ERROR", "Accessibility permission not granted");
-            return;
-        }
-
-        AccessibilityService service = getAccessibilityService();
-        if (service == null) {
-            promise.reject("ERROR", "Accessibility service not available");
-            return;
-        }
-
-        try {
-            // Stop any existing continuous scrolling
-            stopScrolling(null);
-
-            isContinuousScrolling = true;
-            currentScrollDirection = "up";
+        DisplayMetrics metrics = getDisplayMetrics();
+        float centerX = metrics.widthPixels / 2f;
+        float centerY = metrics.heightPixels / 2f;
+        float maxRadius = Math.min(metrics.widthPixels, metrics.heightPixels) * 0.45f;
+        float startRadius = maxRadius / (float) Math.max(scale, 1.0);
+        float endRadius = Math.max(startRadius * (float) scale, maxRadius * 0.1f);
+        // Fingers move along the diagonal, in opposite directions
+        float dx = (float) Math.cos(Math.PI / 4);
+        float dy = (float) Math.sin(Math.PI / 4);
+
+        Path first = new Path();
+        first.moveTo(centerX - startRadius * dx, centerY - startRadius * dy);
+        first.lineTo(centerX - endRadius * dx, centerY - endRadius * dy);
+        Path second = new Path();
+        second.moveTo(centerX + startRadius * dx, centerY + startRadius * dy);
+        second.lineTo(centerX + endRadius * dx, centerY + endRadius * dy);
+
+        dispatchTwoFingerGesture(first, second, "pinch zoom", promise);
+    }
 
-            if (scrollHandler == null) {
-                scrollHandler = new Handler(android.os.Looper.getMainLooper());
+    // Two-finger rotation about the screen centre; positive degrees turn clockwise
+    @ReactMethod
+    public void rotate(double degrees, Promise promise) {
+        DisplayMetrics metrics = getDisplayMetrics();
+        float centerX = metrics.widthPixels / 2f;
+        float centerY = metrics.heightPixels / 2f;
+        float radius = Math.min(metrics.widthPixels, metrics.heightPixels) * 0.25f;
+        double sweep = Math.toRadians(degrees);
+
+        // Arcs approximated by short segments; screen y grows downwards, so a
+        // growing angle is a clockwise turn
+        Path first = new Path();
+        Path second = new Path();
+        for (int i = 0; i <= ROTATE_SEGMENTS; i++) {
+            double angle = -Math.PI / 2 + sweep * i / ROTATE_SEGMENTS;
+            float x = (float) (radius * Math.cos(angle));
+            float y = (float) (radius * Math.sin(angle));
+            if (i == 0) {
+                first.moveTo(centerX + x, centerY + y);
+                second.moveTo(centerX - x, centerY - y);
+            } else {
+                first.lineTo(centerX + x, centerY + y);
+                second.lineTo(centerX - x, centerY - y);
             }
+        }
 
-            DisplayMetrics metrics = getDisplayMetrics();
-            final float screenWidth = metrics.widthPixels;
-            final float screenHeight = metrics.heightPixels;
-            final float centerX = screenWidth / 2f;
-            final float centerY = screenHeight / 2f;
-
-            scrollRunnable = new Runnable() {
-                @Override
-                public void run() {
-                    if (!isContinuousScrolling || !currentScrollDirection.equals("up")) {
-                        return;
-                    }
-
-                    try {
-                        // Create scroll up gesture
-                        Path path = new Path();
-                        path.moveTo(centerX, centerY + (screenHeight * 0.15f)); // Start below center
-                        path.lineTo(centerX, centerY - (screenHeight * 0.15f)); // End above center
-
-                        GestureDescription.Builder gestureBuilder = new GestureDescription.Builder();
-                        gestureBuilder.addStroke(new GestureDescription.StrokeDescription(path, 0, 200));
+        dispatchTwoFingerGesture(first, second, "rotate", promise);
+    }
 
-                        service.dispatchGesture(gestureBuilder.build(), null, null);
+    // Continuous scroll up method
+    @ReactMethod
+    public void continuousScrollUp(Promise promise) {
+        startContinuousScroll(ContinuousScroller.UP, DEFAULT_SCROLL_SPEED, ContinuousScroller.SOURCE_NONE, promise);
+    }
 
-                        // Schedule next scroll after a short delay
-                        if (isContinuousScrolling && scrollHandler != null) {
-                            scrollHandler.postDelayed(this, 300); // Repeat every 300ms
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error in continuous scroll up: " + e.getMessage());
-                        isContinuousScrolling = false;
-                    }
-                }
-            };
+    // Continuous scroll down method
+    @ReactMethod
+    public void continuousScrollDown(Promise promise) {
+        startContinuousScroll(ContinuousScroller.DOWN, DEFAULT_SCROLL_SPEED, ContinuousScroller.SOURCE_NONE, promise);
+    }
 
-            // Start the continuous scrolling
-            scrollHandler.post(scrollRunnable);
-            promise.resolve("Continuous scroll up started");
-            Log.i(TAG, "Continuous scroll up started");
+    // Continuous scroll in any direction ("up", "down", "left", "right") with an
+    // initial speed between 0.0 and 1.0. The source ("none", "hand", "gaze")
+    // names the engine allowed to change the speed; with "none" only
+    // setScrollSpeed does
+    @ReactMethod
+    public void continuousScroll(String direction, double speed, String source, Promise promise) {
+        startContinuousScroll(direction, (float) speed, source, promise);
+    }
 
+    // Change the speed of the running continuous scroll (0.0 - 1.0)
+    @ReactMethod
+    public void setScrollSpeed(double speed, Promise promise) {
+        try {
+            scroller.setSpeed((float) speed);
+            promise.resolve(scroller.isActive());
         } catch (Exception e) {
-            promise.reject("ERROR", "Failed to start continuous scroll up: " + e.getMessage());
+            promise.reject("ERROR", "Failed to set scroll speed: " + e.getMessage());
         }
     }
 
-    // Continuous scroll down method
-    @ReactMethod
-    public void continuousScrollDown(Promise promise) {
+    private void startContinuousScroll(String direction, float speed, String source, Promise promise) {
         if (isCursorActive) {
             promise.reject("ERROR", "Cannot perform scroll while cursor is active");
             return;
         }
 
+        if (!ContinuousScroller.isValidDirection(direction)) {
+            promise.reject("ERROR", "Invalid scroll direction: " + direction);
+            return;
+        }
+
+        if (!ContinuousScroller.isValidSource(source)) {
+            promise.reject("ERROR", "Invalid scroll speed source: " + source);
+            return;
+        }
+
         if (!checkAccessibilityPermission()) {
             promise.reject("ERROR", "Accessibility permission not granted");
             return;
@@ -660,335 +927,314 @@ public class GestureActions extends ReactContextBaseJavaModule {
             return;
         }
 
-        try {
-            // Stop any existing continuous scrolling
-            stopScrolling(null);
-
-            isContinuousScrolling = true;
-            currentScrollDirection = "down";
-
-            if (scrollHandler == null) {
-                scrollHandler = new Handler(android.os.Looper.getMainLooper());
+        final DisplayMetrics metrics = getDisplayMetrics();
+        mainHandler.post(() -> {
+            try {
+                scroller.start(service, direction, speed, source, metrics);
+                promise.resolve("Continuous scroll " + direction + " started");
+            } catch (Exception e) {
+                promise.reject("ERROR", "Failed to start continuous scroll " + direction + ": " + e.getMessage());
             }
+        });
+    }
 
-            DisplayMetrics metrics = getDisplayMetrics();
-            final float screenWidth = metrics.widthPixels;
-            final float screenHeight = metrics.heightPixels;
-            final float centerX = screenWidth / 2f;
-            final float centerY = screenHeight / 2f;
-
-            scrollRunnable = new Runnable() {
-                @Override
-                public void run() {
-                    if (!isContinuousScrolling || !currentScrollDirection.equals("down")) {
-                        return;
-                    }
-
-                    try {
-                        // Create scroll down gesture
-                        Path path = new Path();
-                        path.moveTo(centerX, centerY - (screenHeight * 0.15f)); // Start above center
-                        path.lineTo(centerX, centerY + (screenHeight * 0.15f)); // End below center
-
-                        GestureDescription.Builder gestureBuilder = new GestureDescription.Builder();
-                        gestureBuilder.addStroke(new GestureDescription.StrokeDescription(path, 0, 200));
-
-                        service.dispatchGesture(gestureBuilder.build(), null, null);
-
-                        // Schedule next scroll after a short delay
-                        if (isContinuousScrolling && scrollHandler != null) {
-                            scrollHandler.postDelayed(this, 300); // Repeat every 300ms
-                        }
-                    } catch (Exception e) {
-                        Log.e(TAG, "Error in continuous scroll down: " + e.getMessage());
-                        isContinuousScrolling = false;
-                    }
-                }
-            };
+    // Called from HandEngine / EyeEngine with a normalized input (hand
+    // height, gaze offset, ...); applied only to a scroll started with that source
+    public void updateScrollSpeed(String source, float speed) {
+        scroller.setSpeedFrom(source, speed);
+    }
 
-            // Start the continuous scrolling
-            scrollHandler.post(scrollRunnable);
-            promise.resolve("Continuous scroll down started");
-            Log.i(TAG, "Continuous scroll down started");
+    public boolean isContinuousScrolling() {
+        return scroller.isActive();
+    }
 
-        } catch (Exception e) {
-            promise.reject("ERROR", "Failed to start continuous scroll down: " + e.getMessage());
-        }
+    // Whether the running scroll takes its speed from the given engine
+    public boolean isScrollDrivenBy(String source) {
+        return scroller.isActive() && source.equals(scroller.getSpeedSource());
     }
 
     // Stop scrolling method
     @ReactMethod
     public void stopScrolling(Promise promise) {
-        try {
-            if (isContinuousScrolling) {
-                isContinuousScrolling = false;
-                currentScrollDirection = "";
+        mainHandler.post(() -> {
+            try {
+                if (scroller.stop()) {
+                    if (promise != null) {
+                        promise.resolve("Scrolling stopped");
+                    }
+                } else {
+                    Log.i(TAG, "No continuous scrolling to stop");
 
-                if (scrollHandler != null && scrollRunnable != null) {
-                    scrollHandler.removeCallbacks(scrollRunnable);
-                    scrollRunnable = null;
+                    if (promise != null) {
+                        promise.resolve("No scrolling was active");
+                    }
                 }
-
-                Log.i(TAG, "Continuous scrolling stopped");
-
+            } catch (Exception e) {
+                Log.e(TAG, "Error stopping scrolling: " + e.getMessage());
                 if (promise != null) {
-                    promise.resolve("Scrolling stopped");
+                    promise.reject("ERROR", "Failed to stop scrolling: " + e.getMessage());
                 }
-            } else {
-                Log.i(TAG, "No continuous scrolling to stop");
-
-                if (promise != null) {
-                    promise.resolve("No scrolling was active");
-                }
-            }
-        } catch (Exception e) {
-            Log.e(TAG, "Error stopping scrolling: " + e.getMessage());
-            if (promise != null) {
-                promise.reject("ERROR", "Failed to stop scrolling: " + e.getMessage());
             }
-        }
+        });
     }
 
     // Helper method to check if continuous scrolling is active
     @ReactMethod
     public void isScrolling(Promise promise) {
         try {
-            Map<String, Object> result = new HashMap<>();
-            result.put("isScrolling", isContinuousScrolling);
-            result.put("direction", currentScrollDirection);
+            WritableMap result = Arguments.createMap();
+            result.putBoolean("isScrolling", scroller.isActive());
+            result.putString("direction", scroller.getDirection());
+            result.putDouble("speed", scroller.getSpeed());
             promise.resolve(result);
         } catch (Exception e) {
             promise.reject("ERROR", "Failed to get scrolling status: " + e.getMessage());
         }
     }
 
-    // Improved openApp method with better search logic
+    // App lookups settle their promise once the index is ready instead of
+    // holding the native modules thread while it loads
     @ReactMethod
     public void openApp(String appName, Promise promise) {
-        try {
-            String normalizedInput = appName.toLowerCase(Locale.ENGLISH).trim();
-            PackageManager pm = reactContext.getPackageManager();
-
-            Log.i(TAG, "Searching for app: " + appName + " (normalized: " + normalizedInput + ")");
-
-            // 1. First try known package names for common apps
-            String packageName = getKnownPackageName(normalizedInput);
-            if (packageName != null) {
-                Log.i(TAG, "Found known package: " + packageName);
-                launchApp(packageName, appName, promise);
-                return;
-            }
-
-            // 2. Check cache for exact match
-            if (appCache.containsKey(normalizedInput)) {
-                Log.i(TAG, "Found exact match in cache: " + normalizedInput);
-                launchApp(appCache.get(normalizedInput), appName, promise);
-                return;
+        Log.i(TAG, "Searching for app: " + appName);
+        appIndexStore.whenSnapshotLoaded(() -> {
+            boolean synced = appIndexStore.isSynced();
+            if (!openIndexedApp(appName, promise, synced)) {
+                // The snapshot may predate this app; try again after the PackageManager diff
+                appIndexStore.whenSynced(() -> openIndexedApp(appName, promise, true));
             }
+        });
+    }
 
-            // 3. Check for partial matches in cache
-            for (String cachedName : appCache.keySet()) {
-                if (cachedName.contains(normalizedInput) || normalizedInput.contains(cachedName)) {
-                    Log.i(TAG, "Found partial match in cache: " + cachedName);
-                    launchApp(appCache.get(cachedName), appName, promise);
-                    return;
+    // Returns false, leaving the promise unsettled, if there is no match and another try follows
+    private boolean openIndexedApp(String appName, Promise promise, boolean lastTry) {
+        try {
+            AppIndex.Match match = appIndex.resolve(appName);
+            if (match == null) {
+                if (!lastTry) {
+                    return false;
                 }
+                Log.w(TAG, "App not found among " + appIndex.size() + " indexed apps");
+                promise.reject("APP_NOT_FOUND", "Can't find app \"" + appName + "\". Try using exact app name.");
+                return true;
             }
 
-            // 4. Refresh cache and try again (in case apps were installed after
-            // initialization)
-            Log.i(TAG, "Refreshing app cache and searching again...");
-            refreshAppCache();
+            Log.i(TAG, "Resolved \"" + appName + "\" to " + match.label + " (" + match.packageName
+                    + ", score " + match.score + ")");
+            launchApp(match.packageName, appName, promise);
 
-            // 5. Try cache searches again after refresh
-            if (appCache.containsKey(normalizedInput)) {
-                Log.i(TAG, "Found exact match after cache refresh: " + normalizedInput);
-                launchApp(appCache.get(normalizedInput), appName, promise);
-                return;
-            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error opening app: " + e.getMessage(), e);
+            promise.reject("ERROR", "Failed to open app: " + e.getMessage());
+        }
+        return true;
+    }
 
-            for (String cachedName : appCache.keySet()) {
-                if (cachedName.contains(normalizedInput) || normalizedInput.contains(cachedName)) {
-                    Log.i(TAG, "Found partial match after cache refresh: " + cachedName);
-                    launchApp(appCache.get(cachedName), appName, promise);
-                    return;
+    // Method to list all available apps (for debugging)
+    @ReactMethod
+    public void listAvailableApps(Promise promise) {
+        appIndexStore.whenSynced(() -> {
+            try {
+                WritableMap result = Arguments.createMap();
+                Map<String, String> apps = appIndex.snapshot();
+                for (Map.Entry<String, String> entry : apps.entrySet()) {
+                    result.putString(entry.getKey(), entry.getValue());
                 }
-            }
 
-            // 6. Final fallback: Live system search with multiple criteria
-            Log.i(TAG, "Performing live system search...");
-            Intent intent = new Intent(Intent.ACTION_MAIN);
-            intent.addCategory(Intent.CATEGORY_LAUNCHER);
-            List<ResolveInfo> resolveInfos = pm.queryIntentActivities(intent, 0);
-
-            // First pass: exact matches
-            for (ResolveInfo resolveInfo : resolveInfos) {
-                String label = resolveInfo.loadLabel(pm).toString().toLowerCase(Locale.ENGLISH);
-                String packageNameLower = resolveInfo.activityInfo.packageName.toLowerCase(Locale.ENGLISH);
-
-                if (label.equals(normalizedInput) || packageNameLower.contains(normalizedInput)) {
-                    Log.i(TAG, "Found exact match in live search: " + label + " ("
-                            + resolveInfo.activityInfo.packageName + ")");
-                    launchApp(resolveInfo.activityInfo.packageName, appName, promise);
-                    return;
-                }
+                promise.resolve(result);
+                Log.i(TAG, "Listed " + apps.size() + " available apps");
+            } catch (Exception e) {
+                promise.reject("ERROR", "Failed to list apps: " + e.getMessage());
             }
+        });
+    }
 
-            // Second pass: partial matches
-            for (ResolveInfo resolveInfo : resolveInfos) {
-                String label = resolveInfo.loadLabel(pm).toString().toLowerCase(Locale.ENGLISH);
-                String packageNameLower = resolveInfo.activityInfo.packageName.toLowerCase(Locale.ENGLISH);
-
-                if (label.contains(normalizedInput) || normalizedInput.contains(label) ||
-                        packageNameLower.contains(normalizedInput)) {
-                    Log.i(TAG, "Found partial match in live search: " + label + " ("
-                            + resolveInfo.activityInfo.packageName + ")");
-                    launchApp(resolveInfo.activityInfo.packageName, appName, promise);
-                    return;
+    // Method to search for apps by partial name (for debugging)
+    @ReactMethod
+    public void searchApps(String searchTerm, Promise promise) {
+        appIndexStore.whenSnapshotLoaded(() -> {
+            try {
+                WritableMap matches = Arguments.createMap();
+                List<AppIndex.Match> results = appIndex.search(searchTerm, MAX_SEARCH_RESULTS);
+                for (AppIndex.Match match : results) {
+                    matches.putString(AppIndex.normalize(match.label), match.packageName);
                 }
-            }
 
-            // 7. Log available apps for debugging
-            Log.w(TAG, "App not found. Available apps in cache:");
-            for (String cachedName : appCache.keySet()) {
-                Log.w(TAG, "  - " + cachedName + " -> " + appCache.get(cachedName));
+                promise.resolve(matches);
+                Log.i(TAG, "Found " + results.size() + " matches for: " + searchTerm);
+            } catch (Exception e) {
+                promise.reject("ERROR", "Failed to search apps: " + e.getMessage());
             }
+        });
+    }
 
-            promise.reject("APP_NOT_FOUND", "Can't find app \"" + appName + "\". Try using exact app name.");
-
+    private void launchApp(String packageName, String appName, Promise promise) {
+        try {
+            PackageManager pm = reactContext.getPackageManager();
+            Intent intent = pm.getLaunchIntentForPackage(packageName);
+            if (intent != null) {
+                intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
+                reactContext.startActivity(intent);
+                promise.resolve("Opened app: " + appName);
+            } else {
+                promise.reject("NO_LAUNCHER", "App has no launcher activity");
+            }
         } catch (Exception e) {
-            Log.e(TAG, "Error opening app: " + e.getMessage(), e);
-            promise.reject("ERROR", "Failed to open app: " + e.getMessage());
+            promise.reject("LAUNCH_ERROR", "Failed to launch app: " + e.getMessage());
         }
     }
 
-    // Method to get known package names for popular apps
-    private String getKnownPackageName(String normalizedAppName) {
-        Map<String, String> knownApps = new HashMap<>();
-
-        // Popular apps with their exact package names
-        knownApps.put("youtube", "com.google.android.youtube");
-        knownApps.put("gmail", "com.google.android.gm");
-        knownApps.put("chrome", "com.android.chrome");
-        knownApps.put("maps", "com.google.android.apps.maps");
-        knownApps.put("google maps", "com.google.android.apps.maps");
-        knownApps.put("whatsapp", "com.whatsapp");
-        knownApps.put("facebook", "com.facebook.katana");
-        knownApps.put("instagram", "com.instagram.android");
-        knownApps.put("twitter", "com.twitter.android");
-        knownApps.put("x", "com.twitter.android");
-        knownApps.put("spotify", "com.spotify.music");
-        knownApps.put("netflix", "com.netflix.mediaclient");
-        knownApps.put("amazon", "com.amazon.mShop.android.shopping");
-        knownApps.put("uber", "com.ubercab");
-        knownApps.put("tiktok", "com.zhiliaoapp.musically");
-        knownApps.put("telegram", "org.telegram.messenger");
-        knownApps.put("snapchat", "com.snapchat.android");
-        knownApps.put("discord", "com.discord");
-        knownApps.put("zoom", "us.zoom.videomeetings");
-        knownApps.put("microsoft teams", "com.microsoft.teams");
-        knownApps.put("teams", "com.microsoft.teams");
-        knownApps.put("skype", "com.skype.raider");
-        knownApps.put("pinterest", "com.pinterest");
-        knownApps.put("linkedin", "com.linkedin.android");
-        knownApps.put("reddit", "com.reddit.frontpage");
-        knownApps.put("calculator", "com.google.android.calculator");
-        knownApps.put("calendar", "com.google.android.calendar");
-        knownApps.put("camera", "com.google.android.GoogleCamera");
-        knownApps.put("photos", "com.google.android.apps.photos");
-        knownApps.put("play store", "com.android.vending");
-        knownApps.put("playstore", "com.android.vending");
-        knownApps.put("settings", "com.android.settings");
-
-        return knownApps.get(normalizedAppName);
+private void initializeScreenshot() {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.LOLLIPOP) {
+        mediaProjectionManager = (MediaProjectionManager) reactContext
+                .getSystemService(Context.MEDIA_PROJECTION_SERVICE);
+        
+        WindowManager windowManager = (WindowManager) reactContext
+                .getSystemService(Context.WINDOW_SERVICE);
+        android.view.Display display = windowManager.getDefaultDisplay();
+        DisplayMetrics metrics = new DisplayMetrics();
+        display.getRealMetrics(metrics);
+        
+        screenWidth = metrics.widthPixels;
+        screenHeight = metrics.heightPixels;
+        screenDensity = metrics.densityDpi;
+    }
+}
+
+    @ReactMethod
+    public void takeSystemScreenshot(Promise promise) {
+        takeScreenshot(null, promise);
     }
 
-    // Method to refresh the app cache
-    private void refreshAppCache() {
+    // options: { format?: 'png' | 'jpeg' | 'webp', quality?: 0-100 }
+    @ReactMethod
+    public void takeScreenshot(ReadableMap options, Promise promise) {
         try {
-            Log.i(TAG, "Refreshing app cache...");
-            appCache.clear();
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+                promise.reject("UNSUPPORTED", "Screenshot requires Android 11 or higher for background operation");
+                return;
+            }
 
-            PackageManager pm = reactContext.getPackageManager();
-            Intent intent = new Intent(Intent.ACTION_MAIN);
-            intent.addCategory(Intent.CATEGORY_LAUNCHER);
-            List<ResolveInfo> resolveInfos = pm.queryIntentActivities(intent, 0);
-
-            for (ResolveInfo resolveInfo : resolveInfos) {
-                try {
-                    String label = resolveInfo.loadLabel(pm).toString().toLowerCase(Locale.ENGLISH).trim();
-                    String packageName = resolveInfo.activityInfo.packageName;
-                    appCache.put(label, packageName);
-
-                    // Also add package name as a key for direct package searches
-                    String packageNameLower = packageName.toLowerCase(Locale.ENGLISH);
-                    if (!appCache.containsKey(packageNameLower)) {
-                        appCache.put(packageNameLower, packageName);
-                    }
-                } catch (Exception e) {
-                    Log.w(TAG, "Error processing app: " + e.getMessage());
-                }
+            AccessibilityService accessibilityService = getAccessibilityService();
+            if (accessibilityService == null) {
+                promise.reject("NO_SERVICE", "AccessibilityService not available");
+                return;
             }
 
-            Log.i(TAG, "App cache refreshed with " + appCache.size() + " entries");
+            getScreenshotEncoder().capture(accessibilityService, screenshotOptions(options),
+                    new ScreenshotEncoder.Callback() {
+                        @Override
+                        public void onSaved(ScreenshotEncoder.Result result) {
+                            promise.resolve(screenshotResultToMap(result));
+                        }
+
+                        @Override
+                        public void onError(String code, String message) {
+                            promise.reject(code, message);
+                        }
+                    });
         } catch (Exception e) {
-            Log.e(TAG, "Failed to refresh app cache: " + e.getMessage());
+            Log.e(TAG, "Failed to take screenshot", e);
+            promise.reject("ERROR", "Failed to take screenshot: " + e.getMessage());
         }
     }
 
-    // Method to list all available apps (for debugging)
+    // options: { format?, quality?, count?: number, intervalMs?: number (>= 333) }
     @ReactMethod
-    public void listAvailableApps(Promise promise) {
+    public void takeScreenshotBurst(ReadableMap options, Promise promise) {
         try {
-            refreshAppCache();
+            if (Build.VERSION.SDK_INT < Build.VERSION_CODES.R) {
+                promise.reject("UNSUPPORTED", "Screenshot requires Android 11 or higher for background operation");
+                return;
+            }
 
-            Map<String, String> result = new HashMap<>();
-            for (Map.Entry<String, String> entry : appCache.entrySet()) {
-                result.put(entry.getKey(), entry.getValue());
+            AccessibilityService accessibilityService = getAccessibilityService();
+            if (accessibilityService == null) {
+                promise.reject("NO_SERVICE", "AccessibilityService not available");
+                return;
             }
 
-            promise.resolve(result);
-            Log.i(TAG, "Listed " + result.size() + " available apps");
+            int count = options != null && options.hasKey("count") ? options.getInt("count") : 3;
+            long intervalMs = options != null && options.hasKey("intervalMs")
+                    ? (long) options.getDouble("intervalMs")
+                    : ScreenshotEncoder.MIN_BURST_INTERVAL_MS;
+
+            getScreenshotEncoder().captureBurst(accessibilityService, screenshotOptions(options), count, intervalMs,
+                    new ScreenshotEncoder.BurstCallback() {
+                        @Override
+                        public void onComplete(List<ScreenshotEncoder.Result> results) {
+                            WritableArray uris = Arguments.createArray();
+                            for (ScreenshotEncoder.Result result : results) {
+                                uris.pushMap(screenshotResultToMap(result));
+                            }
+                            promise.resolve(uris);
+                        }
+
+                        @Override
+                        public void onError(String code, String message, List<ScreenshotEncoder.Result> partial) {
+                            promise.reject(code, message + " (" + partial.size() + " captured)");
+                        }
+                    });
         } catch (Exception e) {
-            promise.reject("ERROR", "Failed to list apps: " + e.getMessage());
+            Log.e(TAG, "Failed to take screenshot burst", e);
+            promise.reject("ERROR", "Failed to take screenshot burst: " + e.getMessage());
         }
     }
 
-    // Method to search for apps by partial name (for debugging)
-    @ReactMethod
-    public void searchApps(String searchTerm, Promise promise) {
-        try {
-            String normalizedSearch = searchTerm.toLowerCase(Locale.ENGLISH).trim();
-            Map<String, String> matches = new HashMap<>();
+    @RequiresApi(api = Build.VERSION_CODES.R)
+    private synchronized ScreenshotEncoder getScreenshotEncoder() {
+        if (screenshotEncoder == null) {
+            screenshotEncoder = new ScreenshotEncoder(reactContext);
+        }
+        return screenshotEncoder;
+    }
 
-            refreshAppCache();
+    @RequiresApi(api = Build.VERSION_CODES.R)
+    private static ScreenshotEncoder.Options screenshotOptions(ReadableMap options) {
+        String format = options != null && options.hasKey("format") ? options.getString("format")
+                : ScreenshotEncoder.FORMAT_PNG;
+        int quality = options != null && options.hasKey("quality") ? options.getInt("quality") : 100;
+        return new ScreenshotEncoder.Options(format, quality);
+    }
 
-            for (Map.Entry<String, String> entry : appCache.entrySet()) {
-                if (entry.getKey().contains(normalizedSearch)) {
-                    matches.put(entry.getKey(), entry.getValue());
-                }
-            }
+    @RequiresApi(api = Build.VERSION_CODES.R)
+    private static WritableMap screenshotResultToMap(ScreenshotEncoder.Result result) {
+        WritableMap map = Arguments.createMap();
+        map.putBoolean("success", true);
+        map.putString("uri", result.uri.toString());
+        map.putInt("width", result.width);
+        map.putInt("height", result.height);
+        map.putDouble("encodeMs", result.encodeMs);
+        return map;
+    }
 
-            promise.resolve(matches);
-            Log.i(TAG, "Found " + matches.size() + " matches for: " + searchTerm);
-        } catch (Exception e) {
-            promise.reject("ERROR", "Failed to search apps: " + e.getMessage());
+    private void dispatchTwoFingerGesture(Path first, Path second, String name, Promise promise) {
+        if (isCursorActive) {
+            promise.reject("ERROR", "Cannot perform " + name + " while cursor is active");
+            return;
+        }
+
+        if (!checkAccessibilityPermission()) {
+            promise.reject("ERROR", "Accessibility permission not granted");
+            return;
+        }
+
+        AccessibilityService service = getAccessibilityService();
+        if (service == null) {
+            promise.reject("ERROR", "Accessibility service not available");
+            return;
         }
-    }
 
-    private void launchApp(String packageName, String appName, Promise promise) {
         try {
-            PackageManager pm = reactContext.getPackageManager();
-            Intent intent = pm.getLaunchIntentForPackage(packageName);
-            if (intent != null) {
-                intent.addFlags(Intent.FLAG_ACTIVITY_NEW_TASK);
-                reactContext.startActivity(intent);
-                promise.resolve("Opened app: " + appName);
-            } else {
-                promise.reject("NO_LAUNCHER", "App has no launcher activity");
-            }
+            // Both strokes start together, so the app sees a two-pointer gesture
+            GestureDescription.Builder gestureBuilder = new GestureDescription.Builder();
+            gestureBuilder.addStroke(new GestureDescription.StrokeDescription(first, 0, TWO_FINGER_DURATION_MS));
+            gestureBuilder.addStroke(new GestureDescription.StrokeDescription(second, 0, TWO_FINGER_DURATION_MS));
+
+            service.dispatchGesture(gestureBuilder.build(), null, null);
+            promise.resolve(true);
         } catch (Exception e) {
-            promise.reject("LAUNCH_ERROR", "Failed to launch app: " + e.getMessage());
+            promise.reject("ERROR", "Failed to perform " + name + ": " + e.getMessage());
         }
     }
 
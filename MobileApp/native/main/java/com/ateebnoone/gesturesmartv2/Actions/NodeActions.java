@@ -0,0 +1,161 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.accessibilityservice.AccessibilityService;
+import android.graphics.Rect;
+import android.os.Build;
+import android.util.Log;
+import android.view.accessibility.AccessibilityNodeInfo;
+import android.view.accessibility.AccessibilityNodeInfo.AccessibilityAction;
+
+import java.util.ArrayDeque;
+import java.util.List;
+
+// Scrolls by asking the scrollable view itself instead of synthesizing a
+// swipe. The view under the point is cached while it can still scroll
+public class NodeActions {
+    private static final String TAG = "NodeActions";
+
+    // Bound on one lookup walk, for pathological trees
+    private static final int MAX_NODES = 1500;
+
+    private final Rect bounds = new Rect();
+    private AccessibilityNodeInfo cachedScrollable;
+
+    // forward reveals the content below (or to the right). False means the
+    // caller should fall back to a stroke
+    public synchronized boolean scroll(AccessibilityService service, boolean vertical, boolean forward,
+            float x, float y) {
+        long start = System.nanoTime();
+        boolean cached = true;
+
+        AccessibilityNodeInfo node = cachedScrollable;
+        int action = node != null ? usableCached(node, vertical, forward, x, y) : 0;
+        if (action == 0) {
+            cached = false;
+            clearCache();
+            node = find(service, vertical, forward, x, y);
+            if (node == null)
+                return false;
+            cachedScrollable = node;
+            action = chooseAction(node, vertical, forward);
+        }
+
+        boolean performed = action != 0 && node.performAction(action);
+        if (!performed) {
+            clearCache();
+        }
+        Log.d(TAG, String.format("Scroll (%s, %s) by node action: %b in %.2f ms%s",
+                vertical ? "vertical" : "horizontal", forward ? "forward" : "backward", performed,
+                (System.nanoTime() - start) / 1e6, cached ? " (cached)" : ""));
+        return performed;
+    }
+
+    public synchronized void clearCache() {
+        if (cachedScrollable != null) {
+            cachedScrollable.recycle();
+            cachedScrollable = null;
+        }
+    }
+
+    private int usableCached(AccessibilityNodeInfo node, boolean vertical, boolean forward, float x, float y) {
+        try {
+            if (!node.refresh() || !node.isVisibleToUser())
+                return 0;
+            node.getBoundsInScreen(bounds);
+            if (!bounds.contains((int) x, (int) y))
+                return 0;
+            return chooseAction(node, vertical, forward);
+        } catch (Exception e) {
+            return 0;
+        }
+    }
+
+    // Smallest node under the point that can scroll the requested way
+    private AccessibilityNodeInfo find(AccessibilityService service, boolean vertical, boolean forward,
+            float x, float y) {
+        AccessibilityNodeInfo root = service.getRootInActiveWindow();
+        if (root == null)
+            return null;
+
+        ArrayDeque<AccessibilityNodeInfo> stack = new ArrayDeque<>();
+        stack.push(root);
+        AccessibilityNodeInfo best = null;
+        long bestArea = Long.MAX_VALUE;
+        int visited = 0;
+
+        while (!stack.isEmpty()) {
+            AccessibilityNodeInfo node = stack.pop();
+            boolean keep = false;
+            try {
+                if (++visited > MAX_NODES || !node.isVisibleToUser())
+                    continue;
+                node.getBoundsInScreen(bounds);
+                if (!bounds.contains((int) x, (int) y))
+                    continue;
+
+                long area = (long) bounds.width() * bounds.height();
+                if (node.isScrollable() && area < bestArea && chooseAction(node, vertical, forward) != 0) {
+                    if (best != null) {
+                        best.recycle();
+                    }
+                    best = node;
+                    bestArea = area;
+                    keep = true;
+                }
+
+                for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                    AccessibilityNodeInfo child = node.getChild(i);
+                    if (child != null) {
+                        stack.push(child);
+                    }
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "Error reading node: " + e.getMessage());
+            } finally {
+                if (!keep) {
+                    node.recycle();
+                }
+            }
+        }
+        return best;
+    }
+
+    // The action id to perform, or 0 if the node cannot scroll that way
+    private static int chooseAction(AccessibilityNodeInfo node, boolean vertical, boolean forward) {
+        List<AccessibilityAction> actions = node.getActionList();
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.M) {
+            AccessibilityAction scroll = vertical
+                    ? (forward ? AccessibilityAction.ACTION_SCROLL_DOWN : AccessibilityAction.ACTION_SCROLL_UP)
+                    : (forward ? AccessibilityAction.ACTION_SCROLL_RIGHT : AccessibilityAction.ACTION_SCROLL_LEFT);
+            if (actions.contains(scroll))
+                return scroll.getId();
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            AccessibilityAction page = vertical
+                    ? (forward ? AccessibilityAction.ACTION_PAGE_DOWN : AccessibilityAction.ACTION_PAGE_UP)
+                    : (forward ? AccessibilityAction.ACTION_PAGE_RIGHT : AccessibilityAction.ACTION_PAGE_LEFT);
+            if (actions.contains(page))
+                return page.getId();
+        }
+
+        // Forward/backward carry no axis; only use them along the view's own
+        if (isHorizontal(node) != vertical) {
+            AccessibilityAction step = forward ? AccessibilityAction.ACTION_SCROLL_FORWARD
+                    : AccessibilityAction.ACTION_SCROLL_BACKWARD;
+            if (actions.contains(step))
+                return step.getId();
+        }
+        return 0;
+    }
+
+    private static boolean isHorizontal(AccessibilityNodeInfo node) {
+        AccessibilityNodeInfo.CollectionInfo collection = node.getCollectionInfo();
+        if (collection != null && collection.getRowCount() <= 1 && collection.getColumnCount() > 1)
+            return true;
+        CharSequence className = node.getClassName();
+        if (className == null)
+            return false;
+        String name = className.toString();
+        return name.contains("ViewPager") || name.contains("HorizontalScrollView") || name.contains("HorizontalPager");
+    }
+}
@@ -0,0 +1,199 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.accessibilityservice.AccessibilityService;
+import android.accessibilityservice.GestureDescription;
+import android.graphics.Path;
+import android.os.Build;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+// One finger held down for as long as the user pinches, so holding still reads
+// as a long press, moving as a drag and a quick pinch as a tap. Any thread
+public class PointerStroke {
+    private static final String TAG = "PointerStroke";
+
+    // Duration of one continued segment (about three display frames)
+    private static final long SEGMENT_MS = 50;
+    // Shortest touch the system reads as a tap on release before Oreo
+    private static final long TAP_MS = 100;
+    private static final long MAX_SWIPE_MS = 1000;
+
+    private final Handler handler = new Handler(Looper.getMainLooper());
+
+    private AccessibilityService service;
+    private boolean down = false;
+    private boolean releasing = false;
+    private boolean inFlight = false;
+    private int generation = 0;
+    private float pointerX, pointerY;
+    private float targetX, targetY;
+    private float pressX, pressY;
+    private long pressTime;
+    private GestureDescription.StrokeDescription currentStroke;
+
+    private long lastPressLatencyMs = -1;
+    private long maxPressLatencyMs = 0;
+
+    // frameTimeMs is the time of the frame the pinch was seen in
+    public synchronized void press(AccessibilityService service, float x, float y, long frameTimeMs,
+            long latencyBudgetMs) {
+        cancel();
+
+        this.service = service;
+        this.down = true;
+        this.releasing = false;
+        this.generation++;
+        pointerX = targetX = pressX = x;
+        pointerY = targetY = pressY = y;
+        pressTime = SystemClock.uptimeMillis();
+
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            dispatchSegment(generation);
+        }
+
+        long latency = System.currentTimeMillis() - frameTimeMs;
+        lastPressLatencyMs = latency;
+        maxPressLatencyMs = Math.max(maxPressLatencyMs, latency);
+        if (latency > latencyBudgetMs) {
+            Log.w(TAG, "Pinch to touch-down took " + latency + " ms, over the " + latencyBudgetMs + " ms frame interval");
+        } else {
+            Log.d(TAG, "Pinch to touch-down: " + latency + " ms");
+        }
+    }
+
+    public synchronized void move(float x, float y) {
+        if (!down || releasing)
+            return;
+        targetX = x;
+        targetY = y;
+        if (!inFlight && Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            dispatchSegment(generation);
+        }
+    }
+
+    public synchronized void release() {
+        if (!down || releasing)
+            return;
+        releasing = true;
+
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.O) {
+            dispatchTapOrSwipe();
+            reset();
+            return;
+        }
+        if (!inFlight) {
+            dispatchSegment(generation);
+        }
+    }
+
+    public synchronized boolean isDown() {
+        return down;
+    }
+
+    // Frame to touch-down, or -1 before the first press
+    public synchronized long getLastPressLatencyMs() {
+        return lastPressLatencyMs;
+    }
+
+    public synchronized long getMaxPressLatencyMs() {
+        return maxPressLatencyMs;
+    }
+
+    // Without a release; the system lifts the finger
+    public synchronized void cancel() {
+        if (down) {
+            Log.d(TAG, "Pointer stroke cancelled");
+        }
+        generation++;
+        reset();
+    }
+
+    private void reset() {
+        down = false;
+        releasing = false;
+        inFlight = false;
+        currentStroke = null;
+        service = null;
+    }
+
+    private void dispatchSegment(int runGeneration) {
+        AccessibilityService target = service;
+        if (target == null)
+            return;
+
+        final boolean willContinue = !releasing;
+        Path path = new Path();
+        path.moveTo(pointerX, pointerY);
+        if (targetX != pointerX || targetY != pointerY) {
+            path.lineTo(targetX, targetY);
+        }
+
+        try {
+            GestureDescription.StrokeDescription stroke = currentStroke == null
+                    ? new GestureDescription.StrokeDescription(path, 0, SEGMENT_MS, willContinue)
+                    : currentStroke.continueStroke(path, 0, SEGMENT_MS, willContinue);
+            pointerX = targetX;
+            pointerY = targetY;
+            currentStroke = willContinue ? stroke : null;
+            inFlight = true;
+
+            GestureDescription gesture = new GestureDescription.Builder().addStroke(stroke).build();
+            target.dispatchGesture(gesture, new AccessibilityService.GestureResultCallback() {
+                @Override
+                public void onCompleted(GestureDescription gestureDescription) {
+                    onSegmentDone(runGeneration, willContinue);
+                }
+
+                @Override
+                public void onCancelled(GestureDescription gestureDescription) {
+                    synchronized (PointerStroke.this) {
+                        if (runGeneration != generation)
+                            return;
+                        Log.w(TAG, "Pointer stroke cancelled by the system");
+                        reset();
+                    }
+                }
+            }, handler);
+        } catch (Exception e) {
+            Log.e(TAG, "Error dispatching pointer segment: " + e.getMessage());
+            reset();
+        }
+    }
+
+    private synchronized void onSegmentDone(int runGeneration, boolean continued) {
+        if (runGeneration != generation)
+            return;
+        inFlight = false;
+        if (!continued) {
+            reset();
+            return;
+        }
+        // Keep the finger down, moving towards the latest target or holding still
+        dispatchSegment(runGeneration);
+    }
+
+    // Pre-Oreo devices cannot continue strokes: replay the pinch as one tap or swipe on release
+    private void dispatchTapOrSwipe() {
+        AccessibilityService target = service;
+        if (target == null)
+            return;
+
+        long duration = Math.min(MAX_SWIPE_MS, Math.max(TAP_MS, SystemClock.uptimeMillis() - pressTime));
+        Path path = new Path();
+        path.moveTo(pressX, pressY);
+        if (targetX != pressX || targetY != pressY) {
+            path.lineTo(targetX, targetY);
+        }
+
+        try {
+            GestureDescription gesture = new GestureDescription.Builder()
+                    .addStroke(new GestureDescription.StrokeDescription(path, 0, duration))
+                    .build();
+            target.dispatchGesture(gesture, null, null);
+        } catch (Exception e) {
+            Log.e(TAG, "Error dispatching pointer gesture: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,264 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.accessibilityservice.AccessibilityService;
+import android.content.ContentResolver;
+import android.content.ContentValues;
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.hardware.HardwareBuffer;
+import android.net.Uri;
+import android.os.Build;
+import android.os.Environment;
+import android.os.SystemClock;
+import android.provider.MediaStore;
+import android.util.Log;
+import android.view.Display;
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Encodes screenshots on its own thread and closes each hardware buffer as
+// soon as it is encoded, so bursts do not pile up graphics memory
+@RequiresApi(api = Build.VERSION_CODES.R)
+public class ScreenshotEncoder {
+    private static final String TAG = "ScreenshotEncoder";
+
+    public static final String FORMAT_PNG = "png";
+    public static final String FORMAT_JPEG = "jpeg";
+    public static final String FORMAT_WEBP = "webp";
+
+    // The platform rejects screenshots taken closer together than this
+    public static final long MIN_BURST_INTERVAL_MS = 333;
+    public static final int MAX_BURST_COUNT = 30;
+
+    private static final String RELATIVE_PATH = Environment.DIRECTORY_PICTURES + "/Screenshots";
+    private static final int STREAM_BUFFER_BYTES = 64 * 1024;
+
+    public static final class Options {
+        final String format;
+        final int quality;
+
+        public Options(String format, int quality) {
+            this.format = normalizeFormat(format);
+            this.quality = Math.max(0, Math.min(100, quality));
+        }
+
+        String mimeType() {
+            switch (format) {
+                case FORMAT_JPEG:
+                    return "image/jpeg";
+                case FORMAT_WEBP:
+                    return "image/webp";
+                default:
+                    return "image/png";
+            }
+        }
+
+        String extension() {
+            return FORMAT_JPEG.equals(format) ? "jpg" : format;
+        }
+
+        Bitmap.CompressFormat compressFormat() {
+            switch (format) {
+                case FORMAT_JPEG:
+                    return Bitmap.CompressFormat.JPEG;
+                case FORMAT_WEBP:
+                    return quality >= 100
+                            ? Bitmap.CompressFormat.WEBP_LOSSLESS
+                            : Bitmap.CompressFormat.WEBP_LOSSY;
+                default:
+                    return Bitmap.CompressFormat.PNG;
+            }
+        }
+
+        private static String normalizeFormat(String format) {
+            if (format == null) {
+                return FORMAT_PNG;
+            }
+            String lower = format.toLowerCase(Locale.ENGLISH);
+            if ("jpg".equals(lower) || FORMAT_JPEG.equals(lower)) {
+                return FORMAT_JPEG;
+            }
+            if (FORMAT_WEBP.equals(lower)) {
+                return FORMAT_WEBP;
+            }
+            return FORMAT_PNG;
+        }
+    }
+
+    public static final class Result {
+        public final Uri uri;
+        public final int width;
+        public final int height;
+        public final long encodeMs;
+
+        Result(Uri uri, int width, int height, long encodeMs) {
+            this.uri = uri;
+            this.width = width;
+            this.height = height;
+            this.encodeMs = encodeMs;
+        }
+    }
+
+    public interface Callback {
+        void onSaved(Result result);
+
+        void onError(String code, String message);
+    }
+
+    public interface BurstCallback {
+        void onComplete(List<Result> results);
+
+        void onError(String code, String message, List<Result> partial);
+    }
+
+    private final ContentResolver resolver;
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "ScreenshotEncoder");
+        thread.setPriority(Thread.NORM_PRIORITY - 1);
+        return thread;
+    });
+
+    public ScreenshotEncoder(Context context) {
+        this.resolver = context.getApplicationContext().getContentResolver();
+    }
+
+    // The callback runs on the encoder thread
+    public void capture(AccessibilityService service, Options options, Callback callback) {
+        service.takeScreenshot(Display.DEFAULT_DISPLAY, executor, new AccessibilityService.TakeScreenshotCallback() {
+            @Override
+            public void onSuccess(@NonNull AccessibilityService.ScreenshotResult screenshot) {
+                try {
+                    callback.onSaved(encode(screenshot, options));
+                } catch (Exception e) {
+                    Log.e(TAG, "Failed to save screenshot", e);
+                    callback.onError("SAVE_ERROR", "Failed to save screenshot: " + e.getMessage());
+                }
+            }
+
+            @Override
+            public void onFailure(int errorCode) {
+                Log.e(TAG, "Screenshot failed with error code: " + errorCode);
+                callback.onError("SCREENSHOT_FAILED", "Screenshot failed with error code: " + errorCode);
+            }
+        });
+    }
+
+    // Never faster than the platform limit; one hardware buffer alive at a time
+    public void captureBurst(AccessibilityService service, Options options, int count, long intervalMs,
+            BurstCallback callback) {
+        int frames = Math.max(1, Math.min(MAX_BURST_COUNT, count));
+        long interval = Math.max(MIN_BURST_INTERVAL_MS, intervalMs);
+        List<Result> results = new ArrayList<>(frames);
+        executor.execute(() -> captureBurstFrame(service, options, frames, interval, results, callback));
+    }
+
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private void captureBurstFrame(AccessibilityService service, Options options, int frames, long interval,
+            List<Result> results, BurstCallback callback) {
+        long requestedAt = SystemClock.uptimeMillis();
+        capture(service, options, new Callback() {
+            @Override
+            public void onSaved(Result result) {
+                results.add(result);
+                if (results.size() >= frames) {
+                    callback.onComplete(results);
+                    return;
+                }
+                long delay = Math.max(0, interval - (SystemClock.uptimeMillis() - requestedAt));
+                executor.schedule(() -> captureBurstFrame(service, options, frames, interval, results, callback),
+                        delay, TimeUnit.MILLISECONDS);
+            }
+
+            @Override
+            public void onError(String code, String message) {
+                callback.onError(code, message, results);
+            }
+        });
+    }
+
+    private Result encode(AccessibilityService.ScreenshotResult screenshot, Options options) throws IOException {
+        long start = SystemClock.uptimeMillis();
+        HardwareBuffer hardwareBuffer = screenshot.getHardwareBuffer();
+        Bitmap bitmap = null;
+        try {
+            bitmap = Bitmap.wrapHardwareBuffer(hardwareBuffer, screenshot.getColorSpace());
+            if (bitmap == null) {
+                throw new IOException("Unable to wrap hardware buffer");
+            }
+
+            Uri uri = write(bitmap, options);
+            long encodeMs = SystemClock.uptimeMillis() - start;
+            Log.i(TAG, "Screenshot saved: " + uri + " (" + options.format + ", " + encodeMs + "ms)");
+            return new Result(uri, bitmap.getWidth(), bitmap.getHeight(), encodeMs);
+        } finally {
+            if (bitmap != null) {
+                bitmap.recycle();
+            }
+            hardwareBuffer.close();
+        }
+    }
+
+    // The image is compressed straight into the MediaStore file, so nothing the
+    // size of a screenshot stays in memory between captures
+    private Uri write(Bitmap bitmap, Options options) throws IOException {
+        String fileName = "screenshot_" + System.currentTimeMillis() + "." + options.extension();
+
+        ContentValues values = new ContentValues();
+        values.put(MediaStore.Images.Media.DISPLAY_NAME, fileName);
+        values.put(MediaStore.Images.Media.MIME_TYPE, options.mimeType());
+        values.put(MediaStore.Images.Media.RELATIVE_PATH, RELATIVE_PATH);
+        values.put(MediaStore.Images.Media.WIDTH, bitmap.getWidth());
+        values.put(MediaStore.Images.Media.HEIGHT, bitmap.getHeight());
+        values.put(MediaStore.Images.Media.IS_PENDING, 1);
+
+        Uri uri = resolver.insert(MediaStore.Images.Media.EXTERNAL_CONTENT_URI, values);
+        if (uri == null) {
+            throw new IOException("MediaStore insert failed");
+        }
+
+        boolean published = false;
+        try {
+            OutputStream stream = resolver.openOutputStream(uri);
+            if (stream == null) {
+                throw new IOException("Unable to open " + uri);
+            }
+            try (OutputStream out = new BufferedOutputStream(stream, STREAM_BUFFER_BYTES)) {
+                if (!bitmap.compress(options.compressFormat(), options.quality, out)) {
+                    throw new IOException("Bitmap compression failed");
+                }
+            }
+
+            values.clear();
+            values.put(MediaStore.Images.Media.IS_PENDING, 0);
+            resolver.update(uri, values, null, null);
+            published = true;
+            return uri;
+        } finally {
+            // Whatever failed, including resolver runtime exceptions, must not
+            // leave a pending row behind
+            if (!published) {
+                deletePending(uri);
+            }
+        }
+    }
+
+    private void deletePending(Uri uri) {
+        try {
+            resolver.delete(uri, null, null);
+        } catch (RuntimeException e) {
+            Log.w(TAG, "Failed to delete pending " + uri + ": " + e.getMessage());
+        }
+    }
+}
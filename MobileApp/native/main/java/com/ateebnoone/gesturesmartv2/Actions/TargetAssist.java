@@ -0,0 +1,254 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.accessibilityservice.AccessibilityService;
+import android.graphics.Rect;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.util.DisplayMetrics;
+import android.util.Log;
+import android.view.accessibility.AccessibilityEvent;
+import android.view.accessibility.AccessibilityNodeInfo;
+
+import com.ateebnoone.gesturesmartv2.core.TargetIndex;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+// Pulls the cursor towards the nearest tap target. The window's targets are
+// indexed on a worker thread, since every node access is a call into the
+// target app; content changes only re-walk the subtree that changed. A walk
+// publishes its targets in one step, and not at all if assist stopped meanwhile
+public class TargetAssist implements AccessibilityEventDispatcher.Listener {
+    private static final String TAG = "TargetAssist";
+
+    private static final int EVENT_TYPES = AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED
+            | AccessibilityEvent.TYPE_WINDOW_CONTENT_CHANGED
+            | AccessibilityEvent.TYPE_VIEW_SCROLLED;
+
+    // Cursor within this distance of a target's edge is pulled towards it
+    private static final float SNAP_RADIUS_DP = 32f;
+    // Pull at the edge of a target, fading to none at the snap radius
+    private static final float MAGNET_STRENGTH = 0.6f;
+    // Window transitions send bursts of events; snapshot once they settle
+    private static final long FULL_REFRESH_DELAY_MS = 80;
+    // Bound on one walk, for pathological trees
+    private static final int MAX_NODES = 3000;
+
+    private final TargetIndex index = new TargetIndex();
+    private final int[] target = new int[4];
+    private final Runnable fullRefresh = this::refreshAll;
+
+    // Worker thread only: targets found by the current walk, 4 ints each
+    private final Rect bounds = new Rect();
+    private int[] found = new int[4 * 64];
+    private int foundCount = 0;
+
+    private HandlerThread workerThread;
+    private Handler worker;
+    private volatile boolean running = false;
+    // Bumped by stop(); a walk started under an older value is discarded
+    private volatile int generation = 0;
+    // A full snapshot is scheduled; subtree refreshes until then are redundant
+    private volatile boolean fullRefreshPending = false;
+    private float snapRadius;
+
+    // Main thread
+    public void start(DisplayMetrics metrics) {
+        if (running)
+            return;
+        running = true;
+        snapRadius = SNAP_RADIUS_DP * metrics.density;
+        index.setBounds(metrics.widthPixels, metrics.heightPixels);
+
+        workerThread = new HandlerThread("TargetAssist");
+        workerThread.start();
+        worker = new Handler(workerThread.getLooper());
+        scheduleFullRefresh(0);
+        AccessibilityEventDispatcher.getInstance().register(EVENT_TYPES, this);
+        Log.i(TAG, "Target assist started");
+    }
+
+    // Main thread
+    public void stop() {
+        if (!running)
+            return;
+        running = false;
+        AccessibilityEventDispatcher.getInstance().unregister(this);
+        worker.removeCallbacksAndMessages(null);
+        workerThread.quitSafely();
+        workerThread = null;
+        worker = null;
+        synchronized (this) {
+            generation++;
+            index.clear();
+        }
+        Log.i(TAG, "Target assist stopped");
+    }
+
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Screen pixels, changed in place. True if the cursor is on or near a target
+    public synchronized boolean assist(float[] point) {
+        if (!running)
+            return false;
+        float distance = index.nearest(point[0], point[1], snapRadius, target);
+        if (distance < 0f)
+            return false;
+        if (distance > 0f) {
+            float pull = MAGNET_STRENGTH * (1f - distance / snapRadius);
+            point[0] += ((target[0] + target[2]) / 2f - point[0]) * pull;
+            point[1] += ((target[1] + target[3]) / 2f - point[1]) * pull;
+        }
+        return true;
+    }
+
+    // Screen pixels, moved in place to the nearest target's centre. True if snapped
+    public synchronized boolean snapTap(float[] point) {
+        if (!running || index.nearest(point[0], point[1], snapRadius, target) < 0f)
+            return false;
+        point[0] = (target[0] + target[2]) / 2f;
+        point[1] = (target[1] + target[3]) / 2f;
+        return true;
+    }
+
+    @Override
+    public void onAccessibilityEvent(AccessibilityEvent event) {
+        Handler handler = worker;
+        if (!running || handler == null)
+            return;
+
+        if (event.getEventType() == AccessibilityEvent.TYPE_WINDOW_STATE_CHANGED) {
+            scheduleFullRefresh(FULL_REFRESH_DELAY_MS);
+            return;
+        }
+        if (fullRefreshPending)
+            return;
+
+        // The event is recycled after this callback. Fetching its source is a
+        // call into the target app, so the worker does it from a copy
+        @SuppressWarnings("deprecation")
+        AccessibilityEvent copy = AccessibilityEvent.obtain(event);
+        int walkGeneration = generation;
+        handler.post(() -> refreshSource(copy, walkGeneration));
+    }
+
+    private void scheduleFullRefresh(long delayMs) {
+        Handler handler = worker;
+        if (handler == null)
+            return;
+        fullRefreshPending = true;
+        handler.removeCallbacks(fullRefresh);
+        handler.postDelayed(fullRefresh, delayMs);
+    }
+
+    private void refreshAll() {
+        fullRefreshPending = false;
+        int walkGeneration = generation;
+        AccessibilityService service = GestureAccessibilityService.getInstance();
+        AccessibilityNodeInfo root = service != null ? service.getRootInActiveWindow() : null;
+
+        long start = System.nanoTime();
+        foundCount = 0;
+        int visited = root != null ? walk(root) : 0;
+        synchronized (this) {
+            if (walkGeneration != generation)
+                return;
+            index.clear();
+            publishFound();
+        }
+        Log.d(TAG, "Indexed " + foundCount / 4 + " targets from " + visited + " nodes in "
+                + (System.nanoTime() - start) / 1000000 + " ms");
+    }
+
+    @SuppressWarnings("deprecation")
+    private void refreshSource(AccessibilityEvent event, int walkGeneration) {
+        try {
+            if (walkGeneration != generation || fullRefreshPending)
+                return;
+            AccessibilityNodeInfo source = event.getSource();
+            if (source == null) {
+                scheduleFullRefresh(FULL_REFRESH_DELAY_MS);
+                return;
+            }
+            refreshSubtree(source, walkGeneration);
+        } catch (Exception e) {
+            Log.w(TAG, "Error reading event source: " + e.getMessage());
+        } finally {
+            event.recycle();
+        }
+    }
+
+    private void refreshSubtree(AccessibilityNodeInfo node, int walkGeneration) {
+        // The node may have changed again since the event; read its current state
+        if (!node.refresh()) {
+            node.recycle();
+            return;
+        }
+        node.getBoundsInScreen(bounds);
+        int left = bounds.left;
+        int top = bounds.top;
+        int right = bounds.right;
+        int bottom = bounds.bottom;
+
+        foundCount = 0;
+        walk(node);
+        synchronized (this) {
+            if (walkGeneration != generation)
+                return;
+            index.removeWithin(left, top, right, bottom);
+            publishFound();
+        }
+    }
+
+    // Caller holds the lock
+    private void publishFound() {
+        for (int i = 0; i < foundCount; i += 4) {
+            index.add(found[i], found[i + 1], found[i + 2], found[i + 3]);
+        }
+    }
+
+    // Collects the actionable nodes of a subtree into found, recycling every node it visits
+    private int walk(AccessibilityNodeInfo root) {
+        ArrayDeque<AccessibilityNodeInfo> stack = new ArrayDeque<>();
+        stack.push(root);
+        int visited = 0;
+
+        while (!stack.isEmpty()) {
+            AccessibilityNodeInfo node = stack.pop();
+            visited++;
+            try {
+                if (!node.isVisibleToUser() || visited > MAX_NODES)
+                    continue;
+
+                if (node.isEnabled() && (node.isClickable() || node.isLongClickable() || node.isCheckable())) {
+                    node.getBoundsInScreen(bounds);
+                    addFound(bounds);
+                }
+
+                for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                    AccessibilityNodeInfo child = node.getChild(i);
+                    if (child != null) {
+                        stack.push(child);
+                    }
+                }
+            } catch (Exception e) {
+                Log.w(TAG, "Error reading node: " + e.getMessage());
+            } finally {
+                node.recycle();
+            }
+        }
+        return visited;
+    }
+
+    private void addFound(Rect rect) {
+        if (foundCount == found.length) {
+            found = Arrays.copyOf(found, found.length * 2);
+        }
+        found[foundCount++] = rect.left;
+        found[foundCount++] = rect.top;
+        found[foundCount++] = rect.right;
+        found[foundCount++] = rect.bottom;
+    }
+}
@@ -8,10 +8,15 @@ import android.os.PowerManager;
 import android.provider.Settings;
 import android.util.Log;
 
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Locale;
 
 public class BatteryOptimizationModule extends ReactContextBaseJavaModule {
     private static final String TAG = "BatteryOptimizationModule";
@@ -27,6 +32,46 @@ public class BatteryOptimizationModule extends ReactContextBaseJavaModule {
         return "BatteryOptimization";
     }
 
+    // Battery profile the vision engines run with, the battery state it was chosen
+    // from and its estimated draw with the engines running now
+    @ReactMethod
+    public void getPowerProfile(Promise promise) {
+        try {
+            PowerProfileMonitor monitor = PowerProfileMonitor.get(reactContext);
+            PowerProfile profile = monitor.profile();
+            PowerProfile pinned = monitor.pinned();
+            int engines = monitor.runningEngines();
+
+            WritableMap result = Arguments.createMap();
+            result.putString("profile", profile.name().toLowerCase(Locale.ROOT));
+            result.putBoolean("automatic", pinned == null);
+            result.putInt("estimatedMw", profile.estimatedMw(engines));
+            result.putInt("runningEngines", engines);
+            result.putInt("batteryLevel", monitor.level());
+            result.putBoolean("charging", monitor.isCharging());
+            result.putBoolean("powerSave", monitor.isPowerSave());
+            promise.resolve(result);
+        } catch (Exception e) {
+            Log.e(TAG, "Error reading power profile: " + e.getMessage());
+            promise.reject("ERROR", e.getMessage());
+        }
+    }
+
+    // Pins 'performance', 'balanced' or 'saver'; null goes back to choosing from the battery state
+    @ReactMethod
+    public void setPowerProfile(String profile, Promise promise) {
+        try {
+            PowerProfile pinned = profile != null ? PowerProfile.valueOf(profile.toUpperCase(Locale.ROOT)) : null;
+            PowerProfileMonitor.get(reactContext).pin(pinned);
+            promise.resolve(true);
+        } catch (IllegalArgumentException e) {
+            promise.reject("INVALID_PROFILE", "Unknown power profile: " + profile);
+        } catch (Exception e) {
+            Log.e(TAG, "Error setting power profile: " + e.getMessage());
+            promise.reject("ERROR", e.getMessage());
+        }
+    }
+
     @ReactMethod
     public void checkBatteryOptimization(Promise promise) {
         try {
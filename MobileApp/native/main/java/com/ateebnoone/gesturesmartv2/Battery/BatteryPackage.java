@@ -9,7 +9,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
-public class EyePackage implements ReactPackage {
+public class BatteryPackage implements ReactPackage {
     @Override
     public List<ViewManager> createViewManagers(ReactApplicationContext reactContext) {
         return Collections.emptyList();
@@ -18,7 +18,7 @@ public class EyePackage implements ReactPackage {
     @Override
     public List<NativeModule> createNativeModules(ReactApplicationContext reactContext) {
         List<NativeModule> modules = new ArrayList<>();
-        modules.add(new EyeModule(reactContext));
+        modules.add(new BatteryOptimizationModule(reactContext));
         return modules;
     }
 }
\ No newline at end of file
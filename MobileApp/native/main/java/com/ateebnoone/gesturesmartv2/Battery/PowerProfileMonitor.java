@@ -0,0 +1,199 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.BroadcastReceiver;
+import android.content.Context;
+import android.content.Intent;
+import android.content.IntentFilter;
+import android.os.BatteryManager;
+import android.os.PowerManager;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+
+// Process-wide PowerProfile for the vision engines, picked from the battery
+// state or pinned by the user. Broadcasts are only received while engines run
+public final class PowerProfileMonitor {
+    private static final String TAG = "PowerProfileMonitor";
+    private static final String PREFS = "PowerProfile";
+    private static final String KEY_PINNED = "pinned";
+
+    private static PowerProfileMonitor instance;
+
+    // On the thread that noticed the change, without the monitor locked, once per change
+    public interface Listener {
+        void onPowerProfileChanged(PowerProfile profile);
+    }
+
+    private final Context context;
+    private final PowerManager powerManager;
+    private PowerProfile automatic;
+    private PowerProfile pinned;
+    private int level = 100;
+    private boolean charging = false;
+    private boolean powerSave = false;
+    private int runningEngines = 0;
+    private boolean receiving = false;
+    private Listener listener;
+
+    private final BroadcastReceiver receiver = new BroadcastReceiver() {
+        @Override
+        public void onReceive(Context context, Intent intent) {
+            update(intent);
+        }
+    };
+
+    private PowerProfileMonitor(Context context) {
+        this.context = context.getApplicationContext();
+        powerManager = (PowerManager) this.context.getSystemService(Context.POWER_SERVICE);
+        String saved = this.context.getSharedPreferences(PREFS, Context.MODE_PRIVATE).getString(KEY_PINNED, null);
+        if (saved != null) {
+            try {
+                pinned = PowerProfile.valueOf(saved);
+            } catch (IllegalArgumentException e) {
+                Log.w(TAG, "Ignoring saved profile " + saved);
+            }
+        }
+    }
+
+    public static synchronized PowerProfileMonitor get(Context context) {
+        if (instance == null) {
+            instance = new PowerProfileMonitor(context);
+        }
+        return instance;
+    }
+
+    public synchronized void setListener(Listener listener) {
+        this.listener = listener;
+    }
+
+    public PowerProfile profile() {
+        PowerProfile before;
+        PowerProfile after;
+        Listener notify;
+        synchronized (this) {
+            before = profileLocked();
+            if (!receiving) {
+                refreshLocked(null);
+            }
+            after = profileLocked();
+            notify = transitionLocked(before, after);
+        }
+        if (notify != null) {
+            notify.onPowerProfileChanged(after);
+        }
+        return after;
+    }
+
+    public synchronized PowerProfile pinned() {
+        return pinned;
+    }
+
+    public synchronized int level() {
+        return level;
+    }
+
+    public synchronized boolean isCharging() {
+        return charging;
+    }
+
+    public synchronized boolean isPowerSave() {
+        return powerSave;
+    }
+
+    public synchronized int runningEngines() {
+        return runningEngines;
+    }
+
+    // Saved across restarts; null goes back to automatic selection
+    public void pin(PowerProfile profile) {
+        PowerProfile after;
+        Listener notify;
+        synchronized (this) {
+            if (!receiving) {
+                refreshLocked(null);
+            }
+            PowerProfile before = profileLocked();
+            pinned = profile;
+            context.getSharedPreferences(PREFS, Context.MODE_PRIVATE).edit()
+                    .putString(KEY_PINNED, profile != null ? profile.name() : null)
+                    .apply();
+            Log.i(TAG, "Pinned profile: " + profile);
+            after = profileLocked();
+            notify = transitionLocked(before, after);
+        }
+        if (notify != null) {
+            notify.onPowerProfileChanged(after);
+        }
+    }
+
+    public void setRunningEngines(int count) {
+        PowerProfile after;
+        Listener notify;
+        synchronized (this) {
+            runningEngines = count;
+            PowerProfile before = profileLocked();
+            if (count > 0 && !receiving) {
+                IntentFilter filter = new IntentFilter(Intent.ACTION_BATTERY_CHANGED);
+                filter.addAction(PowerManager.ACTION_POWER_SAVE_MODE_CHANGED);
+                // System broadcasts only, so no export flag is needed
+                Intent sticky = context.registerReceiver(receiver, filter);
+                receiving = true;
+                refreshLocked(sticky);
+            } else if (count == 0 && receiving) {
+                context.unregisterReceiver(receiver);
+                receiving = false;
+            }
+            after = profileLocked();
+            notify = transitionLocked(before, after);
+        }
+        if (notify != null) {
+            notify.onPowerProfileChanged(after);
+        }
+    }
+
+    // intent: a battery broadcast, or null to read the sticky one
+    private void update(Intent intent) {
+        PowerProfile after;
+        Listener notify;
+        synchronized (this) {
+            PowerProfile before = profileLocked();
+            refreshLocked(intent);
+            after = profileLocked();
+            notify = transitionLocked(before, after);
+        }
+        if (notify != null) {
+            notify.onPowerProfileChanged(after);
+        }
+    }
+
+    // Caller holds the lock
+    private void refreshLocked(Intent intent) {
+        Intent battery = intent != null && Intent.ACTION_BATTERY_CHANGED.equals(intent.getAction())
+                ? intent
+                : context.registerReceiver(null, new IntentFilter(Intent.ACTION_BATTERY_CHANGED));
+        if (battery != null) {
+            int rawLevel = battery.getIntExtra(BatteryManager.EXTRA_LEVEL, -1);
+            int scale = battery.getIntExtra(BatteryManager.EXTRA_SCALE, 100);
+            if (rawLevel >= 0 && scale > 0) {
+                level = rawLevel * 100 / scale;
+            }
+            charging = battery.getIntExtra(BatteryManager.EXTRA_PLUGGED, 0) != 0;
+        }
+        powerSave = powerManager != null && powerManager.isPowerSaveMode();
+        automatic = PowerProfile.select(level, charging, powerSave, automatic);
+    }
+
+    private PowerProfile profileLocked() {
+        return pinned != null ? pinned : automatic;
+    }
+
+    // Caller holds the lock. Returns the listener to call once the lock is
+    // released, or null if the profile did not change
+    private Listener transitionLocked(PowerProfile before, PowerProfile after) {
+        if (before == after)
+            return null;
+        Log.i(TAG, "Power profile: " + before + " -> " + after + " (" + level + "%, charging=" + charging
+                + ", powerSave=" + powerSave + ")");
+        return listener;
+    }
+}
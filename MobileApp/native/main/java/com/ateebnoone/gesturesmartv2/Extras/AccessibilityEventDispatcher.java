@@ -0,0 +1,105 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.accessibility.AccessibilityEvent;
+
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// Every subscribed event type is sent to this process from every app, so the
+// accessibility service only subscribes to the types active features register.
+// Listeners run on the main thread and must not keep the event
+public class AccessibilityEventDispatcher {
+    private static final String TAG = "AccessibilityEventDispatcher";
+
+    public interface Listener {
+        void onAccessibilityEvent(AccessibilityEvent event);
+    }
+
+    private static final class Registration {
+        final int eventTypes;
+        final Listener listener;
+
+        Registration(int eventTypes, Listener listener) {
+            this.eventTypes = eventTypes;
+            this.listener = listener;
+        }
+    }
+
+    private static final AccessibilityEventDispatcher instance = new AccessibilityEventDispatcher();
+
+    // Registrations are rare, dispatch happens for every event
+    private final CopyOnWriteArrayList<Registration> registrations = new CopyOnWriteArrayList<>();
+    private final Handler mainHandler = new Handler(Looper.getMainLooper());
+    private volatile int eventTypes = 0;
+    private GestureAccessibilityService service;
+
+    public static AccessibilityEventDispatcher getInstance() {
+        return instance;
+    }
+
+    // Replaces the listener's previous mask
+    public synchronized void register(int eventTypes, Listener listener) {
+        removeRegistration(listener);
+        registrations.add(new Registration(eventTypes, listener));
+        updateEventTypes();
+    }
+
+    public synchronized void unregister(Listener listener) {
+        if (removeRegistration(listener)) {
+            updateEventTypes();
+        }
+    }
+
+    public int getEventTypes() {
+        return eventTypes;
+    }
+
+    public void dispatch(AccessibilityEvent event) {
+        int type = event.getEventType();
+        if ((eventTypes & type) == 0)
+            return;
+        for (Registration registration : registrations) {
+            if ((registration.eventTypes & type) != 0) {
+                try {
+                    registration.listener.onAccessibilityEvent(event);
+                } catch (Exception e) {
+                    Log.e(TAG, "Error in accessibility event listener: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // Null when the service disconnects
+    synchronized void attach(GestureAccessibilityService service) {
+        this.service = service;
+        if (service != null) {
+            mainHandler.post(service::applyEventTypes);
+        }
+    }
+
+    private boolean removeRegistration(Listener listener) {
+        for (Registration registration : registrations) {
+            if (registration.listener == listener) {
+                return registrations.remove(registration);
+            }
+        }
+        return false;
+    }
+
+    private void updateEventTypes() {
+        int types = 0;
+        for (Registration registration : registrations) {
+            types |= registration.eventTypes;
+        }
+        if (types == eventTypes)
+            return;
+        eventTypes = types;
+
+        final GestureAccessibilityService target = service;
+        if (target != null) {
+            mainHandler.post(target::applyEventTypes);
+        }
+    }
+}
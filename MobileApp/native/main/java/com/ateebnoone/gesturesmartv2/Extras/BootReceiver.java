@@ -1,10 +1,8 @@
-// android/app/src/main/java/com/ateebnoone/gesturesmart/BootReceiver.java
 package com.ateebnoone.gesturesmartv2;
 
 import android.content.BroadcastReceiver;
 import android.content.Context;
 import android.content.Intent;
-import android.content.SharedPreferences;
 import android.os.Build;
 import android.util.Log;
 
@@ -23,18 +21,15 @@ public class BootReceiver extends BroadcastReceiver {
                 "android.intent.action.QUICKBOOT_POWERON".equals(action) ||
                 "com.htc.intent.action.QUICKBOOT_POWERON".equals(action)) {
 
-            // Check if gesture detection was running before shutdown
-            SharedPreferences gesturePrefs = context.getSharedPreferences("GestureDetection", Context.MODE_PRIVATE);
-            boolean gestureWasRunning = gesturePrefs.getBoolean("service_running", false);
-
-            if (gestureWasRunning) {
-                Intent gestureServiceIntent = new Intent(context, GestureService.class);
+            // Restart the engines that were running before shutdown
+            if (VisionService.hasEnginesToRestore(context)) {
+                Intent visionServiceIntent = VisionService.restoreIntent(context);
                 if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
-                    context.startForegroundService(gestureServiceIntent);
+                    context.startForegroundService(visionServiceIntent);
                 } else {
-                    context.startService(gestureServiceIntent);
+                    context.startService(visionServiceIntent);
                 }
-                Log.d(TAG, "Restarted Gesture Service after boot");
+                Log.d(TAG, "Restored vision engines after boot");
             }
         }
     }
@@ -0,0 +1,278 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.graphics.ImageFormat;
+import android.graphics.SurfaceTexture;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCaptureSession;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraDevice;
+import android.hardware.camera2.CaptureRequest;
+import android.hardware.camera2.params.StreamConfigurationMap;
+import android.media.ImageReader;
+import android.os.Handler;
+import android.util.Log;
+import android.util.Range;
+import android.util.Size;
+import android.view.Surface;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+// Picks the output size and an AE FPS range matching the processing rate, so
+// the sensor does not produce frames that would be discarded. All calls on
+// the camera handler's thread
+public class CaptureConfigManager {
+    private static final String TAG = "CaptureConfigManager";
+
+    private static final int MAX_IMAGES = 2;
+
+    // Cameras that rejected an ImageReader-only session in this process
+    private static final Set<String> needsPreviewTarget = Collections.synchronizedSet(new HashSet<>());
+
+    public interface Listener {
+        void onCaptureStarted(Size size, Range<Integer> fpsRange);
+
+        void onCaptureFailed();
+    }
+
+    private final Handler handler;
+    private final ImageReader.OnImageAvailableListener frameListener;
+    private final Listener listener;
+    private final int afMode;
+
+    private Size[] outputSizes;
+    private Range<Integer>[] fpsRanges;
+
+    private CameraDevice cameraDevice;
+    private CameraCaptureSession session;
+    private CaptureRequest.Builder requestBuilder;
+    private ImageReader imageReader;
+    private SurfaceTexture previewTexture;
+    private Surface previewSurface;
+
+    private Size targetSize;
+    private long frameIntervalMs;
+    private Size currentSize;
+    private Range<Integer> currentFpsRange;
+    // Callbacks from a session that has since been replaced are ignored
+    private int sessionGeneration = 0;
+
+    public CaptureConfigManager(Handler handler, ImageReader.OnImageAvailableListener frameListener,
+            Listener listener, int afMode) {
+        this.handler = handler;
+        this.frameListener = frameListener;
+        this.listener = listener;
+        this.afMode = afMode;
+    }
+
+    // For the camera about to be opened
+    public void setCharacteristics(CameraCharacteristics characteristics) {
+        StreamConfigurationMap map = characteristics.get(CameraCharacteristics.SCALER_STREAM_CONFIGURATION_MAP);
+        outputSizes = map != null ? map.getOutputSizes(ImageFormat.YUV_420_888) : null;
+        fpsRanges = characteristics.get(CameraCharacteristics.CONTROL_AE_AVAILABLE_TARGET_FPS_RANGES);
+    }
+
+    public void start(CameraDevice camera, Size size, long frameIntervalMs) {
+        this.cameraDevice = camera;
+        this.targetSize = size;
+        this.frameIntervalMs = frameIntervalMs;
+        createSession();
+    }
+
+    // An FPS change only replaces the repeating request; a size change rebuilds the session
+    public void update(Size size, long frameIntervalMs) {
+        this.targetSize = size;
+        this.frameIntervalMs = frameIntervalMs;
+        if (cameraDevice == null)
+            return;
+
+        Size newSize = chooseSize(targetSize);
+        Range<Integer> newFpsRange = chooseFpsRange(frameIntervalMs);
+
+        if (session == null || !newSize.equals(currentSize)) {
+            Log.i(TAG, "Rebuilding capture session for " + newSize);
+            closeSession();
+            createSession();
+        } else if (newFpsRange != null && !newFpsRange.equals(currentFpsRange)) {
+            currentFpsRange = newFpsRange;
+            try {
+                startRepeating();
+                Log.i(TAG, "FPS range changed to " + newFpsRange);
+            } catch (CameraAccessException | IllegalStateException e) {
+                Log.e(TAG, "Failed to update FPS range", e);
+            }
+        }
+    }
+
+    // The camera itself is left to the caller
+    public void stop() {
+        closeSession();
+        cameraDevice = null;
+    }
+
+    public Size getSize() {
+        return currentSize;
+    }
+
+    private void createSession() {
+        currentSize = chooseSize(targetSize);
+        currentFpsRange = chooseFpsRange(frameIntervalMs);
+
+        try {
+            imageReader = ImageReader.newInstance(currentSize.getWidth(), currentSize.getHeight(),
+                    ImageFormat.YUV_420_888, MAX_IMAGES);
+            imageReader.setOnImageAvailableListener(frameListener, handler);
+
+            final boolean withPreview = needsPreviewTarget.contains(cameraDevice.getId());
+            List<Surface> outputs = new ArrayList<>(2);
+            outputs.add(imageReader.getSurface());
+            if (withPreview) {
+                previewTexture = new SurfaceTexture(0);
+                previewTexture.setDefaultBufferSize(currentSize.getWidth(), currentSize.getHeight());
+                previewSurface = new Surface(previewTexture);
+                outputs.add(previewSurface);
+            }
+
+            requestBuilder = cameraDevice.createCaptureRequest(CameraDevice.TEMPLATE_PREVIEW);
+            for (Surface output : outputs) {
+                requestBuilder.addTarget(output);
+            }
+
+            final CameraDevice device = cameraDevice;
+            final int generation = ++sessionGeneration;
+            cameraDevice.createCaptureSession(
+                    outputs,
+                    new CameraCaptureSession.StateCallback() {
+                        @Override
+                        public void onConfigured(@NonNull CameraCaptureSession configured) {
+                            if (cameraDevice != device || generation != sessionGeneration) {
+                                configured.close();
+                                return;
+                            }
+
+                            session = configured;
+                            try {
+                                startRepeating();
+                                Log.i(TAG, "Capturing " + currentSize + " at " + currentFpsRange + " fps");
+                                listener.onCaptureStarted(currentSize, currentFpsRange);
+                            } catch (CameraAccessException | IllegalStateException e) {
+                                Log.e(TAG, "Failed to start repeating request", e);
+                                listener.onCaptureFailed();
+                            }
+                        }
+
+                        @Override
+                        public void onConfigureFailed(@NonNull CameraCaptureSession configured) {
+                            if (cameraDevice != device || generation != sessionGeneration)
+                                return;
+
+                            if (!withPreview) {
+                                Log.w(TAG, "Camera " + device.getId()
+                                        + " rejected an ImageReader-only session, retrying with a preview target");
+                                needsPreviewTarget.add(device.getId());
+                                closeSession();
+                                createSession();
+                                return;
+                            }
+                            Log.e(TAG, "Failed to configure camera session");
+                            listener.onCaptureFailed();
+                        }
+                    },
+                    handler);
+        } catch (CameraAccessException | IllegalStateException e) {
+            Log.e(TAG, "Failed to create capture session", e);
+            listener.onCaptureFailed();
+        }
+    }
+
+    private void startRepeating() throws CameraAccessException {
+        requestBuilder.set(CaptureRequest.CONTROL_AF_MODE, afMode);
+        requestBuilder.set(CaptureRequest.CONTROL_AE_MODE, CaptureRequest.CONTROL_AE_MODE_ON);
+        requestBuilder.set(CaptureRequest.CONTROL_AWB_MODE, CaptureRequest.CONTROL_AWB_MODE_AUTO);
+        if (currentFpsRange != null) {
+            requestBuilder.set(CaptureRequest.CONTROL_AE_TARGET_FPS_RANGE, currentFpsRange);
+        }
+        session.setRepeatingRequest(requestBuilder.build(), null, handler);
+    }
+
+    private void closeSession() {
+        sessionGeneration++;
+        if (session != null) {
+            session.close();
+            session = null;
+        }
+        if (imageReader != null) {
+            imageReader.close();
+            imageReader = null;
+        }
+        if (previewSurface != null) {
+            previewSurface.release();
+            previewSurface = null;
+        }
+        if (previewTexture != null) {
+            previewTexture.release();
+            previewTexture = null;
+        }
+        requestBuilder = null;
+    }
+
+    // Closest supported size by pixel count, not more than twice the target
+    private Size chooseSize(Size target) {
+        if (outputSizes == null || outputSizes.length == 0)
+            return target;
+
+        Size bestSize = null;
+        long bestDiff = Long.MAX_VALUE;
+        long targetPixels = (long) target.getWidth() * target.getHeight();
+
+        for (Size size : outputSizes) {
+            long sizePixels = (long) size.getWidth() * size.getHeight();
+            long diff = Math.abs(targetPixels - sizePixels);
+
+            if (sizePixels <= targetPixels * 2 && diff < bestDiff) {
+                bestSize = size;
+                bestDiff = diff;
+            }
+        }
+
+        if (bestSize == null) {
+            // Nothing close: take the smallest supported size
+            bestSize = outputSizes[0];
+            for (Size size : outputSizes) {
+                if ((long) size.getWidth() * size.getHeight() < (long) bestSize.getWidth() * bestSize.getHeight()) {
+                    bestSize = size;
+                }
+            }
+        }
+        return bestSize;
+    }
+
+    // Lowest range whose upper bound still covers the processing rate. A lower
+    // minimum is preferred, which lets AE lengthen exposure in the dark.
+    private Range<Integer> chooseFpsRange(long intervalMs) {
+        if (fpsRanges == null || fpsRanges.length == 0)
+            return null;
+
+        int targetFps = (int) Math.ceil(1000.0 / Math.max(1, intervalMs));
+        Range<Integer> best = null;
+        Range<Integer> fastest = fpsRanges[0];
+
+        for (Range<Integer> range : fpsRanges) {
+            if (range.getUpper() > fastest.getUpper()) {
+                fastest = range;
+            }
+            if (range.getUpper() < targetFps)
+                continue;
+            if (best == null || range.getUpper() < best.getUpper()
+                    || (range.getUpper().equals(best.getUpper()) && range.getLower() < best.getLower())) {
+                best = range;
+            }
+        }
+        return best != null ? best : fastest;
+    }
+}
@@ -4,6 +4,7 @@ import android.content.Context;
 import android.graphics.Canvas;
 import android.graphics.Paint;
 import android.graphics.PixelFormat;
+import android.graphics.RectF;
 import android.os.Build;
 import android.os.Handler;
 import android.os.Looper;
@@ -31,6 +32,19 @@ public class CursorOverlay {
     private static final int CURSOR_COLOR = 0xFF00FF00; // Green color
     private static final int CURSOR_BORDER_COLOR = 0xFF000000; // Black border
     private static final int CURSOR_BORDER_WIDTH = 4;
+    private static final int DWELL_COLOR = 0xFF2196F3; // Blue progress arc
+    private static final int DWELL_ARC_WIDTH = 8;
+    // Progress changes smaller than this are not redrawn
+    private static final float DWELL_REDRAW_STEP = 1f / 60f;
+
+    // Allocated once; onDraw runs on every progress update
+    private final Paint borderPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint cursorPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint crosshairPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint dwellPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final RectF dwellBounds = new RectF();
+    private volatile float dwellProgress = 0f;
+    private float drawnDwellProgress = 0f;
 
     public CursorOverlay(Context context) {
         this.context = context;
@@ -49,22 +63,22 @@ public class CursorOverlay {
     }
 
     private void setupCursorView() {
+        borderPaint.setColor(CURSOR_BORDER_COLOR);
+        borderPaint.setStyle(Paint.Style.FILL);
+        cursorPaint.setColor(CURSOR_COLOR);
+        cursorPaint.setStyle(Paint.Style.FILL);
+        crosshairPaint.setColor(CURSOR_BORDER_COLOR);
+        crosshairPaint.setStrokeWidth(3);
+        dwellPaint.setColor(DWELL_COLOR);
+        dwellPaint.setStyle(Paint.Style.STROKE);
+        dwellPaint.setStrokeWidth(DWELL_ARC_WIDTH);
+        dwellPaint.setStrokeCap(Paint.Cap.ROUND);
+
         cursorView = new View(context) {
             @Override
             protected void onDraw(Canvas canvas) {
                 super.onDraw(canvas);
 
-                // Draw cursor circle with border
-                Paint borderPaint = new Paint();
-                borderPaint.setColor(CURSOR_BORDER_COLOR);
-                borderPaint.setStyle(Paint.Style.FILL);
-                borderPaint.setAntiAlias(true);
-
-                Paint cursorPaint = new Paint();
-                cursorPaint.setColor(CURSOR_COLOR);
-                cursorPaint.setStyle(Paint.Style.FILL);
-                cursorPaint.setAntiAlias(true);
-
                 float centerX = getWidth() / 2f;
                 float centerY = getHeight() / 2f;
                 float radius = CURSOR_SIZE / 2f;
@@ -76,15 +90,19 @@ public class CursorOverlay {
                 canvas.drawCircle(centerX, centerY, radius - CURSOR_BORDER_WIDTH, cursorPaint);
 
                 // Draw crosshair
-                Paint crosshairPaint = new Paint();
-                crosshairPaint.setColor(CURSOR_BORDER_COLOR);
-                crosshairPaint.setStrokeWidth(3);
-                crosshairPaint.setAntiAlias(true);
-
                 // Horizontal line
                 canvas.drawLine(centerX - radius / 2, centerY, centerX + radius / 2, centerY, crosshairPaint);
                 // Vertical line
                 canvas.drawLine(centerX, centerY - radius / 2, centerX, centerY + radius / 2, crosshairPaint);
+
+                // Dwell progress, clockwise from the top over the border
+                float progress = dwellProgress;
+                drawnDwellProgress = progress;
+                if (progress > 0f) {
+                    float arcRadius = radius - DWELL_ARC_WIDTH / 2f;
+                    dwellBounds.set(centerX - arcRadius, centerY - arcRadius, centerX + arcRadius, centerY + arcRadius);
+                    canvas.drawArc(dwellBounds, -90f, 360f * progress, false, dwellPaint);
+                }
             }
         };
 
@@ -229,6 +247,14 @@ public class CursorOverlay {
         });
     }
 
+    // 0 to 1, drawn as an arc around the cursor. Any thread
+    public void setDwellProgress(float progress) {
+        dwellProgress = progress;
+        if (Math.abs(progress - drawnDwellProgress) < DWELL_REDRAW_STEP && (progress > 0f || drawnDwellProgress == 0f))
+            return;
+        cursorView.postInvalidate();
+    }
+
     public float[] getCurrentPosition() {
         return new float[] { currentX, currentY };
     }
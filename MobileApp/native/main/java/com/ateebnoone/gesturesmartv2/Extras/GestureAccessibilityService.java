@@ -2,14 +2,19 @@ package com.ateebnoone.gesturesmartv2;
 
 import android.accessibilityservice.AccessibilityService;
 import android.accessibilityservice.AccessibilityServiceInfo;
+import android.util.Log;
 import android.view.accessibility.AccessibilityEvent;
 
 public class GestureAccessibilityService extends AccessibilityService {
+    private static final String TAG = "GestureAccessibilityService";
     private static GestureAccessibilityService instance;
 
+    // Event types currently subscribed, see AccessibilityEventDispatcher
+    private int appliedEventTypes = -1;
+
     @Override
     public void onAccessibilityEvent(AccessibilityEvent event) {
-        // Handle accessibility events if needed
+        AccessibilityEventDispatcher.getInstance().dispatch(event);
     }
 
     @Override
@@ -22,30 +27,46 @@ public class GestureAccessibilityService extends AccessibilityService {
         super.onServiceConnected();
         instance = this;
 
-        // Configure the service
+        // Gestures and window content need no event subscription; events are only
+        // received while a feature has registered for them
+        appliedEventTypes = -1;
+        AccessibilityEventDispatcher.getInstance().attach(this);
+
+        // Notify GestureActions that the service is available
+        GestureActions.setAccessibilityServiceInstance(this);
+    }
+
+    // Subscribes to the event types registered features need. Main thread.
+    void applyEventTypes() {
+        int eventTypes = AccessibilityEventDispatcher.getInstance().getEventTypes();
+        if (instance != this || eventTypes == appliedEventTypes)
+            return;
+
         AccessibilityServiceInfo info = getServiceInfo();
         if (info == null) {
             info = new AccessibilityServiceInfo();
         }
 
-        info.eventTypes = AccessibilityEvent.TYPES_ALL_MASK;
+        info.eventTypes = eventTypes;
         info.feedbackType = AccessibilityServiceInfo.FEEDBACK_GENERIC;
-        info.flags = AccessibilityServiceInfo.FLAG_INCLUDE_NOT_IMPORTANT_VIEWS;
+        info.flags = AccessibilityServiceInfo.DEFAULT;
+        // Registered features follow whatever app is in front
+        info.packageNames = null;
 
         setServiceInfo(info);
-
-        // Notify GestureActions that the service is available
-        GestureActions.setAccessibilityServiceInstance(this);
+        appliedEventTypes = eventTypes;
+        Log.i(TAG, "Accessibility event types: 0x" + Integer.toHexString(eventTypes));
     }
 
     @Override
     public void onDestroy() {
         super.onDestroy();
         instance = null;
+        AccessibilityEventDispatcher.getInstance().attach(null);
         GestureActions.setAccessibilityServiceInstance(null);
     }
 
     public static GestureAccessibilityService getInstance() {
         return instance;
     }
-}
\ No newline at end of file
+}
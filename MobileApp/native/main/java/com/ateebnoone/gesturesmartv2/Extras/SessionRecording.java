@@ -0,0 +1,102 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+import com.ateebnoone.gesturesmartv2.core.session.SessionRecorder;
+import com.google.mediapipe.tasks.components.containers.NormalizedLandmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+// Session recording for a vision engine. Sessions are saved under
+// Android/data/<package>/files/sessions for the gesturesmart-replay tool
+public class SessionRecording {
+    private static final String TAG = "SessionRecording";
+
+    private static final String SESSIONS_DIR = "sessions";
+
+    private final byte kind;
+    private volatile SessionRecorder recorder;
+    private volatile boolean rawFrames = false;
+
+    public SessionRecording(byte kind) {
+        this.kind = kind;
+    }
+
+    public static File newSessionFile(Context context, byte kind) {
+        File dir = context.getExternalFilesDir(SESSIONS_DIR);
+        if (dir == null) {
+            dir = new File(context.getFilesDir(), SESSIONS_DIR);
+        }
+        String stamp = new SimpleDateFormat("yyyyMMdd-HHmmss", Locale.US).format(new Date());
+        return new File(dir, SessionFormat.kindName(kind) + "-" + stamp + SessionFormat.FILE_EXTENSION);
+    }
+
+    // Flat x/y/z; returns the number of landmarks copied
+    public static int copyLandmarks(List<NormalizedLandmark> landmarks, float[] into) {
+        int count = Math.min(landmarks.size(), into.length / 3);
+        for (int i = 0; i < count; i++) {
+            NormalizedLandmark landmark = landmarks.get(i);
+            into[i * 3] = landmark.x();
+            into[i * 3 + 1] = landmark.y();
+            into[i * 3 + 2] = landmark.z();
+        }
+        return count;
+    }
+
+    // Ground truth for replay
+    public void label(String label) {
+        SessionRecorder current = recorder;
+        if (current != null && label != null) {
+            current.recordLabel(System.currentTimeMillis(), label);
+        }
+    }
+
+    // Null when not recording
+    public SessionRecorder recorder() {
+        return recorder;
+    }
+
+    public boolean isRecordingRawFrames() {
+        return recorder != null && rawFrames;
+    }
+
+    public synchronized void stop() {
+        SessionRecorder current = recorder;
+        if (current == null) {
+            return;
+        }
+        recorder = null;
+        try {
+            File file = current.stop();
+            Log.i(TAG, "Session saved: " + file + " (" + current.getRecordedFrames() + " frames, "
+                    + current.getDroppedFrames() + " dropped)");
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to finish session: " + e.getMessage());
+        }
+    }
+
+    public synchronized void start(String path, boolean includeRawFrames) {
+        stop();
+        if (path == null) {
+            Log.e(TAG, "No session path given");
+            return;
+        }
+
+        try {
+            String description = Build.MANUFACTURER + " " + Build.MODEL + ", SDK " + Build.VERSION.SDK_INT;
+            recorder = new SessionRecorder(new File(path), kind, SessionFormat.ENCODING_FIXED16, description);
+            rawFrames = includeRawFrames;
+            Log.i(TAG, "Recording " + SessionFormat.kindName(kind) + " session to " + path);
+        } catch (IOException e) {
+            Log.e(TAG, "Failed to start recording: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,559 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Size;
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageFormat;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+import com.google.mediapipe.framework.image.BitmapImageBuilder;
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.vision.core.RunningMode;
+import com.google.mediapipe.tasks.vision.facelandmarker.FaceLandmarker;
+import com.google.mediapipe.tasks.vision.facelandmarker.FaceLandmarkerResult;
+import com.google.mediapipe.tasks.vision.facelandmarker.FaceLandmarker.FaceLandmarkerOptions;
+import com.google.mediapipe.tasks.components.containers.Category;
+import com.ateebnoone.gesturesmartv2.core.EventDebouncer;
+import com.ateebnoone.gesturesmartv2.core.EyeEventDetector;
+import com.ateebnoone.gesturesmartv2.core.EyeGestureDetector;
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+import com.ateebnoone.gesturesmartv2.core.RoiTracker;
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+import com.ateebnoone.gesturesmartv2.core.WorkloadScale;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+import com.ateebnoone.gesturesmartv2.core.session.SessionRecorder;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.io.ByteArrayOutputStream;
+
+// Blinks, winks and gaze from the face landmarker, run on a crop around the face
+public class EyeEngine implements VisionEngine {
+    private static final String TAG = "EyeEngine";
+
+    // Dynamic configuration based on device performance
+    private static class DeviceConfig {
+        final Size imageSize;
+        final long processDelay;
+        final int consecutiveFrames;
+        final long eventCooldown;
+        final float minFaceSize;
+
+        DeviceConfig(Size imageSize, long processDelay, int consecutiveFrames,
+                     long eventCooldown, float minFaceSize) {
+            this.imageSize = imageSize;
+            this.processDelay = processDelay;
+            this.consecutiveFrames = consecutiveFrames;
+            this.eventCooldown = eventCooldown;
+            this.minFaceSize = minFaceSize;
+        }
+    }
+
+    // Dynamic configuration; replaced whole, read by the camera and MediaPipe threads
+    private volatile DeviceConfig deviceConfig;
+    private DeviceTier performanceTier;
+    // Delegate and input width the landmarker was acquired with, read at each start
+    private volatile InferenceConfig inference;
+    // Set through configure; zero or null keeps the tier's value
+    private Size imageSizeOverride;
+    private long processDelayOverride = 0;
+    private int consecutiveFramesOverride = 0;
+    private long eventCooldownOverride = 0;
+    // Thermal step from the host's governor; scales the stream and rate, and from LOW halves
+    // the crop the landmarker sees
+    private volatile ThermalGovernor.Step thermalStep = ThermalGovernor.Step.NOMINAL;
+    // Battery profile; stacks with the thermal step
+    private volatile PowerProfile powerProfile = PowerProfile.PERFORMANCE;
+
+    private final VisionService host;
+
+    // MediaPipe components; the warm task is held while started and returned to the registry on stop
+    private final ModelRegistry models;
+    private ModelRegistry.Warm<FaceLandmarker, FaceLandmarkerResult> landmarker;
+    private String landmarkerKey;
+    private FaceLandmarker faceLandmarker;
+
+    private long lastProcessTime = 0;
+    private volatile boolean isRunning = false;
+
+    // Eye gesture rules and rate limiting live in gesturesmart-core so recorded
+    // sessions can be replayed against them on the JVM
+    private EyeEventDetector eyeDetector;
+    private EventDebouncer eventDebouncer;
+    private final float[] landmarkBuffer = new float[EyeGestureDetector.LANDMARK_COUNT * EyeGestureDetector.STRIDE];
+    private final SessionRecording recording = new SessionRecording(SessionFormat.KIND_EYE);
+
+    // FaceLandmarker runs on a crop around the last face; full frames until one is found
+    private final RoiTracker roiTracker = new RoiTracker();
+    private final int[] cropRect = new int[4];
+
+    // Performance monitoring
+    private long[] processingTimes = new long[10];
+    private int processingTimeIndex = 0;
+    private long lastPerformanceCheck = 0;
+    private static final long PERFORMANCE_CHECK_INTERVAL = 10000; // 10 seconds
+
+    // Metrics; frame cost is smoothed over roughly the last ten frames
+    private volatile long framesProcessed = 0;
+    private final AtomicLong eventsSent = new AtomicLong();
+    private volatile float frameCostMs = 0f;
+
+    public EyeEngine(VisionService host) {
+        this.host = host;
+        this.models = ModelRegistry.get(host);
+    }
+
+    @Override
+    public String name() {
+        return VisionService.ENGINE_EYE;
+    }
+
+    @Override
+    public void start() {
+        // Detect device performance and configure accordingly
+        performanceTier = DeviceTier.detect(host);
+        inference = InferenceRuntime.get(host).config();
+        initializeDeviceConfig();
+        deviceConfig = withOverrides(deviceConfig);
+        eyeDetector = new EyeGestureDetector(deviceConfig.consecutiveFrames);
+        eventDebouncer = new EventDebouncer(deviceConfig.eventCooldown, 0);
+
+        initializeMediaPipe();
+        roiTracker.lost();
+        lastProcessTime = 0;
+        framesProcessed = 0;
+        eventsSent.set(0);
+        frameCostMs = 0f;
+        isRunning = true;
+
+        Log.i(TAG, "Device configured for " + performanceTier + " performance tier");
+        Log.i(TAG, "Image size: " + deviceConfig.imageSize.getWidth() + "x" + deviceConfig.imageSize.getHeight());
+    }
+
+    @Override
+    public void stop() {
+        isRunning = false;
+        recording.stop();
+
+        faceLandmarker = null;
+        models.release(landmarkerKey, landmarker);
+        landmarker = null;
+    }
+
+    @Override
+    public Size captureSize() {
+        Size size = deviceConfig.imageSize;
+        WorkloadScale scale = workloadScale();
+        return new Size(scale.scaleSide(size.getWidth()), scale.scaleSide(size.getHeight()));
+    }
+
+    @Override
+    public long frameInterval() {
+        return workloadScale().scaleInterval(deviceConfig.processDelay);
+    }
+
+    // The power profile and thermal step stack
+    private WorkloadScale workloadScale() {
+        return powerProfile.scale.times(thermalStep.scale);
+    }
+
+    @Override
+    public void setPowerProfile(PowerProfile profile) {
+        powerProfile = profile;
+    }
+
+    @Override
+    public void setThermalStep(ThermalGovernor.Step step) {
+        thermalStep = step;
+    }
+
+    @Override
+    public boolean needsWakeLock() {
+        return true;
+    }
+
+    @Override
+    public void onCaptureStarted() {
+        roiTracker.lost();
+        Log.i(TAG, "Camera preview started successfully - processing enabled");
+    }
+
+    @Override
+    public void startRecording(String path, boolean rawFrames) {
+        recording.start(path, rawFrames);
+        recordDeviceConfig();
+    }
+
+    @Override
+    public void stopRecording() {
+        recording.stop();
+    }
+
+    @Override
+    public void markRecordingLabel(String label) {
+        recording.label(label);
+    }
+
+    @Override
+    public String status() {
+        return "Processing eye movements (" + performanceTier + ")";
+    }
+
+    @Override
+    public EngineMetrics metrics() {
+        DeviceConfig config = deviceConfig;
+        InferenceConfig runtime = inference;
+        return new EngineMetrics(name(), isRunning, performanceTier != null ? performanceTier.name() : null,
+                config != null ? config.imageSize.getWidth() : 0,
+                config != null ? config.imageSize.getHeight() : 0,
+                config != null ? config.processDelay : 0,
+                framesProcessed, eventsSent.get(), frameCostMs, runtime != null ? runtime.toString() : null);
+    }
+
+    // Overrides the tier's settings in place; zero or null keeps the current value
+    public synchronized void configure(Size imageSize, long processDelayMs, int consecutiveFrames,
+            long eventCooldownMs) {
+        imageSizeOverride = imageSize;
+        processDelayOverride = processDelayMs;
+        consecutiveFramesOverride = consecutiveFrames;
+        eventCooldownOverride = eventCooldownMs;
+
+        DeviceConfig config = deviceConfig;
+        if (config == null)
+            return;
+        applyConfig(withOverrides(config));
+        Log.i(TAG, "Configured: " + deviceConfig.imageSize + ", " + deviceConfig.processDelay + "ms, "
+                + deviceConfig.consecutiveFrames + " frames, " + deviceConfig.eventCooldown + "ms cooldown");
+    }
+
+    private DeviceConfig withOverrides(DeviceConfig config) {
+        return new DeviceConfig(
+                imageSizeOverride != null ? imageSizeOverride : config.imageSize,
+                processDelayOverride > 0 ? processDelayOverride : config.processDelay,
+                consecutiveFramesOverride > 0 ? consecutiveFramesOverride : config.consecutiveFrames,
+                eventCooldownOverride > 0 ? eventCooldownOverride : config.eventCooldown,
+                config.minFaceSize);
+    }
+
+    private void applyConfig(DeviceConfig config) {
+        deviceConfig = config;
+        if (eyeDetector != null) {
+            eyeDetector.setConsecutiveFrames(config.consecutiveFrames);
+        }
+        if (eventDebouncer != null) {
+            eventDebouncer.setCooldown(config.eventCooldown);
+        }
+        // The host follows the stream size and rate
+        host.onEngineChanged();
+        recordDeviceConfig();
+    }
+
+    private void initializeDeviceConfig() {
+        switch (performanceTier) {
+            case FLAGSHIP:
+                deviceConfig = new DeviceConfig(
+                        new Size(800, 600), // High resolution
+                        50, // Fast processing
+                        2, // Quick response
+                        300, // Short cooldown
+                        0.2f // Smaller min face size
+                );
+                break;
+
+            case HIGH:
+                deviceConfig = new DeviceConfig(
+                        new Size(640, 480), // Good resolution
+                        75, // Good processing speed
+                        3, // Balanced response
+                        400, // Moderate cooldown
+                        0.25f);
+                break;
+
+            case MEDIUM:
+                deviceConfig = new DeviceConfig(
+                        new Size(480, 360), // Lower resolution for better performance
+                        150, // Slower processing for stability
+                        4, // More frames for accuracy
+                        600, // Longer cooldown
+                        0.35f // Larger min face size
+                );
+                break;
+
+            case LOW:
+                deviceConfig = new DeviceConfig(
+                        new Size(320, 240), // Low resolution
+                        200, // Slower processing
+                        5, // More frames needed
+                        750, // Long cooldown
+                        0.4f);
+                break;
+        }
+    }
+
+    private void monitorPerformance() {
+        long currentTime = System.currentTimeMillis();
+
+        if (currentTime - lastPerformanceCheck > PERFORMANCE_CHECK_INTERVAL) {
+            long totalTime = 0;
+            int validTimes = 0;
+
+            for (long time : processingTimes) {
+                if (time > 0) {
+                    totalTime += time;
+                    validTimes++;
+                }
+            }
+
+            if (validTimes > 0) {
+                long avgTime = totalTime / validTimes;
+                Log.d(TAG, "Average processing time: " + avgTime + "ms");
+
+                // Slowness while the thermal governor sheds work is heat, which it undoes on its own
+                if (avgTime > 200 && performanceTier != DeviceTier.LOW
+                        && thermalStep == ThermalGovernor.Step.NOMINAL) {
+                    Log.w(TAG, "Performance degradation detected, reducing quality");
+                    adaptToPerformance();
+                }
+            }
+
+            lastPerformanceCheck = currentTime;
+        }
+    }
+
+    private synchronized void adaptToPerformance() {
+        DeviceConfig config = deviceConfig;
+        if (config.processDelay < 250) {
+            // Slows the sensor down with the processing rate
+            applyConfig(new DeviceConfig(
+                    config.imageSize,
+                    config.processDelay + 25,
+                    config.consecutiveFrames + 1,
+                    config.eventCooldown + 100,
+                    config.minFaceSize + 0.05f));
+            Log.i(TAG, "Adapted configuration for better performance");
+        }
+    }
+
+    // Replay needs the thresholds the live detector used, which change per tier and on adaptation
+    private void recordDeviceConfig() {
+        SessionRecorder recorder = recording.recorder();
+        DeviceConfig config = deviceConfig;
+        if (recorder != null && config != null) {
+            long now = System.currentTimeMillis();
+            recorder.recordConfig(now, SessionFormat.CONFIG_CONSECUTIVE_FRAMES, config.consecutiveFrames);
+            recorder.recordConfig(now, SessionFormat.CONFIG_EVENT_COOLDOWN_MS, (int) config.eventCooldown);
+        }
+    }
+
+    // The detection threshold comes from the device tier, so preloading detects it too
+    @Override
+    public void preload() {
+        performanceTier = DeviceTier.detect(host);
+        inference = InferenceRuntime.get(host).config();
+        initializeDeviceConfig();
+        float minFaceSize = deviceConfig.minFaceSize;
+        models.preload(landmarkerKey(minFaceSize), landmarkerFactory(minFaceSize));
+    }
+
+    private String landmarkerKey(float minFaceSize) {
+        return ModelRegistry.key("face_landmarker/" + minFaceSize, inference.delegate);
+    }
+
+    private void initializeMediaPipe() {
+        try {
+            float minFaceSize = deviceConfig.minFaceSize;
+            landmarkerKey = landmarkerKey(minFaceSize);
+            landmarker = models.acquire(landmarkerKey, landmarkerFactory(minFaceSize));
+            landmarker.relay.setTarget(this::handleFaceLandmarkerResult);
+            faceLandmarker = landmarker.task;
+            Log.i(TAG, "MediaPipe FaceLandmarker initialized (" + inference + ")");
+        } catch (Exception e) {
+            Log.e(TAG, "MediaPipe initialization failed: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // The task outlives the engine in the registry, so it only references the application context and the relay
+    private ModelRegistry.Factory<FaceLandmarker, FaceLandmarkerResult> landmarkerFactory(float minFaceSize) {
+        Context context = host.getApplicationContext();
+        InferenceConfig.Delegate delegate = inference.delegate;
+        return relay -> createFaceLandmarker(context, models, relay, minFaceSize, delegate);
+    }
+
+    private static FaceLandmarker createFaceLandmarker(Context context, ModelRegistry models,
+            ModelRegistry.Relay<FaceLandmarkerResult> relay, float minFaceSize, InferenceConfig.Delegate delegate) {
+        FaceLandmarkerOptions options = FaceLandmarkerOptions.builder()
+                .setBaseOptions(models.baseOptions("face_landmarker.task", delegate))
+                .setRunningMode(RunningMode.LIVE_STREAM)
+                .setNumFaces(1)
+                .setMinFaceDetectionConfidence(minFaceSize)
+                .setMinFacePresenceConfidence(0.5f)
+                .setMinTrackingConfidence(0.5f)
+                .setOutputFaceBlendshapes(true)
+                .setResultListener(relay)
+                .build();
+
+        return FaceLandmarker.createFromOptions(context, options);
+    }
+
+    private void handleFaceLandmarkerResult(FaceLandmarkerResult result, MPImage input) {
+        if (result == null || result.faceLandmarks().isEmpty() || !isRunning) {
+            if (input != null) input.close();
+            eyeDetector.resetFrameCounters();
+            roiTracker.lost();
+
+            SessionRecorder recorder = recording.recorder();
+            if (recorder != null && isRunning) {
+                recorder.recordFace(System.currentTimeMillis(), landmarkBuffer, 0, 0f, 0f);
+            }
+            return;
+        }
+
+        try {
+            // Process first face only
+            List<Category> blendshapes = result.faceBlendshapes().get().get(0);
+            int count = SessionRecording.copyLandmarks(result.faceLandmarks().get(0), landmarkBuffer);
+            // Landmarks of a cropped frame are relative to the crop; detectors and replay expect full-frame coordinates
+            roiTracker.toFrame(result.timestampMs(), landmarkBuffer, count);
+            roiTracker.update(landmarkBuffer, count);
+
+            float leftEyeScore = getBlendshapeScore(blendshapes, "eyeBlinkLeft");
+            float rightEyeScore = getBlendshapeScore(blendshapes, "eyeBlinkRight");
+
+            long currentTime = System.currentTimeMillis();
+
+            SessionRecorder recorder = recording.recorder();
+            if (recorder != null) {
+                recorder.recordFace(currentTime, landmarkBuffer, count, leftEyeScore, rightEyeScore);
+            }
+            
+            // Detect eye gestures
+            sendEyeEvent(eyeDetector.detectBlinksAndWinks(leftEyeScore, rightEyeScore), currentTime);
+            
+            // Detect gaze direction using iris positions
+            sendEyeEvent(eyeDetector.detectGazeDirection(landmarkBuffer, count), currentTime);
+
+            // How far the gaze is from centre drives the speed of a continuous scroll started with gaze as its source
+            GestureActions actions = host.gestureActions();
+            if (count >= EyeGestureDetector.LANDMARK_COUNT && actions != null
+                    && actions.isScrollDrivenBy(ContinuousScroller.SOURCE_GAZE)) {
+                actions.updateScrollSpeed(ContinuousScroller.SOURCE_GAZE,
+                        Math.abs(eyeDetector.getGazeVertical() - 0.5f) * 2f);
+            }
+            
+        } catch (Exception e) {
+            Log.e(TAG, "Error processing face result", e);
+        } finally {
+            if (input != null) {
+                input.close();
+            }
+        }
+    }
+
+    private float getBlendshapeScore(List<Category> blendshapes, String name) {
+        for (Category category : blendshapes) {
+            if (category.categoryName().equals(name)) {
+                return category.score();
+            }
+        }
+        return 0.0f;
+    }
+
+    private void sendEyeEvent(String eventType, long currentTime) {
+        if (eventType == null || !eventDebouncer.accept(eventType, currentTime)) {
+            return;
+        }
+
+        SessionRecorder recorder = recording.recorder();
+        if (recorder != null) {
+            recorder.recordEvent(currentTime, eventType);
+        }
+
+        eventsSent.incrementAndGet();
+        host.sendEvent(this, eventType, 1f, currentTime);
+    }
+
+    // crop is left, top, right, bottom in sensor pixels; the JPEG encoder only reads that region
+    private Bitmap convertYuvToBitmap(VisionFrame frame, int[] crop) {
+        ByteArrayOutputStream out = null;
+        try {
+            byte[] nv21 = frame.nv21();
+
+            SessionRecorder recorder = recording.recorder();
+            if (recorder != null && recording.isRecordingRawFrames()) {
+                recorder.recordYuv(frame.time(), frame.width(), frame.height(), nv21, frame.nv21Length());
+            }
+
+            YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21, frame.width(), frame.height(), null);
+            out = new ByteArrayOutputStream();
+            yuvImage.compressToJpeg(new Rect(crop[0], crop[1], crop[2], crop[3]), 90, out);
+            byte[] imageBytes = out.toByteArray();
+
+            // Landmarks are normalized to the crop, so it can be decoded down to the configured input width
+            BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+            decodeOptions.inSampleSize = inference.sampleSize(crop[2] - crop[0])
+                    * (thermalStep.reducedModels ? 2 : 1);
+            Bitmap bitmap = BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, decodeOptions);
+
+            if (bitmap != null) {
+                Matrix matrix = new Matrix();
+                matrix.postRotate(270);
+                matrix.postScale(-1, 1);
+                return Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+            }
+
+            return bitmap;
+        } catch (Exception e) {
+            Log.e(TAG, "Error converting YUV to Bitmap: " + e.getMessage());
+            return null;
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (Exception e) {
+                    Log.e(TAG, "Error closing stream", e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onFrame(VisionFrame frame) {
+        if (faceLandmarker == null)
+            return;
+
+        long currentTime = frame.time();
+        if (currentTime - lastProcessTime < frameInterval())
+            return;
+        lastProcessTime = currentTime;
+
+        long startTime = SystemClock.elapsedRealtimeNanos();
+        long frameTime = SystemClock.uptimeMillis();
+        roiTracker.nextCrop(frameTime, frame.width(), frame.height(), cropRect);
+        Bitmap bitmap = convertYuvToBitmap(frame, cropRect);
+        if (bitmap != null) {
+            // Start processing time measurement
+            long submitTime = System.currentTimeMillis();
+
+            MPImage mpImage = new BitmapImageBuilder(bitmap).build();
+            faceLandmarker.detectAsync(mpImage, frameTime);
+
+            // Record processing time
+            long processingTime = System.currentTimeMillis() - submitTime;
+            processingTimes[processingTimeIndex] = processingTime;
+            processingTimeIndex = (processingTimeIndex + 1) % processingTimes.length;
+
+            monitorPerformance();
+        } else {
+            Log.w(TAG, "Failed to convert image to bitmap");
+        }
+
+        float cost = (SystemClock.elapsedRealtimeNanos() - startTime) / 1_000_000f;
+        frameCostMs = framesProcessed == 0 ? cost : frameCostMs * 0.9f + cost * 0.1f;
+        framesProcessed++;
+    }
+}
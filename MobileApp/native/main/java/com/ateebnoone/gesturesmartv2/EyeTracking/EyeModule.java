@@ -1,45 +1,55 @@
 package com.ateebnoone.gesturesmartv2;
 
-import android.content.Intent;
 import android.util.Log;
+import android.util.Size;
 
 import androidx.annotation.NonNull;
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.facebook.react.bridge.ReactContext;
 
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+
+import java.io.File;
+
+// React bridge to the eye engine of VisionService
 public class EyeModule extends ReactContextBaseJavaModule {
     private static final String TAG = "EyeModule";
     private ReactApplicationContext reactContext;
-    private static EyeModule instance;
-
-    public static EyeModule getInstance() {
-        return instance;
-    }
+    private final VisionConnection vision;
 
     public EyeModule(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
-        instance = this;
+        this.vision = new VisionConnection(reactContext, VisionService.ENGINE_EYE, this::onEyeEvent);
         Log.i(TAG, "EyeModule initialized");
     }
 
     @Override
     public void initialize() {
         super.initialize();
-        notifyContextAvailable();
+        vision.bind();
+    }
+
+    @Override
+    public void invalidate() {
+        vision.unbind();
+        super.invalidate();
     }
 
-    private void notifyContextAvailable() {
-        Intent intent = new Intent("REACT_CONTEXT_AVAILABLE");
-        LocalBroadcastManager.getInstance(getReactApplicationContext()).sendBroadcast(intent);
+    private boolean onEyeEvent(String engine, String event, float confidence, long timestamp) {
+        if (!isReactContextReady())
+            return false;
+        sendEyeEvent(event);
+        return true;
     }
 
     @NonNull
@@ -51,29 +61,70 @@ public class EyeModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void startService() {
         Log.i(TAG, "Starting eye service");
-        try {
-            Intent serviceIntent = new Intent(reactContext, EyeService.class);
-            reactContext.startForegroundService(serviceIntent);
-            Log.i(TAG, "Eye service start command sent");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to start eye service: " + e.getMessage());
-            e.printStackTrace();
-        }
+        vision.call(binder -> binder.startEngine(VisionService.ENGINE_EYE));
     }
 
     @ReactMethod
     public void stopService() {
         Log.i(TAG, "Stopping eye service");
+        // Only the eye engine stops; the service stops with its last engine
+        vision.call(binder -> binder.stopEngine(VisionService.ENGINE_EYE));
+    }
+
+    // Overrides the device tier's settings on the running engine; omitted
+    // fields keep their current value
+    @ReactMethod
+    public void setConfig(ReadableMap options) {
+        if (options == null)
+            return;
+        Size imageSize = options.hasKey("width") && options.hasKey("height")
+                ? new Size(options.getInt("width"), options.getInt("height"))
+                : null;
+        long processDelay = options.hasKey("processDelayMs") ? (long) options.getDouble("processDelayMs") : 0;
+        int consecutiveFrames = options.hasKey("consecutiveFrames") ? options.getInt("consecutiveFrames") : 0;
+        long eventCooldown = options.hasKey("eventCooldownMs") ? (long) options.getDouble("eventCooldownMs") : 0;
+        vision.call(binder -> binder.eye().configure(imageSize, processDelay, consecutiveFrames, eventCooldown));
+    }
+
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        vision.call(binder -> promise.resolve(
+                binder.getMetrics(VisionService.ENGINE_EYE).toMap(binder.getCaptureSize(), binder.getThermalStep())),
+                e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+    }
+
+    // Session recording, for offline replay of the eye pipeline. Recording
+    // ends when the engine stops.
+    @ReactMethod
+    public void startRecording(ReadableMap options, Promise promise) {
         try {
-            Intent serviceIntent = new Intent(reactContext, EyeService.class);
-            reactContext.stopService(serviceIntent);
-            Log.i(TAG, "Eye service stop command sent");
+            boolean rawFrames = options != null && options.hasKey("rawFrames") && options.getBoolean("rawFrames");
+            File file = SessionRecording.newSessionFile(reactContext, SessionFormat.KIND_EYE);
+
+            vision.call(binder -> {
+                binder.startRecording(VisionService.ENGINE_EYE, file.getAbsolutePath(), rawFrames);
+                promise.resolve(file.getAbsolutePath());
+            }, e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+            Log.i(TAG, "Recording to " + file);
         } catch (Exception e) {
-            Log.e(TAG, "Failed to stop eye service: " + e.getMessage());
-            e.printStackTrace();
+            Log.e(TAG, "Failed to start recording: " + e.getMessage());
+            promise.reject("RECORDING_ERROR", e.getMessage());
         }
     }
 
+    @ReactMethod
+    public void stopRecording(Promise promise) {
+        vision.call(binder -> {
+            binder.stopRecording(VisionService.ENGINE_EYE);
+            promise.resolve(true);
+        }, e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+    }
+
+    @ReactMethod
+    public void markRecordingLabel(String label) {
+        vision.call(binder -> binder.markRecordingLabel(VisionService.ENGINE_EYE, label));
+    }
+
     @ReactMethod
     public void addListener(String eventName) {
         // Required for RN built in Event Emitter Calls.
@@ -86,8 +137,8 @@ public class EyeModule extends ReactContextBaseJavaModule {
         Log.d(TAG, "Removed " + count + " listeners");
     }
 
-    // This method will be called by the EyeService to send events
-    public void sendEyeEvent(String eventType) {
+    // Called for each eye engine event, on the MediaPipe thread
+    private void sendEyeEvent(String eventType) {
         Log.i(TAG, "Sending eye event: " + eventType);
 
         if (reactContext != null && reactContext.hasActiveCatalystInstance()) {
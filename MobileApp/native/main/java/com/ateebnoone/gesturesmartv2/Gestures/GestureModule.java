@@ -1,58 +1,55 @@
 package com.ateebnoone.gesturesmartv2;
 
-import android.content.Intent;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
-import androidx.localbroadcastmanager.content.LocalBroadcastManager;
 
 import com.facebook.react.bridge.ReactContext;
 
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
+import com.ateebnoone.gesturesmartv2.core.WakeController;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+
+import java.io.File;
+
+// React bridge to the hand engine of VisionService
 public class GestureModule extends ReactContextBaseJavaModule {
     private static final String TAG = "GestureModule";
     private ReactApplicationContext reactContext;
-    private static GestureModule instance;
-
-    // Inner class to hold GestureActions instance
-    public static class GestureActionsHolder {
-        private static GestureActions instance;
-
-        public static void setInstance(GestureActions actions) {
-            instance = actions;
-        }
-
-        public static GestureActions getInstance() {
-            return instance;
-        }
-    }
-
-    public static GestureModule getInstance() {
-        return instance;
-    }
+    private final VisionConnection vision;
 
     public GestureModule(ReactApplicationContext reactContext) {
         super(reactContext);
         this.reactContext = reactContext;
-        instance = this;
+        this.vision = new VisionConnection(reactContext, VisionService.ENGINE_HAND, this::onHandEvent);
         Log.i(TAG, "GestureModule initialized");
     }
 
     @Override
     public void initialize() {
         super.initialize();
-        notifyContextAvailable();
+        vision.bind();
     }
 
-    private void notifyContextAvailable() {
-        Intent intent = new Intent("REACT_CONTEXT_AVAILABLE");
-        LocalBroadcastManager.getInstance(getReactApplicationContext()).sendBroadcast(intent);
+    @Override
+    public void invalidate() {
+        vision.unbind();
+        super.invalidate();
+    }
+
+    private boolean onHandEvent(String engine, String event, float confidence, long timestamp) {
+        if (!isReactContextReady())
+            return false;
+        sendGestureEvent(event);
+        return true;
     }
 
     @NonNull
@@ -64,29 +61,90 @@ public class GestureModule extends ReactContextBaseJavaModule {
     @ReactMethod
     public void startService() {
         Log.i(TAG, "Starting gesture service");
-        try {
-            Intent serviceIntent = new Intent(reactContext, GestureService.class);
-            reactContext.startForegroundService(serviceIntent);
-            Log.i(TAG, "Gesture service start command sent");
-        } catch (Exception e) {
-            Log.e(TAG, "Failed to start gesture service: " + e.getMessage());
-            e.printStackTrace();
-        }
+        vision.call(binder -> binder.startEngine(VisionService.ENGINE_HAND));
     }
 
     @ReactMethod
     public void stopService() {
         Log.i(TAG, "Stopping gesture service");
+        // Only the hand engine stops; the service stops with its last engine
+        vision.call(binder -> binder.stopEngine(VisionService.ENGINE_HAND));
+    }
+
+    // Low-power tiers: after idleTimeoutMs without a hand the service drops to a
+    // few low resolution frames per second and releases its wake lock, until a
+    // hand (or the wake gesture, if set) is seen again
+    @ReactMethod
+    public void setPowerOptions(ReadableMap options) {
+        boolean lowPower = options == null || !options.hasKey("lowPower") || options.getBoolean("lowPower");
+        long idleTimeout = options != null && options.hasKey("idleTimeoutMs")
+                ? (long) options.getDouble("idleTimeoutMs")
+                : WakeController.DEFAULT_IDLE_TIMEOUT_MS;
+        String wakeGesture = options != null && options.hasKey("wakeGesture") && !options.isNull("wakeGesture")
+                ? options.getString("wakeGesture")
+                : null;
+        vision.call(binder -> binder.hand().setPowerOptions(lowPower, idleTimeout, wakeGesture));
+    }
+
+    // Tracks a second hand for the two-hand gestures (zoom, rotate, both palms)
+    @ReactMethod
+    public void setTwoHandMode(boolean enabled) {
+        vision.call(binder -> binder.hand().setTwoHandMode(enabled));
+    }
+
+    @ReactMethod
+    public void getMetrics(Promise promise) {
+        vision.call(binder -> promise.resolve(
+                binder.getMetrics(VisionService.ENGINE_HAND).toMap(binder.getCaptureSize(), binder.getThermalStep())),
+                e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+    }
+
+    // Overrides the inference runtime for this device with the text form of
+    // InferenceConfig (e.g. a replay --sweep result); null restores the tier
+    // default. Resolves with the config now in effect.
+    @ReactMethod
+    public void setInferenceConfig(String spec, Promise promise) {
+        vision.call(binder -> {
+            try {
+                promise.resolve(binder.setInferenceConfig(spec).toString());
+            } catch (IllegalArgumentException e) {
+                promise.reject("INVALID_CONFIG", e.getMessage());
+            }
+        }, e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+    }
+
+    // Session recording, for offline replay of the gesture pipeline. Recording
+    // ends when the engine stops.
+    @ReactMethod
+    public void startRecording(ReadableMap options, Promise promise) {
         try {
-            Intent serviceIntent = new Intent(reactContext, GestureService.class);
-            reactContext.stopService(serviceIntent);
-            Log.i(TAG, "Gesture service stop command sent");
+            boolean rawFrames = options != null && options.hasKey("rawFrames") && options.getBoolean("rawFrames");
+            File file = SessionRecording.newSessionFile(reactContext, SessionFormat.KIND_HAND);
+
+            vision.call(binder -> {
+                binder.startRecording(VisionService.ENGINE_HAND, file.getAbsolutePath(), rawFrames);
+                promise.resolve(file.getAbsolutePath());
+            }, e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+            Log.i(TAG, "Recording to " + file);
         } catch (Exception e) {
-            Log.e(TAG, "Failed to stop gesture service: " + e.getMessage());
-            e.printStackTrace();
+            Log.e(TAG, "Failed to start recording: " + e.getMessage());
+            promise.reject("RECORDING_ERROR", e.getMessage());
         }
     }
 
+    @ReactMethod
+    public void stopRecording(Promise promise) {
+        vision.call(binder -> {
+            binder.stopRecording(VisionService.ENGINE_HAND);
+            promise.resolve(true);
+        }, e -> promise.reject("SERVICE_UNAVAILABLE", e.getMessage()));
+    }
+
+    @ReactMethod
+    public void markRecordingLabel(String label) {
+        vision.call(binder -> binder.markRecordingLabel(VisionService.ENGINE_HAND, label));
+    }
+
     @ReactMethod
     public void addListener(String eventName) {
         // Required for RN built in Event Emitter Calls.
@@ -99,8 +157,8 @@ public class GestureModule extends ReactContextBaseJavaModule {
         Log.d(TAG, "Removed " + count + " listeners");
     }
 
-    // This method will be called by the GestureService to send events
-    public void sendGestureEvent(String eventType) {
+    // Called for each hand engine event, on the camera or MediaPipe threads
+    private void sendGestureEvent(String eventType) {
         Log.i(TAG, "Sending gesture event: " + eventType);
 
         if (reactContext != null && reactContext.hasActiveCatalystInstance()) {
@@ -0,0 +1,677 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.Size;
+
+import android.graphics.Bitmap;
+import android.graphics.BitmapFactory;
+import android.graphics.ImageFormat;
+import android.graphics.Matrix;
+import android.graphics.Rect;
+import android.graphics.YuvImage;
+
+// MediaPipe imports
+import com.google.mediapipe.framework.image.BitmapImageBuilder;
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.vision.core.RunningMode;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizer.GestureRecognizerOptions;
+import com.google.mediapipe.tasks.vision.gesturerecognizer.GestureRecognizerResult;
+
+// MediaPipe Hand Landmarker
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarker;
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarker.HandLandmarkerOptions;
+import com.google.mediapipe.tasks.vision.handlandmarker.HandLandmarkerResult;
+
+import com.ateebnoone.gesturesmartv2.core.EventDebouncer;
+import com.ateebnoone.gesturesmartv2.core.HandGestureClassifier;
+import com.ateebnoone.gesturesmartv2.core.HandPoseClassifier;
+import com.ateebnoone.gesturesmartv2.core.HandTracker;
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.ateebnoone.gesturesmartv2.core.MotionGate;
+import com.ateebnoone.gesturesmartv2.core.PinchDetector;
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+import com.ateebnoone.gesturesmartv2.core.TwoHandGestureDetector;
+import com.ateebnoone.gesturesmartv2.core.WakeController;
+import com.ateebnoone.gesturesmartv2.core.WorkloadScale;
+import com.ateebnoone.gesturesmartv2.core.session.SessionFormat;
+import com.ateebnoone.gesturesmartv2.core.session.SessionRecorder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Hand gestures, the pinch pointer and the idle/active power tiers
+public class HandEngine implements VisionEngine {
+    private static final String TAG = "HandEngine";
+
+    // Camera stream per tier; the sensor frame rate follows the tier's frame interval
+    private static final Size ACTIVE_CAPTURE_SIZE = new Size(320, 240);
+    private static final Size IDLE_CAPTURE_SIZE = new Size(160, 120);
+    // Idle frames are decoded at about this width if the camera has no smaller stream
+    private static final int IDLE_DECODE_WIDTH = 160;
+
+    // Hand positions inside this margin of the frame already reach the screen edge
+    private static final float CURSOR_INPUT_MARGIN = 0.15f;
+
+    // Registry keys; the landmarker's graph depends on the number of hands
+    private static final String RECOGNIZER_MODEL = "gesture_recognizer";
+    private static final String LANDMARKER_MODEL = "hand_landmarker/";
+
+    private final VisionService host;
+    private final ModelRegistry models;
+    // Warm tasks from the registry, held while started; the task fields are what frames go to
+    private ModelRegistry.Warm<GestureRecognizer, GestureRecognizerResult> recognizer;
+    private ModelRegistry.Warm<HandLandmarker, HandLandmarkerResult> landmarker;
+    private String landmarkerKey;
+    // Delegate and input width the tasks were acquired with, read at each start
+    private volatile InferenceConfig inference;
+    private GestureRecognizer gestureRecognizer;
+    private HandLandmarker handLandmarker;
+    private long lastProcessTime = 0;
+    private volatile boolean isRunning = false;
+
+    // Metrics; frame cost is smoothed over roughly the last ten frames
+    private volatile long framesProcessed = 0;
+    private final AtomicLong eventsSent = new AtomicLong();
+    private volatile float frameCostMs = 0f;
+
+    // Gesture rules and rate limiting live in gesturesmart-core so recorded
+    // sessions can be replayed against them on the JVM
+    private final HandPoseClassifier handClassifier = new HandGestureClassifier();
+    private final EventDebouncer eventDebouncer = new EventDebouncer(
+            HandGestureClassifier.EVENT_COOLDOWN_MS, HandGestureClassifier.REPEAT_WINDOW_MS);
+    private final float[] landmarkBuffer = new float[HandGestureClassifier.LANDMARK_COUNT * HandGestureClassifier.STRIDE];
+    private final SessionRecording recording = new SessionRecording(SessionFormat.KIND_HAND);
+    // Pinch pointer while the cursor overlay is active
+    private final PinchDetector pinchDetector = new PinchDetector();
+
+    // Two-hand mode: the landmarker tracks a second hand, which gets a stable
+    // id and its own smoothed state. Only used while two hands are in view.
+    private volatile boolean twoHandMode = false;
+    private volatile boolean bothHandsInView = false;
+    private final HandTracker handTracker = new HandTracker();
+    private final TwoHandGestureDetector twoHandDetector = new TwoHandGestureDetector();
+    private final float[][] handBuffers = { landmarkBuffer, new float[landmarkBuffer.length] };
+    private final int[] handCounts = new int[HandTracker.MAX_HANDS];
+
+    // Idle/active tiers: the frame rate, models run and wake lock follow the tier
+    private final WakeController wakeController = new WakeController();
+    private final MotionGate motionGate = new MotionGate();
+    private volatile WakeController.Tier appliedTier = null;
+    // Thermal step from the host's governor; scales the tier's rate and stream, and from
+    // LOW runs one hand and the recognizer on every other frame
+    private volatile ThermalGovernor.Step thermalStep = ThermalGovernor.Step.NOMINAL;
+    // Battery profile; also bounds the power options below, which are the user's
+    private volatile PowerProfile powerProfile = PowerProfile.PERFORMANCE;
+    private boolean lowPowerOption = true;
+    private long idleTimeoutOption = WakeController.DEFAULT_IDLE_TIMEOUT_MS;
+    private String wakeGestureOption = null;
+
+    public HandEngine(VisionService host) {
+        this.host = host;
+        this.models = ModelRegistry.get(host);
+    }
+
+    @Override
+    public String name() {
+        return VisionService.ENGINE_HAND;
+    }
+
+    @Override
+    public void start() {
+        inference = InferenceRuntime.get(host).config();
+        initializeGestureComponents();
+        lastProcessTime = 0;
+        appliedTier = null;
+        wakeController.start(System.currentTimeMillis());
+        applyTier(wakeController.tier());
+        framesProcessed = 0;
+        eventsSent.set(0);
+        frameCostMs = 0f;
+        isRunning = true;
+    }
+
+    @Override
+    public void stop() {
+        isRunning = false;
+        recording.stop();
+
+        // Kept warm in the registry for the next start
+        gestureRecognizer = null;
+        handLandmarker = null;
+        models.release(recognizerKey(), recognizer);
+        models.release(landmarkerKey, landmarker);
+        recognizer = null;
+        landmarker = null;
+
+        bothHandsInView = false;
+        handTracker.reset();
+        twoHandDetector.reset();
+        pinchDetector.lost();
+    }
+
+    @Override
+    public Size captureSize() {
+        Size size = captureSizeFor(wakeController.tier());
+        WorkloadScale scale = workloadScale();
+        return new Size(scale.scaleSide(size.getWidth()), scale.scaleSide(size.getHeight()));
+    }
+
+    @Override
+    public long frameInterval() {
+        return workloadScale().scaleInterval(wakeController.frameInterval());
+    }
+
+    // The power profile and thermal step stack
+    private WorkloadScale workloadScale() {
+        return powerProfile.scale.times(thermalStep.scale);
+    }
+
+    // Held only in the active tier, see applyTier
+    @Override
+    public boolean needsWakeLock() {
+        return appliedTier == WakeController.Tier.ACTIVE;
+    }
+
+    @Override
+    public void onCaptureStarted() {
+        Log.i(TAG, "Enhanced gesture processing enabled - 20+ gestures available");
+    }
+
+    @Override
+    public void startRecording(String path, boolean rawFrames) {
+        recording.start(path, rawFrames);
+    }
+
+    @Override
+    public void stopRecording() {
+        recording.stop();
+    }
+
+    @Override
+    public void markRecordingLabel(String label) {
+        recording.label(label);
+    }
+
+    @Override
+    public String status() {
+        if (wakeController.isActive()) {
+            return "Detecting 20+ hand gestures";
+        } else if (wakeController.getWakeGesture() != null) {
+            return "Idle - hold " + wakeController.getWakeGesture() + " to wake";
+        }
+        return "Idle - show your hand to wake";
+    }
+
+    @Override
+    public EngineMetrics metrics() {
+        WakeController.Tier tier = appliedTier;
+        Size size = captureSize();
+        InferenceConfig config = inference;
+        return new EngineMetrics(name(), isRunning, tier != null ? tier.name() : null,
+                size.getWidth(), size.getHeight(), frameInterval(),
+                framesProcessed, eventsSent.get(), frameCostMs, config != null ? config.toString() : null);
+    }
+
+    @Override
+    public void preload() {
+        inference = InferenceRuntime.get(host).config();
+        int numHands = numHands();
+        models.preload(recognizerKey(), recognizerFactory());
+        models.preload(landmarkerKey(numHands), landmarkerFactory(numHands));
+    }
+
+    private String recognizerKey() {
+        return ModelRegistry.key(RECOGNIZER_MODEL, inference.delegate);
+    }
+
+    private String landmarkerKey(int numHands) {
+        return ModelRegistry.key(LANDMARKER_MODEL + numHands, inference.delegate);
+    }
+
+    private void initializeGestureComponents() {
+        try {
+            // MediaPipe Gesture Recognizer for predefined gestures
+            recognizer = models.acquire(recognizerKey(), recognizerFactory());
+            recognizer.relay.setTarget(this::processGestureResult);
+            gestureRecognizer = recognizer.task;
+            Log.i(TAG, "MediaPipe Gesture Recognizer initialized");
+
+            // MediaPipe Hand Landmarker for custom gesture detection
+            int numHands = numHands();
+            landmarkerKey = landmarkerKey(numHands);
+            landmarker = models.acquire(landmarkerKey, landmarkerFactory(numHands));
+            landmarker.relay.setTarget(this::processHandLandmarks);
+            handLandmarker = landmarker.task;
+            Log.i(TAG, "MediaPipe Hand Landmarker initialized (" + inference + ")");
+
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to initialize MediaPipe components: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Tasks outlive the engine in the registry, so they only reference the application context and the relay
+    private ModelRegistry.Factory<GestureRecognizer, GestureRecognizerResult> recognizerFactory() {
+        Context context = host.getApplicationContext();
+        InferenceConfig.Delegate delegate = inference.delegate;
+        return relay -> createGestureRecognizer(context, models, relay, delegate);
+    }
+
+    private ModelRegistry.Factory<HandLandmarker, HandLandmarkerResult> landmarkerFactory(int numHands) {
+        Context context = host.getApplicationContext();
+        InferenceConfig.Delegate delegate = inference.delegate;
+        return relay -> createHandLandmarker(context, models, relay, numHands, delegate);
+    }
+
+    private static GestureRecognizer createGestureRecognizer(Context context, ModelRegistry models,
+            ModelRegistry.Relay<GestureRecognizerResult> relay, InferenceConfig.Delegate delegate) {
+        GestureRecognizerOptions gestureOptions = GestureRecognizerOptions.builder()
+                .setBaseOptions(models.baseOptions("gesture_recognizer.task", delegate))
+                .setRunningMode(RunningMode.LIVE_STREAM)
+                .setResultListener(relay)
+                .setErrorListener((RuntimeException e) -> {
+                    Log.e(TAG, "MediaPipe Gesture Recognizer error: " + e.getMessage());
+                })
+                .setMinHandDetectionConfidence(0.6f)
+                .setMinHandPresenceConfidence(0.6f)
+                .setMinTrackingConfidence(0.6f)
+                .setNumHands(1)
+                .build();
+
+        return GestureRecognizer.createFromOptions(context, gestureOptions);
+    }
+
+    private static HandLandmarker createHandLandmarker(Context context, ModelRegistry models,
+            ModelRegistry.Relay<HandLandmarkerResult> relay, int numHands, InferenceConfig.Delegate delegate) {
+        HandLandmarkerOptions handOptions = HandLandmarkerOptions.builder()
+                .setBaseOptions(models.baseOptions("hand_landmarker.task", delegate))
+                .setRunningMode(RunningMode.LIVE_STREAM)
+                .setResultListener(relay)
+                .setErrorListener((RuntimeException e) -> {
+                    Log.e(TAG, "MediaPipe Hand Landmarker error: " + e.getMessage());
+                })
+                .setNumHands(numHands)
+                .setMinHandDetectionConfidence(0.6f)
+                .setMinHandPresenceConfidence(0.6f)
+                .setMinTrackingConfidence(0.6f)
+                .build();
+
+        return HandLandmarker.createFromOptions(context, handOptions);
+    }
+
+    private void processGestureResult(GestureRecognizerResult result, MPImage image) {
+        try {
+            long currentTime = System.currentTimeMillis();
+            if (result.gestures().isEmpty() || result.gestures().get(0).isEmpty()) {
+                applyTier(wakeController.onGesture(null, currentTime));
+                return;
+            }
+
+            var gestureCategory = result.gestures().get(0).get(0);
+            String gestureName = gestureCategory.categoryName();
+            float confidence = gestureCategory.score();
+
+            SessionRecorder recorder = recording.recorder();
+            if (recorder != null) {
+                recorder.recordCategory(currentTime, gestureName, confidence);
+            }
+
+            // While idle the recognizer only looks for the wake gesture
+            String wakeCandidate = confidence >= HandGestureClassifier.GESTURE_CONFIDENCE_THRESHOLD ? gestureName : null;
+            boolean wasActive = wakeController.isActive();
+            applyTier(wakeController.onGesture(wakeCandidate, currentTime));
+            if (!wasActive)
+                return;
+
+            // With two hands in view the recognizer's single hand is part of a two-hand gesture
+            if (bothHandsInView)
+                return;
+
+            if (HandGestureClassifier.acceptsModelGesture(gestureName, confidence)
+                    && eventDebouncer.accept(gestureName, currentTime)) {
+                sendGestureEvent(gestureName, confidence, currentTime);
+                Log.i(TAG, String.format("MediaPipe gesture: %s (%.3f)", gestureName, confidence));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error processing gesture result: " + e.getMessage());
+        }
+    }
+
+    private void processHandLandmarks(HandLandmarkerResult result, MPImage image) {
+        try {
+            long currentTime = System.currentTimeMillis();
+            SessionRecorder recorder = recording.recorder();
+
+            boolean wasActive = wakeController.isActive();
+            applyTier(wakeController.onHand(!result.landmarks().isEmpty(), currentTime));
+
+            if (result.landmarks().isEmpty()) {
+                bothHandsInView = false;
+                if (pinchDetector.lost() == PinchDetector.Event.RELEASE) {
+                    GestureActions actions = host.gestureActions();
+                    if (actions != null) {
+                        actions.pointerRelease();
+                    }
+                }
+                if (recorder != null) {
+                    recorder.recordHand(currentTime, landmarkBuffer, 0);
+                }
+                return;
+            }
+            // An idle probe only checks for presence; classify from the next full-rate frame
+            if (!wasActive)
+                return;
+
+            int count = SessionRecording.copyLandmarks(result.landmarks().get(0), landmarkBuffer);
+            if (recorder != null) {
+                recorder.recordHand(currentTime, landmarkBuffer, count);
+            }
+
+            // Pinch pointer first, so the touch-down is not delayed by classification
+            GestureActions actions = host.gestureActions();
+            if (actions != null && actions.isCursorActive()) {
+                // Frames are submitted with microsecond timestamps
+                if (processPointer(actions, count, result.timestampMs() / 1000L))
+                    return;
+            } else if (pinchDetector.isPressed()) {
+                pinchDetector.lost();
+            }
+
+            // Hand height drives the speed of a continuous scroll started with the hand as its source
+            if (actions != null && actions.isScrollDrivenBy(ContinuousScroller.SOURCE_HAND)) {
+                actions.updateScrollSpeed(ContinuousScroller.SOURCE_HAND,
+                        1f - HandGestureClassifier.y(landmarkBuffer, HandGestureClassifier.WRIST));
+            }
+
+            if (twoHandMode && processTwoHands(result, count, currentTime))
+                return;
+
+            if (eventDebouncer.isCoolingDown(currentTime))
+                return;
+
+            String customGesture = handClassifier.classify(landmarkBuffer, count);
+
+            if (customGesture != null && eventDebouncer.accept(customGesture, currentTime)) {
+                sendGestureEvent(customGesture, HandGestureClassifier.CUSTOM_GESTURE_CONFIDENCE, currentTime);
+                Log.i(TAG, String.format("Custom gesture: %s", customGesture));
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error processing hand landmarks: " + e.getMessage());
+        }
+    }
+
+    // Turns a pinch into press, move and release of one held finger. True
+    // while pinched, when the hand is not classified
+    private boolean processPointer(GestureActions actions, int count, long frameTime) {
+        PinchDetector.Event event = pinchDetector.update(landmarkBuffer, count);
+        float x = toCursor(pinchDetector.x());
+        float y = toCursor(pinchDetector.y());
+        switch (event) {
+            case PRESS:
+                actions.pointerPress(x, y, frameTime, frameInterval());
+                break;
+            case MOVE:
+                actions.pointerMove(x, y);
+                break;
+            case RELEASE:
+                actions.pointerRelease();
+                break;
+            default:
+                break;
+        }
+        actions.updateCursorPosition(x, y);
+        return pinchDetector.isPressed() || event == PinchDetector.Event.RELEASE;
+    }
+
+    private static float toCursor(float value) {
+        float scaled = (value - CURSOR_INPUT_MARGIN) / (1f - 2f * CURSOR_INPUT_MARGIN);
+        return Math.max(0f, Math.min(1f, scaled));
+    }
+
+    // True while two hands are in view, when single-hand gestures are not classified
+    private boolean processTwoHands(HandLandmarkerResult result, int firstCount, long currentTime) {
+        int hands = Math.min(result.landmarks().size(), HandTracker.MAX_HANDS);
+        handCounts[0] = firstCount;
+        // The second hand is only copied when the landmarker found one
+        if (hands > 1) {
+            handCounts[1] = SessionRecording.copyLandmarks(result.landmarks().get(1), handBuffers[1]);
+        }
+
+        boolean both = handTracker.update(handBuffers, handCounts, hands, currentTime) == 2;
+        bothHandsInView = both;
+        if (!both) {
+            twoHandDetector.reset();
+            return false;
+        }
+
+        if (eventDebouncer.isCoolingDown(currentTime))
+            return true;
+
+        String gesture = twoHandDetector.update(handTracker.track(0), handTracker.track(1), currentTime);
+        if (gesture != null && eventDebouncer.accept(gesture, currentTime)) {
+            sendGestureEvent(gesture, HandGestureClassifier.CUSTOM_GESTURE_CONFIDENCE, currentTime);
+            Log.i(TAG, String.format("Two-hand gesture: %s", gesture));
+        }
+        return true;
+    }
+
+    private void sendGestureEvent(String gestureName, float confidence, long timestamp) {
+        SessionRecorder recorder = recording.recorder();
+        if (recorder != null) {
+            recorder.recordEvent(timestamp, gestureName);
+        }
+
+        eventsSent.incrementAndGet();
+        host.sendEvent(this, gestureName, confidence, timestamp);
+    }
+
+    private Bitmap convertYuvToBitmap(VisionFrame frame, int sampleSize) {
+        ByteArrayOutputStream out = null;
+        try {
+            byte[] nv21 = frame.nv21();
+
+            SessionRecorder recorder = recording.recorder();
+            if (recorder != null && recording.isRecordingRawFrames()) {
+                recorder.recordYuv(frame.time(), frame.width(), frame.height(), nv21, frame.nv21Length());
+            }
+
+            YuvImage yuvImage = new YuvImage(nv21, ImageFormat.NV21, frame.width(), frame.height(), null);
+            out = new ByteArrayOutputStream();
+            yuvImage.compressToJpeg(new Rect(0, 0, yuvImage.getWidth(), yuvImage.getHeight()), 80, out);
+            byte[] imageBytes = out.toByteArray();
+
+            // Decoding with inSampleSize scales in the JPEG decoder, so idle frames cost a fraction
+            BitmapFactory.Options decodeOptions = new BitmapFactory.Options();
+            decodeOptions.inSampleSize = sampleSize;
+            Bitmap bitmap = BitmapFactory.decodeByteArray(imageBytes, 0, imageBytes.length, decodeOptions);
+
+            if (bitmap != null) {
+                Matrix matrix = new Matrix();
+                matrix.postRotate(270);
+                matrix.postScale(-1, 1);
+                return Bitmap.createBitmap(bitmap, 0, 0, bitmap.getWidth(), bitmap.getHeight(), matrix, true);
+            }
+
+            return bitmap;
+        } catch (Exception e) {
+            Log.e(TAG, "Error converting YUV to Bitmap: " + e.getMessage());
+            return null;
+        } finally {
+            if (out != null) {
+                try {
+                    out.close();
+                } catch (IOException e) {
+                    Log.e(TAG, "Error closing stream", e);
+                }
+            }
+        }
+    }
+
+    // Idle tier: skip frames where nothing moved, otherwise run one model on a
+    // low resolution frame. The recognizer is used when a wake gesture is
+    // required, the landmarker (hand presence) otherwise.
+    private void processIdleFrame(VisionFrame frame, long currentTime) {
+        boolean motion = motionGate.update(frame.luma(), frame.width(), frame.height(), frame.lumaRowStride());
+        if (!wakeController.shouldProbe(motion, currentTime))
+            return;
+
+        long startTime = SystemClock.elapsedRealtimeNanos();
+        Bitmap bitmap = convertYuvToBitmap(frame, Math.max(1, frame.width() / IDLE_DECODE_WIDTH));
+        if (bitmap == null)
+            return;
+
+        MPImage mpImage = new BitmapImageBuilder(bitmap).build();
+        long timestampMicros = currentTime * 1000L;
+        if (wakeController.getWakeGesture() != null) {
+            if (gestureRecognizer != null) {
+                gestureRecognizer.recognizeAsync(mpImage, timestampMicros);
+            }
+        } else if (handLandmarker != null) {
+            handLandmarker.detectAsync(mpImage, timestampMicros);
+        }
+        recordFrameCost(startTime);
+    }
+
+    private synchronized void applyTier(WakeController.Tier tier) {
+        if (tier == appliedTier)
+            return;
+        appliedTier = tier;
+
+        if (tier == WakeController.Tier.ACTIVE) {
+            eventDebouncer.reset();
+        } else {
+            motionGate.reset();
+        }
+
+        // The host follows the tier's wake lock, stream size and sensor rate, and updates the notification
+        host.onEngineChanged();
+        Log.i(TAG, "Detection tier: " + tier);
+    }
+
+    private static Size captureSizeFor(WakeController.Tier tier) {
+        return tier == WakeController.Tier.ACTIVE ? ACTIVE_CAPTURE_SIZE : IDLE_CAPTURE_SIZE;
+    }
+
+    // After idleTimeoutMs without a hand, drop to a few low resolution frames
+    // per second without the wake lock until a hand (or the wake gesture) returns
+    public void setPowerOptions(boolean lowPower, long idleTimeoutMs, String wakeGesture) {
+        synchronized (this) {
+            lowPowerOption = lowPower;
+            idleTimeoutOption = idleTimeoutMs;
+            wakeGestureOption = wakeGesture;
+        }
+        applyPowerOptions();
+        Log.i(TAG, "Power options: lowPower=" + lowPower + ", idleTimeoutMs=" + idleTimeoutMs
+                + ", wakeGesture=" + wakeGesture);
+    }
+
+    @Override
+    public void setPowerProfile(PowerProfile profile) {
+        powerProfile = profile;
+        applyPowerOptions();
+    }
+
+    // The user's options, made more frugal by the battery profile
+    private void applyPowerOptions() {
+        PowerProfile profile = powerProfile;
+        synchronized (this) {
+            wakeController.configure(profile.lowPower(lowPowerOption), profile.idleTimeout(idleTimeoutOption),
+                    wakeGestureOption, System.currentTimeMillis());
+        }
+        applyTier(wakeController.tier());
+        // The wake gesture shows in the notification even without a tier change
+        host.onEngineChanged();
+    }
+
+    // Only the landmarker is recreated
+    public void setTwoHandMode(boolean twoHands) {
+        if (twoHands == twoHandMode)
+            return;
+        twoHandMode = twoHands;
+        bothHandsInView = false;
+
+        // Frames are fed to the landmarker on the camera thread, so swap it there
+        host.runOnCameraThread(this::swapLandmarker);
+        Log.i(TAG, "Two-hand mode: " + twoHands);
+    }
+
+    @Override
+    public void setThermalStep(ThermalGovernor.Step step) {
+        boolean modelsChanged = step.reducedModels != thermalStep.reducedModels;
+        thermalStep = step;
+        if (modelsChanged) {
+            swapLandmarker();
+        }
+    }
+
+    // Hot devices track one hand even in two-hand mode
+    private int numHands() {
+        return twoHandMode && !thermalStep.reducedModels ? HandTracker.MAX_HANDS : 1;
+    }
+
+    // Camera thread. The other configuration's landmarker stays warm, so switching back is immediate.
+    private void swapLandmarker() {
+        ModelRegistry.Warm<HandLandmarker, HandLandmarkerResult> previous = landmarker;
+        // Not started: the next start takes the right one
+        if (previous == null)
+            return;
+        int numHands = numHands();
+        String key = landmarkerKey(numHands);
+        if (key.equals(landmarkerKey))
+            return;
+        try {
+            landmarker = models.acquire(key, landmarkerFactory(numHands));
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to recreate Hand Landmarker: " + e.getMessage());
+            return;
+        }
+        landmarker.relay.setTarget(this::processHandLandmarks);
+        handLandmarker = landmarker.task;
+        models.release(landmarkerKey, previous);
+        landmarkerKey = key;
+        Log.i(TAG, "Hand Landmarker now tracks " + numHands + " hand(s)");
+    }
+
+    @Override
+    public void onFrame(VisionFrame frame) {
+        long currentTime = frame.time();
+        if (currentTime - lastProcessTime < frameInterval())
+            return;
+        lastProcessTime = currentTime;
+
+        applyTier(wakeController.tick(currentTime));
+        if (!wakeController.isActive()) {
+            processIdleFrame(frame, currentTime);
+            return;
+        }
+
+        long startTime = SystemClock.elapsedRealtimeNanos();
+        // The shared stream may be larger than this tier's; decode near the configured input width
+        Bitmap bitmap = convertYuvToBitmap(frame, inference.sampleSize(frame.width()));
+        if (bitmap != null) {
+            MPImage mpImage = new BitmapImageBuilder(bitmap).build();
+            // Stamped with the frame's arrival, so result latency includes decoding
+            long timestampMicros = currentTime * 1000L;
+
+            // Send to both recognizers; the recognizer skips every other frame when hot
+            if (gestureRecognizer != null && (!thermalStep.reducedModels || (framesProcessed & 1) == 0)) {
+                gestureRecognizer.recognizeAsync(mpImage, timestampMicros);
+            }
+            if (handLandmarker != null) {
+                handLandmarker.detectAsync(mpImage, timestampMicros);
+            }
+        }
+        recordFrameCost(startTime);
+    }
+
+    private void recordFrameCost(long startNanos) {
+        float cost = (SystemClock.elapsedRealtimeNanos() - startNanos) / 1_000_000f;
+        frameCostMs = framesProcessed == 0 ? cost : frameCostMs * 0.9f + cost * 0.1f;
+        framesProcessed++;
+    }
+}
@@ -27,6 +27,7 @@ class MainApplication : Application(), ReactApplication {
             packages.add(GesturePackage())
             packages.add(GestureActionsPackage())
             packages.add(EyePackage())
+            packages.add(BatteryPackage())
             // packages.add(MyReactNativePackage())
             return packages
           }
@@ -9,19 +9,27 @@ import android.util.Log;
 public class ServiceRestartReceiver extends BroadcastReceiver {
     private static final String TAG = "ServiceRestartReceiver";
 
+    // Must match the receiver's intent filter in the manifest
+    public static final String ACTION_RESTART_SERVICE = "com.ateebnoone.gesturesmartv2.RESTART_SERVICE";
+
     @Override
     public void onReceive(Context context, Intent intent) {
-        if ("com.ateebnoone.gesturesmartv2.RESTART_SERVICE".equals(intent.getAction())) {
+        if (ACTION_RESTART_SERVICE.equals(intent.getAction())) {
             Log.i(TAG, "Received service restart request");
 
-            Intent serviceIntent = new Intent(context, GestureService.class);
+            if (!VisionService.hasEnginesToRestore(context)) {
+                Log.i(TAG, "No engines were running, nothing to restart");
+                return;
+            }
+
+            Intent serviceIntent = VisionService.restoreIntent(context);
             if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
                 context.startForegroundService(serviceIntent);
             } else {
                 context.startService(serviceIntent);
             }
 
-            Log.i(TAG, "GestureService restart initiated");
+            Log.i(TAG, "Engine restore initiated");
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,134 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.hardware.camera2.CameraManager;
+import android.os.Handler;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.ateebnoone.gesturesmartv2.core.Backoff;
+
+// Decides when VisionService reopens a lost camera: once after a backoff
+// delay, or, if another client holds it then, as soon as it is released.
+// Camera thread only
+public class CameraRestartSupervisor {
+    private static final String TAG = "CameraRestartSupervisor";
+
+    private final CameraManager manager;
+    private final Handler handler;
+    private final Runnable reopen;
+    private final Backoff backoff = new Backoff();
+
+    private String cameraId;
+    private boolean watching = false;
+    // Availability as last reported; until then assume it can be opened
+    private boolean available = true;
+    // A loss has not been recovered from yet
+    private boolean pending = false;
+    // The backoff ran out while the camera was held elsewhere
+    private boolean waitingForCamera = false;
+
+    private final Runnable retry = this::onBackoffElapsed;
+
+    private final CameraManager.AvailabilityCallback availabilityCallback = new CameraManager.AvailabilityCallback() {
+        @Override
+        public void onCameraAvailable(@NonNull String id) {
+            if (!id.equals(cameraId))
+                return;
+            available = true;
+            if (pending && waitingForCamera) {
+                Log.i(TAG, "Camera " + id + " released, reopening");
+                reopenNow();
+            }
+        }
+
+        @Override
+        public void onCameraUnavailable(@NonNull String id) {
+            if (id.equals(cameraId)) {
+                available = false;
+            }
+        }
+
+        @Override
+        public void onCameraAccessPrioritiesChanged() {
+            // The app may now outrank the client holding the camera
+            if (pending && waitingForCamera) {
+                Log.i(TAG, "Camera access priorities changed, reopening");
+                reopenNow();
+            }
+        }
+    };
+
+    // reopen closes whatever is left of the camera and opens it again
+    public CameraRestartSupervisor(CameraManager manager, Handler handler, Runnable reopen) {
+        this.manager = manager;
+        this.handler = handler;
+        this.reopen = reopen;
+    }
+
+    public void watch(String id) {
+        if (!id.equals(cameraId)) {
+            cameraId = id;
+            available = true;
+        }
+        if (!watching) {
+            // Delivers the current state of every camera right away
+            manager.registerAvailabilityCallback(availabilityCallback, handler);
+            watching = true;
+        }
+    }
+
+    // Disconnected, failed, or could not be opened or configured
+    public void onLost(String reason) {
+        if (pending) {
+            // Already scheduled; a second report of the same loss must not grow the backoff
+            return;
+        }
+        pending = true;
+        waitingForCamera = false;
+        long delay = backoff.next();
+        Log.w(TAG, "Camera lost (" + reason + "), attempt " + backoff.attempts() + " in " + delay + " ms");
+        handler.postDelayed(retry, delay);
+    }
+
+    // Frames are flowing again
+    public void onRecovered() {
+        if (backoff.attempts() > 0) {
+            Log.i(TAG, "Camera recovered after " + backoff.attempts() + " attempt(s)");
+        }
+        backoff.reset();
+        clearPending();
+    }
+
+    // The camera is no longer wanted
+    public void stop() {
+        clearPending();
+        backoff.reset();
+        if (watching) {
+            manager.unregisterAvailabilityCallback(availabilityCallback);
+            watching = false;
+        }
+    }
+
+    private void onBackoffElapsed() {
+        if (!pending)
+            return;
+        if (!available) {
+            Log.i(TAG, "Camera " + cameraId + " in use elsewhere, waiting for it");
+            waitingForCamera = true;
+            return;
+        }
+        reopenNow();
+    }
+
+    private void reopenNow() {
+        clearPending();
+        reopen.run();
+    }
+
+    private void clearPending() {
+        handler.removeCallbacks(retry);
+        pending = false;
+        waitingForCamera = false;
+    }
+}
@@ -0,0 +1,91 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.os.Build;
+import android.util.Log;
+
+// Coarse device performance class, from the model name and total RAM
+public enum DeviceTier {
+    LOW, MEDIUM, HIGH, FLAGSHIP;
+
+    private static final String TAG = "DeviceTier";
+
+    private static volatile DeviceTier detected;
+
+    // Detected once per process
+    public static DeviceTier detect(Context context) {
+        DeviceTier tier = detected;
+        if (tier == null) {
+            tier = classify(context);
+            detected = tier;
+        }
+        return tier;
+    }
+
+    private static DeviceTier classify(Context context) {
+        try {
+            // Get device info
+            String deviceModel = Build.MODEL.toLowerCase();
+            String deviceBrand = Build.MANUFACTURER.toLowerCase();
+            int sdkVersion = Build.VERSION.SDK_INT;
+
+            // Get available RAM
+            ActivityManager actManager = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+            ActivityManager.MemoryInfo memInfo = new ActivityManager.MemoryInfo();
+            actManager.getMemoryInfo(memInfo);
+            long availableMemory = memInfo.totalMem;
+
+            Log.i(TAG, "Device: " + deviceBrand + " " + deviceModel);
+            Log.i(TAG, "SDK: " + sdkVersion + ", Total Memory: " + (availableMemory / 1024 / 1024) + "MB");
+
+            DeviceTier tier;
+            if (isHighEndDevice(deviceModel, deviceBrand, availableMemory, sdkVersion)) {
+                tier = HIGH;
+            } else if (isMediumEndDevice(deviceModel, deviceBrand, availableMemory, sdkVersion)) {
+                tier = MEDIUM;
+            } else if (isBasicDevice(deviceModel, deviceBrand, availableMemory, sdkVersion)) {
+                tier = LOW;
+            } else {
+                // Default fallback based on memory only
+                if (availableMemory > 4L * 1024 * 1024 * 1024) {
+                    tier = HIGH;
+                } else if (availableMemory > 2L * 1024 * 1024 * 1024) {
+                    tier = MEDIUM;
+                } else {
+                    tier = LOW;
+                }
+            }
+
+            Log.i(TAG, "Detected performance tier: " + tier);
+            return tier;
+
+        } catch (Exception e) {
+            Log.e(TAG, "Error detecting device performance, defaulting to MEDIUM", e);
+            return MEDIUM;
+        }
+    }
+
+    private static boolean isHighEndDevice(String model, String brand, long maxMemory, int sdkVersion) {
+        return (brand.contains("google") && (model.contains("pixel 6") || model.contains("pixel 7") ||
+                model.contains("pixel 8") || model.contains("pixel 4a") || model.contains("pixel 5"))) ||
+                (brand.contains("samsung") && (model.contains("galaxy s") || model.contains("galaxy note"))) ||
+                (brand.contains("oneplus") && sdkVersion >= 30) ||
+                (brand.contains("sony") && model.contains("xperia 1")) ||
+                (maxMemory > 6L * 1024 * 1024 * 1024); // >6GB RAM
+    }
+
+    private static boolean isMediumEndDevice(String model, String brand, long maxMemory, int sdkVersion) {
+        return (brand.contains("vivo") && (model.contains("y") || model.contains("v21") || model.contains("v20"))) ||
+                (brand.contains("oppo")
+                        && (model.contains("a") || model.contains("reno 4") || model.contains("reno 5")))
+                ||
+                (brand.contains("samsung") && (model.contains("galaxy a") || model.contains("galaxy m"))) ||
+                (brand.contains("xiaomi") && (model.contains("redmi note") || model.contains("mi 10t"))) ||
+                (maxMemory > 2L * 1024 * 1024 * 1024 && maxMemory <= 4L * 1024 * 1024 * 1024); // 2-4GB RAM
+    }
+
+    private static boolean isBasicDevice(String model, String brand, long maxMemory, int sdkVersion) {
+        return maxMemory > 2L * 1024 * 1024 * 1024 && maxMemory <= 3L * 1024 * 1024 * 1024; // 2-3GB RAM
+    }
+}
@@ -0,0 +1,61 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.util.Size;
+
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+// Snapshot of an engine's state for getMetrics
+public final class EngineMetrics {
+    public final String engine;
+    public final boolean running;
+    // Engine-specific tier, e.g. ACTIVE/IDLE for hands or the device tier for eyes
+    public final String tier;
+    // Stream the engine asks for; the shared stream may be larger
+    public final int captureWidth;
+    public final int captureHeight;
+    public final long frameIntervalMs;
+    public final long framesProcessed;
+    public final long eventsSent;
+    // Smoothed cost of converting and submitting one frame
+    public final float frameCostMs;
+    // Text form of the InferenceConfig the engine last started with; null before its first start
+    public final String inference;
+
+    public EngineMetrics(String engine, boolean running, String tier, int captureWidth, int captureHeight,
+            long frameIntervalMs, long framesProcessed, long eventsSent, float frameCostMs, String inference) {
+        this.engine = engine;
+        this.running = running;
+        this.tier = tier;
+        this.captureWidth = captureWidth;
+        this.captureHeight = captureHeight;
+        this.frameIntervalMs = frameIntervalMs;
+        this.framesProcessed = framesProcessed;
+        this.eventsSent = eventsSent;
+        this.frameCostMs = frameCostMs;
+        this.inference = inference;
+    }
+
+    public WritableMap toMap(Size stream, ThermalGovernor.Step thermalStep) {
+        WritableMap map = Arguments.createMap();
+        map.putString("engine", engine);
+        map.putBoolean("running", running);
+        if (tier != null) {
+            map.putString("tier", tier);
+        }
+        map.putInt("captureWidth", captureWidth);
+        map.putInt("captureHeight", captureHeight);
+        map.putInt("streamWidth", stream.getWidth());
+        map.putInt("streamHeight", stream.getHeight());
+        map.putString("thermalStep", thermalStep.name());
+        map.putDouble("frameIntervalMs", frameIntervalMs);
+        map.putDouble("framesProcessed", framesProcessed);
+        map.putDouble("eventsSent", eventsSent);
+        map.putDouble("frameCostMs", frameCostMs);
+        if (inference != null) {
+            map.putString("inference", inference);
+        }
+        return map;
+    }
+}
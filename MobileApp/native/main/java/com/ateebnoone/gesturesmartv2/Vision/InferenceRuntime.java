@@ -0,0 +1,84 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.os.Process;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+
+// The InferenceConfig the engines run with: the device tier's default, or an
+// override saved from the React side, typically a replay --sweep result
+public final class InferenceRuntime {
+    private static final String TAG = "InferenceRuntime";
+    private static final String PREFS = "InferenceConfig";
+    private static final String KEY_OVERRIDE = "override";
+
+    private static InferenceRuntime instance;
+
+    private final Context context;
+    private final DeviceTier tier;
+    private final InferenceConfig tierDefault;
+    private volatile InferenceConfig config;
+
+    private InferenceRuntime(Context context) {
+        this.context = context.getApplicationContext();
+        tier = DeviceTier.detect(this.context);
+        tierDefault = InferenceConfig.forTier(tier.name());
+        config = withOverride(context.getSharedPreferences(PREFS, Context.MODE_PRIVATE)
+                .getString(KEY_OVERRIDE, null));
+        Log.i(TAG, "Inference config for " + tier + ": " + config);
+    }
+
+    public static synchronized InferenceRuntime get(Context context) {
+        if (instance == null) {
+            instance = new InferenceRuntime(context);
+        }
+        return instance;
+    }
+
+    public InferenceConfig config() {
+        return config;
+    }
+
+    public DeviceTier tier() {
+        return tier;
+    }
+
+    // Null or empty goes back to the default; a spec that does not parse
+    // throws and changes nothing
+    public InferenceConfig setOverride(String spec) {
+        boolean clear = spec == null || spec.trim().isEmpty();
+        InferenceConfig updated = clear ? tierDefault : InferenceConfig.parse(spec, tierDefault);
+        config = updated;
+        context.getSharedPreferences(PREFS, Context.MODE_PRIVATE).edit()
+                .putString(KEY_OVERRIDE, clear ? null : updated.toString())
+                .apply();
+        Log.i(TAG, "Inference config: " + updated + (clear ? " (tier default)" : " (override)"));
+        return updated;
+    }
+
+    private InferenceConfig withOverride(String spec) {
+        if (spec == null)
+            return tierDefault;
+        try {
+            return InferenceConfig.parse(spec, tierDefault);
+        } catch (IllegalArgumentException e) {
+            Log.w(TAG, "Ignoring saved override " + spec + ": " + e.getMessage());
+            return tierDefault;
+        }
+    }
+
+    // The scheduler places higher-priority threads on the big cores, the
+    // closest to affinity an app gets
+    public static int threadPriority(InferenceConfig.Cores cores) {
+        switch (cores) {
+            case BIG:
+                return Process.THREAD_PRIORITY_DISPLAY;
+            case LITTLE:
+                return Process.THREAD_PRIORITY_BACKGROUND;
+            case ANY:
+            default:
+                return Process.THREAD_PRIORITY_DEFAULT;
+        }
+    }
+}
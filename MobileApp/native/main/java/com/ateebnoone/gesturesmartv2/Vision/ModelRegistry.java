@@ -0,0 +1,203 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.google.mediapipe.framework.image.MPImage;
+import com.google.mediapipe.tasks.core.BaseOptions;
+import com.google.mediapipe.tasks.core.Delegate;
+import com.google.mediapipe.tasks.core.OutputHandler;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+
+// Process-wide cache of the MediaPipe models. Assets are memory-mapped once
+// (they are packaged uncompressed) and released tasks stay warm, keyed by
+// model and delegate, so a restart skips building the graph. LIVE_STREAM
+// tasks bind their listener at creation, so results go through a Relay
+public final class ModelRegistry {
+    private static final String TAG = "ModelRegistry";
+
+    private static ModelRegistry instance;
+
+    // Results are dropped while the task has no owner
+    public static final class Relay<R> implements OutputHandler.ResultListener<R, MPImage> {
+        private volatile OutputHandler.ResultListener<R, MPImage> target;
+
+        public void setTarget(OutputHandler.ResultListener<R, MPImage> target) {
+            this.target = target;
+        }
+
+        @Override
+        public void run(R result, MPImage input) {
+            OutputHandler.ResultListener<R, MPImage> current = target;
+            if (current != null) {
+                current.run(result, input);
+            }
+        }
+    }
+
+    public static final class Warm<T extends AutoCloseable, R> {
+        public final T task;
+        public final Relay<R> relay;
+
+        Warm(T task, Relay<R> relay) {
+            this.task = task;
+            this.relay = relay;
+        }
+    }
+
+    public interface Factory<T extends AutoCloseable, R> {
+        T create(Relay<R> relay) throws Exception;
+    }
+
+    private final Context context;
+    private final Map<String, ByteBuffer> models = new HashMap<>();
+    // At most one idle (or preloading) task per key
+    private final Map<String, Future<Warm<?, ?>>> idle = new HashMap<>();
+    private final ExecutorService preloader = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "ModelPreload"));
+
+    private ModelRegistry(Context context) {
+        this.context = context.getApplicationContext();
+    }
+
+    public static synchronized ModelRegistry get(Context context) {
+        if (instance == null) {
+            instance = new ModelRegistry(context);
+        }
+        return instance;
+    }
+
+    // Falls back to the asset path if the asset could not be mapped
+    public BaseOptions baseOptions(String asset, InferenceConfig.Delegate delegate) {
+        ByteBuffer model = model(asset);
+        BaseOptions.Builder builder = BaseOptions.builder()
+                .setDelegate(delegate == InferenceConfig.Delegate.GPU ? Delegate.GPU : Delegate.CPU);
+        if (model != null) {
+            builder.setModelAssetBuffer(model);
+        } else {
+            builder.setModelAssetPath(asset);
+        }
+        return builder.build();
+    }
+
+    public static String key(String model, InferenceConfig.Delegate delegate) {
+        return model + "@" + delegate.name().toLowerCase();
+    }
+
+    private synchronized ByteBuffer model(String asset) {
+        ByteBuffer model = models.get(asset);
+        if (model == null && !models.containsKey(asset)) {
+            try (AssetFileDescriptor descriptor = context.getAssets().openFd(asset);
+                    FileInputStream input = new FileInputStream(descriptor.getFileDescriptor())) {
+                model = input.getChannel().map(FileChannel.MapMode.READ_ONLY,
+                        descriptor.getStartOffset(), descriptor.getDeclaredLength());
+                Log.i(TAG, "Mapped " + asset + " (" + descriptor.getDeclaredLength() / 1024 + " KB)");
+            } catch (IOException e) {
+                Log.w(TAG, "Cannot map " + asset + ", loading by path: " + e.getMessage());
+            }
+            // A failed mapping is not retried
+            models.put(asset, model);
+        }
+        return model;
+    }
+
+    // Waits for a preload in progress; the caller owns the task until release
+    @SuppressWarnings("unchecked")
+    public <T extends AutoCloseable, R> Warm<T, R> acquire(String key, Factory<T, R> factory) throws Exception {
+        Future<Warm<?, ?>> pending;
+        synchronized (this) {
+            pending = idle.remove(key);
+        }
+        if (pending != null) {
+            try {
+                Log.i(TAG, "Reusing warm " + key);
+                return (Warm<T, R>) pending.get();
+            } catch (ExecutionException e) {
+                Log.w(TAG, "Preloading " + key + " failed, building it again: " + e.getCause());
+            }
+        }
+
+        long start = System.currentTimeMillis();
+        Relay<R> relay = new Relay<>();
+        Warm<T, R> warm = new Warm<>(factory.create(relay), relay);
+        Log.i(TAG, "Built " + key + " in " + (System.currentTimeMillis() - start) + "ms");
+        return warm;
+    }
+
+    // Closed instead if the key already has a warm task
+    public void release(String key, Warm<?, ?> warm) {
+        if (warm == null)
+            return;
+        warm.relay.setTarget(null);
+        synchronized (this) {
+            if (!idle.containsKey(key)) {
+                idle.put(key, CompletableFuture.completedFuture(warm));
+                return;
+            }
+        }
+        close(key, warm);
+    }
+
+    public <T extends AutoCloseable, R> void preload(String key, Factory<T, R> factory) {
+        FutureTask<Warm<?, ?>> task;
+        synchronized (this) {
+            if (idle.containsKey(key))
+                return;
+            task = new FutureTask<>(() -> {
+                long start = System.currentTimeMillis();
+                Relay<R> relay = new Relay<>();
+                Warm<T, R> warm = new Warm<>(factory.create(relay), relay);
+                Log.i(TAG, "Preloaded " + key + " in " + (System.currentTimeMillis() - start) + "ms");
+                return warm;
+            });
+            idle.put(key, task);
+        }
+        preloader.execute(task);
+    }
+
+    // The mappings stay; they are paged out as needed
+    public void trim() {
+        List<Map.Entry<String, Future<Warm<?, ?>>>> entries;
+        synchronized (this) {
+            entries = new ArrayList<>(idle.entrySet());
+            idle.clear();
+        }
+        // Queued behind any preload still running, so that one is closed when it finishes
+        for (Map.Entry<String, Future<Warm<?, ?>>> entry : entries) {
+            preloader.execute(() -> {
+                try {
+                    close(entry.getKey(), entry.getValue().get());
+                } catch (Exception e) {
+                    Log.w(TAG, "Dropped failed preload of " + entry.getKey());
+                }
+            });
+        }
+        if (!entries.isEmpty()) {
+            Log.i(TAG, "Trimming " + entries.size() + " idle task(s)");
+        }
+    }
+
+    private static void close(String key, Warm<?, ?> warm) {
+        try {
+            warm.task.close();
+        } catch (Exception e) {
+            Log.e(TAG, "Failed to close " + key + ": " + e.getMessage());
+        }
+    }
+}
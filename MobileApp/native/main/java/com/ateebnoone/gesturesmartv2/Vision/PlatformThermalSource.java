@@ -0,0 +1,54 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Handler;
+import android.os.PowerManager;
+import android.util.Log;
+
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+
+// Thermal status needs Android 10 and headroom Android 11; older devices
+// report neither, so the governor stays NOMINAL
+public class PlatformThermalSource implements ThermalGovernor.ThermalSource {
+    private static final String TAG = "PlatformThermalSource";
+
+    private final PowerManager powerManager;
+    private Object statusListener;
+
+    public PlatformThermalSource(Context context) {
+        powerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+    }
+
+    @Override
+    public int thermalStatus() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q)
+            return 0;
+        return powerManager.getCurrentThermalStatus();
+    }
+
+    @Override
+    public float thermalHeadroom(int forecastSeconds) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.R)
+            return Float.NaN;
+        return powerManager.getThermalHeadroom(forecastSeconds);
+    }
+
+    public synchronized void listen(Handler handler, Runnable onChanged) {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || statusListener != null)
+            return;
+        PowerManager.OnThermalStatusChangedListener listener = status -> {
+            Log.i(TAG, "Thermal status: " + status);
+            onChanged.run();
+        };
+        powerManager.addThermalStatusListener(handler::post, listener);
+        statusListener = listener;
+    }
+
+    public synchronized void stopListening() {
+        if (Build.VERSION.SDK_INT < Build.VERSION_CODES.Q || statusListener == null)
+            return;
+        powerManager.removeThermalStatusListener((PowerManager.OnThermalStatusChangedListener) statusListener);
+        statusListener = null;
+    }
+}
@@ -0,0 +1,153 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.Intent;
+import android.content.ServiceConnection;
+import android.os.IBinder;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+// A React module's binding to VisionService. Calls made before the service
+// connects are queued; the module's listener is resubscribed on every
+// reconnection so events reach the module that owns the React context.
+// A connection without a listener only makes calls
+public class VisionConnection implements ServiceConnection {
+    private static final String TAG = "VisionConnection";
+
+    private final Context context;
+    private final String engine;
+    private final VisionService.EventListener listener;
+    private final List<PendingCall> pending = new ArrayList<>();
+    private VisionService.LocalBinder binder;
+    private boolean bound = false;
+
+    private static final class PendingCall {
+        final Consumer<VisionService.LocalBinder> call;
+        final Consumer<Exception> onFailure;
+
+        PendingCall(Consumer<VisionService.LocalBinder> call, Consumer<Exception> onFailure) {
+            this.call = call;
+            this.onFailure = onFailure;
+        }
+    }
+
+    public VisionConnection(Context context, String engine, VisionService.EventListener listener) {
+        this.context = context;
+        this.engine = engine;
+        this.listener = listener;
+    }
+
+    // Creating the service does not start an engine or the camera
+    public void bind() {
+        List<PendingCall> failed;
+        synchronized (this) {
+            if (bound)
+                return;
+            bound = context.bindService(new Intent(context, VisionService.class), this, Context.BIND_AUTO_CREATE);
+            if (bound)
+                return;
+            Log.e(TAG, "Failed to bind VisionService for " + engine);
+            failed = takePending();
+        }
+        fail(failed, new IllegalStateException("VisionService could not be bound"));
+    }
+
+    public void unbind() {
+        VisionService.LocalBinder current;
+        List<PendingCall> dropped;
+        synchronized (this) {
+            if (!bound)
+                return;
+            bound = false;
+            current = binder;
+            binder = null;
+            dropped = takePending();
+        }
+        fail(dropped, new IllegalStateException("VisionService unbound before the call ran"));
+        if (current != null && listener != null) {
+            current.removeEventListener(listener);
+        }
+        context.unbindService(this);
+    }
+
+    // Failures are only logged
+    public void call(Consumer<VisionService.LocalBinder> call) {
+        call(call, null);
+    }
+
+    // onFailure runs if the service cannot be bound, the module unbinds first
+    // or the call throws, so a call holding a promise always settles it
+    public void call(Consumer<VisionService.LocalBinder> call, Consumer<Exception> onFailure) {
+        VisionService.LocalBinder current;
+        synchronized (this) {
+            current = binder;
+            if (current == null) {
+                pending.add(new PendingCall(call, onFailure));
+            }
+        }
+        if (current == null) {
+            // Fails the queued calls, this one included, if binding is impossible
+            bind();
+            return;
+        }
+        run(new PendingCall(call, onFailure), current);
+    }
+
+    @Override
+    public void onServiceConnected(ComponentName name, IBinder service) {
+        VisionService.LocalBinder connected = (VisionService.LocalBinder) service;
+        if (listener != null) {
+            connected.addEventListener(engine, listener);
+        }
+
+        List<PendingCall> calls;
+        synchronized (this) {
+            binder = connected;
+            calls = takePending();
+        }
+        Log.i(TAG, "Connected to VisionService for " + engine + ", " + calls.size() + " queued call(s)");
+        for (PendingCall call : calls) {
+            run(call, connected);
+        }
+    }
+
+    // The service process died; the system reconnects this binding when it is recreated
+    @Override
+    public synchronized void onServiceDisconnected(ComponentName name) {
+        Log.w(TAG, "VisionService disconnected for " + engine);
+        binder = null;
+    }
+
+    // Called with the lock held
+    private List<PendingCall> takePending() {
+        List<PendingCall> calls = new ArrayList<>(pending);
+        pending.clear();
+        return calls;
+    }
+
+    private void run(PendingCall call, VisionService.LocalBinder connected) {
+        try {
+            call.call.accept(connected);
+        } catch (Exception e) {
+            Log.e(TAG, "Call failed for " + engine + ": " + e.getMessage());
+            if (call.onFailure != null) {
+                call.onFailure.accept(e);
+            }
+        }
+    }
+
+    private void fail(List<PendingCall> calls, Exception error) {
+        if (!calls.isEmpty()) {
+            Log.e(TAG, calls.size() + " queued call(s) failed for " + engine + ": " + error.getMessage());
+        }
+        for (PendingCall call : calls) {
+            if (call.onFailure != null) {
+                call.onFailure.accept(error);
+            }
+        }
+    }
+}
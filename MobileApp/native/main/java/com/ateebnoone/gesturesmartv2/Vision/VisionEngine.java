@@ -0,0 +1,55 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.util.Size;
+
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+
+// A detection pipeline hosted by VisionService, which owns the camera and its
+// thread. Lifecycle and frame calls come on the camera thread; control calls
+// may come on any thread and apply without restarting the engine
+public interface VisionEngine {
+
+    // Used in start/stop intents and the binder API
+    String name();
+
+    // Builds the models in the background so a later start finds them warm
+    void preload();
+
+    void start();
+
+    // Returns the models to the registry
+    void stop();
+
+    // The host captures the largest stream any running engine wants
+    Size captureSize();
+
+    // The sensor runs for the most frequent running engine
+    long frameInterval();
+
+    boolean needsWakeLock();
+
+    // Camera thread, kept across starts; the host updates the capture afterwards
+    void setThermalStep(ThermalGovernor.Step step);
+
+    // Camera thread, kept across starts; stacks with the thermal step
+    void setPowerProfile(PowerProfile profile);
+
+    // A capture session (re)started, possibly at a new size
+    void onCaptureStarted();
+
+    // Shared with the other engines, and not valid after the call returns
+    void onFrame(VisionFrame frame);
+
+    // Replaces any recording in progress
+    void startRecording(String path, boolean rawFrames);
+
+    void stopRecording();
+
+    void markRecordingLabel(String label);
+
+    // One line for the service notification
+    String status();
+
+    EngineMetrics metrics();
+}
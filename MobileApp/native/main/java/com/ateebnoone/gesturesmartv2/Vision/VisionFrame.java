@@ -0,0 +1,78 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.media.Image;
+
+import com.ateebnoone.gesturesmartv2.core.YuvConverter;
+
+import java.nio.ByteBuffer;
+
+// A camera frame shared by the engines, only valid during onFrame. The NV21
+// packing is done once, by whichever engine asks first
+public final class VisionFrame {
+
+    private Image image;
+    private long time;
+    private ByteBuffer luma;
+    private int lumaRowStride;
+    private byte[] nv21 = new byte[0];
+    private int nv21Length = 0;
+    private boolean packed = false;
+
+    void set(Image image, long time) {
+        this.image = image;
+        this.time = time;
+        Image.Plane plane = image.getPlanes()[0];
+        luma = plane.getBuffer().duplicate();
+        lumaRowStride = plane.getRowStride();
+        packed = false;
+    }
+
+    void clear() {
+        image = null;
+        luma = null;
+    }
+
+    public int width() {
+        return image.getWidth();
+    }
+
+    public int height() {
+        return image.getHeight();
+    }
+
+    // System.currentTimeMillis() at arrival
+    public long time() {
+        return time;
+    }
+
+    public ByteBuffer luma() {
+        return luma;
+    }
+
+    public int lumaRowStride() {
+        return lumaRowStride;
+    }
+
+    // Valid for nv21Length() bytes
+    public byte[] nv21() {
+        if (!packed) {
+            Image.Plane[] planes = image.getPlanes();
+            ByteBuffer yBuffer = planes[0].getBuffer();
+            ByteBuffer uBuffer = planes[1].getBuffer();
+            ByteBuffer vBuffer = planes[2].getBuffer();
+
+            int size = YuvConverter.nv21Size(yBuffer, uBuffer, vBuffer);
+            if (nv21.length < size) {
+                nv21 = new byte[size];
+            }
+            nv21Length = YuvConverter.toNv21(yBuffer, uBuffer, vBuffer, nv21);
+            packed = true;
+        }
+        return nv21;
+    }
+
+    public int nv21Length() {
+        nv21();
+        return nv21Length;
+    }
+}
@@ -0,0 +1,954 @@
+package com.ateebnoone.gesturesmartv2;
+
+import android.app.Notification;
+import android.app.NotificationChannel;
+import android.app.NotificationManager;
+import android.app.PendingIntent;
+import android.app.Service;
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.content.Intent;
+import android.content.SharedPreferences;
+import android.hardware.camera2.CameraAccessException;
+import android.hardware.camera2.CameraCharacteristics;
+import android.hardware.camera2.CameraDevice;
+import android.hardware.camera2.CameraManager;
+import android.hardware.camera2.CaptureRequest;
+import android.media.Image;
+import android.media.ImageReader;
+import android.os.Binder;
+import android.os.Build;
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.IBinder;
+import android.os.PowerManager;
+import android.os.Process;
+import android.util.Log;
+import android.util.Range;
+import android.util.Size;
+
+import androidx.annotation.NonNull;
+
+import com.ateebnoone.gesturesmartv2.core.EventQueue;
+import com.ateebnoone.gesturesmartv2.core.InferenceConfig;
+import com.ateebnoone.gesturesmartv2.core.PowerProfile;
+import com.ateebnoone.gesturesmartv2.core.ThermalGovernor;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+// Foreground service hosting the vision engines over one camera. The React
+// modules bind to it through VisionConnection; start intents remain for the
+// boot and restart receivers. Running engines share the camera thread, the
+// capture session and each frame's NV21 packing, and are scaled down by the
+// thermal governor and the battery profile
+public class VisionService extends Service {
+    private static final String TAG = "VisionService";
+    private static final String CHANNEL_ID = "VisionServiceChannel";
+    private static final int NOTIFICATION_ID = 2;
+
+    public static final String ACTION_START_ENGINE = "com.ateebnoone.gesturesmartv2.action.START_ENGINE";
+    public static final String ACTION_STOP_ENGINE = "com.ateebnoone.gesturesmartv2.action.STOP_ENGINE";
+    public static final String ACTION_RESTORE_ENGINES = "com.ateebnoone.gesturesmartv2.action.RESTORE_ENGINES";
+    // Names the engine to start or stop
+    public static final String EXTRA_ENGINE = "engine";
+    public static final String ENGINE_HAND = "hand";
+    public static final String ENGINE_EYE = "eye";
+
+    // Running engines are restored when the system restarts the service, after boot
+    // and on a restart request
+    private static final String PREFS = "VisionService";
+    private static final String KEY_RUNNING_ENGINES = "runningEngines";
+
+    private static final Size DEFAULT_CAPTURE_SIZE = new Size(320, 240);
+    private static final long DEFAULT_FRAME_INTERVAL_MS = 100;
+
+    private final Map<String, VisionEngine> engines = new LinkedHashMap<>();
+    // Changed on the camera thread, read by frame, notification and wake lock updates
+    private final CopyOnWriteArrayList<VisionEngine> running = new CopyOnWriteArrayList<>();
+    private final VisionFrame frame = new VisionFrame();
+    private final IBinder binder = new LocalBinder();
+
+    private CameraDevice cameraDevice;
+    private CaptureConfigManager captureConfig;
+    private CameraRestartSupervisor cameraRestarts;
+    private Handler backgroundHandler;
+    private HandlerThread backgroundThread;
+    // Frame threads besides the camera thread, and the priority the frame threads run at;
+    // only touched on the camera thread
+    private ExecutorService frameWorkers;
+    private int frameWorkerCount = 0;
+    private int frameWorkerPriority = 0;
+    private int cameraThreadPriority = Process.THREAD_PRIORITY_DEFAULT;
+    // Polled on the camera thread while any engine runs, and on every thermal status change
+    private PlatformThermalSource thermalSource;
+    private ThermalGovernor thermalGovernor;
+    private volatile ThermalGovernor.Step thermalStep = ThermalGovernor.Step.NOMINAL;
+    private final Runnable thermalPoll = this::pollThermal;
+    private PowerProfileMonitor powerProfiles;
+    private volatile PowerProfile powerProfile = PowerProfile.PERFORMANCE;
+    private volatile boolean isProcessing = false;
+    private boolean cameraRequested = false;
+    private PowerManager.WakeLock wakeLock;
+    private volatile boolean isServiceRunning = false;
+    // Changed on the main thread (start commands) and the camera thread (engine start/stop)
+    private boolean isForeground = false;
+    // Stopping when idle only applies if no start command arrived since
+    private volatile int lastStartId = 0;
+    // Set by the React side; engines drive the cursor, pointer and scroll speed through it
+    private volatile GestureActions gestureActions;
+
+    // Called on the camera or MediaPipe threads; returning false (e.g. React
+    // is not ready) queues the event for a retry
+    public interface EventListener {
+        boolean onVisionEvent(String engine, String event, float confidence, long timestamp);
+    }
+
+    private static final class Subscription {
+        final String engine;
+        final EventListener listener;
+
+        Subscription(String engine, EventListener listener) {
+            this.engine = engine;
+            this.listener = listener;
+        }
+    }
+
+    private static final class PendingEvent {
+        final String engine;
+        final String event;
+        final float confidence;
+        final long timestamp;
+
+        PendingEvent(String engine, String event, float confidence, long timestamp) {
+            this.engine = engine;
+            this.event = event;
+            this.confidence = confidence;
+            this.timestamp = timestamp;
+        }
+    }
+
+    private final CopyOnWriteArrayList<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final EventQueue<PendingEvent> eventQueue = new EventQueue<>();
+    private static final int FLUSH_BATCH_SIZE = 10;
+    private static final int MAX_RETRY_ATTEMPTS = 20;
+    private static final long RETRY_DELAY_MS = 500;
+    private int retryAttempts = 0;
+    private boolean flushScheduled = false;
+
+    // In-process control of the engines; every call returns immediately
+    public class LocalBinder extends Binder {
+        public void startEngine(String name) {
+            Intent intent = startIntent(VisionService.this, name);
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+                startForegroundService(intent);
+            } else {
+                startService(intent);
+            }
+        }
+
+        public void stopEngine(String name) {
+            VisionService.this.stopEngine(name);
+        }
+
+        public boolean isEngineRunning(String name) {
+            VisionEngine engine = engines.get(name);
+            return engine != null && running.contains(engine);
+        }
+
+        public HandEngine hand() {
+            return (HandEngine) engines.get(ENGINE_HAND);
+        }
+
+        public EyeEngine eye() {
+            return (EyeEngine) engines.get(ENGINE_EYE);
+        }
+
+        // Null for an unknown engine
+        public EngineMetrics getMetrics(String name) {
+            VisionEngine engine = engines.get(name);
+            return engine != null ? engine.metrics() : null;
+        }
+
+        public Size getCaptureSize() {
+            return captureSize();
+        }
+
+        public void startRecording(String name, String path, boolean rawFrames) {
+            VisionEngine engine = engines.get(name);
+            if (engine != null) {
+                engine.startRecording(path, rawFrames);
+            }
+        }
+
+        public void stopRecording(String name) {
+            VisionEngine engine = engines.get(name);
+            if (engine != null) {
+                engine.stopRecording();
+            }
+        }
+
+        public void markRecordingLabel(String name, String label) {
+            VisionEngine engine = engines.get(name);
+            if (engine != null) {
+                engine.markRecordingLabel(label);
+            }
+        }
+
+        // Events queued while nobody listened are delivered first
+        public void addEventListener(String engine, EventListener listener) {
+            subscriptions.add(new Subscription(engine, listener));
+            Handler handler = backgroundHandler;
+            if (handler != null) {
+                handler.post(VisionService.this::flushEventQueue);
+            }
+        }
+
+        public void removeEventListener(EventListener listener) {
+            for (Subscription subscription : subscriptions) {
+                if (subscription.listener == listener) {
+                    subscriptions.remove(subscription);
+                }
+            }
+        }
+
+        public void setGestureActions(GestureActions actions) {
+            gestureActions = actions;
+        }
+
+        // Leaves a newer module's registration alone after a React reload
+        public void clearGestureActions(GestureActions actions) {
+            if (gestureActions == actions) {
+                gestureActions = null;
+            }
+        }
+
+        public ThermalGovernor.Step getThermalStep() {
+            return thermalStep;
+        }
+
+        public PowerProfile getPowerProfile() {
+            return powerProfiles.profile();
+        }
+
+        // Null restores the tier default. Threads and cores apply from the next
+        // frame, the delegate and input width from each engine's next start
+        public InferenceConfig setInferenceConfig(String spec) {
+            return InferenceRuntime.get(VisionService.this).setOverride(spec);
+        }
+
+        public InferenceConfig getInferenceConfig() {
+            return InferenceRuntime.get(VisionService.this).config();
+        }
+    }
+
+    // For startForegroundService
+    public static Intent startIntent(Context context, String engine) {
+        Intent intent = new Intent(context, VisionService.class);
+        intent.setAction(ACTION_START_ENGINE);
+        intent.putExtra(EXTRA_ENGINE, engine);
+        return intent;
+    }
+
+    // Restarts the engines that were running, for startForegroundService
+    public static Intent restoreIntent(Context context) {
+        Intent intent = new Intent(context, VisionService.class);
+        intent.setAction(ACTION_RESTORE_ENGINES);
+        return intent;
+    }
+
+    public static boolean hasEnginesToRestore(Context context) {
+        return !context.getSharedPreferences(PREFS, Context.MODE_PRIVATE)
+                .getStringSet(KEY_RUNNING_ENGINES, Collections.emptySet())
+                .isEmpty();
+    }
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        Log.i(TAG, "VisionService onCreate");
+
+        engines.put(ENGINE_HAND, new HandEngine(this));
+        engines.put(ENGINE_EYE, new EyeEngine(this));
+
+        thermalSource = new PlatformThermalSource(this);
+        thermalGovernor = new ThermalGovernor(thermalSource);
+
+        createNotificationChannel();
+        startBackgroundThread();
+
+        // Engines keep the profile across starts; changes come from battery broadcasts or the user
+        powerProfiles = PowerProfileMonitor.get(this);
+        powerProfiles.setListener(profile -> runOnCameraThread(() -> applyPowerProfile(profile)));
+        PowerProfile profile = powerProfiles.profile();
+        backgroundHandler.post(() -> applyPowerProfile(profile));
+        preloadEngines();
+
+        PowerManager powerManager = (PowerManager) getSystemService(POWER_SERVICE);
+        wakeLock = powerManager.newWakeLock(PowerManager.PARTIAL_WAKE_LOCK, "VisionService::WakeLock");
+        wakeLock.setReferenceCounted(false);
+
+        isServiceRunning = true;
+    }
+
+    @Override
+    public int onStartCommand(Intent intent, int flags, int startId) {
+        String action = intent != null ? intent.getAction() : null;
+        String name = intent != null ? intent.getStringExtra(EXTRA_ENGINE) : null;
+        Log.i(TAG, "onStartCommand: " + action + " (" + name + ")");
+        lastStartId = startId;
+
+        if (intent == null || ACTION_RESTORE_ENGINES.equals(action)) {
+            // Restarted by the system after being killed, or by a receiver
+            enterForeground();
+            restoreEngines();
+        } else if (ACTION_START_ENGINE.equals(action)) {
+            // Started with startForegroundService, which must be answered right away
+            enterForeground();
+            startEngine(name);
+        } else if (ACTION_STOP_ENGINE.equals(action)) {
+            stopEngine(name);
+        } else {
+            Log.w(TAG, "Unhandled command: " + action);
+            backgroundHandler.post(this::stopIfIdle);
+        }
+        return START_STICKY;
+    }
+
+    // Any thread; the first engine opens the camera
+    public void startEngine(String name) {
+        VisionEngine engine = name != null ? engines.get(name) : null;
+        if (engine == null) {
+            Log.w(TAG, "Unknown engine: " + name);
+            return;
+        }
+
+        backgroundHandler.post(() -> {
+            if (running.contains(engine))
+                return;
+            try {
+                engine.start();
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to start engine " + name + ": " + e.getMessage());
+                return;
+            }
+            running.add(engine);
+            if (running.size() == 1) {
+                startThermalMonitoring();
+            }
+            powerProfiles.setRunningEngines(running.size());
+            // A stop that ran just before may have left the foreground
+            enterForeground();
+            saveRunningEngines();
+            Log.i(TAG, "Engine started: " + name);
+
+            onEngineChanged();
+            if (!cameraRequested) {
+                startCamera();
+            }
+        });
+    }
+
+    // Any thread; with the last engine the camera closes and the service stops
+    public void stopEngine(String name) {
+        VisionEngine engine = name != null ? engines.get(name) : null;
+        if (engine == null) {
+            Log.w(TAG, "Unknown engine: " + name);
+            return;
+        }
+
+        backgroundHandler.post(() -> {
+            if (running.remove(engine)) {
+                engine.stop();
+                powerProfiles.setRunningEngines(running.size());
+                saveRunningEngines();
+                Log.i(TAG, "Engine stopped: " + name);
+            }
+
+            if (running.isEmpty()) {
+                stopThermalMonitoring();
+                cameraRestarts.stop();
+                stopCamera();
+                stopIfIdle();
+            } else {
+                onEngineChanged();
+            }
+        });
+    }
+
+    private synchronized void enterForeground() {
+        if (!isForeground) {
+            startForeground(NOTIFICATION_ID, createNotification());
+            isForeground = true;
+        }
+    }
+
+    // Bound modules keep the service alive after this, without a notification
+    private synchronized void stopIfIdle() {
+        if (running.isEmpty()) {
+            Log.i(TAG, "No engine running, stopping");
+            if (isForeground) {
+                stopForeground(STOP_FOREGROUND_REMOVE);
+                isForeground = false;
+            }
+            stopSelf(lastStartId);
+        }
+    }
+
+    private void saveRunningEngines() {
+        Set<String> names = new HashSet<>();
+        for (VisionEngine engine : running) {
+            names.add(engine.name());
+        }
+        getSharedPreferences(PREFS, Context.MODE_PRIVATE).edit()
+                .putStringSet(KEY_RUNNING_ENGINES, names)
+                .apply();
+    }
+
+    // Created when a module binds at app start or a receiver starts an engine
+    // after boot: build the models of the engines likely to start next while
+    // the camera opens. Defaults to the hand engine, the one started first.
+    private void preloadEngines() {
+        Set<String> names = getSharedPreferences(PREFS, Context.MODE_PRIVATE)
+                .getStringSet(KEY_RUNNING_ENGINES, new HashSet<>());
+        if (names.isEmpty()) {
+            names = Collections.singleton(ENGINE_HAND);
+        }
+        for (String name : names) {
+            VisionEngine engine = engines.get(name);
+            if (engine != null) {
+                engine.preload();
+            }
+        }
+    }
+
+    private void restoreEngines() {
+        SharedPreferences prefs = getSharedPreferences(PREFS, Context.MODE_PRIVATE);
+        Set<String> names = prefs.getStringSet(KEY_RUNNING_ENGINES, new HashSet<>());
+        Log.i(TAG, "Restoring engines: " + names);
+        for (String name : names) {
+            startEngine(name);
+        }
+        backgroundHandler.post(this::stopIfIdle);
+    }
+
+    // An engine's stream, rate, wake lock or status changed. Any thread
+    void onEngineChanged() {
+        updateWakeLock();
+        updateNotification();
+        Handler handler = backgroundHandler;
+        if (handler != null) {
+            handler.post(() -> {
+                if (captureConfig != null && !running.isEmpty()) {
+                    captureConfig.update(captureSize(), frameInterval());
+                }
+            });
+        }
+    }
+
+    private void startThermalMonitoring() {
+        thermalSource.listen(backgroundHandler, thermalPoll);
+        pollThermal();
+    }
+
+    private void stopThermalMonitoring() {
+        thermalSource.stopListening();
+        backgroundHandler.removeCallbacks(thermalPoll);
+        thermalGovernor.reset();
+        applyThermalStep(ThermalGovernor.Step.NOMINAL);
+    }
+
+    // Camera thread
+    private void pollThermal() {
+        if (running.isEmpty())
+            return;
+        try {
+            applyThermalStep(thermalGovernor.poll(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            Log.e(TAG, "Failed to read thermal state: " + e.getMessage());
+        }
+        backgroundHandler.removeCallbacks(thermalPoll);
+        backgroundHandler.postDelayed(thermalPoll, ThermalGovernor.POLL_INTERVAL_MS);
+    }
+
+    // Engines keep the step across starts, so stopped ones get it too
+    private void applyThermalStep(ThermalGovernor.Step step) {
+        if (step == thermalStep)
+            return;
+        Log.i(TAG, "Thermal step: " + thermalStep + " -> " + step);
+        thermalStep = step;
+        for (VisionEngine engine : engines.values()) {
+            engine.setThermalStep(step);
+        }
+        onEngineChanged();
+    }
+
+    private void applyPowerProfile(PowerProfile profile) {
+        Log.i(TAG, "Power profile: " + profile);
+        powerProfile = profile;
+        for (VisionEngine engine : engines.values()) {
+            engine.setPowerProfile(profile);
+        }
+        onEngineChanged();
+    }
+
+    void runOnCameraThread(Runnable task) {
+        Handler handler = backgroundHandler;
+        if (handler != null) {
+            handler.post(task);
+        } else {
+            task.run();
+        }
+    }
+
+    // Null until a module sets it
+    GestureActions gestureActions() {
+        return gestureActions;
+    }
+
+    // Queued while no listener is subscribed or able to take it. Any thread
+    void sendEvent(VisionEngine engine, String event, float confidence, long timestamp) {
+        PendingEvent pending = new PendingEvent(engine.name(), event, confidence, timestamp);
+        if (!deliver(pending)) {
+            Log.d(TAG, "Queueing " + pending.engine + " event");
+            eventQueue.offer(pending);
+            scheduleFlush();
+        }
+    }
+
+    private boolean deliver(PendingEvent event) {
+        boolean delivered = false;
+        for (Subscription subscription : subscriptions) {
+            if (!subscription.engine.equals(event.engine))
+                continue;
+            try {
+                delivered |= subscription.listener.onVisionEvent(event.engine, event.event, event.confidence,
+                        event.timestamp);
+            } catch (Exception e) {
+                Log.e(TAG, "Failed to send " + event.engine + " event: " + e.getMessage());
+            }
+        }
+        return delivered;
+    }
+
+    private synchronized void scheduleFlush() {
+        Handler handler = backgroundHandler;
+        if (flushScheduled || handler == null)
+            return;
+        flushScheduled = true;
+        handler.postDelayed(() -> {
+            synchronized (this) {
+                flushScheduled = false;
+            }
+            flushEventQueue();
+        }, RETRY_DELAY_MS);
+    }
+
+    // Camera thread
+    private void flushEventQueue() {
+        if (!isServiceRunning) {
+            eventQueue.clear();
+            return;
+        }
+
+        List<PendingEvent> undelivered = new ArrayList<>();
+        eventQueue.drain(event -> {
+            if (!deliver(event)) {
+                undelivered.add(event);
+            }
+        }, FLUSH_BATCH_SIZE);
+        if (undelivered.isEmpty()) {
+            retryAttempts = 0;
+            if (!eventQueue.isEmpty()) {
+                // Next batch between frames
+                backgroundHandler.post(this::flushEventQueue);
+            }
+            return;
+        }
+
+        retryAttempts++;
+        if (retryAttempts < MAX_RETRY_ATTEMPTS) {
+            for (PendingEvent event : undelivered) {
+                eventQueue.offer(event);
+            }
+            scheduleFlush();
+        } else {
+            Log.w(TAG, "Max retry attempts reached, dropping " + undelivered.size() + " event(s)");
+            retryAttempts = 0;
+        }
+    }
+
+    private void startBackgroundThread() {
+        backgroundThread = new HandlerThread("VisionCameraBackground");
+        backgroundThread.start();
+        backgroundHandler = new Handler(backgroundThread.getLooper());
+        captureConfig = new CaptureConfigManager(backgroundHandler, this::onFrameAvailable, captureListener,
+                CaptureRequest.CONTROL_AF_MODE_CONTINUOUS_VIDEO);
+        cameraRestarts = new CameraRestartSupervisor((CameraManager) getSystemService(CAMERA_SERVICE),
+                backgroundHandler, this::reopenCamera);
+        Log.i(TAG, "Background thread started");
+    }
+
+    private synchronized void updateWakeLock() {
+        if (wakeLock == null)
+            return;
+
+        boolean needed = false;
+        for (VisionEngine engine : running) {
+            needed |= engine.needsWakeLock();
+        }
+        if (needed && !wakeLock.isHeld()) {
+            wakeLock.acquire();
+        } else if (!needed && wakeLock.isHeld()) {
+            wakeLock.release();
+        }
+    }
+
+    // Largest stream and most frequent rate any running engine wants
+    private Size captureSize() {
+        Size size = null;
+        for (VisionEngine engine : running) {
+            Size wanted = engine.captureSize();
+            if (size == null || (long) wanted.getWidth() * wanted.getHeight() > (long) size.getWidth() * size.getHeight()) {
+                size = wanted;
+            }
+        }
+        return size != null ? size : DEFAULT_CAPTURE_SIZE;
+    }
+
+    private long frameInterval() {
+        long interval = Long.MAX_VALUE;
+        for (VisionEngine engine : running) {
+            interval = Math.min(interval, engine.frameInterval());
+        }
+        return interval != Long.MAX_VALUE ? interval : DEFAULT_FRAME_INTERVAL_MS;
+    }
+
+    private void createNotificationChannel() {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O) {
+            NotificationChannel channel = new NotificationChannel(
+                    CHANNEL_ID,
+                    "Vision Service",
+                    NotificationManager.IMPORTANCE_LOW);
+            channel.setDescription("Hand gesture and eye tracking");
+            NotificationManager manager = getSystemService(NotificationManager.class);
+            manager.createNotificationChannel(channel);
+        }
+    }
+
+    private Notification createNotification() {
+        Intent notificationIntent = new Intent(this, MainActivity.class);
+        PendingIntent pendingIntent = PendingIntent.getActivity(
+                this, 0, notificationIntent, PendingIntent.FLAG_IMMUTABLE);
+
+        StringBuilder text = new StringBuilder();
+        for (VisionEngine engine : running) {
+            if (text.length() > 0) {
+                text.append(" | ");
+            }
+            text.append(engine.status());
+        }
+        if (text.length() == 0) {
+            text.append("Starting");
+        }
+        if (thermalStep != ThermalGovernor.Step.NOMINAL) {
+            text.append(" (reduced while hot)");
+        }
+        if (powerProfile == PowerProfile.SAVER) {
+            text.append(" (battery saver)");
+        }
+
+        return new Notification.Builder(this, CHANNEL_ID)
+                .setContentTitle("Gesture Tracking Active")
+                .setContentText(text)
+                .setSmallIcon(R.mipmap.ic_launcher)
+                .setContentIntent(pendingIntent)
+                .build();
+    }
+
+    private void updateNotification() {
+        NotificationManager manager = getSystemService(NotificationManager.class);
+        if (manager != null && isServiceRunning && isForeground) {
+            manager.notify(NOTIFICATION_ID, createNotification());
+        }
+    }
+
+    private final CameraDevice.StateCallback stateCallback = new CameraDevice.StateCallback() {
+        @Override
+        public void onOpened(@NonNull CameraDevice camera) {
+            Log.i(TAG, "Camera opened successfully");
+            cameraDevice = camera;
+            captureConfig.start(cameraDevice, captureSize(), frameInterval());
+        }
+
+        @Override
+        public void onDisconnected(@NonNull CameraDevice camera) {
+            Log.w(TAG, "Camera disconnected");
+            onCameraLost(camera, "disconnected");
+        }
+
+        @Override
+        public void onError(@NonNull CameraDevice camera, int error) {
+            Log.e(TAG, "Camera Error: " + error);
+            onCameraLost(camera, "error " + error);
+        }
+    };
+
+    // Camera thread
+    private void onCameraLost(CameraDevice camera, String reason) {
+        isProcessing = false;
+        captureConfig.stop();
+        camera.close();
+        if (cameraDevice == camera) {
+            cameraDevice = null;
+        }
+        if (isServiceRunning && !running.isEmpty()) {
+            cameraRestarts.onLost(reason);
+        }
+    }
+
+    // Camera thread, when the supervisor decides to try again
+    private void reopenCamera() {
+        if (isServiceRunning && !running.isEmpty()) {
+            Log.i(TAG, "Reopening camera");
+            stopCamera();
+            startCamera();
+        }
+    }
+
+    private final CaptureConfigManager.Listener captureListener = new CaptureConfigManager.Listener() {
+        @Override
+        public void onCaptureStarted(Size size, Range<Integer> fpsRange) {
+            isProcessing = true;
+            cameraRestarts.onRecovered();
+            for (VisionEngine engine : running) {
+                engine.onCaptureStarted();
+            }
+            Log.i(TAG, "Processing enabled for " + running.size() + " engine(s)");
+        }
+
+        @Override
+        public void onCaptureFailed() {
+            Log.e(TAG, "Failed to start camera capture");
+            CameraDevice camera = cameraDevice;
+            if (camera != null) {
+                onCameraLost(camera, "capture failed");
+            }
+        }
+    };
+
+    // Every frame is acquired so the reader never stalls; engines skip the ones they do not need
+    private void onFrameAvailable(ImageReader reader) {
+        Image image = null;
+        try {
+            image = reader.acquireLatestImage();
+            if (image == null || !isProcessing || !isServiceRunning)
+                return;
+
+            InferenceConfig inference = InferenceRuntime.get(this).config();
+            int priority = InferenceRuntime.threadPriority(inference.cores);
+            if (priority != cameraThreadPriority) {
+                Process.setThreadPriority(priority);
+                cameraThreadPriority = priority;
+            }
+
+            frame.set(image, System.currentTimeMillis());
+            List<VisionEngine> engines = new ArrayList<>(running);
+            if (inference.threads > 1 && engines.size() > 1) {
+                dispatchInParallel(engines, inference.threads - 1, priority);
+            } else {
+                for (VisionEngine engine : engines) {
+                    dispatch(engine);
+                }
+            }
+        } catch (Exception e) {
+            Log.e(TAG, "Error processing image: " + e.getMessage());
+        } finally {
+            frame.clear();
+            if (image != null) {
+                image.close();
+            }
+        }
+    }
+
+    private void dispatch(VisionEngine engine) {
+        try {
+            engine.onFrame(frame);
+        } catch (Exception e) {
+            Log.e(TAG, "Error processing frame in " + engine.name() + ": " + e.getMessage());
+        }
+    }
+
+    // The first engine runs on the camera thread, the others on the workers; the frame is
+    // closed only after all of them return
+    private void dispatchInParallel(List<VisionEngine> engines, int workers, int priority) {
+        // Packed up front so engines only read the frame's buffers
+        frame.nv21();
+
+        ExecutorService executor = frameWorkers(workers, priority);
+        List<Future<?>> pending = new ArrayList<>(engines.size() - 1);
+        for (int i = 1; i < engines.size(); i++) {
+            VisionEngine engine = engines.get(i);
+            pending.add(executor.submit(() -> dispatch(engine)));
+        }
+        dispatch(engines.get(0));
+
+        // Workers still read the frame's buffers, so every one is waited for even if interrupted
+        boolean interrupted = false;
+        for (Future<?> future : pending) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (ExecutionException e) {
+                    Log.e(TAG, "Frame worker failed: " + e.getCause());
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private ExecutorService frameWorkers(int count, int priority) {
+        if (frameWorkers == null || frameWorkerCount != count || frameWorkerPriority != priority) {
+            if (frameWorkers != null) {
+                frameWorkers.shutdown();
+            }
+            frameWorkers = Executors.newFixedThreadPool(count, runnable -> new Thread(() -> {
+                Process.setThreadPriority(priority);
+                runnable.run();
+            }, "VisionFrameWorker"));
+            frameWorkerCount = count;
+            frameWorkerPriority = priority;
+            Log.i(TAG, "Frame workers: " + count + " at priority " + priority);
+        }
+        return frameWorkers;
+    }
+
+    private void startCamera() {
+        if (!isServiceRunning)
+            return;
+        cameraRequested = true;
+
+        CameraManager manager = (CameraManager) getSystemService(CAMERA_SERVICE);
+        try {
+            String[] cameraIds = manager.getCameraIdList();
+            String frontCameraId = null;
+
+            for (String cameraId : cameraIds) {
+                CameraCharacteristics characteristics = manager.getCameraCharacteristics(cameraId);
+                Integer facing = characteristics.get(CameraCharacteristics.LENS_FACING);
+                if (facing != null && facing == CameraCharacteristics.LENS_FACING_FRONT) {
+                    frontCameraId = cameraId;
+                    break;
+                }
+            }
+
+            String selectedCameraId = frontCameraId != null ? frontCameraId : cameraIds[0];
+            Log.i(TAG, "Opening camera: " + selectedCameraId + " (Front camera: "
+                    + (frontCameraId != null ? "YES" : "NO") + ")");
+
+            captureConfig.setCharacteristics(manager.getCameraCharacteristics(selectedCameraId));
+
+            cameraRestarts.watch(selectedCameraId);
+            manager.openCamera(selectedCameraId, stateCallback, backgroundHandler);
+        } catch (CameraAccessException e) {
+            // In use at a higher priority, disabled by policy, or the camera service is down
+            Log.e(TAG, "Failed to open camera", e);
+            if (!running.isEmpty()) {
+                cameraRestarts.onLost("open failed: " + e.getReason());
+            }
+        } catch (SecurityException e) {
+            Log.e(TAG, "Failed to open camera", e);
+        }
+    }
+
+    private void stopCamera() {
+        isProcessing = false;
+        cameraRequested = false;
+
+        if (captureConfig != null) {
+            captureConfig.stop();
+        }
+        if (cameraDevice != null) {
+            cameraDevice.close();
+            cameraDevice = null;
+        }
+
+        Log.i(TAG, "Camera stopped");
+    }
+
+    // Warm models of stopped engines are the first thing to give back
+    @Override
+    public void onTrimMemory(int level) {
+        super.onTrimMemory(level);
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW
+                || level == ComponentCallbacks2.TRIM_MEMORY_RUNNING_CRITICAL) {
+            ModelRegistry.get(this).trim();
+        }
+    }
+
+    @Override
+    public void onDestroy() {
+        Log.i(TAG, "VisionService onDestroy");
+        isServiceRunning = false;
+        isProcessing = false;
+        subscriptions.clear();
+
+        if (thermalSource != null) {
+            thermalSource.stopListening();
+        }
+        if (powerProfiles != null) {
+            powerProfiles.setListener(null);
+            powerProfiles.setRunningEngines(0);
+        }
+        if (wakeLock != null && wakeLock.isHeld()) {
+            wakeLock.release();
+        }
+
+        if (backgroundThread != null) {
+            // On the camera thread, like stopEngine, so no frame is still in an engine or the
+            // image reader; quitSafely runs it before the thread ends
+            backgroundHandler.removeCallbacks(thermalPoll);
+            backgroundHandler.post(this::releaseCamera);
+            backgroundThread.quitSafely();
+            backgroundThread = null;
+        }
+
+        super.onDestroy();
+    }
+
+    // Camera thread, once the service is destroyed
+    private void releaseCamera() {
+        cameraRestarts.stop();
+        stopCamera();
+        // Not saved: engines running now are restored if the system restarts the service
+        for (VisionEngine engine : running) {
+            engine.stop();
+        }
+        running.clear();
+        if (frameWorkers != null) {
+            frameWorkers.shutdown();
+        }
+    }
+
+    @Override
+    public IBinder onBind(Intent intent) {
+        return binder;
+    }
+}
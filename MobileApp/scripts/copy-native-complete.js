@@ -25,8 +25,50 @@ function copyFolderRecursive(source, target) {
     });
 }
 
+// native/main is the canonical copy of the app's native sources;
+// android/app/src/main is generated from it after every prebuild and is
+// not committed.
+function listFiles(dir, prefix = '', files = new Map()) {
+    if (!fs.existsSync(dir)) {
+        return files;
+    }
+
+    fs.readdirSync(dir).forEach(item => {
+        const itemPath = path.join(dir, item);
+        const relativePath = prefix ? prefix + '/' + item : item;
+
+        if (fs.lstatSync(itemPath).isDirectory()) {
+            listFiles(itemPath, relativePath, files);
+        } else if (item !== '.DS_Store') {
+            files.set(relativePath, itemPath);
+        }
+    });
+    return files;
+}
+
+function findDrift(canonicalDir, generatedDir) {
+    const expected = listFiles(canonicalDir);
+    const actual = listFiles(generatedDir);
+    const drift = [];
+
+    expected.forEach((file, relativePath) => {
+        const copy = actual.get(relativePath);
+        if (!copy) {
+            drift.push('missing from app/src/main: ' + relativePath);
+        } else if (!fs.readFileSync(file).equals(fs.readFileSync(copy))) {
+            drift.push('differs: ' + relativePath);
+        }
+    });
+    actual.forEach((file, relativePath) => {
+        if (!expected.has(relativePath)) {
+            drift.push('only in app/src/main: ' + relativePath);
+        }
+    });
+    return drift;
+}
+
 function copyNativeFiles() {
-    console.log('🚀 Copying native files from android/app/src/main...\n');
+    console.log('🚀 Adopting native edits from android/app/src/main...\n');
 
     const basePath = path.join(__dirname, '..');
     const sourceDir = path.join(basePath, 'android/app/src/main');
@@ -43,7 +85,7 @@ function copyNativeFiles() {
 
         // Remove existing target directory if it exists
         if (fs.existsSync(targetDir)) {
-            console.log('🗑️ Removing existing backup...');
+            console.log('🗑️ Replacing native/main...');
             fs.rmSync(targetDir, { recursive: true, force: true });
         }
 
@@ -51,7 +93,7 @@ function copyNativeFiles() {
         copyFolderRecursive(sourceDir, targetDir);
 
         console.log('✅ Native files copied successfully!');
-        console.log('📁 Backup location: native/main/');
+        console.log('📁 Canonical sources: native/main/');
 
     } catch (error) {
         console.error('❌ Error copying native files:', error.message);
@@ -138,8 +180,128 @@ function addGradleDependencies() {
     }
 }
 
+function addCoreModule() {
+    console.log('📦 Linking gesturesmart-core into the Android build...');
+
+    const basePath = path.join(__dirname, '..');
+    const settingsGradlePath = path.join(basePath, 'android/settings.gradle');
+    const buildGradlePath = path.join(basePath, 'android/app/build.gradle');
+
+    // The pure-Java core lives outside android/ so prebuild --clean never deletes it
+    const includeLines = [
+        "include ':gesturesmart-core'",
+        "project(':gesturesmart-core').projectDir = new File(rootDir, '../jvm/gesturesmart-core')"
+    ];
+    const dependencyLine = "    implementation project(':gesturesmart-core')";
+
+    if (fs.existsSync(settingsGradlePath)) {
+        let settingsContent = fs.readFileSync(settingsGradlePath, 'utf8');
+        if (!settingsContent.includes(includeLines[0])) {
+            settingsContent = settingsContent.replace("include ':app'", "include ':app'\n" + includeLines.join('\n'));
+            fs.writeFileSync(settingsGradlePath, settingsContent);
+            console.log('✅ Added gesturesmart-core to settings.gradle');
+        }
+    } else {
+        console.warn('⚠️ settings.gradle not found at:', settingsGradlePath);
+    }
+
+    if (fs.existsSync(buildGradlePath)) {
+        let buildGradleContent = fs.readFileSync(buildGradlePath, 'utf8');
+        if (!buildGradleContent.includes(dependencyLine.trim())) {
+            const dependenciesStart = buildGradleContent.indexOf('dependencies {');
+            let braceCount = 0;
+            let dependenciesEnd = -1;
+
+            for (let i = dependenciesStart; dependenciesStart !== -1 && i < buildGradleContent.length; i++) {
+                if (buildGradleContent[i] === '{') {
+                    braceCount++;
+                } else if (buildGradleContent[i] === '}') {
+                    braceCount--;
+                    if (braceCount === 0) {
+                        dependenciesEnd = i;
+                        break;
+                    }
+                }
+            }
+
+            if (dependenciesEnd === -1) {
+                console.warn('⚠️ Could not find dependencies block in build.gradle');
+                return;
+            }
+
+            buildGradleContent = buildGradleContent.substring(0, dependenciesEnd) + dependencyLine + '\n'
+                + buildGradleContent.substring(dependenciesEnd);
+            fs.writeFileSync(buildGradlePath, buildGradleContent);
+            console.log('✅ Added gesturesmart-core dependency to build.gradle');
+        }
+    } else {
+        console.warn('⚠️ build.gradle not found at:', buildGradlePath);
+    }
+}
+
+function addDriftCheck() {
+    console.log('🔍 Adding the native source drift check to build.gradle...');
+
+    const basePath = path.join(__dirname, '..');
+    const buildGradlePath = path.join(basePath, 'android/app/build.gradle');
+    const applyLine = 'apply from: "../../native/verify-native-sources.gradle"';
+
+    if (!fs.existsSync(buildGradlePath)) {
+        console.warn('⚠️ build.gradle not found at:', buildGradlePath);
+        return;
+    }
+
+    const buildGradleContent = fs.readFileSync(buildGradlePath, 'utf8');
+    if (!buildGradleContent.includes(applyLine)) {
+        fs.writeFileSync(buildGradlePath, buildGradleContent.replace(/\s*$/, '\n\n' + applyLine + '\n'));
+        console.log('✅ Added verifyNativeSources to build.gradle');
+    }
+}
+
+// ModelRegistry memory-maps the MediaPipe models, which needs them stored uncompressed in the APK
+function addUncompressedModels() {
+    console.log('🧠 Keeping model assets uncompressed in build.gradle...');
+
+    const basePath = path.join(__dirname, '..');
+    const buildGradlePath = path.join(basePath, 'android/app/build.gradle');
+    const noCompressLine = "noCompress 'task'";
+
+    if (!fs.existsSync(buildGradlePath)) {
+        console.warn('⚠️ build.gradle not found at:', buildGradlePath);
+        return;
+    }
+
+    const buildGradleContent = fs.readFileSync(buildGradlePath, 'utf8');
+    if (buildGradleContent.includes(noCompressLine)) {
+        console.log('✅ Model assets already uncompressed');
+        return;
+    }
+
+    const androidResourcesRegex = /androidResources\s*\{/;
+    if (androidResourcesRegex.test(buildGradleContent)) {
+        fs.writeFileSync(buildGradlePath, buildGradleContent.replace(androidResourcesRegex,
+            match => match + '\n        ' + noCompressLine));
+        console.log('✅ Added noCompress for .task models to build.gradle');
+    } else {
+        console.warn('⚠️ Could not find androidResources block in build.gradle; models will load by path');
+    }
+}
+
+function verifyNativeFiles() {
+    const basePath = path.join(__dirname, '..');
+    const drift = findDrift(path.join(basePath, 'native/main'), path.join(basePath, 'android/app/src/main'));
+
+    if (drift.length > 0) {
+        console.error('❌ android/app/src/main has drifted from native/main:');
+        drift.forEach(line => console.error('   ' + line));
+        console.log('💡 Edit native/main and run "sync", or run "backup" to keep the changes made under android/.');
+        process.exit(1);
+    }
+    console.log('✅ android/app/src/main matches native/main');
+}
+
 function restoreNativeFiles() {
-    console.log('🔄 Restoring native files to android/app/src/main...\n');
+    console.log('🔄 Syncing native files to android/app/src/main...\n');
 
     const basePath = path.join(__dirname, '..');
     const sourceDir = path.join(basePath, 'native/main');
@@ -147,13 +309,12 @@ function restoreNativeFiles() {
 
     try {
         if (!fs.existsSync(sourceDir)) {
-            console.error('❌ Backup directory not found:', sourceDir);
-            console.log('💡 Run with "backup" command first to create a backup.');
+            console.error('❌ Canonical native sources not found:', sourceDir);
             process.exit(1);
         }
 
-        console.log('📁 Restoring from:', sourceDir);
-        console.log('📁 Restoring to:', targetDir);
+        console.log('📁 Copying from:', sourceDir);
+        console.log('📁 Copying to:', targetDir);
 
         // Remove existing target directory if it exists
         if (fs.existsSync(targetDir)) {
@@ -164,10 +325,13 @@ function restoreNativeFiles() {
         // Restore the entire main folder
         copyFolderRecursive(sourceDir, targetDir);
 
-        console.log('✅ Native files restored successfully!');
+        console.log('✅ Native files synced successfully!');
 
         // Add required dependencies
         addGradleDependencies();
+        addCoreModule();
+        addUncompressedModels();
+        addDriftCheck();
 
         console.log('🚀 Ready to build your app!');
 
@@ -182,12 +346,15 @@ const command = process.argv[2];
 
 if (command === 'backup') {
     copyNativeFiles();
-} else if (command === 'restore') {
+} else if (command === 'sync' || command === 'restore') {
     restoreNativeFiles();
+} else if (command === 'verify') {
+    verifyNativeFiles();
 } else {
     console.log('📋 Usage:');
-    console.log('  node script.js backup   - Copy android/app/src/main to native/main');
-    console.log('  node script.js restore  - Copy native/main back to android/app/src/main');
+    console.log('  node script.js sync     - Copy native/main to android/app/src/main (alias: restore)');
+    console.log('  node script.js verify   - Fail if android/app/src/main differs from native/main');
+    console.log('  node script.js backup   - Adopt edits made in android/app/src/main into native/main');
     console.log('');
-    console.log('💡 Please specify backup or restore command.');
+    console.log('💡 Please specify sync, verify or backup command.');
 }
\ No newline at end of file
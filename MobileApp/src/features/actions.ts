@@ -1,5 +1,34 @@
 import { Alert, NativeModules, Platform } from 'react-native';
 
+export type ScrollDirection = 'up' | 'down' | 'left' | 'right';
+// Which engine may change the speed of a running continuous scroll; 'none' leaves it to setScrollSpeed
+export type ScrollSpeedSource = 'none' | 'hand' | 'gaze';
+
+export interface ScreenshotOptions {
+  format?: 'png' | 'jpeg' | 'webp';
+  quality?: number; // 0-100
+}
+
+export interface ScreenshotBurstOptions extends ScreenshotOptions {
+  count?: number;
+  intervalMs?: number; // never faster than 333ms
+}
+
+export interface ScreenshotResult {
+  success: boolean;
+  uri: string;
+  width: number;
+  height: number;
+  encodeMs: number;
+}
+
+// Dwell-click for the cursor; settings are stored on the device
+export interface DwellOptions {
+  enabled?: boolean;
+  radius?: number; // fraction of the screen's shorter side
+  dwellMs?: number;
+}
+
 // Define types for the native module
 interface GestureActionsType {
   swipeLeft(): Promise<boolean>;
@@ -10,13 +39,21 @@ interface GestureActionsType {
   goBack(): Promise<boolean>;
   goHome(): Promise<boolean>;
   showRecentApps(): Promise<boolean>;
+  pinchZoom(scale: number): Promise<boolean>;
+  rotate(degrees: number): Promise<boolean>;
   cursor(): Promise<boolean>;
+  setDwellOptions(options: DwellOptions): Promise<boolean>;
+  setTargetAssist(enabled: boolean): Promise<boolean>;
   requestAccessibilityPermission(): Promise<boolean>;
   openApp(appName: string): Promise<string>;
   continuousScrollDown(): Promise<boolean>;
   continuousScrollUp(): Promise<boolean>;
+  continuousScroll(direction: ScrollDirection, speed: number, source: ScrollSpeedSource): Promise<string>;
+  setScrollSpeed(speed: number): Promise<boolean>;
   stopScrolling(): Promise<boolean>;
-  takeSystemScreenshot(): Promise<boolean>;
+  takeSystemScreenshot(): Promise<ScreenshotResult>;
+  takeScreenshot(options: ScreenshotOptions | null): Promise<ScreenshotResult>;
+  takeScreenshotBurst(options: ScreenshotBurstOptions | null): Promise<ScreenshotResult[]>;
 }
 
 const GestureActions = NativeModules.GestureActions as GestureActionsType;
@@ -119,6 +156,32 @@ export const handleContinuousScrollDown = async (): Promise<void> => {
   }
 };
 
+export const handleContinuousScroll = async (
+  direction: ScrollDirection,
+  speed: number,
+  source: ScrollSpeedSource = 'none'
+): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.continuousScroll(direction, speed, source);
+    } catch (error) {
+      console.error('Error performing continuous scroll:', error);
+      // If permission is needed, request it
+      await requestAccessibilityPermission();
+    }
+  }
+};
+
+export const handleSetScrollSpeed = async (speed: number): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.setScrollSpeed(speed);
+    } catch (error) {
+      console.error('Error setting scroll speed:', error);
+    }
+  }
+};
+
 export const handleScrollDown = async (): Promise<void> => {
   if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
     try {
@@ -167,6 +230,32 @@ export const handleShowRecentApps = async (): Promise<void> => {
   }
 };
 
+// Two-finger pinch at the screen centre: scale > 1 zooms in, < 1 zooms out
+export const handleZoom = async (scale: number): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.pinchZoom(scale);
+    } catch (error) {
+      console.error('Error performing zoom:', error);
+      // If permission is needed, request it
+      await requestAccessibilityPermission();
+    }
+  }
+};
+
+// Two-finger rotation about the screen centre; positive degrees turn clockwise
+export const handleRotate = async (degrees: number): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.rotate(degrees);
+    } catch (error) {
+      console.error('Error performing rotate:', error);
+      // If permission is needed, request it
+      await requestAccessibilityPermission();
+    }
+  }
+};
+
 export const handleOpenApp = async (appName: string): Promise<void> => {
   console.log("Open app called!!")
   if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
@@ -198,6 +287,41 @@ export const handleTakeScreenshot = async (): Promise<void> => {
   }
 };
 
+export const handleTakeScreenshotBurst = async (
+  options: ScreenshotBurstOptions = {},
+): Promise<ScreenshotResult[]> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      return await GestureActions.takeScreenshotBurst(options);
+    } catch (error) {
+      console.error('Error taking screenshot burst:', error);
+      await requestAccessibilityPermission();
+    }
+  }
+  return [];
+};
+
+export const setDwellOptions = async (options: DwellOptions): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.setDwellOptions(options);
+    } catch (error) {
+      console.error('Error setting dwell options:', error);
+    }
+  }
+};
+
+// Snaps the cursor and its taps to nearby buttons and links (on by default)
+export const setTargetAssist = async (enabled: boolean): Promise<void> => {
+  if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
+    try {
+      await GestureActions.setTargetAssist(enabled);
+    } catch (error) {
+      console.error('Error setting target assist:', error);
+    }
+  }
+};
+
 export const handleCursor = async (): Promise<void> => {
   if (Platform.OS === 'android' && hasGestureActions(NativeModules)) {
     try {
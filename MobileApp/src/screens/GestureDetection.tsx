@@ -26,7 +26,7 @@ import { useTheme } from "../hooks/useTheme";
 import { typography } from "../constants/theme";
 import { MaterialCommunityIcons } from "@expo/vector-icons";
 import { NavigationProp } from "@react-navigation/native";
-import { handleTap, handleSwipeLeft, handleSwipeRight, handleScrollUp, handleScrollDown, handlegoHome, handleReturn } from "../features/actions";
+import { handleTap, handleSwipeLeft, handleSwipeRight, handleScrollUp, handleScrollDown, handlegoHome, handleReturn, handleShowRecentApps, handleZoom, handleRotate } from "../features/actions";
 import { HeaderNavigation } from "../components/HeaderBackNavigation";
 
 // Types
@@ -322,6 +322,22 @@ const GestureDetection: React.FC<GestureDetectionScreenProps> = ({ navigation })
                 case "Pinky_Up":
                     await handleReturn();
                     break;
+                // Two-hand gestures, only sent in two-hand mode
+                case "Zoom_In":
+                    await handleZoom(1.5);
+                    break;
+                case "Zoom_Out":
+                    await handleZoom(0.67);
+                    break;
+                case "Rotate_Clockwise":
+                    await handleRotate(45);
+                    break;
+                case "Rotate_Counterclockwise":
+                    await handleRotate(-45);
+                    break;
+                case "Both_Palms":
+                    await handleShowRecentApps();
+                    break;
                 default:
                     break;
             }
@@ -0,0 +1,25 @@
+export type PowerProfileName = 'performance' | 'balanced' | 'saver';
+
+export interface BatteryOptimizationInterface {
+    checkBatteryOptimization(): Promise<boolean>;
+    requestIgnoreBatteryOptimization(): Promise<string>;
+    openAutoStartSettings(): Promise<string>;
+    openNotificationSettings(): Promise<string>;
+    getPowerProfile(): Promise<PowerProfileState>;
+    // null goes back to choosing the profile from the battery state
+    setPowerProfile(profile: PowerProfileName | null): Promise<boolean>;
+}
+
+// Battery profile the vision engines run with. Profiles scale the processing
+// rate and resolution, force motion gating and cap the idle timeout.
+export interface PowerProfileState {
+    profile: PowerProfileName;
+    // false when pinned with setPowerProfile
+    automatic: boolean;
+    // Rough draw of the camera and the running engines under this profile
+    estimatedMw: number;
+    runningEngines: number;
+    batteryLevel: number;
+    charging: boolean;
+    powerSave: boolean;
+}
@@ -1,9 +1,28 @@
+import { EngineMetrics, RecordingOptions } from './gestureTypes';
+
 export interface EyeServiceInterface {
     startService(): Promise<void>;
     stopService(): Promise<void>;
     addListener(eventName: string): void;
     removeListeners(count: number): void;
+    startRecording(options?: RecordingOptions): Promise<string>;
+    stopRecording(): Promise<boolean>;
+    markRecordingLabel(label: string): void;
+    setConfig(config: EyeConfig): void;
+    getMetrics(): Promise<EngineMetrics>;
+}
 
+// Overrides the device tier's settings of the running eye engine, without
+// restarting it. Omitted fields keep their current value.
+export interface EyeConfig {
+    // Camera stream size; both are needed
+    width?: number;
+    height?: number;
+    // Minimum time between processed frames
+    processDelayMs?: number;
+    // Frames an eye must stay closed before a blink or wink counts
+    consecutiveFrames?: number;
+    eventCooldownMs?: number;
 }
 
 export interface EyeEvent {
@@ -3,6 +3,55 @@ export interface GestureServiceInterface {
     stopService(): Promise<void>;
     addListener(eventName: string): void;
     removeListeners(count: number): void;
+    startRecording(options?: RecordingOptions): Promise<string>;
+    stopRecording(): Promise<boolean>;
+    markRecordingLabel(label: string): void;
+    setPowerOptions(options: PowerOptions): void;
+    // Tracks a second hand for Zoom_In/Zoom_Out, Rotate_Clockwise/Rotate_Counterclockwise and Both_Palms
+    setTwoHandMode(enabled: boolean): void;
+    getMetrics(): Promise<EngineMetrics>;
+    // Text form of the inference config, e.g. 'delegate=cpu,threads=2,cores=big,inputWidth=320'; null restores the tier default
+    setInferenceConfig(spec: string | null): Promise<string>;
+}
+
+// Snapshot of a detection engine in the native vision service
+export interface EngineMetrics {
+    engine: 'hand' | 'eye';
+    running: boolean;
+    // ACTIVE/IDLE for hands, the device tier for eyes
+    tier?: string;
+    // Stream the engine asks for, and the one the shared camera delivers
+    captureWidth: number;
+    captureHeight: number;
+    streamWidth: number;
+    streamHeight: number;
+    // Thermal governor step; engines shed rate, resolution and model work above NOMINAL
+    thermalStep: 'NOMINAL' | 'REDUCED' | 'LOW' | 'MINIMAL';
+    frameIntervalMs: number;
+    framesProcessed: number;
+    eventsSent: number;
+    // Smoothed cost of converting and submitting one frame
+    frameCostMs: number;
+    // Inference config the engine last started with
+    inference?: string;
+}
+
+// Low-power tiers of the running gesture service. Omitted fields keep their
+// defaults: lowPower on, 15 s idle timeout, wake on any hand.
+export interface PowerOptions {
+    // false keeps full-rate detection and the wake lock at all times
+    lowPower?: boolean;
+    // Time without a hand before dropping to the idle tier
+    idleTimeoutMs?: number;
+    // Gesture that must be held to wake from idle, e.g. 'Open_Palm'; null wakes on any hand
+    wakeGesture?: string | null;
+}
+
+// Session recordings are written to Android/data/<package>/files/sessions and
+// can be replayed offline with the gesturesmart-replay tool
+export interface RecordingOptions {
+    // Also record the raw camera frames (large; landmarks are always recorded)
+    rawFrames?: boolean;
 }
 
 export interface GestureEvent {
@@ -0,0 +1,53 @@
+import { NativeModules } from 'react-native';
+import { BatteryOptimizationInterface, PowerProfileName, PowerProfileState } from '../types/batteryTypes';
+
+
+class BatteryOptimizationService {
+    private batteryModule: BatteryOptimizationInterface;
+
+    constructor() {
+        this.batteryModule = NativeModules.BatteryOptimization;
+
+        if (!this.batteryModule) {
+            console.warn('BatteryOptimization native module not found. Make sure it is properly linked.');
+            // Create a mock module for development
+            this.batteryModule = {
+                checkBatteryOptimization: () => Promise.resolve(true),
+                requestIgnoreBatteryOptimization: () => Promise.reject(new Error('BatteryOptimization not available')),
+                openAutoStartSettings: () => Promise.reject(new Error('BatteryOptimization not available')),
+                openNotificationSettings: () => Promise.reject(new Error('BatteryOptimization not available')),
+                getPowerProfile: () => Promise.reject(new Error('BatteryOptimization not available')),
+                setPowerProfile: () => Promise.reject(new Error('BatteryOptimization not available')),
+            };
+        }
+    }
+
+    checkBatteryOptimization(): Promise<boolean> {
+        return this.batteryModule.checkBatteryOptimization();
+    }
+
+    requestIgnoreBatteryOptimization(): Promise<string> {
+        return this.batteryModule.requestIgnoreBatteryOptimization();
+    }
+
+    openAutoStartSettings(): Promise<string> {
+        return this.batteryModule.openAutoStartSettings();
+    }
+
+    openNotificationSettings(): Promise<string> {
+        return this.batteryModule.openNotificationSettings();
+    }
+
+    // Current profile, the battery state behind it and its estimated draw
+    getPowerProfile(): Promise<PowerProfileState> {
+        return this.batteryModule.getPowerProfile();
+    }
+
+    // Pins a profile for the vision engines; null restores automatic selection
+    setPowerProfile(profile: PowerProfileName | null): Promise<boolean> {
+        return this.batteryModule.setPowerProfile(profile);
+    }
+}
+
+export const BatteryService = new BatteryOptimizationService();
+export type { PowerProfileName, PowerProfileState };
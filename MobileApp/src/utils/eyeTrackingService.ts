@@ -1,5 +1,6 @@
 import { NativeModules, NativeEventEmitter, EmitterSubscription } from 'react-native';
-import { EyeEvent, EyeServiceInterface } from '../types/eyeTrackingTypes';
+import { EyeConfig, EyeEvent, EyeServiceInterface } from '../types/eyeTrackingTypes';
+import { EngineMetrics, RecordingOptions } from '../types/gestureTypes';
 
 
 class EyeTrackingService {
@@ -16,6 +17,11 @@ class EyeTrackingService {
             this.eyeService = {
                 startService: () => Promise.reject(new Error('EyeService not available')),
                 stopService: () => Promise.reject(new Error('EyeService not available')),
+                startRecording: () => Promise.reject(new Error('EyeService not available')),
+                stopRecording: () => Promise.reject(new Error('EyeService not available')),
+                markRecordingLabel: () => { },
+                setConfig: () => { },
+                getMetrics: () => Promise.reject(new Error('EyeService not available')),
                 addListener: () => { },
                 removeListeners: () => { },
             };
@@ -57,6 +63,43 @@ class EyeTrackingService {
         }
     }
 
+    // Records the running service's detector input to a session file and
+    // resolves with its path on the device
+    async startRecording(options: RecordingOptions = {}): Promise<string> {
+        try {
+            const path = await this.eyeService.startRecording(options);
+            console.log('Recording eye tracking session to', path);
+            return path;
+        } catch (error) {
+            console.error('Failed to start eye tracking recording:', error);
+            throw error;
+        }
+    }
+
+    async stopRecording(): Promise<void> {
+        try {
+            await this.eyeService.stopRecording();
+        } catch (error) {
+            console.error('Failed to stop eye tracking recording:', error);
+            throw error;
+        }
+    }
+
+    // Marks the gesture the user is performing now, as ground truth for replay
+    markRecordingLabel(label: string): void {
+        this.eyeService.markRecordingLabel(label);
+    }
+
+    // Changes resolution, rate or thresholds of the running service in place
+    setConfig(config: EyeConfig): void {
+        this.eyeService.setConfig(config);
+    }
+
+    // Frame rate, per-frame cost and tier of the eye engine
+    getMetrics(): Promise<EngineMetrics> {
+        return this.eyeService.getMetrics();
+    }
+
     addListener(callback: (event: EyeEvent) => void): EmitterSubscription {
         if (this.subscription) {
             this.subscription.remove();
@@ -1,5 +1,5 @@
 import { NativeModules, NativeEventEmitter, EmitterSubscription } from 'react-native';
-import { GestureEvent, GestureServiceInterface } from '../types/gestureTypes';
+import { EngineMetrics, GestureEvent, GestureServiceInterface, PowerOptions, RecordingOptions } from '../types/gestureTypes';
 
 
 class GestureDetectionService {
@@ -16,6 +16,13 @@ class GestureDetectionService {
             this.gestureService = {
                 startService: () => Promise.reject(new Error('GestureService not available')),
                 stopService: () => Promise.reject(new Error('GestureService not available')),
+                startRecording: () => Promise.reject(new Error('GestureService not available')),
+                stopRecording: () => Promise.reject(new Error('GestureService not available')),
+                markRecordingLabel: () => { },
+                setPowerOptions: () => { },
+                setTwoHandMode: () => { },
+                getMetrics: () => Promise.reject(new Error('GestureService not available')),
+                setInferenceConfig: () => Promise.reject(new Error('GestureService not available')),
                 addListener: () => { },
                 removeListeners: () => { },
             };
@@ -57,6 +64,53 @@ class GestureDetectionService {
         }
     }
 
+    // Records the running service's detector input to a session file and
+    // resolves with its path on the device
+    async startRecording(options: RecordingOptions = {}): Promise<string> {
+        try {
+            const path = await this.gestureService.startRecording(options);
+            console.log('Recording gesture session to', path);
+            return path;
+        } catch (error) {
+            console.error('Failed to start gesture recording:', error);
+            throw error;
+        }
+    }
+
+    async stopRecording(): Promise<void> {
+        try {
+            await this.gestureService.stopRecording();
+        } catch (error) {
+            console.error('Failed to stop gesture recording:', error);
+            throw error;
+        }
+    }
+
+    // Marks the gesture the user is performing now, as ground truth for replay
+    markRecordingLabel(label: string): void {
+        this.gestureService.markRecordingLabel(label);
+    }
+
+    // Configures the idle/active detection tiers of the running service
+    setPowerOptions(options: PowerOptions): void {
+        this.gestureService.setPowerOptions(options);
+    }
+
+    // Two-hand gestures; off by default so only one hand is tracked
+    setTwoHandMode(enabled: boolean): void {
+        this.gestureService.setTwoHandMode(enabled);
+    }
+
+    // Frame rate, per-frame cost and tier of the hand engine
+    getMetrics(): Promise<EngineMetrics> {
+        return this.gestureService.getMetrics();
+    }
+
+    // Applies a replay --sweep result for this device; resolves with the config in effect
+    setInferenceConfig(spec: string | null): Promise<string> {
+        return this.gestureService.setInferenceConfig(spec);
+    }
+
     addListener(callback: (event: GestureEvent) => void): EmitterSubscription {
         if (this.subscription) {
             this.subscription.remove();